@@ -0,0 +1,315 @@
+package com.safecharge.codegen;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Writes the source code of the type adapters and of the type adapter factory generated by the {@link JsonCodecProcessor}.
+ * The generated code relies on the package-private {@code JsonAdapterSupport} class of the target package.
+ *
+ * @since 10/17/2026
+ */
+final class JsonAdapterWriter {
+
+    private final String targetPackage;
+    private final Types types;
+
+    JsonAdapterWriter(String targetPackage, Types types) {
+        this.targetPackage = targetPackage;
+        this.types = types;
+    }
+
+    String writeAdapter(String adapterName, TypeElement type, List<JsonProperty> properties, boolean writable, boolean readable) {
+        String typeName = type.getQualifiedName()
+                .toString();
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ")
+                .append(targetPackage)
+                .append(";\n\n");
+        sb.append("import java.io.IOException;\n\n");
+        sb.append("import com.google.gson.Gson;\n");
+        sb.append("import com.google.gson.TypeAdapter;\n");
+        sb.append("import com.google.gson.TypeAdapterFactory;\n");
+        sb.append("import com.google.gson.reflect.TypeToken;\n");
+        sb.append("import com.google.gson.stream.JsonReader;\n");
+        sb.append("import com.google.gson.stream.JsonToken;\n");
+        sb.append("import com.google.gson.stream.JsonWriter;\n\n");
+        sb.append("/**\n * Gson type adapter of {@link ")
+                .append(typeName)
+                .append("}, generated by ")
+                .append(JsonCodecProcessor.class.getName())
+                .append(".\n */\n");
+        sb.append("final class ")
+                .append(adapterName)
+                .append(" extends TypeAdapter<")
+                .append(typeName)
+                .append("> {\n\n");
+
+        sb.append("    private final Gson gson;\n");
+        sb.append("    private final TypeAdapterFactory factory;\n");
+        if (!writable || !readable) {
+            sb.append("    private final TypeAdapter<")
+                    .append(typeName)
+                    .append("> delegate;\n");
+        }
+        for (JsonProperty property : properties) {
+            if (!property.isString()) {
+                sb.append("    private final TypeAdapter<")
+                        .append(boxed(property.getType()))
+                        .append("> ")
+                        .append(property.getName())
+                        .append("Adapter;\n");
+            }
+        }
+
+        sb.append("\n    ")
+                .append(adapterName)
+                .append("(Gson gson, TypeAdapterFactory factory) {\n");
+        sb.append("        this.gson = gson;\n");
+        sb.append("        this.factory = factory;\n");
+        if (!writable || !readable) {
+            sb.append("        this.delegate = gson.getDelegateAdapter(factory, TypeToken.get(")
+                    .append(typeName)
+                    .append(".class));\n");
+        }
+        for (JsonProperty property : properties) {
+            if (!property.isString()) {
+                sb.append("        this.")
+                        .append(property.getName())
+                        .append("Adapter = gson.getAdapter(")
+                        .append(typeLiteral(property.getType()))
+                        .append(");\n");
+            }
+        }
+        sb.append("    }\n\n");
+
+        if (writable) {
+            writeWrite(sb, typeName, properties);
+        } else {
+            sb.append("    @Override\n");
+            sb.append("    public void write(JsonWriter out, ")
+                    .append(typeName)
+                    .append(" value) throws IOException {\n");
+            sb.append("        delegate.write(out, value);\n");
+            sb.append("    }\n\n");
+        }
+        if (readable) {
+            writeRead(sb, typeName, properties);
+        } else {
+            sb.append("    @Override\n");
+            sb.append("    public ")
+                    .append(typeName)
+                    .append(" read(JsonReader in) throws IOException {\n");
+            sb.append("        return delegate.read(in);\n");
+            sb.append("    }\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private void writeWrite(StringBuilder sb, String typeName, List<JsonProperty> properties) {
+        sb.append("    @Override\n");
+        sb.append("    public void write(JsonWriter out, ")
+                .append(typeName)
+                .append(" value) throws IOException {\n");
+        sb.append("        if (value == null) {\n");
+        sb.append("            out.nullValue();\n");
+        sb.append("            return;\n");
+        sb.append("        }\n");
+        sb.append("        out.beginObject();\n");
+        for (JsonProperty property : properties) {
+            sb.append("        out.name(\"")
+                    .append(property.getName())
+                    .append("\");\n");
+            String getter = "value." + property.getGetter() + "()";
+            if (property.isString()) {
+                sb.append("        out.value(")
+                        .append(getter)
+                        .append(");\n");
+            } else if (property.getRuntimeTypeCheck() != null) {
+                sb.append("        JsonAdapterSupport.write(gson, factory, ")
+                        .append(property.getName())
+                        .append("Adapter, out, ")
+                        .append(getter)
+                        .append(", ")
+                        .append(property.getRuntimeTypeCheck())
+                        .append(".class);\n");
+            } else {
+                sb.append("        ")
+                        .append(property.getName())
+                        .append("Adapter.write(out, ")
+                        .append(getter)
+                        .append(");\n");
+            }
+        }
+        sb.append("        out.endObject();\n");
+        sb.append("    }\n\n");
+    }
+
+    private void writeRead(StringBuilder sb, String typeName, List<JsonProperty> properties) {
+        sb.append("    @Override\n");
+        sb.append("    public ")
+                .append(typeName)
+                .append(" read(JsonReader in) throws IOException {\n");
+        sb.append("        if (in.peek() == JsonToken.NULL) {\n");
+        sb.append("            in.nextNull();\n");
+        sb.append("            return null;\n");
+        sb.append("        }\n");
+        sb.append("        ")
+                .append(typeName)
+                .append(" instance = new ")
+                .append(typeName)
+                .append("();\n");
+        sb.append("        in.beginObject();\n");
+        sb.append("        while (in.hasNext()) {\n");
+        sb.append("            switch (in.nextName()) {\n");
+        for (JsonProperty property : properties) {
+            sb.append("                case \"")
+                    .append(property.getName())
+                    .append("\": {\n");
+            if (property.isString()) {
+                sb.append("                    instance.")
+                        .append(property.getSetter())
+                        .append("(JsonAdapterSupport.readString(in));\n");
+            } else {
+                sb.append("                    ")
+                        .append(boxed(property.getType()))
+                        .append(" value = ")
+                        .append(property.getName())
+                        .append("Adapter.read(in);\n");
+                if (property.getReadMode() == JsonProperty.ReadMode.CONTENT) {
+                    String method = isMap(property.getType()) ? "putAll" : "addAll";
+                    sb.append("                    if (value != null) {\n");
+                    sb.append("                        instance.")
+                            .append(property.getGetter())
+                            .append("().clear();\n");
+                    sb.append("                        instance.")
+                            .append(property.getGetter())
+                            .append("().")
+                            .append(method)
+                            .append("(value);\n");
+                    sb.append("                    }\n");
+                } else if (property.isPrimitiveSetter() || property.getType()
+                        .getKind()
+                        .isPrimitive()) {
+                    sb.append("                    if (value != null) {\n");
+                    sb.append("                        instance.")
+                            .append(property.getSetter())
+                            .append("(value);\n");
+                    sb.append("                    }\n");
+                } else {
+                    sb.append("                    instance.")
+                            .append(property.getSetter())
+                            .append("(value);\n");
+                }
+            }
+            sb.append("                    break;\n");
+            sb.append("                }\n");
+        }
+        sb.append("                default:\n");
+        sb.append("                    in.skipValue();\n");
+        sb.append("            }\n");
+        sb.append("        }\n");
+        sb.append("        in.endObject();\n");
+        sb.append("        return instance;\n");
+        sb.append("    }\n");
+    }
+
+    String writeFactory(String factoryName, Map<TypeElement, String> adapterNames) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ")
+                .append(targetPackage)
+                .append(";\n\n");
+        sb.append("import com.google.gson.Gson;\n");
+        sb.append("import com.google.gson.TypeAdapter;\n");
+        sb.append("import com.google.gson.TypeAdapterFactory;\n");
+        sb.append("import com.google.gson.reflect.TypeToken;\n\n");
+        sb.append("/**\n * Gson type adapter factory of the ")
+                .append(adapterNames.size())
+                .append(" classes handled by ")
+                .append(JsonCodecProcessor.class.getName())
+                .append(".\n */\n");
+        sb.append("public final class ")
+                .append(factoryName)
+                .append(" implements TypeAdapterFactory {\n\n");
+        sb.append("    @Override\n");
+        sb.append("    @SuppressWarnings(\"unchecked\")\n");
+        sb.append("    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {\n");
+        sb.append("        switch (type.getRawType().getName()) {\n");
+        for (Map.Entry<TypeElement, String> entry : adapterNames.entrySet()) {
+            sb.append("            case \"")
+                    .append(binaryName(entry.getKey()))
+                    .append("\":\n");
+            sb.append("                return (TypeAdapter<T>) new ")
+                    .append(entry.getValue())
+                    .append("(gson, this);\n");
+        }
+        sb.append("            default:\n");
+        sb.append("                return null;\n");
+        sb.append("        }\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String binaryName(TypeElement type) {
+        if (type.getEnclosingElement() instanceof TypeElement) {
+            return binaryName((TypeElement) type.getEnclosingElement()) + "$" + type.getSimpleName();
+        }
+        return type.getQualifiedName()
+                .toString();
+    }
+
+    private boolean isMap(TypeMirror type) {
+        for (TypeMirror supertype : types.directSupertypes(type)) {
+            if (types.erasure(supertype)
+                    .toString()
+                    .equals("java.util.Map") || isMap(supertype)) {
+                return true;
+            }
+        }
+        return types.erasure(type)
+                .toString()
+                .equals("java.util.Map");
+    }
+
+    private String boxed(TypeMirror type) {
+        if (type.getKind()
+                .isPrimitive()) {
+            return types.boxedClass((PrimitiveType) type)
+                    .getQualifiedName()
+                    .toString();
+        }
+        return type.toString();
+    }
+
+    private String typeLiteral(TypeMirror type) {
+        if (isRaw(type)) {
+            return types.erasure(type)
+                    .toString() + ".class";
+        }
+        return "new TypeToken<" + type + ">() {}";
+    }
+
+    private boolean isRaw(TypeMirror type) {
+        if (type.getKind()
+                .isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isRaw(((ArrayType) type).getComponentType());
+        }
+        return type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).getTypeArguments()
+                .isEmpty();
+    }
+}
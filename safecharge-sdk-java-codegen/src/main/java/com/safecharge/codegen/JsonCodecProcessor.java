@@ -0,0 +1,413 @@
+package com.safecharge.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Annotation processor which generates a Gson {@code TypeAdapter} for every concrete class of the request, response and model
+ * packages, and a {@code TypeAdapterFactory} returning them. The generated adapters produce exactly the same JSON as Gson's
+ * reflective adapter (same field order, same null handling, same runtime type resolution), but access the fields through their
+ * public getters and setters and read the field names with a string switch.
+ * <p>
+ * Classes which can't be handled safely (generic classes, classes using Gson annotations, fields without public accessors) are
+ * skipped and keep using Gson's reflective adapter. Classes with fields which can only be written (e.g. final fields) or only be
+ * read (e.g. getters unboxing a wrapper field) get an adapter which delegates the other direction to Gson.
+ * <p>
+ * Options:
+ * <ul>
+ * <li>{@value #PACKAGES_OPTION} - comma separated packages (including their sub-packages) to generate adapters for</li>
+ * <li>{@value #TARGET_PACKAGE_OPTION} - package of the generated classes</li>
+ * </ul>
+ *
+ * @since 10/17/2026
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions({JsonCodecProcessor.PACKAGES_OPTION, JsonCodecProcessor.TARGET_PACKAGE_OPTION})
+public class JsonCodecProcessor extends AbstractProcessor {
+
+    public static final String PACKAGES_OPTION = "safecharge.codegen.packages";
+    public static final String TARGET_PACKAGE_OPTION = "safecharge.codegen.targetPackage";
+    public static final String FACTORY_NAME = "SafechargeTypeAdapterFactory";
+
+    private static final String DEFAULT_PACKAGES = "com.safecharge.request,com.safecharge.response,com.safecharge.model";
+    private static final String DEFAULT_TARGET_PACKAGE = "com.safecharge.biz.codec";
+    private static final String GSON_ANNOTATIONS_PACKAGE = "com.google.gson.annotations.";
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || roundEnv.processingOver()) {
+            return false;
+        }
+
+        List<String> packages = getPackages();
+        Map<TypeElement, List<JsonProperty>> types = new LinkedHashMap<>();
+        Set<TypeElement> writable = new HashSet<>();
+        Set<TypeElement> readable = new HashSet<>();
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            if (!isInPackages(type, packages)) {
+                continue;
+            }
+            List<JsonProperty> properties = analyze(type);
+            if (properties == null) {
+                continue;
+            }
+            if (isWritable(properties)) {
+                writable.add(type);
+            }
+            if (isReadable(type, properties)) {
+                readable.add(type);
+            }
+            if (writable.contains(type) || readable.contains(type)) {
+                types.put(type, properties);
+            } else {
+                skip(type, "fields can neither be read nor written through public accessors");
+            }
+        }
+
+        if (!types.isEmpty()) {
+            generated = true;
+            write(types, writable, readable);
+        }
+        return false;
+    }
+
+    private List<String> getPackages() {
+        String option = processingEnv.getOptions()
+                .get(PACKAGES_OPTION);
+        List<String> packages = new ArrayList<>();
+        for (String aPackage : (option != null ? option : DEFAULT_PACKAGES).split(",")) {
+            if (!aPackage.trim()
+                    .isEmpty()) {
+                packages.add(aPackage.trim());
+            }
+        }
+        return packages;
+    }
+
+    private String getTargetPackage() {
+        String option = processingEnv.getOptions()
+                .get(TARGET_PACKAGE_OPTION);
+        return option != null ? option : DEFAULT_TARGET_PACKAGE;
+    }
+
+    private boolean isInPackages(TypeElement type, List<String> packages) {
+        String packageName = processingEnv.getElementUtils()
+                .getPackageOf(type)
+                .getQualifiedName()
+                .toString();
+        for (String aPackage : packages) {
+            if (packageName.equals(aPackage) || packageName.startsWith(aPackage + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the serialized fields of a type in the order Gson serializes them: fields of the class itself first, followed by
+     * the fields of its super classes.
+     *
+     * @param type the type to analyze
+     * @return the properties of the type or null if no adapter should be generated for it
+     */
+    private List<JsonProperty> analyze(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || !type.getModifiers()
+                .contains(Modifier.PUBLIC) || type.getModifiers()
+                .contains(Modifier.ABSTRACT) || !type.getTypeParameters()
+                .isEmpty() || hasGsonAnnotation(type)) {
+            return null;
+        }
+
+        Elements elements = processingEnv.getElementUtils();
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getModifiers()
+                    .contains(Modifier.PUBLIC) && !method.getModifiers()
+                    .contains(Modifier.STATIC)) {
+                methods.add(method);
+            }
+        }
+
+        List<JsonProperty> properties = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName()
+                .contentEquals(Object.class.getName())) {
+            if (!current.getTypeParameters()
+                    .isEmpty() || hasGsonAnnotation(current)) {
+                skip(type, "generic or Gson annotated super class " + current.getQualifiedName());
+                return null;
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getModifiers()
+                        .contains(Modifier.STATIC) || field.getModifiers()
+                        .contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                String name = field.getSimpleName()
+                        .toString();
+                if (hasGsonAnnotation(field) || !names.add(name) || !isSupported(field.asType())) {
+                    skip(type, "field " + name + " can't be handled");
+                    return null;
+                }
+                properties.add(analyze(field, methods));
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return properties;
+    }
+
+    private JsonProperty analyze(VariableElement field, List<ExecutableElement> methods) {
+        Types types = processingEnv.getTypeUtils();
+        TypeMirror type = field.asType();
+        String name = field.getSimpleName()
+                .toString();
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+        String getter = null;
+        String setter = null;
+        boolean primitiveSetter = false;
+        for (ExecutableElement method : methods) {
+            String methodName = method.getSimpleName()
+                    .toString();
+            List<? extends VariableElement> parameters = method.getParameters();
+            if (getter == null && parameters.isEmpty() && (methodName.equals("get" + capitalized) || methodName.equals(
+                    "is" + capitalized)) && isSafeGetter(type, method.getReturnType())) {
+                getter = methodName;
+            } else if (methodName.equals("set" + capitalized) && parameters.size() == 1 && isCompatible(type, parameters.get(0)
+                    .asType()) && (setter == null || types.isSameType(type, parameters.get(0)
+                    .asType()))) {
+                setter = methodName;
+                primitiveSetter = parameters.get(0)
+                        .asType()
+                        .getKind()
+                        .isPrimitive();
+            }
+        }
+        JsonProperty.ReadMode readMode = JsonProperty.ReadMode.NONE;
+        if (setter != null && !field.getModifiers()
+                .contains(Modifier.FINAL)) {
+            readMode = JsonProperty.ReadMode.SETTER;
+        } else if (getter != null && field.getModifiers()
+                .contains(Modifier.FINAL) && (isSubtype(type, "java.util.Collection") || isSubtype(type, "java.util.Map"))) {
+            readMode = JsonProperty.ReadMode.CONTENT;
+        }
+
+        boolean string = type.getKind() == TypeKind.DECLARED && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName()
+                .contentEquals(String.class.getName());
+        return new JsonProperty(name, type, getter, readMode == JsonProperty.ReadMode.SETTER ? setter : null, readMode, primitiveSetter,
+                string, getRuntimeTypeCheck(type));
+    }
+
+    /**
+     * Gson serializes a field with the adapter of the runtime type of its value if the declared type is a plain class and the
+     * value is of a sub class. This is only possible for non-final, non-generic declared types.
+     */
+    private String getRuntimeTypeCheck(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED || !((DeclaredType) type).getTypeArguments()
+                .isEmpty()) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if (element.getModifiers()
+                .contains(Modifier.FINAL) || element.getKind() == ElementKind.ENUM) {
+            return null;
+        }
+        return processingEnv.getTypeUtils()
+                .erasure(type)
+                .toString();
+    }
+
+    private boolean isWritable(List<JsonProperty> properties) {
+        for (JsonProperty property : properties) {
+            if (property.getGetter() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isReadable(TypeElement type, List<JsonProperty> properties) {
+        boolean constructor = false;
+        for (ExecutableElement candidate : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (candidate.getParameters()
+                    .isEmpty() && candidate.getModifiers()
+                    .contains(Modifier.PUBLIC)) {
+                constructor = true;
+            }
+        }
+        if (!constructor) {
+            return false;
+        }
+        for (JsonProperty property : properties) {
+            if (property.getReadMode() == JsonProperty.ReadMode.NONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A getter can be used to write a field if it returns the type of the field or the boxed type of a primitive field. A getter
+     * unboxing a wrapper field would fail for null values, which Gson simply omits.
+     */
+    private boolean isSafeGetter(TypeMirror fieldType, TypeMirror returnType) {
+        Types types = processingEnv.getTypeUtils();
+        return types.isSameType(fieldType, returnType) || fieldType.getKind()
+                .isPrimitive() && types.isSameType(types.boxedClass((PrimitiveType) fieldType)
+                .asType(), returnType);
+    }
+
+    private boolean isCompatible(TypeMirror fieldType, TypeMirror accessorType) {
+        Types types = processingEnv.getTypeUtils();
+        if (types.isSameType(fieldType, accessorType)) {
+            return true;
+        }
+        if (fieldType.getKind()
+                .isPrimitive() && !accessorType.getKind()
+                .isPrimitive()) {
+            return types.isSameType(types.boxedClass((PrimitiveType) fieldType)
+                    .asType(), accessorType);
+        }
+        if (accessorType.getKind()
+                .isPrimitive() && !fieldType.getKind()
+                .isPrimitive()) {
+            return types.isSameType(types.boxedClass((PrimitiveType) accessorType)
+                    .asType(), fieldType);
+        }
+        return false;
+    }
+
+    private boolean isSubtype(TypeMirror type, String className) {
+        Types types = processingEnv.getTypeUtils();
+        TypeElement element = processingEnv.getElementUtils()
+                .getTypeElement(className);
+        return element != null && types.isSubtype(types.erasure(type), types.erasure(element.asType()));
+    }
+
+    /**
+     * Only primitives, arrays and declared types without type variables or wildcards can be written as a {@code TypeToken} in
+     * the generated code.
+     */
+    private boolean isSupported(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            case ARRAY:
+                return isSupported(((ArrayType) type).getComponentType());
+            case DECLARED:
+                DeclaredType declaredType = (DeclaredType) type;
+                if (!declaredType.asElement()
+                        .getModifiers()
+                        .contains(Modifier.PUBLIC)) {
+                    return false;
+                }
+                for (TypeMirror argument : declaredType.getTypeArguments()) {
+                    if (!isSupported(argument)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean hasGsonAnnotation(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType()
+                    .toString()
+                    .startsWith(GSON_ANNOTATIONS_PACKAGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void skip(TypeElement type, String reason) {
+        processingEnv.getMessager()
+                .printMessage(Diagnostic.Kind.NOTE, "No JSON adapter generated for " + type.getQualifiedName() + ": " + reason, type);
+    }
+
+    private void write(Map<TypeElement, List<JsonProperty>> types, Set<TypeElement> writable, Set<TypeElement> readable) {
+        String targetPackage = getTargetPackage();
+        JsonAdapterWriter writer = new JsonAdapterWriter(targetPackage, processingEnv.getTypeUtils());
+        Map<TypeElement, String> adapterNames = new LinkedHashMap<>();
+        Set<String> usedNames = new HashSet<>();
+        for (TypeElement type : types.keySet()) {
+            String adapterName = type.getSimpleName() + "JsonAdapter";
+            for (int i = 2; !usedNames.add(adapterName); i++) {
+                adapterName = type.getSimpleName() + "JsonAdapter" + i;
+            }
+            adapterNames.put(type, adapterName);
+        }
+
+        try {
+            for (Map.Entry<TypeElement, List<JsonProperty>> entry : types.entrySet()) {
+                TypeElement type = entry.getKey();
+                String adapterName = adapterNames.get(type);
+                JavaFileObject file = processingEnv.getFiler()
+                        .createSourceFile(targetPackage + "." + adapterName, type);
+                try (Writer out = file.openWriter()) {
+                    out.write(writer.writeAdapter(adapterName, type, entry.getValue(), writable.contains(type), readable.contains(type)));
+                }
+            }
+
+            JavaFileObject file = processingEnv.getFiler()
+                    .createSourceFile(targetPackage + "." + FACTORY_NAME, types.keySet()
+                            .toArray(new Element[types.size()]));
+            try (Writer out = file.openWriter()) {
+                out.write(writer.writeFactory(FACTORY_NAME, adapterNames));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager()
+                    .printMessage(Diagnostic.Kind.ERROR, "Unable to write the JSON adapters: " + e.getMessage());
+        }
+    }
+}
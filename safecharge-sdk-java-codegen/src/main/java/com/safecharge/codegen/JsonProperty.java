@@ -0,0 +1,98 @@
+package com.safecharge.codegen;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * A single serialized field of a type handled by the {@link JsonCodecProcessor}, together with the accessors the generated
+ * type adapter uses instead of reflection.
+ *
+ * @since 10/17/2026
+ */
+final class JsonProperty {
+
+    /**
+     * How the generated adapter stores a value read from JSON.
+     */
+    enum ReadMode {
+        /**
+         * The value is passed to the public setter of the field.
+         */
+        SETTER,
+        /**
+         * The field is a final collection or map, its content is replaced through the getter.
+         */
+        CONTENT,
+        /**
+         * The field can't be set without reflection.
+         */
+        NONE
+    }
+
+    private final String name;
+    private final TypeMirror type;
+    private final String getter;
+    private final String setter;
+    private final ReadMode readMode;
+    private final boolean primitiveSetter;
+    private final boolean string;
+    private final String runtimeTypeCheck;
+
+    JsonProperty(String name, TypeMirror type, String getter, String setter, ReadMode readMode, boolean primitiveSetter, boolean string,
+                 String runtimeTypeCheck) {
+        this.name = name;
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+        this.readMode = readMode;
+        this.primitiveSetter = primitiveSetter;
+        this.string = string;
+        this.runtimeTypeCheck = runtimeTypeCheck;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    TypeMirror getType() {
+        return type;
+    }
+
+    /**
+     * @return the name of the getter used to write the field or null if the field can't be written without reflection
+     */
+    String getGetter() {
+        return getter;
+    }
+
+    String getSetter() {
+        return setter;
+    }
+
+    ReadMode getReadMode() {
+        return readMode;
+    }
+
+    /**
+     * @return true if the setter takes a primitive, in which case JSON nulls are skipped just like Gson does for primitive fields
+     */
+    boolean isPrimitiveSetter() {
+        return primitiveSetter;
+    }
+
+    /**
+     * @return true if the field is a {@link String}, which the generated adapter reads and writes inline
+     */
+    boolean isString() {
+        return string;
+    }
+
+    /**
+     * @return the raw declared class of the field if Gson would look for a more specific adapter of the runtime type of the value,
+     * null otherwise
+     */
+    String getRuntimeTypeCheck() {
+        return runtimeTypeCheck;
+    }
+}
@@ -0,0 +1,260 @@
+package com.safecharge.biz.http2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.client.methods.HttpExecutionAware;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Adapts a {@link java.net.http.HttpClient} to the Apache {@link org.apache.http.client.HttpClient} interface used by the
+ * {@link com.safecharge.biz.SafechargeRequestExecutor}. The request entity is buffered before sending, so that it goes out with a
+ * content length instead of chunked. Aborting an {@link HttpExecutionAware} request, e.g. {@link org.apache.http.client.methods.HttpPost},
+ * unblocks the thread waiting for its response.
+ * <p>
+ * The socket timeout of the {@link RequestConfig} of a request is applied as the timeout of the whole request, from sending it to
+ * receiving the response headers, as {@link java.net.http.HttpClient} has no timeout between two packets. The connections are pooled
+ * by the {@link java.net.http.HttpClient} itself, so the deprecated {@link #getConnectionManager()} returns a connection manager
+ * which doesn't manage any connection.
+ *
+ * @since 10/17/2026
+ */
+class JdkHttpClient extends CloseableHttpClient {
+
+    // the headers set by java.net.http.HttpClient itself
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(Arrays.asList("Connection", "Content-Length", "Date", "Expect", "From", "Host", "Origin", "Referer", "Upgrade",
+                "Via", "Warning", "Transfer-Encoding", "Keep-Alive"));
+    }
+
+    private final java.net.http.HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final HttpParams params = new BasicHttpParams();
+    private final ClientConnectionManager connectionManager = new NoopConnectionManager();
+
+    JdkHttpClient(java.net.http.HttpClient httpClient, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException {
+        java.net.http.HttpRequest jdkRequest = createRequest(target, request);
+
+        CompletableFuture<java.net.http.HttpResponse<InputStream>> responseFuture = httpClient.sendAsync(jdkRequest, BodyHandlers.ofInputStream());
+        if (request instanceof HttpExecutionAware) {
+            HttpExecutionAware executionAware = (HttpExecutionAware) request;
+            executionAware.setCancellable(() -> responseFuture.cancel(true));
+            if (executionAware.isAborted()) {
+                responseFuture.cancel(true);
+            }
+        }
+
+        try {
+            return new JdkHttpResponse(responseFuture.get());
+        } catch (CancellationException e) {
+            throw new RequestAbortedException("Request aborted");
+        } catch (InterruptedException e) {
+            responseFuture.cancel(true);
+            Thread.currentThread()
+                    .interrupt();
+            throw new InterruptedIOException("Request interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CancellationException) {
+                throw new RequestAbortedException("Request aborted");
+            }
+            if (cause instanceof HttpConnectTimeoutException) {
+                throw (IOException) new ConnectTimeoutException(cause.getMessage()).initCause(cause);
+            }
+            if (cause instanceof HttpTimeoutException) {
+                throw (IOException) new SocketTimeoutException(cause.getMessage()).initCause(cause);
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new ClientProtocolException(cause.getMessage(), cause);
+        }
+    }
+
+    private java.net.http.HttpRequest createRequest(HttpHost target, HttpRequest request) throws IOException {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(getUri(target, request))
+                .method(request.getRequestLine()
+                        .getMethod(), getBodyPublisher(request));
+
+        Duration timeout = getTimeout(request);
+        if (timeout != null) {
+            builder.timeout(timeout);
+        }
+
+        for (Header header : request.getAllHeaders()) {
+            if (header.getValue() != null && !RESTRICTED_HEADERS.contains(header.getName())) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        if (request instanceof HttpEntityEnclosingRequest && ((HttpEntityEnclosingRequest) request).getEntity() != null) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity.getContentType() != null && !request.containsHeader(entity.getContentType()
+                    .getName())) {
+                builder.header(entity.getContentType()
+                        .getName(), entity.getContentType()
+                        .getValue());
+            }
+            if (entity.getContentEncoding() != null && !request.containsHeader(entity.getContentEncoding()
+                    .getName())) {
+                builder.header(entity.getContentEncoding()
+                        .getName(), entity.getContentEncoding()
+                        .getValue());
+            }
+        }
+        return builder.build();
+    }
+
+    private URI getUri(HttpHost target, HttpRequest request) throws ClientProtocolException {
+        try {
+            URI uri = request instanceof HttpUriRequest ? ((HttpUriRequest) request).getURI() : new URI(request.getRequestLine()
+                    .getUri());
+            return uri.isAbsolute() || target == null ? uri : URIUtils.rewriteURI(uri, target);
+        } catch (URISyntaxException e) {
+            throw new ClientProtocolException(e.getMessage(), e);
+        }
+    }
+
+    private BodyPublisher getBodyPublisher(HttpRequest request) throws IOException {
+        HttpEntity entity = request instanceof HttpEntityEnclosingRequest ? ((HttpEntityEnclosingRequest) request).getEntity() : null;
+        if (entity == null) {
+            return BodyPublishers.noBody();
+        }
+
+        long contentLength = entity.getContentLength();
+        ByteArrayOutputStream content = new ByteArrayOutputStream(contentLength > 0 && contentLength < Integer.MAX_VALUE ? (int) contentLength : 1024);
+        entity.writeTo(content);
+        return BodyPublishers.ofByteArray(content.toByteArray());
+    }
+
+    private Duration getTimeout(HttpRequest request) {
+        RequestConfig requestConfig = request instanceof Configurable ? ((Configurable) request).getConfig() : null;
+        if (requestConfig != null && requestConfig.getSocketTimeout() > 0) {
+            return Duration.ofMillis(requestConfig.getSocketTimeout());
+        }
+        return requestTimeout;
+    }
+
+    /**
+     * @return the {@link java.net.http.HttpClient} requests are sent with
+     */
+    java.net.http.HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // java.net.http.HttpClient is closeable from Java 21, before that its resources are released when it's garbage collected
+        if (httpClient instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) httpClient).close();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @return parameters which are not used, as the requests are configured by their {@link RequestConfig}
+     */
+    @Override
+    @Deprecated
+    public HttpParams getParams() {
+        return params;
+    }
+
+    /**
+     * @return a connection manager which doesn't manage any connection, see the class description
+     */
+    @Override
+    @Deprecated
+    public ClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * Connection manager without connections: there is nothing to close, evict or shut down, and no connection can be leased.
+     */
+    @SuppressWarnings("deprecation")
+    private static class NoopConnectionManager implements ClientConnectionManager {
+
+        private final SchemeRegistry schemeRegistry = SchemeRegistryFactory.createDefault();
+
+        @Override
+        public SchemeRegistry getSchemeRegistry() {
+            return schemeRegistry;
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            throw new UnsupportedOperationException("The connections are managed by java.net.http.HttpClient");
+        }
+
+        @Override
+        public void releaseConnection(ManagedClientConnection conn, long validDuration, TimeUnit timeUnit) {
+        }
+
+        @Override
+        public void closeIdleConnections(long idletime, TimeUnit timeUnit) {
+        }
+
+        @Override
+        public void closeExpiredConnections() {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.safecharge.biz.http2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.message.BasicHttpResponse;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Apache {@link CloseableHttpResponse} view of a {@link java.net.http.HttpResponse}, streaming the body from the response.
+ *
+ * @since 10/17/2026
+ */
+class JdkHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+    private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+
+    private final InputStream body;
+
+    JdkHttpResponse(java.net.http.HttpResponse<InputStream> response) {
+        super(response.version() == java.net.http.HttpClient.Version.HTTP_2 ? HTTP_2 : HttpVersion.HTTP_1_1, response.statusCode(),
+                getReasonPhrase(response.statusCode()));
+        this.body = response.body();
+
+        for (Map.Entry<String, List<String>> header : response.headers()
+                .map()
+                .entrySet()) {
+            if (!header.getKey()
+                    .startsWith(":")) {
+                for (String value : header.getValue()) {
+                    addHeader(header.getKey(), value);
+                }
+            }
+        }
+
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(body);
+        entity.setContentLength(response.headers()
+                .firstValueAsLong("Content-Length")
+                .orElse(-1L));
+        entity.setContentType(getFirstHeader("Content-Type"));
+        entity.setContentEncoding(getFirstHeader("Content-Encoding"));
+        setEntity(entity);
+    }
+
+    private static String getReasonPhrase(int statusCode) {
+        String reasonPhrase = EnglishReasonPhraseCatalog.INSTANCE.getReason(statusCode, Locale.ENGLISH);
+        return reasonPhrase != null ? reasonPhrase : "";
+    }
+
+    @Override
+    public void close() throws IOException {
+        body.close();
+    }
+}
@@ -0,0 +1,57 @@
+package com.safecharge.biz.http2;
+
+import org.apache.http.client.HttpClient;
+
+import com.safecharge.model.Proxy;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Creates {@link HttpClient} instances which send the requests to SafeCharge's API through the HTTP client of Java 11. Concurrent
+ * requests are multiplexed over a few HTTP/2 connections when the gateway negotiates HTTP/2, otherwise they fall back to HTTP/1.1.
+ * <p>
+ * Usage:
+ * <pre>
+ * SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+ *         .setHttpClient(SafechargeHttp2Client.createDefault())
+ *         .build();
+ * </pre>
+ *
+ * @since 10/17/2026
+ */
+public class SafechargeHttp2Client {
+
+    /**
+     * Creates a pre-configured HTTP/2 capable {@link HttpClient} instance.
+     *
+     * @return {@link HttpClient} with specific Safecharge's default properties
+     */
+    public static HttpClient createDefault() {
+        return new SafechargeHttp2ClientBuilder().setDefaultTimeouts()
+                .setDefaultSSLContext()
+                .build();
+    }
+
+    /**
+     * Creates a pre-configured HTTP/2 capable {@link HttpClient} instance which connects to SafeCharge's API via {@link Proxy}.
+     *
+     * @param proxy A {@link Proxy} object to get the connection info from
+     * @return {@link HttpClient} with specific Safecharge's default properties and the proxy properties defined by the {@code proxy}
+     */
+    public static HttpClient createDefault(Proxy proxy) {
+        return new SafechargeHttp2ClientBuilder().setProxy(proxy)
+                .setDefaultTimeouts()
+                .setDefaultSSLContext()
+                .build();
+    }
+
+    /**
+     * Provides custom HTTP/2 capable {@link HttpClient} configuration.
+     *
+     * @return {@link SafechargeHttp2ClientBuilder} instance
+     */
+    public static SafechargeHttp2ClientBuilder custom() {
+        return new SafechargeHttp2ClientBuilder();
+    }
+
+}
@@ -0,0 +1,176 @@
+package com.safecharge.biz.http2;
+
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+import org.apache.http.client.HttpClient;
+
+import com.safecharge.model.Proxy;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Builder for HTTP/2 capable {@link HttpClient} instances backed by a {@link java.net.http.HttpClient}.
+ *
+ * @since 10/17/2026
+ */
+public class SafechargeHttp2ClientBuilder {
+
+    static final int DEFAULT_TIMEOUT_SECONDS = 30;
+
+    // HTTP/2 over TLS requires TLS 1.2 or later
+    private static final String[] SERVER_SUPPORTED_SSL_PROTOCOLS = new String[]{"TLSv1.2"};
+
+    private java.net.http.HttpClient.Version version = java.net.http.HttpClient.Version.HTTP_2;
+    private Duration connectTimeout = null;
+    private Duration requestTimeout = null;
+    private ProxySelector proxySelector = null;
+    private SSLContext sslContext = null;
+    private SSLParameters sslParameters = null;
+    private Executor executor = null;
+
+    /**
+     * Adds proxy to the {@link HttpClient} created by this builder
+     *
+     * @param proxy A {@link Proxy} object to get the connection info from
+     * @return this object
+     */
+    public SafechargeHttp2ClientBuilder setProxy(Proxy proxy) {
+
+        if (proxy != null) {
+            this.proxySelector = ProxySelector.of(new InetSocketAddress(proxy.getHost(), proxy.getPort()));
+        }
+
+        return this;
+    }
+
+    /* Custom */
+
+    /**
+     * Sets the preferred HTTP version. With {@link java.net.http.HttpClient.Version#HTTP_2}, the default, the client falls back to
+     * HTTP/1.1 when the server doesn't negotiate HTTP/2.
+     *
+     * @param version the preferred HTTP version
+     * @return this object
+     */
+    public SafechargeHttp2ClientBuilder setVersion(java.net.http.HttpClient.Version version) {
+        this.version = version;
+        return this;
+    }
+
+    /**
+     * Sets the timeout for establishing a connection.
+     *
+     * @param timeout     the timeout
+     * @param timeoutUnit the {@link TimeUnit} of the {@code timeout}
+     * @return this object
+     */
+    public SafechargeHttp2ClientBuilder setConnectTimeout(long timeout, TimeUnit timeoutUnit) {
+        this.connectTimeout = Duration.ofMillis(timeoutUnit.toMillis(timeout));
+        return this;
+    }
+
+    /**
+     * Sets the timeout for receiving the response of a request. A socket timeout set in the
+     * {@link org.apache.http.client.config.RequestConfig} of a request takes precedence. Unlike the socket timeout of the Apache
+     * clients, which bounds the wait between two packets, both bound the whole request, from sending it to receiving the response
+     * headers.
+     *
+     * @param timeout     the timeout
+     * @param timeoutUnit the {@link TimeUnit} of the {@code timeout}
+     * @return this object
+     */
+    public SafechargeHttp2ClientBuilder setRequestTimeout(long timeout, TimeUnit timeoutUnit) {
+        this.requestTimeout = Duration.ofMillis(timeoutUnit.toMillis(timeout));
+        return this;
+    }
+
+    /**
+     * Sets the {@link SSLContext} and the {@link SSLParameters}, such as the supported SSL protocols, of the https connections.
+     *
+     * @param sslContext    the {@link SSLContext} to create the connections with
+     * @param sslParameters the {@link SSLParameters} of the connections, may be null to use the defaults of the {@code sslContext}
+     * @return this object
+     */
+    public SafechargeHttp2ClientBuilder setSSLContext(SSLContext sslContext, SSLParameters sslParameters) {
+        this.sslContext = sslContext;
+        this.sslParameters = sslParameters;
+        return this;
+    }
+
+    /**
+     * Sets the {@link Executor} running the asynchronous tasks of the client. By default the client uses its own thread pool.
+     *
+     * @param executor the {@link Executor} to use
+     * @return this object
+     */
+    public SafechargeHttp2ClientBuilder setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /* Default */
+
+    /**
+     * Sets Safecharge's default connect and request timeouts.
+     *
+     * @return this object
+     */
+    public SafechargeHttp2ClientBuilder setDefaultTimeouts() {
+        return setConnectTimeout(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS).setRequestTimeout(DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sets the default {@link SSLContext} restricted to the SSL protocols supported by Safecharge's servers which allow HTTP/2.
+     *
+     * @return this object
+     * @throws UnsupportedOperationException if the default {@link SSLContext} is not available
+     */
+    public SafechargeHttp2ClientBuilder setDefaultSSLContext() {
+        try {
+            SSLContext sslContext = SSLContext.getDefault();
+            SSLParameters sslParameters = sslContext.getDefaultSSLParameters();
+            sslParameters.setProtocols(SERVER_SUPPORTED_SSL_PROTOCOLS);
+            return setSSLContext(sslContext, sslParameters);
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnsupportedOperationException(e.getMessage(), e);
+        }
+    }
+
+    /**/
+
+    /**
+     * Creates the {@link HttpClient} with the properties set by the builder's methods.
+     *
+     * @return new {@link HttpClient}
+     */
+    public HttpClient build() {
+        java.net.http.HttpClient.Builder builder = java.net.http.HttpClient.newBuilder()
+                .version(version)
+                .followRedirects(java.net.http.HttpClient.Redirect.NEVER);
+        if (connectTimeout != null) {
+            builder.connectTimeout(connectTimeout);
+        }
+        if (proxySelector != null) {
+            builder.proxy(proxySelector);
+        }
+        if (sslContext != null) {
+            builder.sslContext(sslContext);
+        }
+        if (sslParameters != null) {
+            builder.sslParameters(sslParameters);
+        }
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        return new JdkHttpClient(builder.build(), requestTimeout);
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.safecharge.test.http2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.execchain.RequestAbortedException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.biz.http2.SafechargeHttp2Client;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Runs requests through the HTTP/2 capable client against a local HTTP/1.1 only server.
+ *
+ * @since 10/17/2026
+ */
+public class SafechargeHttp2ClientTest {
+
+    private static final String RESPONSE = "{\"sessionToken\":\"ef8bb6b8-5b70-4b8f-9bfc-8c5b0e1cc5a3\",\"status\":\"SUCCESS\",\"merchantId\":\"123\"}";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private HttpServer server;
+    private volatile String requestProtocol;
+    private volatile String requestContentType;
+    private volatile String requestBody;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requestProtocol = exchange.getProtocol();
+            requestContentType = exchange.getRequestHeaders()
+                    .getFirst("Content-Type");
+            requestBody = read(exchange.getRequestBody());
+            if (exchange.getRequestURI()
+                    .getPath()
+                    .endsWith("/slow")) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread()
+                            .interrupt();
+                }
+            }
+            byte[] response = RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders()
+                    .add("Content-Type", "application/json;charset=UTF-8");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testExecuteRequestFallsBackToHttp11() {
+        SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setHttpClient(SafechargeHttp2Client.createDefault())
+                .build();
+        MerchantInfo merchantInfo = new MerchantInfo("key", "123", "456", getServerHost(), Constants.HashAlgorithm.SHA256);
+
+        SafechargeResponse response = requestExecutor.executeRequest(GetSessionTokenRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .build());
+
+        assertEquals("ef8bb6b8-5b70-4b8f-9bfc-8c5b0e1cc5a3", response.getSessionToken());
+        assertEquals(Constants.APIResponseStatus.SUCCESS, response.getStatus());
+        assertEquals("HTTP/1.1", requestProtocol);
+        assertEquals("application/json", requestContentType);
+        assertTrue(requestBody, requestBody.contains("\"merchantSiteId\":\"456\""));
+    }
+
+    @Test
+    public void testAbortUnblocksRequest() throws Exception {
+        HttpClient httpClient = SafechargeHttp2Client.createDefault();
+        final HttpPost httpPost = new HttpPost(getServerHost() + "slow");
+        httpPost.setEntity(new StringEntity("{}"));
+
+        new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                        .interrupt();
+            }
+            httpPost.abort();
+        }).start();
+
+        try {
+            httpClient.execute(httpPost);
+            fail("The request should have been aborted");
+        } catch (RequestAbortedException e) {
+            // expected
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedAccessors() {
+        HttpClient httpClient = SafechargeHttp2Client.createDefault();
+
+        assertNotNull(httpClient.getParams());
+        httpClient.getConnectionManager()
+                .closeIdleConnections(0, TimeUnit.SECONDS);
+        httpClient.getConnectionManager()
+                .closeExpiredConnections();
+    }
+
+    private String getServerHost() {
+        return "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/";
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toString(StandardCharsets.UTF_8.name());
+    }
+}
@@ -0,0 +1,63 @@
+package com.safecharge.biz.codec.jackson;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Escapes strings exactly like Gson's HTML safe {@code JsonWriter}: control characters without a short escape as lower case
+ * hexadecimal unicode escapes, the HTML sensitive characters {@code < > & = '} and the line and paragraph separators U+2028 and U+2029.
+ *
+ * @since 10/17/2026
+ */
+class GsonCharacterEscapes extends CharacterEscapes {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final char[] HTML_CHARACTERS = {'<', '>', '&', '=', '\''};
+
+    private final int[] asciiEscapes;
+    private final SerializableString[] asciiEscapeSequences = new SerializableString[128];
+    private final SerializableString lineSeparator = escape('\u2028');
+    private final SerializableString paragraphSeparator = escape('\u2029');
+
+    GsonCharacterEscapes() {
+        asciiEscapes = standardAsciiEscapesForJSON();
+        for (int c = 0; c < 0x20; c++) {
+            // the short escapes (\n, \t...) are the same in both libraries, Jackson writes the others in upper case
+            if (asciiEscapes[c] == ESCAPE_STANDARD) {
+                asciiEscapes[c] = ESCAPE_CUSTOM;
+                asciiEscapeSequences[c] = escape((char) c);
+            }
+        }
+        for (char c : HTML_CHARACTERS) {
+            asciiEscapes[c] = ESCAPE_CUSTOM;
+            asciiEscapeSequences[c] = escape(c);
+        }
+    }
+
+    private static SerializableString escape(char c) {
+        return new SerializedString(String.format("\\u%04x", (int) c));
+    }
+
+    @Override
+    public int[] getEscapeCodesForAscii() {
+        return asciiEscapes;
+    }
+
+    @Override
+    public SerializableString getEscapeSequence(int ch) {
+        if (ch < asciiEscapeSequences.length) {
+            return asciiEscapeSequences[ch];
+        }
+        if (ch == '\u2028') {
+            return lineSeparator;
+        }
+        if (ch == '\u2029') {
+            return paragraphSeparator;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.safecharge.biz.codec.jackson;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Restricts the properties Jackson detects to the fields Gson serializes, named after the fields. Public getters and setters of a
+ * field are used when their type is exactly the type of the field, so that Afterburner or Blackbird can optimize them, otherwise the
+ * field itself is accessed. This keeps the behaviour of Gson for accessors which differ from their field, e.g. {@code int getErrCode()}
+ * for an {@code Integer errCode} field, which would fail on a null value.
+ *
+ * @since 10/17/2026
+ */
+class GsonCompatibleAnnotationIntrospector extends JacksonAnnotationIntrospector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public PropertyName findNameForSerialization(Annotated a) {
+        String name = findFieldName(a);
+        return name != null ? PropertyName.construct(name) : super.findNameForSerialization(a);
+    }
+
+    @Override
+    public PropertyName findNameForDeserialization(Annotated a) {
+        String name = findFieldName(a);
+        return name != null ? PropertyName.construct(name) : super.findNameForDeserialization(a);
+    }
+
+    @Override
+    public boolean hasIgnoreMarker(AnnotatedMember m) {
+        if (m instanceof AnnotatedMethod && isAccessor((AnnotatedMethod) m) && findFieldName(m) == null) {
+            return true;
+        }
+        return super.hasIgnoreMarker(m);
+    }
+
+    /**
+     * @return the name of the Gson serialized field {@code a} gives access to, null if it doesn't
+     */
+    private String findFieldName(Annotated a) {
+        if (a instanceof AnnotatedField) {
+            Field field = ((AnnotatedField) a).getAnnotated();
+            return GsonFields.get(field.getDeclaringClass())
+                    .containsKey(field.getName()) ? field.getName() : null;
+        }
+        if (!(a instanceof AnnotatedMethod) || !isAccessor((AnnotatedMethod) a)) {
+            return null;
+        }
+
+        Method method = ((AnnotatedMethod) a).getAnnotated();
+        String methodName = method.getName();
+        Field field;
+        if (method.getParameterTypes().length == 0) {
+            field = findField(method, methodName.substring(methodName.startsWith("is") ? 2 : 3));
+            if (field == null || !field.getGenericType()
+                    .equals(method.getGenericReturnType()) && !isBoxedType(field.getType(),
+                    method.getReturnType())) {
+                return null;
+            }
+        } else {
+            field = findField(method, methodName.substring(3));
+            if (field == null || Modifier.isFinal(field.getModifiers()) || !field.getGenericType()
+                    .equals(method.getGenericParameterTypes()[0])) {
+                return null;
+            }
+        }
+        return field.getName();
+    }
+
+    private boolean isAccessor(AnnotatedMethod method) {
+        String name = method.getName();
+        if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())) {
+            return false;
+        }
+        if (method.getParameterCount() == 0) {
+            return (name.startsWith("get") && name.length() > 3 || name.startsWith("is") && name.length() > 2) && method.getRawReturnType() != void.class;
+        }
+        return method.getParameterCount() == 1 && name.startsWith("set") && name.length() > 3;
+    }
+
+    private Field findField(Method method, String property) {
+        Map<String, Field> fields = GsonFields.get(method.getDeclaringClass());
+        Field field = fields.get(Character.toLowerCase(property.charAt(0)) + property.substring(1));
+        return field != null ? field : fields.get(property);
+    }
+
+    private boolean isBoxedType(Class<?> fieldType, Class<?> accessorType) {
+        return fieldType == int.class && accessorType == Integer.class || fieldType == long.class && accessorType == Long.class
+                || fieldType == boolean.class && accessorType == Boolean.class || fieldType == double.class && accessorType == Double.class
+                || fieldType == float.class && accessorType == Float.class || fieldType == short.class && accessorType == Short.class
+                || fieldType == byte.class && accessorType == Byte.class || fieldType == char.class && accessorType == Character.class;
+    }
+}
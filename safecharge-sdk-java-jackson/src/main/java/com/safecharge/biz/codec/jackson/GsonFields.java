@@ -0,0 +1,49 @@
+package com.safecharge.biz.codec.jackson;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * The fields Gson serializes for a class, in the order Gson serializes them: the fields declared by the class first, followed by the
+ * fields of its super classes. Static, transient and synthetic fields are skipped.
+ *
+ * @since 10/17/2026
+ */
+final class GsonFields {
+
+    private static final ConcurrentMap<Class<?>, Map<String, Field>> FIELDS_BY_TYPE = new ConcurrentHashMap<>();
+
+    private GsonFields() {
+    }
+
+    static Map<String, Field> get(Class<?> type) {
+        Map<String, Field> fields = FIELDS_BY_TYPE.get(type);
+        if (fields == null) {
+            fields = collect(type);
+            FIELDS_BY_TYPE.putIfAbsent(type, fields);
+        }
+        return fields;
+    }
+
+    private static Map<String, Field> collect(Class<?> type) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+                if (!fields.containsKey(field.getName())) {
+                    fields.put(field.getName(), field);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+}
@@ -0,0 +1,42 @@
+package com.safecharge.biz.codec.jackson;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Orders the serialized properties the way Gson does, see {@link GsonFields}. Jackson writes the fields of the super classes first.
+ *
+ * @since 10/17/2026
+ */
+class GsonPropertyOrder extends BeanSerializerModifier {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public List<BeanPropertyWriter> orderProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+        final List<String> order = new ArrayList<>(GsonFields.get(beanDesc.getBeanClass())
+                .keySet());
+        List<BeanPropertyWriter> orderedProperties = new ArrayList<>(beanProperties);
+        Collections.sort(orderedProperties, new Comparator<BeanPropertyWriter>() {
+            @Override
+            public int compare(BeanPropertyWriter p1, BeanPropertyWriter p2) {
+                return index(p1) - index(p2);
+            }
+
+            private int index(BeanPropertyWriter property) {
+                int index = order.indexOf(property.getName());
+                return index >= 0 ? index : Integer.MAX_VALUE / 2;
+            }
+        });
+        return orderedProperties;
+    }
+}
@@ -0,0 +1,166 @@
+package com.safecharge.biz.codec.jackson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Collection;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.safecharge.biz.codec.JsonCodec;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * {@link JsonCodec} backed by Jackson, producing the same JSON as the default {@link com.safecharge.biz.codec.GsonJsonCodec}.
+ * Serialization and deserialization go through the public getters and setters of the model, which are optimized with the Blackbird
+ * module when it is on the classpath and the application runs on Java 9 or later, otherwise with the Afterburner module.
+ * <p>
+ * Usage:
+ * <pre>
+ * SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+ *         .setJsonCodec(new JacksonJsonCodec())
+ *         .build();
+ * </pre>
+ *
+ * @since 10/17/2026
+ */
+public class JacksonJsonCodec implements JsonCodec {
+
+    private static final Log logger = LogFactory.getLog(JacksonJsonCodec.class);
+
+    private static final Charset UTF8_CHARSET = Charset.forName("UTF-8");
+
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a codec with an {@link ObjectMapper} configured by {@link #createObjectMapper()}.
+     */
+    public JacksonJsonCodec() {
+        this(createObjectMapper());
+    }
+
+    /**
+     * Creates a codec with a custom {@link ObjectMapper}. Start from {@link #createObjectMapper()} to keep the output compatible
+     * with the default codec.
+     *
+     * @param objectMapper the {@link ObjectMapper} to encode and decode with
+     */
+    public JacksonJsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Creates an {@link ObjectMapper} producing the same JSON as Gson: only the fields Gson serializes, in Gson's order, null values
+     * omitted and the same characters escaped. Unknown properties and enum constants are ignored when decoding, like Gson does.
+     *
+     * @return the configured {@link ObjectMapper}
+     */
+    public static ObjectMapper createObjectMapper() {
+        JsonFactory jsonFactory = new JsonFactory();
+        jsonFactory.setCharacterEscapes(new GsonCharacterEscapes());
+
+        ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
+        objectMapper.setAnnotationIntrospector(new GsonCompatibleAnnotationIntrospector());
+        objectMapper.setVisibility(objectMapper.getSerializationConfig()
+                .getDefaultVisibilityChecker()
+                .withFieldVisibility(JsonAutoDetect.Visibility.ANY)
+                .withGetterVisibility(JsonAutoDetect.Visibility.PUBLIC_ONLY)
+                .withIsGetterVisibility(JsonAutoDetect.Visibility.PUBLIC_ONLY)
+                .withSetterVisibility(JsonAutoDetect.Visibility.PUBLIC_ONLY));
+        objectMapper.setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL));
+        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        objectMapper.enable(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL);
+        objectMapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        objectMapper.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        objectMapper.registerModule(new SimpleModule(JacksonJsonCodec.class.getSimpleName()).setSerializerModifier(new GsonPropertyOrder()));
+        objectMapper.registerModule(createOptimizerModule());
+        return objectMapper;
+    }
+
+    private static Module createOptimizerModule() {
+        if (!System.getProperty("java.specification.version")
+                .startsWith("1.")) {
+            try {
+                return (Module) Class.forName(BLACKBIRD_MODULE)
+                        .newInstance();
+            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Blackbird is not available, using Afterburner: " + e.getMessage());
+                }
+            }
+        }
+        return new AfterburnerModule();
+    }
+
+    @Override
+    public void prepare(Collection<? extends Class<?>> types) {
+        for (Class<?> type : types) {
+            objectMapper.canSerialize(type);
+            objectMapper.canDeserialize(objectMapper.constructType(type));
+        }
+    }
+
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        objectMapper.writeValue(out, value);
+    }
+
+    @Override
+    public String encode(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public <T> T decode(InputStream in, Charset charset, Class<T> type) throws IOException {
+        JsonFactory jsonFactory = objectMapper.getFactory();
+        try (JsonParser parser = UTF8_CHARSET.equals(charset) ? jsonFactory.createParser(in) : jsonFactory.createParser(
+                new InputStreamReader(in, charset))) {
+            return decode(parser, type);
+        }
+    }
+
+    @Override
+    public <T> T decode(String json, Class<T> type) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory()
+                .createParser(json)) {
+            return decode(parser, type);
+        }
+    }
+
+    private <T> T decode(JsonParser parser, Class<T> type) throws IOException {
+        if (parser.nextToken() == null) {
+            return null; // empty content, like Gson
+        }
+        return objectMapper.readValue(parser, type);
+    }
+
+    /**
+     * @return the {@link ObjectMapper} used by this codec
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+}
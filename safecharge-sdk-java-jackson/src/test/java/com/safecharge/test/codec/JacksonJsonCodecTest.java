@@ -0,0 +1,93 @@
+package com.safecharge.test.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.safecharge.biz.codec.GsonJsonCodec;
+import com.safecharge.biz.codec.JsonCodec;
+import com.safecharge.biz.codec.jackson.JacksonJsonCodec;
+import com.safecharge.model.MerchantDetails;
+import com.safecharge.model.UserAddress;
+import com.safecharge.request.PaymentCCRequest;
+import com.safecharge.response.GetSessionTokenResponse;
+import com.safecharge.test.JsonFixtures;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Verifies that {@link JacksonJsonCodec} produces byte-for-byte the same JSON as the default {@link GsonJsonCodec} for all of the mock
+ * requests and responses.
+ *
+ * @since 10/17/2026
+ */
+public class JacksonJsonCodecTest {
+
+    private static final Charset UTF8_CHARSET = Charset.forName("UTF-8");
+
+    private final JsonCodec gsonCodec = new GsonJsonCodec();
+    private final JsonCodec jacksonCodec = new JacksonJsonCodec();
+
+    @Test
+    public void testRequestsMatchGsonOutput() throws IOException {
+        for (Map.Entry<String, Class<?>> request : JsonFixtures.REQUESTS.entrySet()) {
+            Object value = gsonCodec.decode(JsonFixtures.load(request.getKey()), request.getValue());
+            assertArrayEquals(request.getKey(), encode(gsonCodec, value), encode(jacksonCodec, value));
+        }
+    }
+
+    @Test
+    public void testResponsesMatchGsonOutput() throws IOException {
+        for (Map.Entry<String, Class<?>> response : JsonFixtures.RESPONSES.entrySet()) {
+            byte[] json = JsonFixtures.load(response.getKey())
+                    .getBytes(UTF8_CHARSET);
+            Object gsonValue = gsonCodec.decode(new ByteArrayInputStream(json), UTF8_CHARSET, response.getValue());
+            Object jacksonValue = jacksonCodec.decode(new ByteArrayInputStream(json), UTF8_CHARSET, response.getValue());
+
+            byte[] expected = encode(gsonCodec, gsonValue);
+            assertArrayEquals(response.getKey(), expected, encode(jacksonCodec, gsonValue));
+            assertArrayEquals(response.getKey(), expected, encode(gsonCodec, jacksonValue));
+        }
+    }
+
+    @Test
+    public void testEscapingMatchesGsonOutput() throws IOException {
+        UserAddress billingAddress = new UserAddress();
+        billingAddress.setFirstName("<b>Tom & Jerry's</b> = \"friends\"\\");
+        billingAddress.setAddress("line\nbreak\ttab\u0001\u001f\u007f   é€");
+        MerchantDetails merchantDetails = new MerchantDetails();
+        merchantDetails.setCustomField1("a/b");
+        PaymentCCRequest request = new PaymentCCRequest();
+        request.setBillingAddress(billingAddress);
+        request.setMerchantDetails(merchantDetails);
+
+        assertArrayEquals(encode(gsonCodec, request), encode(jacksonCodec, request));
+        assertEquals(gsonCodec.encode(request), jacksonCodec.encode(request));
+    }
+
+    @Test
+    public void testEmptyObjectsMatchGsonOutput() throws IOException {
+        assertArrayEquals(encode(gsonCodec, new GetSessionTokenResponse()), encode(jacksonCodec, new GetSessionTokenResponse()));
+        assertArrayEquals(encode(gsonCodec, new PaymentCCRequest()), encode(jacksonCodec, new PaymentCCRequest()));
+    }
+
+    @Test
+    public void testEmptyContent() throws IOException {
+        assertNull(jacksonCodec.decode("", GetSessionTokenResponse.class));
+        assertNull(jacksonCodec.decode(new ByteArrayInputStream(new byte[0]), UTF8_CHARSET, GetSessionTokenResponse.class));
+    }
+
+    private byte[] encode(JsonCodec codec, Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.encode(value, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,165 @@
+package com.safecharge.biz.reactive;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.SafechargeResponse;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Reactive Streams facade of a {@link SafechargeRequestExecutor}: turns a {@link Publisher} of requests into a {@link Publisher} of their
+ * responses. The demand of the response {@link Subscriber} drives the requests: a request is taken from the request {@link Publisher}
+ * only when its response can be delivered, and at most {@code maxConcurrency} requests are in flight or waiting to be delivered.
+ * <p>
+ * The requests are sent with {@link SafechargeRequestExecutor#executeRequestAsync(SafechargeBaseRequest,
+ * org.apache.http.concurrent.FutureCallback)}, so no thread is blocked waiting for the responses. By default the responses are delivered
+ * in the order of the requests. A failed request, an unparsable response or a response of an unexpected type fails the response
+ * stream with its exception once the responses before it are delivered, and cancels the remaining requests. A failure of the request
+ * {@link Publisher} is signalled after the responses of the requests it already published. Cancelling the response stream cancels the
+ * request {@link Publisher} and aborts the requests in flight.
+ * <p>
+ * Usage:
+ * <pre>
+ * ReactiveRequestExecutor reactiveExecutor = ReactiveRequestExecutor.builder()
+ *         .setRequestExecutor(requestExecutor)
+ *         .setMaxConcurrency(32)
+ *         .build();
+ * Publisher&lt;PaymentsResponse&gt; payments = reactiveExecutor.execute(paymentRequests, PaymentsResponse.class);
+ * </pre>
+ * On Java 9 or later, {@code org.reactivestreams.FlowAdapters} converts the publishers from and to {@code java.util.concurrent.Flow}.
+ *
+ * @since 10/17/2026
+ */
+public class ReactiveRequestExecutor {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    private final SafechargeRequestExecutor requestExecutor;
+    private final int maxConcurrency;
+    private final boolean ordered;
+
+    private ReactiveRequestExecutor(SafechargeRequestExecutor requestExecutor, int maxConcurrency, boolean ordered) {
+        this.requestExecutor = requestExecutor;
+        this.maxConcurrency = maxConcurrency;
+        this.ordered = ordered;
+    }
+
+    /**
+     * @return a new builder of a {@link ReactiveRequestExecutor}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Sends the {@code requests} and publishes their responses. Each {@link Subscriber} of the returned {@link Publisher} subscribes to
+     * the {@code requests} anew.
+     *
+     * @param requests the requests to send
+     * @return {@link Publisher} of the responses
+     */
+    public Publisher<SafechargeResponse> execute(Publisher<? extends SafechargeBaseRequest> requests) {
+        return execute(requests, SafechargeResponse.class);
+    }
+
+    /**
+     * Sends the {@code requests} and publishes their responses, which must all be of the {@code responseType}. Each {@link Subscriber}
+     * of the returned {@link Publisher} subscribes to the {@code requests} anew.
+     *
+     * @param requests     the requests to send
+     * @param responseType the type of the responses
+     * @param <T>          the type of the responses
+     * @return {@link Publisher} of the responses
+     */
+    public <T extends SafechargeResponse> Publisher<T> execute(final Publisher<? extends SafechargeBaseRequest> requests,
+                                                               final Class<T> responseType) {
+        if (requests == null || responseType == null) {
+            throw new NullPointerException("The requests and the response type are required");
+        }
+        return new Publisher<T>() {
+            @Override
+            public void subscribe(Subscriber<? super T> subscriber) {
+                if (subscriber == null) {
+                    throw new NullPointerException("The subscriber is required");
+                }
+                RequestPipeline<T> pipeline = new RequestPipeline<>(requestExecutor, subscriber, responseType, maxConcurrency, ordered);
+                subscriber.onSubscribe(pipeline);
+                requests.subscribe(pipeline);
+            }
+        };
+    }
+
+    /**
+     * @return the maximum number of requests in flight or waiting to be delivered, per subscriber
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return true if the responses are delivered in the order of the requests
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * Builder for {@link ReactiveRequestExecutor} instances.
+     */
+    public static class Builder {
+
+        private SafechargeRequestExecutor requestExecutor;
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        private boolean ordered = true;
+
+        /**
+         * Sets the executor sending the requests, the shared {@link SafechargeRequestExecutor#getInstance()} by default.
+         *
+         * @param requestExecutor the executor sending the requests
+         * @return this object
+         */
+        public Builder setRequestExecutor(SafechargeRequestExecutor requestExecutor) {
+            this.requestExecutor = requestExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests of a subscriber in flight or waiting to be delivered,
+         * {@value ReactiveRequestExecutor#DEFAULT_MAX_CONCURRENCY} by default. The concurrency limits of the
+         * {@link SafechargeRequestExecutor} apply too.
+         *
+         * @param maxConcurrency the maximum number of requests, at least 1
+         * @return this object
+         */
+        public Builder setMaxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("The max concurrency must be at least 1: " + maxConcurrency);
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets whether the responses are delivered in the order of the requests, true by default. Unordered responses are delivered
+         * as soon as they are received, so a slow request doesn't hold back the responses of the requests after it.
+         *
+         * @param ordered true to deliver the responses in the order of the requests
+         * @return this object
+         */
+        public Builder setOrdered(boolean ordered) {
+            this.ordered = ordered;
+            return this;
+        }
+
+        /**
+         * @return new {@link ReactiveRequestExecutor} instance
+         */
+        public ReactiveRequestExecutor build() {
+            return new ReactiveRequestExecutor(requestExecutor != null ? requestExecutor : SafechargeRequestExecutor.getInstance(),
+                    maxConcurrency, ordered);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.safecharge.biz.reactive;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.http.concurrent.FutureCallback;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.SafechargeResponse;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Subscription of a response {@link Subscriber} of {@link ReactiveRequestExecutor}, subscribed to the request publisher in turn.
+ * All of the signals to the response {@link Subscriber} and to the request {@link Subscription} are sent by {@link #drain()}, which
+ * runs on one thread at a time: the thread which finds the work in progress counter at 0 drains on behalf of the others.
+ *
+ * @since 10/17/2026
+ */
+class RequestPipeline<T extends SafechargeResponse> implements Subscriber<SafechargeBaseRequest>, Subscription {
+
+    private final SafechargeRequestExecutor requestExecutor;
+    private final Subscriber<? super T> subscriber;
+    private final Class<T> responseType;
+    private final int maxConcurrency;
+    private final boolean ordered;
+
+    private final AtomicReference<Subscription> upstream = new AtomicReference<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger workInProgress = new AtomicInteger();
+    /**
+     * The requests received and not delivered yet, in order.
+     */
+    private final Queue<PendingRequest> pendingRequests = new ConcurrentLinkedQueue<>();
+    /**
+     * The completed requests, in the order of completion, only used when the responses are not ordered.
+     */
+    private final Queue<PendingRequest> completedRequests = new ConcurrentLinkedQueue<>();
+    private volatile boolean cancelled;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile Throwable invalidRequest;
+
+    // only accessed by drain()
+    private long emitted;
+    private long upstreamRequested;
+    private boolean upstreamCancelled;
+    private boolean terminated;
+
+    RequestPipeline(SafechargeRequestExecutor requestExecutor, Subscriber<? super T> subscriber, Class<T> responseType, int maxConcurrency,
+                    boolean ordered) {
+        this.requestExecutor = requestExecutor;
+        this.subscriber = subscriber;
+        this.responseType = responseType;
+        this.maxConcurrency = maxConcurrency;
+        this.ordered = ordered;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        if (subscription == null) {
+            throw new NullPointerException("The subscription is required");
+        }
+        if (!upstream.compareAndSet(null, subscription)) {
+            subscription.cancel(); // subscribed twice
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(SafechargeBaseRequest request) {
+        if (request == null) {
+            throw new NullPointerException("The request is required");
+        }
+        if (cancelled) {
+            return;
+        }
+        PendingRequest pendingRequest = new PendingRequest(request.getClass());
+        pendingRequests.offer(pendingRequest);
+        try {
+            pendingRequest.setFuture(requestExecutor.executeRequestAsync(request, pendingRequest));
+        } catch (RuntimeException e) {
+            pendingRequest.failed(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (t == null) {
+            throw new NullPointerException("The error is required");
+        }
+        upstreamError = t;
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            invalidRequest = new IllegalArgumentException("Non-positive subscription request, see rule 3.9: " + n);
+        } else {
+            long current;
+            long next;
+            do {
+                current = requested.get();
+                if (current == Long.MAX_VALUE) {
+                    break;
+                }
+                next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+            } while (!requested.compareAndSet(current, next));
+        }
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        drain();
+    }
+
+    private void drain() {
+        if (workInProgress.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if (cancelled) {
+                cancelRequests();
+            } else if (!terminated) {
+                deliver();
+            }
+            missed = workInProgress.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void deliver() {
+        Throwable invalidRequest = this.invalidRequest;
+        if (invalidRequest != null) {
+            fail(invalidRequest);
+            return;
+        }
+
+        long requested = this.requested.get();
+        for (; ; ) {
+            PendingRequest completed = ordered ? pendingRequests.peek() : completedRequests.peek();
+            if (completed == null || !completed.isDone()) {
+                break;
+            }
+            Throwable error = completed.getError();
+            SafechargeResponse response = completed.getResponse();
+            if (error == null && !responseType.isInstance(response)) {
+                error = response == null ? new IOException("No response to " + completed.getRequestClass()
+                        .getSimpleName()) : new ClassCastException(response.getClass()
+                        .getName() + " is not a " + responseType.getName());
+            }
+            if (error == null && emitted == requested) {
+                break; // errors are signalled without demand
+            }
+
+            if (ordered) {
+                pendingRequests.poll();
+            } else {
+                completedRequests.poll();
+                pendingRequests.remove(completed);
+            }
+            if (error != null) {
+                fail(error);
+                return;
+            }
+            subscriber.onNext(responseType.cast(response));
+            emitted++;
+            if (cancelled) {
+                cancelRequests();
+                return;
+            }
+        }
+
+        if (upstreamDone && pendingRequests.isEmpty()) {
+            terminated = true;
+            Throwable upstreamError = this.upstreamError;
+            if (upstreamError != null) {
+                subscriber.onError(upstreamError);
+            } else {
+                subscriber.onComplete();
+            }
+            return;
+        }
+
+        Subscription upstream = this.upstream.get();
+        if (upstream != null && !upstreamDone) {
+            long undelivered = upstreamRequested - emitted;
+            long toRequest = Math.min(maxConcurrency - undelivered, requested - upstreamRequested);
+            if (toRequest > 0) {
+                upstreamRequested += toRequest;
+                upstream.request(toRequest);
+            }
+        }
+    }
+
+    private void fail(Throwable error) {
+        terminated = true;
+        cancelled = true;
+        cancelRequests();
+        subscriber.onError(error);
+    }
+
+    /**
+     * Cancels the request publisher and aborts the requests in flight. Runs again on every drain after the cancellation, as the request
+     * {@link Subscription} may arrive late.
+     */
+    private void cancelRequests() {
+        Subscription upstream = this.upstream.get();
+        if (upstream != null && !upstreamCancelled) {
+            upstreamCancelled = true;
+            upstream.cancel();
+        }
+        PendingRequest pendingRequest;
+        while ((pendingRequest = pendingRequests.poll()) != null) {
+            pendingRequest.cancel();
+        }
+        completedRequests.clear();
+    }
+
+    /**
+     * A request sent to the gateway, until its response is delivered.
+     */
+    private class PendingRequest implements FutureCallback<SafechargeResponse> {
+
+        private final Class<?> requestClass;
+        private volatile Future<SafechargeResponse> future;
+        private volatile SafechargeResponse response;
+        private volatile Throwable error;
+        private volatile boolean done;
+
+        PendingRequest(Class<?> requestClass) {
+            this.requestClass = requestClass;
+        }
+
+        void setFuture(Future<SafechargeResponse> future) {
+            this.future = future;
+            if (cancelled) {
+                future.cancel(true);
+            }
+        }
+
+        void cancel() {
+            Future<SafechargeResponse> future = this.future;
+            if (future != null && !done) {
+                future.cancel(true);
+            }
+        }
+
+        @Override
+        public void completed(SafechargeResponse response) {
+            this.response = response;
+            complete();
+        }
+
+        @Override
+        public void failed(Exception e) {
+            this.error = e;
+            complete();
+        }
+
+        @Override
+        public void cancelled() {
+            this.error = new CancellationException("The request was cancelled");
+            complete();
+        }
+
+        private void complete() {
+            done = true;
+            if (!ordered) {
+                completedRequests.offer(this);
+            }
+            drain();
+        }
+
+        Class<?> getRequestClass() {
+            return requestClass;
+        }
+
+        SafechargeResponse getResponse() {
+            return response;
+        }
+
+        Throwable getError() {
+            return error;
+        }
+
+        boolean isDone() {
+            return done;
+        }
+    }
+}
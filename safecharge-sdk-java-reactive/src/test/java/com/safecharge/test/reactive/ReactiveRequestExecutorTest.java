@@ -0,0 +1,266 @@
+package com.safecharge.test.reactive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.biz.reactive.ReactiveRequestExecutor;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.GetSessionTokenResponse;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Streams session token requests through {@link ReactiveRequestExecutor} to a local server, which answers the earlier requests later.
+ *
+ * @since 10/17/2026
+ */
+public class ReactiveRequestExecutorTest {
+
+    private static final Pattern CLIENT_REQUEST_ID = Pattern.compile("\"clientRequestId\":\"([^\"]+)\"");
+
+    private final AtomicInteger receivedRequests = new AtomicInteger();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicInteger maxInFlightRequests = new AtomicInteger();
+    private HttpServer server;
+    private MerchantInfo merchantInfo;
+    private SafechargeRequestExecutor requestExecutor;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                receivedRequests.incrementAndGet();
+                int inFlight = inFlightRequests.incrementAndGet();
+                while (maxInFlightRequests.get() < inFlight && !maxInFlightRequests.compareAndSet(maxInFlightRequests.get(), inFlight)) {
+                    // retry
+                }
+                Matcher matcher = CLIENT_REQUEST_ID.matcher(new String(readFully(exchange.getRequestBody()), "UTF-8"));
+                String clientRequestId = matcher.find() ? matcher.group(1) : "";
+                try {
+                    // the earlier requests are answered later
+                    Thread.sleep(clientRequestId.startsWith("fail") ? 0 : Math.max(0, 100 - 20 * Integer.parseInt(clientRequestId)));
+                } catch (InterruptedException e) {
+                    Thread.currentThread()
+                            .interrupt();
+                }
+                byte[] response = (clientRequestId.startsWith("fail") ? "not json" : "{\"sessionToken\":\"" + clientRequestId
+                        + "\",\"status\":\"SUCCESS\"}").getBytes("UTF-8");
+                inFlightRequests.decrementAndGet();
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+        merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+        requestExecutor = SafechargeRequestExecutor.builder()
+                .build();
+    }
+
+    @After
+    public void stopServer() throws IOException {
+        requestExecutor.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testResponsesFollowTheRequestOrder() throws InterruptedException {
+        ReactiveRequestExecutor reactiveExecutor = ReactiveRequestExecutor.builder()
+                .setRequestExecutor(requestExecutor)
+                .setMaxConcurrency(3)
+                .build();
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        reactiveExecutor.execute(publish("0", "1", "2", "3", "4", "5"), GetSessionTokenResponse.class)
+                .subscribe(subscriber);
+
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertNull(subscriber.error);
+        assertEquals(subscriber.sessionTokens.toString(), 6, subscriber.sessionTokens.size());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(String.valueOf(i), subscriber.sessionTokens.get(i));
+        }
+        assertTrue(maxInFlightRequests.get() <= 3);
+    }
+
+    @Test
+    public void testDemandDrivesTheRequests() throws InterruptedException {
+        ReactiveRequestExecutor reactiveExecutor = ReactiveRequestExecutor.builder()
+                .setRequestExecutor(requestExecutor)
+                .setMaxConcurrency(4)
+                .build();
+        CollectingSubscriber subscriber = new CollectingSubscriber(1);
+        reactiveExecutor.execute(publish("4", "4", "4", "4", "4"))
+                .subscribe(subscriber);
+
+        subscriber.awaitResponses(1);
+        Thread.sleep(100);
+        assertEquals(1, receivedRequests.get());
+
+        subscriber.subscription.request(2);
+        subscriber.awaitResponses(3);
+        Thread.sleep(100);
+        assertEquals(3, receivedRequests.get());
+        assertEquals(1, subscriber.terminated.getCount());
+    }
+
+    @Test
+    public void testFailedRequestFailsTheStream() throws InterruptedException {
+        ReactiveRequestExecutor reactiveExecutor = ReactiveRequestExecutor.builder()
+                .setRequestExecutor(requestExecutor)
+                .build();
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+        reactiveExecutor.execute(publish("0", "1", "fail", "3"))
+                .subscribe(subscriber);
+
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertEquals(2, subscriber.sessionTokens.size());
+        assertTrue(String.valueOf(subscriber.error), subscriber.error instanceof IOException);
+    }
+
+    private Publisher<SafechargeBaseRequest> publish(String... clientRequestIds) {
+        List<SafechargeBaseRequest> requests = new ArrayList<>();
+        for (String clientRequestId : clientRequestIds) {
+            requests.add(GetSessionTokenRequest.builder()
+                    .addMerchantInfo(merchantInfo)
+                    .addClientRequestId(clientRequestId)
+                    .build());
+        }
+        return new ListPublisher(requests);
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Publishes the requests of a list as they are requested.
+     */
+    private static class ListPublisher implements Publisher<SafechargeBaseRequest> {
+
+        private final List<SafechargeBaseRequest> requests;
+
+        ListPublisher(List<SafechargeBaseRequest> requests) {
+            this.requests = requests;
+        }
+
+        @Override
+        public void subscribe(final Subscriber<? super SafechargeBaseRequest> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private final AtomicInteger workInProgress = new AtomicInteger();
+                private long requested;
+                private int next;
+                private volatile boolean cancelled;
+
+                @Override
+                public synchronized void request(long n) {
+                    requested += n;
+                    if (workInProgress.getAndIncrement() != 0) {
+                        return; // called from onNext
+                    }
+                    do {
+                        while (requested > 0 && next < requests.size() && !cancelled) {
+                            requested--;
+                            subscriber.onNext(requests.get(next++));
+                        }
+                        if (next == requests.size() && !cancelled) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                        }
+                    } while (workInProgress.decrementAndGet() != 0);
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+
+    /**
+     * Collects the session tokens of the responses, requesting {@code initialDemand} of them upfront.
+     */
+    private static class CollectingSubscriber implements Subscriber<Object> {
+
+        private final long initialDemand;
+        private final List<String> sessionTokens = Collections.synchronizedList(new ArrayList<String>());
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private volatile Subscription subscription;
+        private volatile Throwable error;
+
+        CollectingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialDemand);
+        }
+
+        @Override
+        public void onNext(Object response) {
+            sessionTokens.add(((GetSessionTokenResponse) response).getSessionToken());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+
+        void awaitResponses(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sessionTokens.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, sessionTokens.size());
+        }
+    }
+}
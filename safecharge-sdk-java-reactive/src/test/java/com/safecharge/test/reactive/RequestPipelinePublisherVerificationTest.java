@@ -0,0 +1,94 @@
+package com.safecharge.test.reactive;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.reactivestreams.tck.flow.support.Function;
+import org.reactivestreams.tck.flow.support.HelperPublisher;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.biz.reactive.ReactiveRequestExecutor;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.SafechargeResponse;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Verifies the response {@link Publisher} of {@link ReactiveRequestExecutor} against the rules of the Reactive Streams specification.
+ *
+ * @since 10/17/2026
+ */
+public class RequestPipelinePublisherVerificationTest extends PublisherVerification<SafechargeResponse> {
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = 1000;
+    private static final int MAX_ELEMENTS = 100;
+
+    private SessionTokenServer server;
+    private SafechargeRequestExecutor requestExecutor;
+    private ReactiveRequestExecutor reactiveExecutor;
+    private ExecutorService publisherExecutor;
+
+    public RequestPipelinePublisherVerificationTest() {
+        super(new TestEnvironment(DEFAULT_TIMEOUT_MILLIS));
+    }
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new SessionTokenServer();
+        requestExecutor = SafechargeRequestExecutor.builder()
+                .build();
+        reactiveExecutor = ReactiveRequestExecutor.builder()
+                .setRequestExecutor(requestExecutor)
+                .build();
+        publisherExecutor = Executors.newCachedThreadPool();
+    }
+
+    @AfterClass
+    public void stopServer() throws IOException {
+        publisherExecutor.shutdownNow();
+        requestExecutor.close();
+        server.stop();
+    }
+
+    @Override
+    public Publisher<SafechargeResponse> createPublisher(long elements) {
+        return reactiveExecutor.execute(new HelperPublisher<>(0, (int) elements, new Function<Integer, SafechargeBaseRequest>() {
+            @Override
+            public SafechargeBaseRequest apply(Integer element) {
+                return server.createRequest(element);
+            }
+        }, publisherExecutor));
+    }
+
+    @Override
+    public Publisher<SafechargeResponse> createFailedPublisher() {
+        return reactiveExecutor.execute(new Publisher<SafechargeBaseRequest>() {
+            @Override
+            public void subscribe(Subscriber<? super SafechargeBaseRequest> subscriber) {
+                subscriber.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IOException("The requests failed"));
+            }
+        });
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        return MAX_ELEMENTS;
+    }
+}
@@ -0,0 +1,93 @@
+package com.safecharge.test.reactive;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.reactivestreams.tck.SubscriberBlackboxVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.biz.reactive.ReactiveRequestExecutor;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.SafechargeResponse;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Verifies the {@link Subscriber} which {@link ReactiveRequestExecutor} subscribes to the request {@link Publisher} against the rules of
+ * the Reactive Streams specification. The responses are requested without bound, so the request {@link Subscriber} signals its demand
+ * on its own.
+ *
+ * @since 10/17/2026
+ */
+public class RequestPipelineSubscriberVerificationTest extends SubscriberBlackboxVerification<SafechargeBaseRequest> {
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = 1000;
+
+    private SessionTokenServer server;
+    private SafechargeRequestExecutor requestExecutor;
+    private ReactiveRequestExecutor reactiveExecutor;
+
+    public RequestPipelineSubscriberVerificationTest() {
+        super(new TestEnvironment(DEFAULT_TIMEOUT_MILLIS));
+    }
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new SessionTokenServer();
+        requestExecutor = SafechargeRequestExecutor.builder()
+                .build();
+        reactiveExecutor = ReactiveRequestExecutor.builder()
+                .setRequestExecutor(requestExecutor)
+                .build();
+    }
+
+    @AfterClass
+    public void stopServer() throws IOException {
+        requestExecutor.close();
+        server.stop();
+    }
+
+    @Override
+    public Subscriber<SafechargeBaseRequest> createSubscriber() {
+        // the request subscriber is handed to the request publisher, which the TCK takes the place of
+        final AtomicReference<Subscriber<? super SafechargeBaseRequest>> requestSubscriber = new AtomicReference<>();
+        reactiveExecutor.execute(new Publisher<SafechargeBaseRequest>() {
+            @Override
+            public void subscribe(Subscriber<? super SafechargeBaseRequest> subscriber) {
+                requestSubscriber.set(subscriber);
+            }
+        })
+                .subscribe(new Subscriber<SafechargeResponse>() {
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(SafechargeResponse response) {
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+        @SuppressWarnings("unchecked")
+        Subscriber<SafechargeBaseRequest> subscriber = (Subscriber<SafechargeBaseRequest>) requestSubscriber.get();
+        return subscriber;
+    }
+
+    @Override
+    public SafechargeBaseRequest createElement(int element) {
+        return server.createRequest(element);
+    }
+}
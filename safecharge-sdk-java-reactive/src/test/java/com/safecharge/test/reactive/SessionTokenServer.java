@@ -0,0 +1,67 @@
+package com.safecharge.test.reactive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Local server answering every request with a successful session token response, for the Reactive Streams TCK verifications.
+ *
+ * @since 10/17/2026
+ */
+class SessionTokenServer {
+
+    private final HttpServer server;
+    private final MerchantInfo merchantInfo;
+
+    static {
+        // without TCP_NODELAY the separate writes of the headers and of the body wait for the delayed ACK of the client
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    SessionTokenServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try (InputStream in = exchange.getRequestBody()) {
+                    while (in.read() >= 0) {
+                        // drain the request
+                    }
+                }
+                byte[] response = "{\"sessionToken\":\"token\",\"status\":\"SUCCESS\"}".getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+        merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+    }
+
+    SafechargeBaseRequest createRequest(int element) {
+        return GetSessionTokenRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .addClientRequestId(String.valueOf(element))
+                .build();
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,86 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Additive increase, multiplicative decrease {@link ConcurrencyLimit}. The limit grows by one after each successful request which
+ * used at least half of it, and is multiplied by the backoff ratio after each request which failed or took longer than the timeout.
+ *
+ * @since 10/17/2026
+ */
+public class AimdLimit implements ConcurrencyLimit {
+
+    public static final int DEFAULT_INITIAL_LIMIT = SafechargeClientBuilder.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = SafechargeClientBuilder.DEFAULT_MAX_TOTAL_CONNECTIONS;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    public static final int DEFAULT_TIMEOUT_SECONDS = 5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long timeoutNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int limit;
+
+    /**
+     * Creates a limit with the default settings.
+     */
+    public AimdLimit() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_BACKOFF_RATIO, DEFAULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param initialLimit the initial limit
+     * @param minLimit     the minimum limit
+     * @param maxLimit     the maximum limit
+     * @param backoffRatio the ratio the limit is multiplied by when a request fails or times out, between 0.5 and 1
+     * @param timeout      the round trip time over which a request counts as failed
+     * @param timeUnit     the {@link TimeUnit} of the {@code timeout}
+     */
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long timeout, TimeUnit timeUnit) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limits: initial " + initialLimit + ", min " + minLimit + ", max " + maxLimit);
+        }
+        if (backoffRatio < 0.5 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("The backoff ratio must be between 0.5 and 1: " + backoffRatio);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.timeoutNanos = timeUnit.toNanos(timeout);
+    }
+
+    @Override
+    public int getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onSample(long rttNanos, int inFlightRequests, boolean dropped) {
+        lock.lock();
+        try {
+            if (dropped || rttNanos > timeoutNanos) {
+                limit = Math.max(minLimit, (int) (limit * backoffRatio));
+            } else if (inFlightRequests * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AimdLimit[" + getLimit() + "]";
+    }
+}
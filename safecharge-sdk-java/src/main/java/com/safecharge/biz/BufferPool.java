@@ -0,0 +1,196 @@
+package com.safecharge.biz;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Bounded pool of the byte buffers the request and response bodies are encoded into and read into. The buffers are pooled in power of
+ * two size classes from {@value #MIN_BUFFER_SIZE} bytes to {@value #MAX_BUFFER_SIZE} bytes, and the pool holds at most
+ * {@code maxPooledBytes} bytes. Taking and returning a buffer is lock free.
+ * <p>
+ * The first buffer taken for a body is sized after the recent bodies of the same endpoint, see {@link SizeHint}, so that it rarely
+ * has to grow.
+ *
+ * @since 10/17/2026
+ */
+class BufferPool {
+
+    static final int MIN_BUFFER_SIZE = 1024;
+    static final int MAX_BUFFER_SIZE = 1024 * 1024;
+
+    private static final int MIN_SIZE_CLASS = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+    private static final int SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_BUFFER_SIZE) - MIN_SIZE_CLASS + 1;
+    private static final int SLOTS_PER_SIZE_CLASS = 32;
+
+    private final long maxPooledBytes;
+    private final AtomicReferenceArray<byte[]>[] buffers;
+    private final AtomicLong pooledBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong drops = new AtomicLong();
+    private final ConcurrentMap<String, SizeHint> requestSizeHints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SizeHint> responseSizeHints = new ConcurrentHashMap<>();
+    private final SizeHint unknownEndpointSizeHint = new SizeHint();
+    private final BufferPoolMetrics metrics = new BufferPoolMetrics(this);
+
+    @SuppressWarnings("unchecked")
+    BufferPool(long maxPooledBytes) {
+        this.maxPooledBytes = maxPooledBytes;
+        this.buffers = new AtomicReferenceArray[SIZE_CLASSES];
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            buffers[i] = new AtomicReferenceArray<>(SLOTS_PER_SIZE_CLASS);
+        }
+    }
+
+    /**
+     * @param capacity the minimum capacity of the buffer
+     * @return a pooled buffer of at least {@code capacity} bytes, or a new one if none is pooled
+     */
+    byte[] acquire(int capacity) {
+        int sizeClass = sizeClass(capacity);
+        if (sizeClass >= SIZE_CLASSES) {
+            misses.incrementAndGet();
+            return new byte[capacity];
+        }
+        AtomicReferenceArray<byte[]> slots = buffers[sizeClass];
+        for (int i = 0; i < SLOTS_PER_SIZE_CLASS; i++) {
+            byte[] buffer = slots.get(i);
+            if (buffer != null && slots.compareAndSet(i, buffer, null)) {
+                pooledBytes.addAndGet(-buffer.length);
+                hits.incrementAndGet();
+                return buffer;
+            }
+        }
+        misses.incrementAndGet();
+        return new byte[MIN_BUFFER_SIZE << sizeClass];
+    }
+
+    /**
+     * Returns the {@code buffer} to the pool, unless the pool is full. The buffer must not be used afterwards.
+     */
+    void release(byte[] buffer) {
+        int sizeClass = sizeClass(buffer.length);
+        if (sizeClass >= SIZE_CLASSES || buffer.length != MIN_BUFFER_SIZE << sizeClass || !reserve(buffer.length)) {
+            drops.incrementAndGet();
+            return;
+        }
+        AtomicReferenceArray<byte[]> slots = buffers[sizeClass];
+        for (int i = 0; i < SLOTS_PER_SIZE_CLASS; i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, buffer)) {
+                return;
+            }
+        }
+        pooledBytes.addAndGet(-buffer.length);
+        drops.incrementAndGet();
+    }
+
+    private boolean reserve(int bytes) {
+        long current;
+        do {
+            current = pooledBytes.get();
+            if (current + bytes > maxPooledBytes) {
+                return false;
+            }
+        } while (!pooledBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    private static int sizeClass(int capacity) {
+        if (capacity <= MIN_BUFFER_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(capacity - 1) - MIN_SIZE_CLASS;
+    }
+
+    /**
+     * @param endpoint the endpoint path, or null if it is not known
+     * @return the {@link SizeHint} of the request bodies sent to the {@code endpoint}
+     */
+    SizeHint getRequestSizeHint(String endpoint) {
+        return getSizeHint(requestSizeHints, endpoint);
+    }
+
+    /**
+     * @param endpoint the endpoint path, or null if it is not known
+     * @return the {@link SizeHint} of the response bodies received from the {@code endpoint}
+     */
+    SizeHint getResponseSizeHint(String endpoint) {
+        return getSizeHint(responseSizeHints, endpoint);
+    }
+
+    private SizeHint getSizeHint(ConcurrentMap<String, SizeHint> sizeHints, String endpoint) {
+        if (endpoint == null) {
+            return unknownEndpointSizeHint;
+        }
+        SizeHint sizeHint = sizeHints.get(endpoint);
+        if (sizeHint == null) {
+            sizeHint = new SizeHint();
+            SizeHint existing = sizeHints.putIfAbsent(endpoint, sizeHint);
+            if (existing != null) {
+                sizeHint = existing;
+            }
+        }
+        return sizeHint;
+    }
+
+    BufferPoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    long getDrops() {
+        return drops.get();
+    }
+
+    Map<String, Integer> getRequestSizeHints() {
+        return toMap(requestSizeHints);
+    }
+
+    Map<String, Integer> getResponseSizeHints() {
+        return toMap(responseSizeHints);
+    }
+
+    private static Map<String, Integer> toMap(Map<String, SizeHint> sizeHints) {
+        Map<String, Integer> sizes = new HashMap<>();
+        for (Map.Entry<String, SizeHint> sizeHint : sizeHints.entrySet()) {
+            sizes.put(sizeHint.getKey(), sizeHint.getValue()
+                    .getSize());
+        }
+        return sizes;
+    }
+
+    /**
+     * Expected size of the bodies of an endpoint: follows the larger bodies right away and decays by an eighth of the difference with
+     * each smaller body, so that occasional large bodies don't keep the buffers large.
+     */
+    static class SizeHint {
+
+        private volatile int size = MIN_BUFFER_SIZE;
+
+        int getSize() {
+            return size;
+        }
+
+        void record(int bodySize) {
+            int current = size;
+            size = bodySize >= current ? bodySize : Math.max(MIN_BUFFER_SIZE, current - (current - bodySize) / 8);
+        }
+    }
+}
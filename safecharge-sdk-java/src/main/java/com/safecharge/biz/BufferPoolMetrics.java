@@ -0,0 +1,80 @@
+package com.safecharge.biz;
+
+import java.util.Map;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Metrics of the pool of the request and response body buffers of an executor, see
+ * {@link SafechargeRequestExecutor.Builder#setBufferPool(long)}.
+ *
+ * @since 10/17/2026
+ */
+public class BufferPoolMetrics {
+
+    private final BufferPool bufferPool;
+
+    BufferPoolMetrics(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * @return the number of buffers taken from the pool
+     */
+    public long getHits() {
+        return bufferPool.getHits();
+    }
+
+    /**
+     * @return the number of buffers allocated because the pool had none of the needed size
+     */
+    public long getMisses() {
+        return bufferPool.getMisses();
+    }
+
+    /**
+     * @return the number of buffers not returned to the pool because it was full or they were too large
+     */
+    public long getDrops() {
+        return bufferPool.getDrops();
+    }
+
+    /**
+     * @return the number of bytes of the buffers currently in the pool
+     */
+    public long getPooledBytes() {
+        return bufferPool.getPooledBytes();
+    }
+
+    /**
+     * @return the expected size of the request bodies of each endpoint in bytes, which the first buffer of a body is sized after
+     */
+    public Map<String, Integer> getRequestSizeHints() {
+        return bufferPool.getRequestSizeHints();
+    }
+
+    /**
+     * @return the expected size of the response bodies of each endpoint in bytes, which the first buffer of a body is sized after
+     */
+    public Map<String, Integer> getResponseSizeHints() {
+        return bufferPool.getResponseSizeHints();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("hits=")
+                .append(getHits());
+        sb.append(", misses=")
+                .append(getMisses());
+        sb.append(", drops=")
+                .append(getDrops());
+        sb.append(", pooledBytes=")
+                .append(getPooledBytes());
+        sb.append(", requestSizeHints=")
+                .append(getRequestSizeHints());
+        sb.append(", responseSizeHints=")
+                .append(getResponseSizeHints());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package com.safecharge.biz;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.safecharge.exception.SafechargeRequestRejectedException;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Limits the number of concurrent requests of an {@link EndpointGroup}. The requests over the limit wait in a FIFO queue for at most
+ * the configured time, then they are rejected.
+ *
+ * @since 10/17/2026
+ */
+class Bulkhead {
+
+    private final EndpointGroup endpointGroup;
+    private final int maxConcurrentRequests;
+    private final long maxWaitMillis;
+    private final Semaphore permits;
+    private final AtomicInteger queuedRequests = new AtomicInteger();
+    private final AtomicLong rejectedRequests = new AtomicLong();
+    private final BulkheadMetrics metrics = new BulkheadMetrics(this);
+
+    Bulkhead(EndpointGroup endpointGroup, int maxConcurrentRequests, long maxWaitMillis) {
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("The maximum number of concurrent requests must be positive: " + maxConcurrentRequests);
+        }
+        this.endpointGroup = endpointGroup;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxWaitMillis = maxWaitMillis;
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+    }
+
+    /**
+     * @return a new {@link Bulkhead} with the same configuration
+     */
+    Bulkhead copy() {
+        return new Bulkhead(endpointGroup, maxConcurrentRequests, maxWaitMillis);
+    }
+
+    /**
+     * Waits for capacity for a request. Each successful call must be followed by a call of {@link #release()}.
+     *
+     * @throws SafechargeRequestRejectedException if no capacity became available in time
+     * @throws InterruptedIOException             if the calling thread is interrupted while waiting
+     */
+    void acquire() throws SafechargeRequestRejectedException, InterruptedIOException {
+        queuedRequests.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw reject();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for capacity in " + endpointGroup);
+        } finally {
+            queuedRequests.decrementAndGet();
+        }
+    }
+
+    /**
+     * Takes capacity for a request without waiting. Each successful call must be followed by a call of {@link #release()}.
+     *
+     * @throws SafechargeRequestRejectedException if there is no capacity left
+     */
+    void tryAcquire() throws SafechargeRequestRejectedException {
+        if (!permits.tryAcquire()) {
+            throw reject();
+        }
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    private SafechargeRequestRejectedException reject() {
+        rejectedRequests.incrementAndGet();
+        return new SafechargeRequestRejectedException("No capacity left for " + endpointGroup + " requests");
+    }
+
+    EndpointGroup getEndpointGroup() {
+        return endpointGroup;
+    }
+
+    int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    int getActiveRequests() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+
+    int getQueuedRequests() {
+        return queuedRequests.get();
+    }
+
+    long getRejectedRequests() {
+        return rejectedRequests.get();
+    }
+
+    BulkheadMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,75 @@
+package com.safecharge.biz;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Saturation metrics of the bulkhead of an {@link EndpointGroup}.
+ *
+ * @since 10/17/2026
+ */
+public class BulkheadMetrics {
+
+    private final Bulkhead bulkhead;
+
+    BulkheadMetrics(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * @return the {@link EndpointGroup} of the bulkhead
+     */
+    public EndpointGroup getEndpointGroup() {
+        return bulkhead.getEndpointGroup();
+    }
+
+    /**
+     * @return the maximum number of concurrent requests of the group
+     */
+    public int getMaxConcurrentRequests() {
+        return bulkhead.getMaxConcurrentRequests();
+    }
+
+    /**
+     * @return the number of requests of the group currently being executed
+     */
+    public int getActiveRequests() {
+        return bulkhead.getActiveRequests();
+    }
+
+    /**
+     * @return the number of requests of the group currently waiting for capacity
+     */
+    public int getQueuedRequests() {
+        return bulkhead.getQueuedRequests();
+    }
+
+    /**
+     * @return the number of requests of the group rejected because no capacity became available in time
+     */
+    public long getRejectedRequests() {
+        return bulkhead.getRejectedRequests();
+    }
+
+    /**
+     * @return the share of the capacity of the group in use, between 0 and 1
+     */
+    public double getSaturation() {
+        return (double) getActiveRequests() / getMaxConcurrentRequests();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("endpointGroup=")
+                .append(getEndpointGroup());
+        sb.append(", maxConcurrentRequests=")
+                .append(getMaxConcurrentRequests());
+        sb.append(", activeRequests=")
+                .append(getActiveRequests());
+        sb.append(", queuedRequests=")
+                .append(getQueuedRequests());
+        sb.append(", rejectedRequests=")
+                .append(getRejectedRequests());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,230 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Circuit breaker of an endpoint, see {@link CircuitBreakerConfig}. The outcomes of the recent requests are kept in a ring buffer.
+ * The state is guarded by a {@link ReentrantLock} rather than a monitor, so that virtual threads waiting for it don't pin their carrier.
+ *
+ * @since 10/17/2026
+ */
+class CircuitBreaker {
+
+    private static final Log logger = LogFactory.getLog(CircuitBreaker.class);
+
+    private static final int FAILED = 1;
+    private static final int SLOW = 2;
+
+    private final String name;
+    private final CircuitBreakerConfig config;
+    private final CircuitBreakerListener listener;
+    private final long slowCallDurationNanos;
+    private final long openWaitDurationNanos;
+    private final int[] outcomes;
+    private final AtomicLong notPermittedCalls = new AtomicLong();
+    private final AtomicLong stateTransitions = new AtomicLong();
+    private final CircuitBreakerMetrics metrics = new CircuitBreakerMetrics(this);
+    private final ReentrantLock lock = new ReentrantLock();
+    private CircuitBreakerState state = CircuitBreakerState.CLOSED;
+    private int calls;
+    private int next;
+    private int failedCalls;
+    private int slowCalls;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+
+    CircuitBreaker(String name, CircuitBreakerConfig config, CircuitBreakerListener listener) {
+        this.name = name;
+        this.config = config;
+        this.listener = listener;
+        this.slowCallDurationNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowCallDurationMillis());
+        this.openWaitDurationNanos = TimeUnit.MILLISECONDS.toNanos(config.getOpenWaitDurationMillis());
+        this.outcomes = new int[config.getSlidingWindowSize()];
+    }
+
+    /**
+     * Decides whether a request may be sent. Each permitted request must be followed by a call of {@link #onResult(long, boolean)} or
+     * {@link #releasePermission()}.
+     *
+     * @return true if the request may be sent, false if it must fail right away
+     */
+    boolean tryAcquirePermission() {
+        CircuitBreakerState fromState;
+        lock.lock();
+        try {
+            fromState = state;
+            if (state == CircuitBreakerState.OPEN) {
+                if (System.nanoTime() - openedAtNanos < openWaitDurationNanos) {
+                    notPermittedCalls.incrementAndGet();
+                    return false;
+                }
+                transitionTo(CircuitBreakerState.HALF_OPEN);
+            }
+            if (state == CircuitBreakerState.HALF_OPEN) {
+                if (halfOpenPermits == 0) {
+                    notPermittedCalls.incrementAndGet();
+                    return false;
+                }
+                halfOpenPermits--;
+            }
+        } finally {
+            lock.unlock();
+        }
+        fireStateTransition(fromState);
+        return true;
+    }
+
+    /**
+     * Gives back the permission of a request which was not sent.
+     */
+    void releasePermission() {
+        lock.lock();
+        try {
+            if (state == CircuitBreakerState.HALF_OPEN) {
+                halfOpenPermits++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the outcome of a permitted request.
+     *
+     * @param rttNanos the round trip time of the request in nanoseconds
+     * @param failed   true if the request failed with an I/O error or a communication error response
+     */
+    void onResult(long rttNanos, boolean failed) {
+        CircuitBreakerState fromState;
+        lock.lock();
+        try {
+            fromState = state;
+            if (state == CircuitBreakerState.OPEN) {
+                return; // a request permitted before the circuit breaker opened
+            }
+            record((failed ? FAILED : 0) | (rttNanos >= slowCallDurationNanos ? SLOW : 0));
+            if (state == CircuitBreakerState.HALF_OPEN) {
+                if (calls >= config.getHalfOpenCalls()) {
+                    transitionTo(isOverThreshold() ? CircuitBreakerState.OPEN : CircuitBreakerState.CLOSED);
+                }
+            } else if (calls >= config.getMinimumCalls() && isOverThreshold()) {
+                transitionTo(CircuitBreakerState.OPEN);
+            }
+        } finally {
+            lock.unlock();
+        }
+        fireStateTransition(fromState);
+    }
+
+    private void record(int outcome) {
+        if (calls == outcomes.length) {
+            int evicted = outcomes[next];
+            failedCalls -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            calls++;
+        }
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        failedCalls += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+    }
+
+    private boolean isOverThreshold() {
+        return failureRate() >= config.getFailureRateThreshold() || slowCallRate() >= config.getSlowCallRateThreshold();
+    }
+
+    private double failureRate() {
+        return calls == 0 ? 0 : 100.0 * failedCalls / calls;
+    }
+
+    private double slowCallRate() {
+        return calls == 0 ? 0 : 100.0 * slowCalls / calls;
+    }
+
+    private void transitionTo(CircuitBreakerState newState) {
+        state = newState;
+        calls = 0;
+        next = 0;
+        failedCalls = 0;
+        slowCalls = 0;
+        if (newState == CircuitBreakerState.OPEN) {
+            openedAtNanos = System.nanoTime();
+        } else if (newState == CircuitBreakerState.HALF_OPEN) {
+            halfOpenPermits = config.getHalfOpenCalls();
+        }
+        stateTransitions.incrementAndGet();
+    }
+
+    private void fireStateTransition(CircuitBreakerState fromState) {
+        CircuitBreakerState toState = getState();
+        if (fromState == toState) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Circuit breaker of " + name + " changed from " + fromState + " to " + toState);
+        }
+        if (listener != null) {
+            listener.onStateTransition(metrics, fromState, toState);
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    CircuitBreakerState getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double getFailureRate() {
+        lock.lock();
+        try {
+            return failureRate();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double getSlowCallRate() {
+        lock.lock();
+        try {
+            return slowCallRate();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getBufferedCalls() {
+        lock.lock();
+        try {
+            return calls;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getNotPermittedCalls() {
+        return notPermittedCalls.get();
+    }
+
+    long getStateTransitions() {
+        return stateTransitions.get();
+    }
+
+    CircuitBreakerMetrics getMetrics() {
+        return metrics;
+    }
+}
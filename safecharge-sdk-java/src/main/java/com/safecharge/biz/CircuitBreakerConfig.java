@@ -0,0 +1,207 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Configuration of the circuit breakers of an executor, one per endpoint and optionally per server host. A circuit breaker records the
+ * outcomes of the last {@link #getSlidingWindowSize()} requests of its endpoint. When the share of failed requests (transport failures and
+ * {@link com.safecharge.util.Constants.ErrorType#COMMUNICATION_ERROR} responses) or of slow requests reaches its threshold, it opens:
+ * the requests of the endpoint then fail right away with a {@link com.safecharge.util.Constants.ErrorType#COMMUNICATION_ERROR}
+ * response instead of waiting for the socket timeout. After the open wait duration, a few trial requests decide whether it closes again.
+ * <p>
+ * Usage:
+ * <pre>
+ * SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+ *         .setCircuitBreaker(CircuitBreakerConfig.builder()
+ *                 .setFailureRateThreshold(50)
+ *                 .setSlowCallThreshold(80, 5, TimeUnit.SECONDS)
+ *                 .build())
+ *         .build();
+ * </pre>
+ *
+ * @since 10/17/2026
+ */
+public class CircuitBreakerConfig {
+
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 100;
+    public static final int DEFAULT_SLOW_CALL_DURATION_SECONDS = 10;
+    public static final int DEFAULT_SLIDING_WINDOW_SIZE = 20;
+    public static final int DEFAULT_MINIMUM_CALLS = 10;
+    public static final int DEFAULT_OPEN_WAIT_DURATION_SECONDS = 30;
+    public static final int DEFAULT_HALF_OPEN_CALLS = 3;
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallDurationMillis;
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final long openWaitDurationMillis;
+    private final int halfOpenCalls;
+    private final boolean perServerHost;
+
+    private CircuitBreakerConfig(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDurationMillis = builder.slowCallDurationMillis;
+        this.slidingWindowSize = builder.slidingWindowSize;
+        this.minimumCalls = builder.minimumCalls;
+        this.openWaitDurationMillis = builder.openWaitDurationMillis;
+        this.halfOpenCalls = builder.halfOpenCalls;
+        this.perServerHost = builder.perServerHost;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public long getSlowCallDurationMillis() {
+        return slowCallDurationMillis;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public long getOpenWaitDurationMillis() {
+        return openWaitDurationMillis;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public boolean isPerServerHost() {
+        return perServerHost;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("failureRateThreshold=")
+                .append(failureRateThreshold);
+        sb.append(", slowCallRateThreshold=")
+                .append(slowCallRateThreshold);
+        sb.append(", slowCallDurationMillis=")
+                .append(slowCallDurationMillis);
+        sb.append(", slidingWindowSize=")
+                .append(slidingWindowSize);
+        sb.append(", minimumCalls=")
+                .append(minimumCalls);
+        sb.append(", openWaitDurationMillis=")
+                .append(openWaitDurationMillis);
+        sb.append(", halfOpenCalls=")
+                .append(halfOpenCalls);
+        sb.append(", perServerHost=")
+                .append(perServerHost);
+        return sb.toString();
+    }
+
+    public static class Builder {
+
+        private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private double slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+        private long slowCallDurationMillis = TimeUnit.SECONDS.toMillis(DEFAULT_SLOW_CALL_DURATION_SECONDS);
+        private int slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+        private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+        private long openWaitDurationMillis = TimeUnit.SECONDS.toMillis(DEFAULT_OPEN_WAIT_DURATION_SECONDS);
+        private int halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+        private boolean perServerHost;
+
+        /**
+         * Sets the percentage of failed requests which opens the circuit breaker, {@value CircuitBreakerConfig#DEFAULT_FAILURE_RATE_THRESHOLD}
+         * by default.
+         *
+         * @param failureRateThreshold the percentage, between 0 (exclusive) and 100
+         * @return this object
+         */
+        public Builder setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the percentage of slow requests which opens the circuit breaker, and how long a request must take to count as slow.
+         * {@value CircuitBreakerConfig#DEFAULT_SLOW_CALL_RATE_THRESHOLD} percent of the requests taking
+         * {@value CircuitBreakerConfig#DEFAULT_SLOW_CALL_DURATION_SECONDS} seconds or more by default.
+         *
+         * @param slowCallRateThreshold the percentage, between 0 (exclusive) and 100
+         * @param slowCallDuration      the round trip time from which a request is slow
+         * @param timeUnit              the {@link TimeUnit} of the {@code slowCallDuration}
+         * @return this object
+         */
+        public Builder setSlowCallThreshold(double slowCallRateThreshold, long slowCallDuration, TimeUnit timeUnit) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            this.slowCallDurationMillis = timeUnit.toMillis(slowCallDuration);
+            return this;
+        }
+
+        /**
+         * Sets the number of recent requests the rates are computed over, and the number of requests needed before the circuit breaker
+         * can open. {@value CircuitBreakerConfig#DEFAULT_SLIDING_WINDOW_SIZE} and {@value CircuitBreakerConfig#DEFAULT_MINIMUM_CALLS}
+         * by default.
+         *
+         * @param slidingWindowSize the number of recent requests
+         * @param minimumCalls      the minimum number of requests, at most {@code slidingWindowSize}
+         * @return this object
+         */
+        public Builder setSlidingWindow(int slidingWindowSize, int minimumCalls) {
+            this.slidingWindowSize = slidingWindowSize;
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Sets how long the circuit breaker stays open before letting trial requests through, and the number of trial requests.
+         * {@value CircuitBreakerConfig#DEFAULT_OPEN_WAIT_DURATION_SECONDS} seconds and {@value CircuitBreakerConfig#DEFAULT_HALF_OPEN_CALLS}
+         * requests by default.
+         *
+         * @param openWaitDuration the time the circuit breaker stays open
+         * @param timeUnit         the {@link TimeUnit} of the {@code openWaitDuration}
+         * @param halfOpenCalls    the number of trial requests
+         * @return this object
+         */
+        public Builder setHalfOpen(long openWaitDuration, TimeUnit timeUnit, int halfOpenCalls) {
+            this.openWaitDurationMillis = timeUnit.toMillis(openWaitDuration);
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        /**
+         * Sets whether each server host gets its own circuit breakers, false by default.
+         *
+         * @param perServerHost true to key the circuit breakers by server host and endpoint, false to key them by endpoint
+         * @return this object
+         */
+        public Builder setPerServerHost(boolean perServerHost) {
+            this.perServerHost = perServerHost;
+            return this;
+        }
+
+        public CircuitBreakerConfig build() {
+            if (failureRateThreshold <= 0 || failureRateThreshold > 100 || slowCallRateThreshold <= 0 || slowCallRateThreshold > 100) {
+                throw new IllegalArgumentException("The thresholds must be between 0 and 100: failure rate " + failureRateThreshold
+                        + ", slow call rate " + slowCallRateThreshold);
+            }
+            if (slidingWindowSize < 1 || minimumCalls < 1 || minimumCalls > slidingWindowSize || halfOpenCalls < 1) {
+                throw new IllegalArgumentException("Invalid settings: sliding window size " + slidingWindowSize + ", minimum calls "
+                        + minimumCalls + ", half open calls " + halfOpenCalls);
+            }
+            return new CircuitBreakerConfig(this);
+        }
+    }
+}
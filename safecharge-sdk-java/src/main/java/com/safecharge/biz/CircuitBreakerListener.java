@@ -0,0 +1,20 @@
+package com.safecharge.biz;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Listener of the state transitions of the circuit breakers of an executor, see
+ * {@link SafechargeRequestExecutor.Builder#setCircuitBreakerListener(CircuitBreakerListener)}. It is called on the thread of the request
+ * which caused the transition, so it must not block.
+ *
+ * @since 10/17/2026
+ */
+public interface CircuitBreakerListener {
+
+    /**
+     * @param metrics   the {@link CircuitBreakerMetrics} of the circuit breaker, naming the endpoint
+     * @param fromState the previous state
+     * @param toState   the new state
+     */
+    void onStateTransition(CircuitBreakerMetrics metrics, CircuitBreakerState fromState, CircuitBreakerState toState);
+}
@@ -0,0 +1,84 @@
+package com.safecharge.biz;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * State and metrics of the circuit breaker of an endpoint, see {@link CircuitBreakerConfig}.
+ *
+ * @since 10/17/2026
+ */
+public class CircuitBreakerMetrics {
+
+    private final CircuitBreaker circuitBreaker;
+
+    CircuitBreakerMetrics(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * @return the name of the circuit breaker: the path of the endpoint, preceded by the server host if the circuit breakers are
+     * per server host
+     */
+    public String getName() {
+        return circuitBreaker.getName();
+    }
+
+    public CircuitBreakerState getState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * @return the percentage of failed requests among the recorded ones, since the last state transition
+     */
+    public double getFailureRate() {
+        return circuitBreaker.getFailureRate();
+    }
+
+    /**
+     * @return the percentage of slow requests among the recorded ones, since the last state transition
+     */
+    public double getSlowCallRate() {
+        return circuitBreaker.getSlowCallRate();
+    }
+
+    /**
+     * @return the number of recorded requests, since the last state transition
+     */
+    public int getBufferedCalls() {
+        return circuitBreaker.getBufferedCalls();
+    }
+
+    /**
+     * @return the number of requests which failed right away because the circuit breaker was open
+     */
+    public long getNotPermittedCalls() {
+        return circuitBreaker.getNotPermittedCalls();
+    }
+
+    /**
+     * @return the number of state transitions
+     */
+    public long getStateTransitions() {
+        return circuitBreaker.getStateTransitions();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("name=")
+                .append(getName());
+        sb.append(", state=")
+                .append(getState());
+        sb.append(", failureRate=")
+                .append(getFailureRate());
+        sb.append(", slowCallRate=")
+                .append(getSlowCallRate());
+        sb.append(", bufferedCalls=")
+                .append(getBufferedCalls());
+        sb.append(", notPermittedCalls=")
+                .append(getNotPermittedCalls());
+        sb.append(", stateTransitions=")
+                .append(getStateTransitions());
+        return sb.toString();
+    }
+}
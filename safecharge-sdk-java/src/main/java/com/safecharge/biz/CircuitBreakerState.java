@@ -0,0 +1,26 @@
+package com.safecharge.biz;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * States of the circuit breaker of an endpoint, see {@link CircuitBreakerConfig}.
+ *
+ * @since 10/17/2026
+ */
+public enum CircuitBreakerState {
+
+    /**
+     * The requests are sent and their outcomes recorded.
+     */
+    CLOSED,
+
+    /**
+     * The requests fail right away, without being sent.
+     */
+    OPEN,
+
+    /**
+     * A few trial requests are sent to decide whether to close the circuit breaker again.
+     */
+    HALF_OPEN
+}
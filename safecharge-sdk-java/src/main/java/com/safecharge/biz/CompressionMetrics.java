@@ -0,0 +1,112 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Byte counters of the requests and responses of an endpoint, before and after the compression. The uncompressed bodies count the
+ * same in both, so the difference is the number of bytes saved. Request bodies are counted only when the executor compresses the
+ * large requests, see {@link SafechargeRequestExecutor.Builder#setRequestCompression(int)}.
+ *
+ * @since 10/17/2026
+ */
+public class CompressionMetrics {
+
+    private final String endpoint;
+    private final AtomicLong requestBytes = new AtomicLong();
+    private final AtomicLong compressedRequestBytes = new AtomicLong();
+    private final AtomicLong compressedRequests = new AtomicLong();
+    private final AtomicLong responseBytes = new AtomicLong();
+    private final AtomicLong compressedResponseBytes = new AtomicLong();
+    private final AtomicLong compressedResponses = new AtomicLong();
+
+    CompressionMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void onRequest(long rawBytes, long sentBytes, boolean compressed) {
+        requestBytes.addAndGet(rawBytes);
+        compressedRequestBytes.addAndGet(sentBytes);
+        if (compressed) {
+            compressedRequests.incrementAndGet();
+        }
+    }
+
+    void onResponse(long rawBytes, long receivedBytes, boolean compressed) {
+        responseBytes.addAndGet(rawBytes);
+        compressedResponseBytes.addAndGet(receivedBytes);
+        if (compressed) {
+            compressedResponses.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the endpoint path, or the full service URL of the requests of an unknown type
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return the number of bytes of the request bodies before the compression
+     */
+    public long getRequestBytes() {
+        return requestBytes.get();
+    }
+
+    /**
+     * @return the number of bytes of the request bodies sent
+     */
+    public long getCompressedRequestBytes() {
+        return compressedRequestBytes.get();
+    }
+
+    /**
+     * @return the number of requests sent compressed
+     */
+    public long getCompressedRequests() {
+        return compressedRequests.get();
+    }
+
+    /**
+     * @return the number of bytes of the response bodies after the decompression
+     */
+    public long getResponseBytes() {
+        return responseBytes.get();
+    }
+
+    /**
+     * @return the number of bytes of the response bodies received
+     */
+    public long getCompressedResponseBytes() {
+        return compressedResponseBytes.get();
+    }
+
+    /**
+     * @return the number of responses received compressed
+     */
+    public long getCompressedResponses() {
+        return compressedResponses.get();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("endpoint=")
+                .append(endpoint);
+        sb.append(", requestBytes=")
+                .append(getRequestBytes());
+        sb.append(", compressedRequestBytes=")
+                .append(getCompressedRequestBytes());
+        sb.append(", compressedRequests=")
+                .append(getCompressedRequests());
+        sb.append(", responseBytes=")
+                .append(getResponseBytes());
+        sb.append(", compressedResponseBytes=")
+                .append(getCompressedResponseBytes());
+        sb.append(", compressedResponses=")
+                .append(getCompressedResponses());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.safecharge.biz;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Algorithm estimating how many requests can be in flight at once from the observed round trip times, see {@link AimdLimit} and
+ * {@link GradientLimit}. An instance holds the state of a single limiter, so it must not be shared between limiters or executors: building an
+ * executor with a shared instance fails.
+ *
+ * @since 10/17/2026
+ */
+public interface ConcurrencyLimit {
+
+    /**
+     * @return the current number of requests allowed in flight, at least 1
+     */
+    int getLimit();
+
+    /**
+     * Updates the limit with the outcome of a request.
+     *
+     * @param rttNanos         the round trip time of the request in nanoseconds
+     * @param inFlightRequests the number of requests in flight when the request was sent, including it
+     * @param dropped          true if the request failed with a transport failure, e.g. a timeout
+     */
+    void onSample(long rttNanos, int inFlightRequests, boolean dropped);
+}
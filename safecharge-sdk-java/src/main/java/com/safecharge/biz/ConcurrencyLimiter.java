@@ -0,0 +1,199 @@
+package com.safecharge.biz;
+
+import java.io.InterruptedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.safecharge.exception.SafechargeConfigurationException;
+import com.safecharge.exception.SafechargeRequestRejectedException;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Limits the number of in-flight requests of an executor or of an {@link EndpointGroup} to the limit estimated by a
+ * {@link ConcurrencyLimit} from the round trip times of the completed requests. The requests over the limit are queued or rejected
+ * according to the {@link OverflowPolicy}.
+ *
+ * @since 10/17/2026
+ */
+class ConcurrencyLimiter {
+
+    /**
+     * The limits of the limiters of the built executors, as a {@link ConcurrencyLimit} holds the state of a single limiter.
+     */
+    private static final Set<ConcurrencyLimit> reservedLimits = Collections.newSetFromMap(new WeakHashMap<ConcurrencyLimit, Boolean>());
+
+    private final EndpointGroup endpointGroup;
+    private final ConcurrencyLimit limit;
+    private final OverflowPolicy overflowPolicy;
+    private final long maxWaitNanos;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition belowLimit = lock.newCondition();
+    private final AtomicLong rejectedRequests = new AtomicLong();
+    private final ConcurrencyLimiterMetrics metrics = new ConcurrencyLimiterMetrics(this);
+    private int inFlightRequests;
+    private int queuedRequests;
+
+    /**
+     * @param endpointGroup  the limited {@link EndpointGroup}, null to limit all the requests of the executor
+     * @param limit          the {@link ConcurrencyLimit} estimating the limit
+     * @param overflowPolicy what to do with the requests over the limit
+     * @param maxWaitMillis  the maximum time a queued request waits
+     */
+    ConcurrencyLimiter(EndpointGroup endpointGroup, ConcurrencyLimit limit, OverflowPolicy overflowPolicy, long maxWaitMillis) {
+        if (limit == null || overflowPolicy == null) {
+            throw new IllegalArgumentException("The concurrency limit and the overflow policy are required");
+        }
+        this.endpointGroup = endpointGroup;
+        this.limit = limit;
+        this.overflowPolicy = overflowPolicy;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    /**
+     * Reserves the {@link ConcurrencyLimit}s of the {@code limiters} of an executor about to be built, so that their copies are the only
+     * limiters updating them.
+     *
+     * @throws SafechargeConfigurationException if a limit is used twice or by the limiter of another executor, none is reserved then
+     */
+    static void reserveLimits(Collection<ConcurrencyLimiter> limiters) {
+        Set<ConcurrencyLimit> limits = Collections.newSetFromMap(new IdentityHashMap<ConcurrencyLimit, Boolean>());
+        synchronized (reservedLimits) {
+            for (ConcurrencyLimiter limiter : limiters) {
+                if (reservedLimits.contains(limiter.limit) || !limits.add(limiter.limit)) {
+                    throw new SafechargeConfigurationException("The " + limiter.limit.getClass().getSimpleName() + " of " + limiter.getName()
+                            + " is already used by another concurrency limiter, set a new instance");
+                }
+            }
+            reservedLimits.addAll(limits);
+        }
+    }
+
+    /**
+     * @return a new {@link ConcurrencyLimiter} with the same configuration and {@link ConcurrencyLimit}, reserved by
+     * {@link #reserveLimits(Collection)}
+     */
+    ConcurrencyLimiter copy() {
+        return new ConcurrencyLimiter(endpointGroup, limit, overflowPolicy, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+    }
+
+    /**
+     * Takes a slot for a request, waiting for one if the request is over the limit and {@code wait} is true and the policy is
+     * {@link OverflowPolicy#QUEUE}. Each successful call must be followed by a call of {@link #release(long, boolean)} or
+     * {@link #cancel()}.
+     *
+     * @param wait false to reject a request over the limit without waiting, whatever the policy
+     * @return the number of in-flight requests, including this one
+     * @throws SafechargeRequestRejectedException if the request is over the limit
+     * @throws InterruptedIOException             if the calling thread is interrupted while waiting
+     */
+    int acquire(boolean wait) throws SafechargeRequestRejectedException, InterruptedIOException {
+        lock.lock();
+        try {
+            if (inFlightRequests >= limit.getLimit()) {
+                if (!wait || overflowPolicy == OverflowPolicy.REJECT) {
+                    throw reject();
+                }
+                awaitBelowLimit();
+            }
+            return ++inFlightRequests;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitBelowLimit() throws SafechargeRequestRejectedException, InterruptedIOException {
+        long nanos = maxWaitNanos;
+        queuedRequests++;
+        try {
+            while (inFlightRequests >= limit.getLimit()) {
+                if (nanos <= 0) {
+                    throw reject();
+                }
+                nanos = belowLimit.awaitNanos(nanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new InterruptedIOException("Interrupted while waiting under the concurrency limit of " + getName());
+        } finally {
+            queuedRequests--;
+        }
+    }
+
+    /**
+     * Frees the slot of a completed request and updates the limit with its outcome.
+     *
+     * @param rttNanos         the round trip time of the request in nanoseconds
+     * @param inFlightRequests the number of in-flight requests returned by {@link #acquire(boolean)}
+     * @param dropped          true if the request failed with a transport failure
+     */
+    void release(long rttNanos, int inFlightRequests, boolean dropped) {
+        limit.onSample(rttNanos, inFlightRequests, dropped);
+        cancel();
+    }
+
+    /**
+     * Frees the slot of a request which was not sent.
+     */
+    void cancel() {
+        lock.lock();
+        try {
+            inFlightRequests--;
+            // the limit may have grown by more than one
+            belowLimit.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SafechargeRequestRejectedException reject() {
+        rejectedRequests.incrementAndGet();
+        return new SafechargeRequestRejectedException("Over the concurrency limit of " + getName());
+    }
+
+    private String getName() {
+        return endpointGroup != null ? endpointGroup + " requests" : "the executor";
+    }
+
+    EndpointGroup getEndpointGroup() {
+        return endpointGroup;
+    }
+
+    int getLimit() {
+        return limit.getLimit();
+    }
+
+    int getInFlightRequests() {
+        lock.lock();
+        try {
+            return inFlightRequests;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getQueuedRequests() {
+        lock.lock();
+        try {
+            return queuedRequests;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getRejectedRequests() {
+        return rejectedRequests.get();
+    }
+
+    ConcurrencyLimiterMetrics getMetrics() {
+        return metrics;
+    }
+}
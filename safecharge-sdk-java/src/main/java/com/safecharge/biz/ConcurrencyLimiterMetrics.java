@@ -0,0 +1,68 @@
+package com.safecharge.biz;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Metrics of the adaptive concurrency limiter of an executor or of an {@link EndpointGroup}.
+ *
+ * @since 10/17/2026
+ */
+public class ConcurrencyLimiterMetrics {
+
+    private final ConcurrencyLimiter limiter;
+
+    ConcurrencyLimiterMetrics(ConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    /**
+     * @return the limited {@link EndpointGroup}, null for the limiter of all the requests of the executor
+     */
+    public EndpointGroup getEndpointGroup() {
+        return limiter.getEndpointGroup();
+    }
+
+    /**
+     * @return the current number of requests allowed in flight
+     */
+    public int getLimit() {
+        return limiter.getLimit();
+    }
+
+    /**
+     * @return the number of requests currently in flight
+     */
+    public int getInFlightRequests() {
+        return limiter.getInFlightRequests();
+    }
+
+    /**
+     * @return the number of requests currently queued over the limit
+     */
+    public int getQueuedRequests() {
+        return limiter.getQueuedRequests();
+    }
+
+    /**
+     * @return the number of requests rejected over the limit
+     */
+    public long getRejectedRequests() {
+        return limiter.getRejectedRequests();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("endpointGroup=")
+                .append(getEndpointGroup());
+        sb.append(", limit=")
+                .append(getLimit());
+        sb.append(", inFlightRequests=")
+                .append(getInFlightRequests());
+        sb.append(", queuedRequests=")
+                .append(getQueuedRequests());
+        sb.append(", rejectedRequests=")
+                .append(getRejectedRequests());
+        return sb.toString();
+    }
+}
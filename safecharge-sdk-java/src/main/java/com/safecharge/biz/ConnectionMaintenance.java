@@ -0,0 +1,87 @@
+package com.safecharge.biz;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.HttpClientConnectionManager;
+
+import com.safecharge.exception.SafechargeConfigurationException;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Background maintenance of the connection pool of a {@link SafechargeRequestExecutor}, run by a single daemon thread which is
+ * stopped when the executor is closed.
+ *
+ * @since 10/17/2026
+ */
+class ConnectionMaintenance implements Closeable {
+
+    private final HttpClientConnectionManager connectionManager;
+    private final ConnectionMaintenanceMetrics metrics = new ConnectionMaintenanceMetrics();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "safecharge-connection-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    ConnectionMaintenance(HttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    /**
+     * Closes the expired, idle and stale connections every {@code evictionInterval}.
+     *
+     * @param idleTime         the maximum idle time of a connection, 0 to keep the idle connections
+     * @param evictionInterval the interval of the eviction runs
+     * @param timeUnit         the {@link TimeUnit} of the {@code idleTime} and the {@code evictionInterval}
+     */
+    void startEviction(long idleTime, long evictionInterval, TimeUnit timeUnit) {
+        scheduler.scheduleWithFixedDelay(new IdleConnectionEvictor(connectionManager, timeUnit.toMillis(idleTime), metrics), evictionInterval,
+                evictionInterval, timeUnit);
+    }
+
+    /**
+     * Opens {@code connections} connections to the {@code serverHost} before returning, then runs the {@link ConnectionPoolWarmer}
+     * every {@code keepAliveInterval}.
+     *
+     * @param serverHost        the server host, as set in the {@link com.safecharge.model.MerchantInfo}
+     * @param connections       the number of connections to open
+     * @param keepAliveInterval the interval of the keep alive requests, 0 to not send any
+     * @param timeUnit          the {@link TimeUnit} of the {@code keepAliveInterval}
+     */
+    void prewarm(String serverHost, int connections, long keepAliveInterval, TimeUnit timeUnit) {
+        URI serverUri = URI.create(serverHost);
+        HttpHost target = URIUtils.extractHost(serverUri);
+        if (target == null) {
+            throw new SafechargeConfigurationException("Invalid server host: " + serverHost);
+        }
+
+        String path = serverUri.getRawPath() == null || serverUri.getRawPath()
+                .isEmpty() ? "/" : serverUri.getRawPath();
+        ConnectionPoolWarmer connectionPoolWarmer = new ConnectionPoolWarmer(connectionManager, target, path, connections,
+                SafechargeClientBuilder.DEFAULT_TIMEOUT_MILLISECONDS);
+        connectionPoolWarmer.run();
+        if (keepAliveInterval > 0) {
+            scheduler.scheduleWithFixedDelay(connectionPoolWarmer, keepAliveInterval, keepAliveInterval, timeUnit);
+        }
+    }
+
+    ConnectionMaintenanceMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
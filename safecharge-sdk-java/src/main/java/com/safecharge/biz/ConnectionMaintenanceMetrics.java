@@ -0,0 +1,73 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Counters of the pooled connections closed by the background connection maintenance of a {@link SafechargeRequestExecutor}.
+ * The counters are only maintained for the default Safecharge's connection manager.
+ *
+ * @since 10/17/2026
+ */
+public class ConnectionMaintenanceMetrics {
+
+    private final AtomicLong evictedExpiredConnections = new AtomicLong();
+    private final AtomicLong evictedIdleConnections = new AtomicLong();
+    private final AtomicLong evictedStaleConnections = new AtomicLong();
+
+    ConnectionMaintenanceMetrics() {
+    }
+
+    /**
+     * @return the number of connections closed because their time to live or keep alive expired
+     */
+    public long getEvictedExpiredConnections() {
+        return evictedExpiredConnections.get();
+    }
+
+    /**
+     * @return the number of connections closed because they were idle for too long
+     */
+    public long getEvictedIdleConnections() {
+        return evictedIdleConnections.get();
+    }
+
+    /**
+     * @return the number of connections closed because they were found closed or half-closed by the server
+     */
+    public long getEvictedStaleConnections() {
+        return evictedStaleConnections.get();
+    }
+
+    /**
+     * @return the total number of evicted connections
+     */
+    public long getEvictedConnections() {
+        return getEvictedExpiredConnections() + getEvictedIdleConnections() + getEvictedStaleConnections();
+    }
+
+    void onExpiredConnectionEvicted() {
+        evictedExpiredConnections.incrementAndGet();
+    }
+
+    void onIdleConnectionEvicted() {
+        evictedIdleConnections.incrementAndGet();
+    }
+
+    void onStaleConnectionEvicted() {
+        evictedStaleConnections.incrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("evictedExpiredConnections=")
+                .append(evictedExpiredConnections);
+        sb.append(", evictedIdleConnections=")
+                .append(evictedIdleConnections);
+        sb.append(", evictedStaleConnections=")
+                .append(evictedStaleConnections);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,195 @@
+package com.safecharge.biz;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.ConnectionReuseStrategy;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.UnsupportedSchemeException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.http.impl.conn.DefaultSchemePortResolver;
+import org.apache.http.message.BasicHttpRequest;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import com.safecharge.exception.SafechargeConfigurationException;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Keeps a number of pooled connections to a server open and TLS handshaked, so that requests don't pay for connecting. A run does
+ * nothing while the pool holds at least the configured number of idle connections to the server. Otherwise it leases the idle
+ * connections and opens new ones in the free slots of the pool, up to the configured number of connections, sends a {@code HEAD}
+ * request on each of them, connecting or reconnecting the ones which are closed, then returns them all to the pool. The pool
+ * evicts the connections which the server closes, so they are reopened by the next run.
+ * <p>
+ * When the connection manager doesn't expose the statistics of its pool (it is not a {@link ConnPoolControl}), each run leases up to
+ * the configured number of connections.
+ * <p>
+ * The connections are opened directly to the server, pre-warming is not supported through a proxy.
+ *
+ * @since 10/17/2026
+ */
+class ConnectionPoolWarmer implements Runnable {
+
+    private static final Log logger = LogFactory.getLog(ConnectionPoolWarmer.class);
+
+    private static final long LEASE_TIMEOUT_MILLISECONDS = 100;
+
+    private final HttpClientConnectionManager connectionManager;
+    private final HttpRoute route;
+    private final String path;
+    private final int connections;
+    private final int connectTimeout;
+    private final HttpRequestExecutor requestExecutor = new HttpRequestExecutor();
+    private final ConnectionReuseStrategy reuseStrategy = DefaultConnectionReuseStrategy.INSTANCE;
+
+    /**
+     * @param connectionManager the {@link HttpClientConnectionManager} to warm the connections of
+     * @param target            the server to connect to
+     * @param path              the path to send the keep alive requests to
+     * @param connections       the number of connections to keep open
+     * @param connectTimeout    the connect timeout in milliseconds
+     */
+    ConnectionPoolWarmer(HttpClientConnectionManager connectionManager, HttpHost target, String path, int connections, int connectTimeout) {
+        this.connectionManager = connectionManager;
+        this.path = path;
+        this.connections = connections;
+        this.connectTimeout = connectTimeout;
+
+        try {
+            HttpHost resolvedTarget = new HttpHost(target.getHostName(), DefaultSchemePortResolver.INSTANCE.resolve(target), target.getSchemeName());
+            this.route = new HttpRoute(resolvedTarget, null, "https".equalsIgnoreCase(target.getSchemeName()));
+        } catch (UnsupportedSchemeException e) {
+            throw new SafechargeConfigurationException("Unable to resolve the port of " + target + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void run() {
+        int connectionsToLease = getConnectionsToLease();
+        if (connectionsToLease <= 0) {
+            return;
+        }
+        List<HttpClientConnection> leasedConnections = new ArrayList<>(connectionsToLease);
+        try {
+            lease(leasedConnections, connectionsToLease);
+            for (HttpClientConnection connection : leasedConnections) {
+                refresh(connection);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            // keep the scheduled runs going
+            if (logger.isDebugEnabled()) {
+                logger.debug("Unable to warm the connections to " + route.getTargetHost() + ": " + e.getMessage());
+            }
+        } finally {
+            for (HttpClientConnection connection : leasedConnections) {
+                connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * @return the number of connections to lease, which is zero when the pool holds enough idle connections to the server
+     */
+    @SuppressWarnings("unchecked")
+    private int getConnectionsToLease() {
+        if (!(connectionManager instanceof ConnPoolControl)) {
+            return connections;
+        }
+        ConnPoolControl<HttpRoute> pool = (ConnPoolControl<HttpRoute>) connectionManager;
+        PoolStats routeStats = pool.getStats(route);
+        if (routeStats.getAvailable() >= connections) {
+            return 0;
+        }
+        PoolStats totalStats = pool.getTotalStats();
+        int freeSlots = Math.min(getFreeSlots(routeStats), getFreeSlots(totalStats));
+        return Math.min(connections, routeStats.getAvailable() + Math.max(freeSlots, 0));
+    }
+
+    private static int getFreeSlots(PoolStats stats) {
+        return stats.getMax() - stats.getLeased() - stats.getAvailable();
+    }
+
+    private void lease(List<HttpClientConnection> leasedConnections, int connectionsToLease) throws InterruptedException, ExecutionException {
+        for (int i = 0; i < connectionsToLease; i++) {
+            try {
+                leasedConnections.add(connectionManager.requestConnection(route, null)
+                        .get(LEASE_TIMEOUT_MILLISECONDS, TimeUnit.MILLISECONDS));
+            } catch (ConnectionPoolTimeoutException e) {
+                return; // the rest of the connections are in use, so they are warm anyway
+            }
+        }
+    }
+
+    private void refresh(HttpClientConnection connection) {
+        try {
+            if (connection.isOpen() && keepAlive(connection)) {
+                return;
+            }
+        } catch (IOException | HttpException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Keep alive request to " + route.getTargetHost() + " failed: " + e.getMessage());
+            }
+        }
+
+        try {
+            connection.close();
+            HttpCoreContext context = HttpCoreContext.create();
+            connectionManager.connect(connection, route, connectTimeout, context);
+            connectionManager.routeComplete(connection, route, context);
+            // a new connection has to be used once before the pool can validate it
+            if (!keepAlive(connection)) {
+                connection.close();
+            }
+        } catch (IOException | HttpException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Unable to connect to " + route.getTargetHost() + ": " + e.getMessage());
+            }
+            close(connection);
+        }
+    }
+
+    private void close(HttpClientConnection connection) {
+        try {
+            connection.shutdown();
+        } catch (IOException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Unable to close the connection to " + route.getTargetHost() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sends a {@code HEAD} request on the {@code connection}.
+     *
+     * @return true if the connection can be kept alive after the request
+     */
+    private boolean keepAlive(HttpClientConnection connection) throws IOException, HttpException {
+        BasicHttpRequest request = new BasicHttpRequest("HEAD", path);
+        request.setHeader(HTTP.TARGET_HOST, route.getTargetHost()
+                .toHostString());
+
+        HttpCoreContext context = HttpCoreContext.create();
+        context.setAttribute(HttpCoreContext.HTTP_REQUEST, request);
+        HttpResponse response = requestExecutor.execute(request, connection, context);
+        return reuseStrategy.keepAlive(response, context);
+    }
+}
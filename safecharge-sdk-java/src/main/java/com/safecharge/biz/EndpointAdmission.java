@@ -0,0 +1,114 @@
+package com.safecharge.biz;
+
+import java.io.IOException;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Admits the requests of an {@link EndpointGroup} through its {@link Bulkhead}, its {@link ConcurrencyLimiter} and the
+ * {@link ConcurrencyLimiter} of the executor, each of them optional.
+ *
+ * @since 10/17/2026
+ */
+class EndpointAdmission {
+
+    private final Bulkhead bulkhead;
+    private final ConcurrencyLimiter groupLimiter;
+    private final ConcurrencyLimiter executorLimiter;
+
+    EndpointAdmission(Bulkhead bulkhead, ConcurrencyLimiter groupLimiter, ConcurrencyLimiter executorLimiter) {
+        this.bulkhead = bulkhead;
+        this.groupLimiter = groupLimiter;
+        this.executorLimiter = executorLimiter;
+    }
+
+    /**
+     * Admits a request. Each successful call must be followed by a call of {@link Permit#release(boolean)} once the request completes.
+     *
+     * @param wait false to reject the request without waiting when the group or the executor is saturated
+     * @return the {@link Permit} of the request, which also starts measuring its round trip time
+     * @throws IOException if the request is rejected or the calling thread is interrupted while waiting
+     */
+    Permit acquire(boolean wait) throws IOException {
+        if (bulkhead != null) {
+            if (wait) {
+                bulkhead.acquire();
+            } else {
+                bulkhead.tryAcquire();
+            }
+        }
+        int groupInFlightRequests = 0;
+        int executorInFlightRequests = 0;
+        try {
+            if (groupLimiter != null) {
+                groupInFlightRequests = groupLimiter.acquire(wait);
+            }
+            try {
+                if (executorLimiter != null) {
+                    executorInFlightRequests = executorLimiter.acquire(wait);
+                }
+            } catch (IOException e) {
+                if (groupLimiter != null) {
+                    groupLimiter.cancel();
+                }
+                throw e;
+            }
+        } catch (IOException e) {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+            throw e;
+        }
+        return new Permit(this, groupInFlightRequests, executorInFlightRequests);
+    }
+
+    /**
+     * Admission of a single request.
+     */
+    static class Permit {
+
+        private final EndpointAdmission admission;
+        private final int groupInFlightRequests;
+        private final int executorInFlightRequests;
+        private final long startNanos = System.nanoTime();
+
+        private Permit(EndpointAdmission admission, int groupInFlightRequests, int executorInFlightRequests) {
+            this.admission = admission;
+            this.groupInFlightRequests = groupInFlightRequests;
+            this.executorInFlightRequests = executorInFlightRequests;
+        }
+
+        /**
+         * Releases the admission of a completed request and updates the concurrency limits with its outcome.
+         *
+         * @param dropped true if the request failed with a transport failure
+         */
+        void release(boolean dropped) {
+            long rttNanos = System.nanoTime() - startNanos;
+            if (admission.executorLimiter != null) {
+                admission.executorLimiter.release(rttNanos, executorInFlightRequests, dropped);
+            }
+            if (admission.groupLimiter != null) {
+                admission.groupLimiter.release(rttNanos, groupInFlightRequests, dropped);
+            }
+            if (admission.bulkhead != null) {
+                admission.bulkhead.release();
+            }
+        }
+
+        /**
+         * Releases the admission of a request which was cancelled, without updating the concurrency limits.
+         */
+        void cancel() {
+            if (admission.executorLimiter != null) {
+                admission.executorLimiter.cancel();
+            }
+            if (admission.groupLimiter != null) {
+                admission.groupLimiter.cancel();
+            }
+            if (admission.bulkhead != null) {
+                admission.bulkhead.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.safecharge.biz;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Groups of API endpoints which can be given their own capacity in a {@link SafechargeRequestExecutor}, so that a burst of requests to
+ * one group can't hold up the requests to the others.
+ *
+ * @since 10/17/2026
+ */
+public enum EndpointGroup {
+
+    /**
+     * Session tokens, orders and payment transactions.
+     */
+    PAYMENTS,
+
+    /**
+     * 3D Secure authorizations and payments.
+     */
+    THREE_D_SECURE,
+
+    /**
+     * Adding, editing, enabling, suspending and deleting user payment options.
+     */
+    UPO_MANAGEMENT,
+
+    /**
+     * Creating and updating users.
+     */
+    USER_MANAGEMENT,
+
+    /**
+     * Creating and cancelling subscriptions.
+     */
+    SUBSCRIPTIONS,
+
+    /**
+     * Read only back office queries of orders, users, user payment options and subscriptions.
+     */
+    REPORTING
+}
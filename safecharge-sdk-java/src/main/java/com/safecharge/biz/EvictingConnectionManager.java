@@ -0,0 +1,69 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.config.Registry;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolEntry;
+import org.apache.http.pool.PoolEntryCallback;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * {@link PoolingHttpClientConnectionManager} which evicts its unusable available connections in a single pass and counts them.
+ *
+ * @since 10/17/2026
+ */
+class EvictingConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private static final Log logger = LogFactory.getLog(EvictingConnectionManager.class);
+
+    EvictingConnectionManager(Registry<ConnectionSocketFactory> socketFactoryRegistry, long timeToLive, TimeUnit timeToLiveTimeUnit) {
+        super(socketFactoryRegistry, null, null, null, timeToLive, timeToLiveTimeUnit);
+    }
+
+    /**
+     * Closes the available connections which are expired, idle for longer than {@code idleTimeMillis} or, when they have been inactive
+     * for longer than {@link #getValidateAfterInactivity()}, closed or half-closed by the server.
+     *
+     * @param idleTimeMillis the maximum idle time of a connection in milliseconds, 0 to keep the idle connections
+     * @param metrics        the {@link ConnectionMaintenanceMetrics} to count the evicted connections in
+     */
+    void evictConnections(final long idleTimeMillis, final ConnectionMaintenanceMetrics metrics) {
+        final long now = System.currentTimeMillis();
+        final int validateAfterInactivity = getValidateAfterInactivity();
+
+        enumAvailable(new PoolEntryCallback<HttpRoute, ManagedHttpClientConnection>() {
+            @Override
+            public void process(PoolEntry<HttpRoute, ManagedHttpClientConnection> entry) {
+                if (entry.isExpired(now)) {
+                    entry.close();
+                    metrics.onExpiredConnectionEvicted();
+                } else if (idleTimeMillis > 0 && entry.getUpdated() <= now - idleTimeMillis) {
+                    entry.close();
+                    metrics.onIdleConnectionEvicted();
+                } else if (validateAfterInactivity >= 0 && entry.getUpdated() + validateAfterInactivity <= now && isStale(entry.getConnection())) {
+                    entry.close();
+                    metrics.onStaleConnectionEvicted();
+                }
+            }
+        });
+    }
+
+    private static boolean isStale(ManagedHttpClientConnection connection) {
+        try {
+            return connection.isStale();
+        } catch (IllegalStateException e) {
+            // never used, so there is nothing to read from yet
+            if (logger.isDebugEnabled()) {
+                logger.debug("Unable to check connection " + connection.getId() + ": " + e.getMessage());
+            }
+            return false;
+        }
+    }
+}
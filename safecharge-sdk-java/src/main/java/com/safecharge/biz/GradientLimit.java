@@ -0,0 +1,110 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Gradient based {@link ConcurrencyLimit}, in the spirit of TCP Vegas. It compares the latest round trip time with a long term
+ * average: while they are close, the limit grows by a small queue allowance, and as the latest round trip time rises above the
+ * average, the limit shrinks in proportion, before any request fails. Failed requests halve the gradient.
+ *
+ * @since 10/17/2026
+ */
+public class GradientLimit implements ConcurrencyLimit {
+
+    public static final int DEFAULT_INITIAL_LIMIT = SafechargeClientBuilder.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = SafechargeClientBuilder.DEFAULT_MAX_TOTAL_CONNECTIONS;
+    public static final double DEFAULT_RTT_TOLERANCE = 1.5;
+    public static final double DEFAULT_SMOOTHING = 0.2;
+    public static final int DEFAULT_LONG_WINDOW = 600;
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final int longWindow;
+    private final ReentrantLock lock = new ReentrantLock();
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    /**
+     * Creates a limit with the default settings.
+     */
+    public GradientLimit() {
+        this(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_RTT_TOLERANCE, DEFAULT_SMOOTHING, DEFAULT_LONG_WINDOW);
+    }
+
+    /**
+     * @param initialLimit the initial limit
+     * @param minLimit     the minimum limit
+     * @param maxLimit     the maximum limit
+     * @param rttTolerance how much longer than the long term average the round trip time may get before the limit shrinks, at least 1
+     * @param smoothing    the weight of a new estimate in the limit, between 0 (exclusive) and 1
+     * @param longWindow   the number of samples the long term average round trip time is computed over
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double rttTolerance, double smoothing, int longWindow) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limits: initial " + initialLimit + ", min " + minLimit + ", max " + maxLimit);
+        }
+        if (rttTolerance < 1 || smoothing <= 0 || smoothing > 1 || longWindow < 1) {
+            throw new IllegalArgumentException("Invalid settings: rtt tolerance " + rttTolerance + ", smoothing " + smoothing + ", long window "
+                    + longWindow);
+        }
+        this.estimatedLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.longWindow = longWindow;
+    }
+
+    @Override
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) estimatedLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onSample(long rttNanos, int inFlightRequests, boolean dropped) {
+        lock.lock();
+        try {
+            double shortRttNanos = Math.max(1, rttNanos);
+            if (longRttNanos == 0) {
+                longRttNanos = shortRttNanos;
+            } else {
+                longRttNanos += (shortRttNanos - longRttNanos) / longWindow;
+            }
+            if (longRttNanos > shortRttNanos * 2) {
+                // the latency dropped for good, let the average catch up faster
+                longRttNanos *= 0.95;
+            }
+
+            if (!dropped && inFlightRequests * 2 < estimatedLimit) {
+                return; // not enough load to tell whether more requests would queue up at the server
+            }
+
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+            if (dropped) {
+                gradient = MIN_GRADIENT;
+            }
+            double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GradientLimit[" + getLimit() + "]";
+    }
+}
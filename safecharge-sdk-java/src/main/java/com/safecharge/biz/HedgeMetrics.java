@@ -0,0 +1,61 @@
+package com.safecharge.biz;
+
+import java.util.Map;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Metrics of the hedged requests of an executor, see {@link HedgePolicy}.
+ *
+ * @since 10/17/2026
+ */
+public class HedgeMetrics {
+
+    private final RequestHedging hedging;
+
+    HedgeMetrics(RequestHedging hedging) {
+        this.hedging = hedging;
+    }
+
+    /**
+     * @return the number of duplicate requests sent
+     */
+    public long getHedgedRequests() {
+        return hedging.getHedgedRequests();
+    }
+
+    /**
+     * @return the number of duplicate requests whose response was used
+     */
+    public long getHedgeWins() {
+        return hedging.getHedgeWins();
+    }
+
+    /**
+     * @return the number of duplicate requests not sent because the hedge budget was exhausted
+     */
+    public long getDeniedHedges() {
+        return hedging.getDeniedHedges();
+    }
+
+    /**
+     * @return the current hedge delay of each request type in milliseconds, -1 for the types without enough round trip times yet
+     */
+    public Map<Class<?>, Long> getHedgeDelays() {
+        return hedging.getHedgeDelays();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("hedgedRequests=")
+                .append(getHedgedRequests());
+        sb.append(", hedgeWins=")
+                .append(getHedgeWins());
+        sb.append(", deniedHedges=")
+                .append(getDeniedHedges());
+        sb.append(", hedgeDelays=")
+                .append(getHedgeDelays());
+        return sb.toString();
+    }
+}
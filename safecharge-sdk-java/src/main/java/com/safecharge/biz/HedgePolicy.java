@@ -0,0 +1,161 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Configuration of the hedging of the read only requests, see {@link SafechargeRequestExecutor#isRetryable(Class)}. When no response
+ * has arrived after a high percentile of the recent round trip times of the request type, a duplicate request is sent on another
+ * pooled connection; the first successful response is used and the other request is cancelled. A hedge budget caps the extra load.
+ * <p>
+ * Usage:
+ * <pre>
+ * SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+ *         .setHedgePolicy(HedgePolicy.builder()
+ *                 .setDelayPercentile(95)
+ *                 .build())
+ *         .setHttpAsyncClient(SafechargeHttpAsyncClient.createDefault())
+ *         .build();
+ * </pre>
+ *
+ * @since 10/17/2026
+ */
+public class HedgePolicy {
+
+    public static final double DEFAULT_DELAY_PERCENTILE = 95;
+    public static final int DEFAULT_MIN_DELAY_MILLISECONDS = 10;
+    public static final int DEFAULT_LATENCY_WINDOW = 1000;
+    public static final int DEFAULT_HEDGE_BUDGET_MAX_TOKENS = 10;
+    public static final double DEFAULT_HEDGE_BUDGET_TOKEN_RATIO = 0.05;
+
+    private final double delayPercentile;
+    private final long minDelayMillis;
+    private final int latencyWindow;
+    private final int hedgeBudgetMaxTokens;
+    private final double hedgeBudgetTokenRatio;
+
+    private HedgePolicy(Builder builder) {
+        this.delayPercentile = builder.delayPercentile;
+        this.minDelayMillis = builder.minDelayMillis;
+        this.latencyWindow = builder.latencyWindow;
+        this.hedgeBudgetMaxTokens = builder.hedgeBudgetMaxTokens;
+        this.hedgeBudgetTokenRatio = builder.hedgeBudgetTokenRatio;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public double getDelayPercentile() {
+        return delayPercentile;
+    }
+
+    public long getMinDelayMillis() {
+        return minDelayMillis;
+    }
+
+    public int getLatencyWindow() {
+        return latencyWindow;
+    }
+
+    public int getHedgeBudgetMaxTokens() {
+        return hedgeBudgetMaxTokens;
+    }
+
+    public double getHedgeBudgetTokenRatio() {
+        return hedgeBudgetTokenRatio;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("delayPercentile=")
+                .append(delayPercentile);
+        sb.append(", minDelayMillis=")
+                .append(minDelayMillis);
+        sb.append(", latencyWindow=")
+                .append(latencyWindow);
+        sb.append(", hedgeBudgetMaxTokens=")
+                .append(hedgeBudgetMaxTokens);
+        sb.append(", hedgeBudgetTokenRatio=")
+                .append(hedgeBudgetTokenRatio);
+        return sb.toString();
+    }
+
+    public static class Builder {
+
+        private double delayPercentile = DEFAULT_DELAY_PERCENTILE;
+        private long minDelayMillis = DEFAULT_MIN_DELAY_MILLISECONDS;
+        private int latencyWindow = DEFAULT_LATENCY_WINDOW;
+        private int hedgeBudgetMaxTokens = DEFAULT_HEDGE_BUDGET_MAX_TOKENS;
+        private double hedgeBudgetTokenRatio = DEFAULT_HEDGE_BUDGET_TOKEN_RATIO;
+
+        /**
+         * Sets the percentile of the recent round trip times after which a request is hedged, {@value HedgePolicy#DEFAULT_DELAY_PERCENTILE}
+         * by default.
+         *
+         * @param delayPercentile the percentile, between 0 and 100
+         * @return this object
+         */
+        public Builder setDelayPercentile(double delayPercentile) {
+            this.delayPercentile = delayPercentile;
+            return this;
+        }
+
+        /**
+         * Sets the minimum time to wait before hedging a request, {@value HedgePolicy#DEFAULT_MIN_DELAY_MILLISECONDS} milliseconds by
+         * default.
+         *
+         * @param minDelay the minimum delay
+         * @param timeUnit the {@link TimeUnit} of the {@code minDelay}
+         * @return this object
+         */
+        public Builder setMinDelay(long minDelay, TimeUnit timeUnit) {
+            this.minDelayMillis = timeUnit.toMillis(minDelay);
+            return this;
+        }
+
+        /**
+         * Sets the number of recent round trip times per request type the percentile is computed over,
+         * {@value HedgePolicy#DEFAULT_LATENCY_WINDOW} by default. Requests are not hedged until a tenth of the window is filled.
+         *
+         * @param latencyWindow the number of round trip times
+         * @return this object
+         */
+        public Builder setLatencyWindow(int latencyWindow) {
+            this.latencyWindow = latencyWindow;
+            return this;
+        }
+
+        /**
+         * Sets the hedge budget of the executor. The budget holds at most {@code maxTokens} tokens; each hedged request gives
+         * {@code tokenRatio} tokens and each hedge takes one, so the hedges add at most {@code tokenRatio} of the requests.
+         * {@value HedgePolicy#DEFAULT_HEDGE_BUDGET_MAX_TOKENS} tokens and a ratio of {@value HedgePolicy#DEFAULT_HEDGE_BUDGET_TOKEN_RATIO}
+         * by default.
+         *
+         * @param maxTokens  the maximum number of tokens
+         * @param tokenRatio the tokens given by each request
+         * @return this object
+         */
+        public Builder setHedgeBudget(int maxTokens, double tokenRatio) {
+            this.hedgeBudgetMaxTokens = maxTokens;
+            this.hedgeBudgetTokenRatio = tokenRatio;
+            return this;
+        }
+
+        public HedgePolicy build() {
+            if (delayPercentile < 0 || delayPercentile > 100) {
+                throw new IllegalArgumentException("The delay percentile must be between 0 and 100: " + delayPercentile);
+            }
+            if (minDelayMillis < 0 || latencyWindow < 1) {
+                throw new IllegalArgumentException("Invalid settings: min delay " + minDelayMillis + " ms, latency window " + latencyWindow);
+            }
+            if (hedgeBudgetMaxTokens < 1 || hedgeBudgetTokenRatio < 0) {
+                throw new IllegalArgumentException("Invalid hedge budget: max tokens " + hedgeBudgetMaxTokens + ", token ratio "
+                        + hedgeBudgetTokenRatio);
+            }
+            return new HedgePolicy(this);
+        }
+    }
+}
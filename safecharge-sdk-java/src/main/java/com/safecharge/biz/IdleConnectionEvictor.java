@@ -0,0 +1,50 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.conn.HttpClientConnectionManager;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Closes the expired, idle and stale pooled connections, so that a request never leases a connection the server has already closed.
+ * The connections of the default Safecharge's connection manager are validated and counted, other connection managers only have
+ * their expired and idle connections closed.
+ *
+ * @since 10/17/2026
+ */
+class IdleConnectionEvictor implements Runnable {
+
+    private static final Log logger = LogFactory.getLog(IdleConnectionEvictor.class);
+
+    private final HttpClientConnectionManager connectionManager;
+    private final long idleTimeMillis;
+    private final ConnectionMaintenanceMetrics metrics;
+
+    IdleConnectionEvictor(HttpClientConnectionManager connectionManager, long idleTimeMillis, ConnectionMaintenanceMetrics metrics) {
+        this.connectionManager = connectionManager;
+        this.idleTimeMillis = idleTimeMillis;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (connectionManager instanceof EvictingConnectionManager) {
+                ((EvictingConnectionManager) connectionManager).evictConnections(idleTimeMillis, metrics);
+            } else {
+                connectionManager.closeExpiredConnections();
+                if (idleTimeMillis > 0) {
+                    connectionManager.closeIdleConnections(idleTimeMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        } catch (RuntimeException e) {
+            // keep the scheduled runs going
+            if (logger.isDebugEnabled()) {
+                logger.debug("Unable to evict the connections: " + e.getMessage());
+            }
+        }
+    }
+}
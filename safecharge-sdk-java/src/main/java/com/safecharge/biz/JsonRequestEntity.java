@@ -0,0 +1,84 @@
+package com.safecharge.biz;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import com.safecharge.biz.codec.JsonCodec;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Repeatable {@link org.apache.http.HttpEntity} which serializes the request object as JSON directly into the connection's output stream,
+ * without building an intermediate {@link String} or byte array. The content length is not known upfront, so the body is sent chunked.
+ * Only used when chunked requests are enabled, see {@link SafechargeRequestExecutor.Builder#setChunkedRequests(boolean)}.
+ *
+ * @since 10/17/2026
+ */
+class JsonRequestEntity extends AbstractHttpEntity {
+
+    private final Object request;
+    private final JsonCodec jsonCodec;
+    private final BufferPool bufferPool;
+    private final BufferPool.SizeHint sizeHint;
+
+    /**
+     * @param bufferPool the pool of the buffer {@link #getContent()} encodes the request into, or null to allocate it
+     * @param sizeHint   the size hint of the requests of the endpoint
+     */
+    JsonRequestEntity(Object request, JsonCodec jsonCodec, BufferPool bufferPool, BufferPool.SizeHint sizeHint) {
+        this.request = request;
+        this.jsonCodec = jsonCodec;
+        this.bufferPool = bufferPool;
+        this.sizeHint = sizeHint;
+        setContentType(ContentType.APPLICATION_JSON.toString());
+        setChunked(true);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    /**
+     * Only used by consumers which can't write the entity themselves(e.g. the non-blocking client),
+     * the blocking client streams the content through {@link #writeTo(OutputStream)}. A pooled buffer is returned to its pool when the
+     * content is closed.
+     */
+    @Override
+    public InputStream getContent() throws IOException {
+        if (bufferPool != null) {
+            PooledOutputStream content = new PooledOutputStream(bufferPool, sizeHint);
+            try {
+                writeTo(content);
+            } catch (IOException | RuntimeException e) {
+                content.release();
+                throw e;
+            }
+            return content.toInputStream();
+        }
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        writeTo(content);
+        return new ByteArrayInputStream(content.toByteArray());
+    }
+
+    @Override
+    public void writeTo(OutputStream outstream) throws IOException {
+        jsonCodec.encode(request, outstream);
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.safecharge.biz;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * What a concurrency limiter does with the requests over its limit.
+ *
+ * @since 10/17/2026
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The request waits in a queue until it gets under the limit or its maximum wait time runs out.
+     */
+    QUEUE,
+
+    /**
+     * The request is rejected right away.
+     */
+    REJECT
+}
@@ -0,0 +1,153 @@
+package com.safecharge.biz;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Growable in-memory body backed by the buffers of a {@link BufferPool}. Starts with a buffer of the size of the {@link BufferPool.SizeHint}
+ * and swaps it for a twice as large one when it is full. {@link #release()} records the size of the body in the size hint and returns
+ * the buffer to the pool, after which neither the body nor anything created from it may be used. Not thread safe.
+ *
+ * @since 10/17/2026
+ */
+class PooledOutputStream extends OutputStream {
+
+    private final BufferPool bufferPool;
+    private final BufferPool.SizeHint sizeHint;
+    private byte[] buffer;
+    private int count;
+
+    PooledOutputStream(BufferPool bufferPool, BufferPool.SizeHint sizeHint) {
+        this.bufferPool = bufferPool;
+        this.sizeHint = sizeHint;
+        this.buffer = bufferPool.acquire(sizeHint.getSize());
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            byte[] grown = bufferPool.acquire(Math.max(capacity, buffer.length * 2));
+            System.arraycopy(buffer, 0, grown, 0, count);
+            bufferPool.release(buffer);
+            buffer = grown;
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    /**
+     * Writes the UTF-8 encoding of {@code s}, without encoding it into an intermediate byte array. Unpaired surrogates are written as
+     * {@code '?'}, like {@link String#getBytes(Charset)} does.
+     */
+    void writeUtf8(String s) {
+        int length = s.length();
+        ensureCapacity(count + length);
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                ensureCapacity(count + 1);
+                buffer[count++] = (byte) c;
+            } else if (c < 0x800) {
+                ensureCapacity(count + 2);
+                buffer[count++] = (byte) (0xc0 | c >> 6);
+                buffer[count++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                ensureCapacity(count + 4);
+                buffer[count++] = (byte) (0xf0 | codePoint >> 18);
+                buffer[count++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                buffer[count++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                buffer[count++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                ensureCapacity(count + 1);
+                buffer[count++] = (byte) '?';
+            } else {
+                ensureCapacity(count + 3);
+                buffer[count++] = (byte) (0xe0 | c >> 12);
+                buffer[count++] = (byte) (0x80 | c >> 6 & 0x3f);
+                buffer[count++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+    }
+
+    /**
+     * Reads {@code in} to the end into this body and closes it.
+     */
+    void readFrom(InputStream in) throws IOException {
+        try {
+            int n;
+            do {
+                ensureCapacity(count + 1);
+                n = in.read(buffer, count, buffer.length - count);
+                if (n > 0) {
+                    count += n;
+                }
+            } while (n >= 0);
+        } finally {
+            in.close();
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    byte[] getBuffer() {
+        return buffer;
+    }
+
+    String toString(Charset charset) {
+        return new String(buffer, 0, count, charset);
+    }
+
+    /**
+     * @return a repeatable entity of the body, valid until {@link #release()}
+     */
+    HttpEntity toEntity(ContentType contentType) {
+        return new ByteArrayEntity(buffer, 0, count, contentType);
+    }
+
+    /**
+     * @return a stream of the body, which releases it when closed
+     */
+    InputStream toInputStream() {
+        return new ByteArrayInputStream(buffer, 0, count) {
+            private boolean closed;
+
+            @Override
+            public void close() {
+                if (!closed) {
+                    closed = true;
+                    release();
+                }
+            }
+        };
+    }
+
+    void release() {
+        if (buffer != null) {
+            sizeHint.record(count);
+            bufferPool.release(buffer);
+            buffer = null;
+        }
+    }
+}
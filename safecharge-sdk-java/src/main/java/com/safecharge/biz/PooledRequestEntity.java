@@ -0,0 +1,46 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Repeatable request entity backed by the buffer of a {@link PooledOutputStream}, which is sent as is by every attempt of the request:
+ * the retries and the hedged attempts. The buffer is reference counted: the request holds the first reference and each attempt in
+ * flight on the non-blocking client holds another one, and the buffer returns to its pool once the last of them is released.
+ *
+ * @since 10/17/2026
+ */
+class PooledRequestEntity extends ByteArrayEntity {
+
+    private final PooledOutputStream body;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    PooledRequestEntity(PooledOutputStream body, ContentType contentType) {
+        super(body.getBuffer(), 0, body.size(), contentType);
+        this.body = body;
+    }
+
+    /**
+     * Takes another reference to the buffer of the {@code entity}, if it is a {@link PooledRequestEntity}.
+     */
+    static void retain(HttpEntity entity) {
+        if (entity instanceof PooledRequestEntity) {
+            ((PooledRequestEntity) entity).references.incrementAndGet();
+        }
+    }
+
+    /**
+     * Releases a reference to the buffer of the {@code entity}, if it is a {@link PooledRequestEntity}, and returns the buffer to its
+     * pool if it was the last one.
+     */
+    static void release(HttpEntity entity) {
+        if (entity instanceof PooledRequestEntity && ((PooledRequestEntity) entity).references.decrementAndGet() == 0) {
+            ((PooledRequestEntity) entity).body.release();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.safecharge.biz;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.safecharge.response.SafechargeResponse;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Shares a single execution of identical in-flight requests among all their callers: the first caller sends the request, the callers
+ * who arrive while it is in flight wait for its response, or its failure, and get their own copy of the response.
+ *
+ * @since 10/17/2026
+ */
+class RequestCoalescer {
+
+    private final ConcurrentMap<String, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedRequests = new AtomicLong();
+
+    /**
+     * @param key  the key of the request, equal for identical requests
+     * @param call sends the request, unless an identical one is in flight
+     * @return the response of the request, or a copy of it for the callers of the identical requests
+     * @throws IOException if the request failed
+     */
+    SafechargeResponse execute(String key, Call call) throws IOException {
+        InFlightRequest inFlightRequest = new InFlightRequest();
+        InFlightRequest leader = inFlightRequests.putIfAbsent(key, inFlightRequest);
+        if (leader != null) {
+            coalescedRequests.incrementAndGet();
+            return call.copy(leader.await());
+        }
+
+        try {
+            inFlightRequest.response = call.call();
+            return inFlightRequest.response;
+        } catch (IOException | RuntimeException e) {
+            inFlightRequest.failure = e;
+            throw e;
+        } finally {
+            inFlightRequests.remove(key, inFlightRequest);
+            inFlightRequest.completed.countDown();
+        }
+    }
+
+    long getCoalescedRequests() {
+        return coalescedRequests.get();
+    }
+
+    /**
+     * Sends a request.
+     */
+    interface Call {
+
+        SafechargeResponse call() throws IOException;
+
+        /**
+         * @return a copy of the {@code response}, so that the callers don't share a mutable response
+         */
+        SafechargeResponse copy(SafechargeResponse response) throws IOException;
+    }
+
+    private static class InFlightRequest {
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private SafechargeResponse response;
+        private Exception failure;
+
+        SafechargeResponse await() throws IOException {
+            try {
+                completed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                        .interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for an identical request");
+            }
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            if (failure != null) {
+                throw new IOException(failure.getMessage(), failure);
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.safecharge.biz;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.impl.execchain.RequestAbortedException;
+
+import com.safecharge.exception.SafechargeDeadlineExceededException;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Latency budget and cancellation of a sequence of requests, e.g. the session token and payment requests of a checkout. Each request
+ * sent with the deadline gets only the remaining time as its connect, socket and connection lease timeouts, capped by the timeouts of
+ * the client, and isn't retried when the remaining time doesn't allow it. A request is not sent once the deadline has passed, and
+ * {@link #cancel()} aborts the requests in flight, releasing their pooled connections, and the requests sent afterwards.
+ * <p>
+ * Usage:
+ * <pre>
+ * RequestDeadline deadline = RequestDeadline.after(5, TimeUnit.SECONDS);
+ * PaymentsResponse response = new SimpleCreditCardPayment(merchantInfo).executeSalePayment(cardData, "10", "EUR", null, null, deadline);
+ * </pre>
+ *
+ * @since 10/17/2026
+ */
+public class RequestDeadline {
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+    private final Set<Cancellable> exchanges = Collections.newSetFromMap(new ConcurrentHashMap<Cancellable, Boolean>());
+    private volatile boolean cancelled;
+
+    private RequestDeadline(long deadlineNanos, boolean bounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * @return a deadline passing {@code timeout} from now
+     */
+    public static RequestDeadline after(long timeout, TimeUnit timeUnit) {
+        return new RequestDeadline(System.nanoTime() + timeUnit.toNanos(timeout), true);
+    }
+
+    /**
+     * @return a deadline which never passes, to cancel requests without limiting their time
+     */
+    public static RequestDeadline unbounded() {
+        return new RequestDeadline(0, false);
+    }
+
+    /**
+     * @return the time left before the deadline, 0 if it has passed, {@link Long#MAX_VALUE} if the deadline is unbounded
+     */
+    public long getRemaining(TimeUnit timeUnit) {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        return timeUnit.convert(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    public boolean isExpired() {
+        return bounded && deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Aborts the requests in flight with this deadline and the requests sent with it afterwards.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (Cancellable exchange : exchanges) {
+            exchange.cancel();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @throws RequestAbortedException              if the deadline is cancelled
+     * @throws SafechargeDeadlineExceededException if the deadline has passed
+     */
+    void check() throws IOException {
+        if (cancelled) {
+            throw new RequestAbortedException("The request was cancelled");
+        }
+        if (isExpired()) {
+            throw new SafechargeDeadlineExceededException("The deadline of the request has passed");
+        }
+    }
+
+    /**
+     * @param config the configuration of the client, null for the defaults
+     * @return a copy of the {@code config} with the timeouts limited to the remaining time, or null if the deadline is unbounded, so
+     * that the request keeps the configuration of the client
+     * @throws IOException if the deadline is cancelled or has passed, see {@link #check()}
+     */
+    RequestConfig configure(RequestConfig config) throws IOException {
+        check();
+        if (!bounded) {
+            return null;
+        }
+        if (config == null) {
+            config = RequestConfig.DEFAULT;
+        }
+        // 0 stands for no timeout, so at least 1 ms is left
+        int remainingMillis = (int) Math.max(1, Math.min(Integer.MAX_VALUE, getRemaining(TimeUnit.MILLISECONDS)));
+        return RequestConfig.copy(config)
+                .setConnectTimeout(limit(config.getConnectTimeout(), remainingMillis))
+                .setSocketTimeout(limit(config.getSocketTimeout(), remainingMillis))
+                .setConnectionRequestTimeout(limit(config.getConnectionRequestTimeout(), remainingMillis))
+                .build();
+    }
+
+    private static int limit(int timeoutMillis, int remainingMillis) {
+        return timeoutMillis > 0 ? Math.min(timeoutMillis, remainingMillis) : remainingMillis;
+    }
+
+    /**
+     * Aborts the {@code request} when the deadline is cancelled, until it is detached.
+     */
+    Cancellable attach(final HttpRequestBase request) {
+        return attach(new Cancellable() {
+            @Override
+            public boolean cancel() {
+                request.abort();
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Cancels the {@code exchange} when the deadline is cancelled, until it is detached.
+     */
+    Cancellable attach(final Future<?> exchange) {
+        return attach(new Cancellable() {
+            @Override
+            public boolean cancel() {
+                return exchange.cancel(true);
+            }
+        });
+    }
+
+    private Cancellable attach(Cancellable exchange) {
+        exchanges.add(exchange);
+        if (cancelled) {
+            exchange.cancel();
+        }
+        return exchange;
+    }
+
+    void detach(Cancellable exchange) {
+        exchanges.remove(exchange);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("remainingMillis=")
+                .append(getRemaining(TimeUnit.MILLISECONDS));
+        sb.append(", cancelled=")
+                .append(cancelled);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,153 @@
+package com.safecharge.biz;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * State of the hedging of an executor, see {@link HedgePolicy}: the recent round trip times of each request type, the hedge budget
+ * and the counters.
+ *
+ * @since 10/17/2026
+ */
+class RequestHedging {
+
+    private final HedgePolicy hedgePolicy;
+    private final long minDelayNanos;
+    private final TokenBucket tokens;
+    private final ConcurrentMap<Class<?>, LatencyWindow> latencyWindows = new ConcurrentHashMap<>();
+    private final AtomicLong hedgedRequests = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong deniedHedges = new AtomicLong();
+    private final HedgeMetrics metrics = new HedgeMetrics(this);
+
+    RequestHedging(HedgePolicy hedgePolicy) {
+        this.hedgePolicy = hedgePolicy;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgePolicy.getMinDelayMillis());
+        this.tokens = new TokenBucket(hedgePolicy.getHedgeBudgetMaxTokens(), hedgePolicy.getHedgeBudgetTokenRatio(), false);
+    }
+
+    /**
+     * Gives the budget the tokens of a new request of the {@code requestClass} and returns when to hedge it.
+     *
+     * @return the delay after which the request should be hedged in nanoseconds, or -1 if there are not enough round trip times yet
+     */
+    long onRequest(Class<?> requestClass) {
+        tokens.deposit();
+        long delayNanos = getLatencyWindow(requestClass).getPercentileNanos();
+        return delayNanos < 0 ? -1 : Math.max(minDelayNanos, delayNanos);
+    }
+
+    /**
+     * Takes a token for a hedge.
+     *
+     * @return true if the budget allows the hedge
+     */
+    boolean tryHedge() {
+        if (!tokens.tryTake()) {
+            deniedHedges.incrementAndGet();
+            return false;
+        }
+        hedgedRequests.incrementAndGet();
+        return true;
+    }
+
+    void onHedgeWin() {
+        hedgeWins.incrementAndGet();
+    }
+
+    void recordLatency(Class<?> requestClass, long rttNanos) {
+        getLatencyWindow(requestClass).record(rttNanos);
+    }
+
+    private LatencyWindow getLatencyWindow(Class<?> requestClass) {
+        LatencyWindow latencyWindow = latencyWindows.get(requestClass);
+        if (latencyWindow == null) {
+            latencyWindow = new LatencyWindow(hedgePolicy.getLatencyWindow(), hedgePolicy.getDelayPercentile());
+            LatencyWindow existing = latencyWindows.putIfAbsent(requestClass, latencyWindow);
+            if (existing != null) {
+                latencyWindow = existing;
+            }
+        }
+        return latencyWindow;
+    }
+
+    long getHedgedRequests() {
+        return hedgedRequests.get();
+    }
+
+    long getHedgeWins() {
+        return hedgeWins.get();
+    }
+
+    long getDeniedHedges() {
+        return deniedHedges.get();
+    }
+
+    /**
+     * @return the current hedge delay of each request type in milliseconds, -1 for the types without enough round trip times yet
+     */
+    Map<Class<?>, Long> getHedgeDelays() {
+        Map<Class<?>, Long> hedgeDelays = new HashMap<>();
+        for (Map.Entry<Class<?>, LatencyWindow> latencyWindow : latencyWindows.entrySet()) {
+            long delayNanos = latencyWindow.getValue()
+                    .getPercentileNanos();
+            hedgeDelays.put(latencyWindow.getKey(), delayNanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(Math.max(minDelayNanos, delayNanos)));
+        }
+        return hedgeDelays;
+    }
+
+    HedgeMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Ring buffer of the recent round trip times of a request type. The percentile is recomputed every tenth of the window, so that
+     * the requests don't pay for sorting the window.
+     */
+    private static class LatencyWindow {
+
+        private final long[] rttNanos;
+        private final double percentile;
+        private final int minSamples;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int samples;
+        private int next;
+        private volatile long percentileNanos = -1;
+
+        LatencyWindow(int size, double percentile) {
+            this.rttNanos = new long[size];
+            this.percentile = percentile;
+            this.minSamples = Math.max(1, size / 10);
+        }
+
+        void record(long rtt) {
+            lock.lock();
+            try {
+                rttNanos[next] = rtt;
+                next = (next + 1) % rttNanos.length;
+                samples++;
+                if (samples % minSamples == 0) {
+                    int count = Math.min(samples, rttNanos.length);
+                    long[] sorted = Arrays.copyOf(rttNanos, count);
+                    Arrays.sort(sorted);
+                    int index = (int) Math.ceil(percentile / 100 * count) - 1;
+                    percentileNanos = sorted[Math.max(0, Math.min(count - 1, index))];
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long getPercentileNanos() {
+            return percentileNanos;
+        }
+    }
+}
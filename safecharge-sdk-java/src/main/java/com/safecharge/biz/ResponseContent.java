@@ -0,0 +1,156 @@
+package com.safecharge.biz;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Content stream of a response entity, gunzipped on the fly when the server compressed it. Counts the bytes received and the bytes
+ * read into the {@link CompressionMetrics} of the endpoint when it is closed.
+ *
+ * @since 10/17/2026
+ */
+class ResponseContent extends FilterInputStream {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final CountingInputStream received;
+    private final CompressionMetrics compressionMetrics;
+    private final boolean compressed;
+    private long readBytes;
+    private boolean closed;
+
+    private ResponseContent(InputStream in, CountingInputStream received, CompressionMetrics compressionMetrics, boolean compressed) {
+        super(in);
+        this.received = received;
+        this.compressionMetrics = compressionMetrics;
+        this.compressed = compressed;
+    }
+
+    /**
+     * @param entity             the response entity
+     * @param compressionMetrics the metrics of the endpoint, or null
+     * @return the decompressed content of the {@code entity}
+     * @throws IOException if the content can't be opened or the gzip header is invalid
+     */
+    static InputStream open(HttpEntity entity, CompressionMetrics compressionMetrics) throws IOException {
+        boolean compressed = isGzip(entity.getContentEncoding());
+        if (!compressed && compressionMetrics == null) {
+            return entity.getContent();
+        }
+        CountingInputStream received = new CountingInputStream(entity.getContent());
+        try {
+            InputStream content = compressed ? new GZIPInputStream(received, GZIP_BUFFER_SIZE) : received;
+            return new ResponseContent(content, received, compressionMetrics, compressed);
+        } catch (IOException e) {
+            received.close(); // releases the connection
+            throw e;
+        }
+    }
+
+    private static boolean isGzip(Header contentEncoding) {
+        if (contentEncoding == null) {
+            return false;
+        }
+        String value = contentEncoding.getValue()
+                .trim();
+        return "gzip".equalsIgnoreCase(value) || "x-gzip".equalsIgnoreCase(value);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            readBytes++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            readBytes += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        readBytes += skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            super.close();
+        } finally {
+            if (compressionMetrics != null) {
+                compressionMetrics.onResponse(readBytes, received.getCount(), compressed);
+            }
+        }
+    }
+
+    /**
+     * Counts the bytes read from the underlying stream.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Token bucket capping the retries of an executor, see {@link RetryPolicy.Builder#setRetryBudget(int, double)}.
+ *
+ * @since 10/17/2026
+ */
+class RetryBudget {
+
+    private final RetryPolicy retryPolicy;
+    private final TokenBucket tokens;
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong deniedRetries = new AtomicLong();
+    private final RetryMetrics metrics = new RetryMetrics(this);
+
+    RetryBudget(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        this.tokens = new TokenBucket(retryPolicy.getRetryBudgetMaxTokens(), retryPolicy.getRetryBudgetTokenRatio(), true);
+    }
+
+    RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    void onSuccess() {
+        tokens.deposit();
+    }
+
+    /**
+     * Records a failed attempt and decides whether the request can be retried.
+     *
+     * @param attempt the number of the failed attempt, starting at 1
+     * @return true if the request should be retried
+     */
+    boolean onFailure(int attempt) {
+        double availableTokens = tokens.take();
+        if (attempt >= retryPolicy.getMaxAttempts()) {
+            return false;
+        }
+        if (availableTokens <= tokens.getMaxTokens() / 2) {
+            deniedRetries.incrementAndGet();
+            return false;
+        }
+        retries.incrementAndGet();
+        return true;
+    }
+
+    double getAvailableTokens() {
+        return tokens.getAvailableTokens();
+    }
+
+    long getRetries() {
+        return retries.get();
+    }
+
+    long getDeniedRetries() {
+        return deniedRetries.get();
+    }
+
+    RetryMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,50 @@
+package com.safecharge.biz;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Metrics of the retries of an executor, see {@link RetryPolicy}.
+ *
+ * @since 10/17/2026
+ */
+public class RetryMetrics {
+
+    private final RetryBudget retryBudget;
+
+    RetryMetrics(RetryBudget retryBudget) {
+        this.retryBudget = retryBudget;
+    }
+
+    /**
+     * @return the number of retried attempts
+     */
+    public long getRetries() {
+        return retryBudget.getRetries();
+    }
+
+    /**
+     * @return the number of retries not attempted because the retry budget was exhausted
+     */
+    public long getDeniedRetries() {
+        return retryBudget.getDeniedRetries();
+    }
+
+    /**
+     * @return the tokens left in the retry budget
+     */
+    public double getAvailableTokens() {
+        return retryBudget.getAvailableTokens();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("retries=")
+                .append(getRetries());
+        sb.append(", deniedRetries=")
+                .append(getDeniedRetries());
+        sb.append(", availableTokens=")
+                .append(getAvailableTokens());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,169 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Configuration of the retries of the requests which are safe to retry, see {@link SafechargeRequestExecutor#isRetryable(Class)}.
+ * A request is retried after a transport failure (a timeout, a failure to connect or to read the response), or a response with the {@link com.safecharge.util.Constants.ErrorType#COMMUNICATION_ERROR}
+ * error type, at most {@link #getMaxAttempts()} times in total. The attempts are spaced by an exponential backoff with full jitter,
+ * and the retries of an executor are capped by a retry budget, so that a partial outage of the gateway does not turn into a retry storm.
+ * <p>
+ * Usage:
+ * <pre>
+ * SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+ *         .setRetryPolicy(RetryPolicy.builder()
+ *                 .setMaxAttempts(3)
+ *                 .build())
+ *         .build();
+ * </pre>
+ *
+ * @since 10/17/2026
+ */
+public class RetryPolicy {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final int DEFAULT_INITIAL_BACKOFF_MILLISECONDS = 100;
+    public static final int DEFAULT_MAX_BACKOFF_MILLISECONDS = 2000;
+    public static final int DEFAULT_RETRY_BUDGET_MAX_TOKENS = 10;
+    public static final double DEFAULT_RETRY_BUDGET_TOKEN_RATIO = 0.1;
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int retryBudgetMaxTokens;
+    private final double retryBudgetTokenRatio;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoffMillis = builder.initialBackoffMillis;
+        this.maxBackoffMillis = builder.maxBackoffMillis;
+        this.retryBudgetMaxTokens = builder.retryBudgetMaxTokens;
+        this.retryBudgetTokenRatio = builder.retryBudgetTokenRatio;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the maximum number of attempts of a request, including the first one
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public int getRetryBudgetMaxTokens() {
+        return retryBudgetMaxTokens;
+    }
+
+    public double getRetryBudgetTokenRatio() {
+        return retryBudgetTokenRatio;
+    }
+
+    /**
+     * @param retry the number of the retry, starting at 1
+     * @return a random backoff between 0 and the exponential backoff of the {@code retry}, capped at the maximum backoff
+     */
+    long getBackoffMillis(int retry) {
+        long backoffMillis = initialBackoffMillis << Math.min(retry - 1, 30);
+        if (backoffMillis <= 0 || backoffMillis > maxBackoffMillis) {
+            backoffMillis = maxBackoffMillis;
+        }
+        return ThreadLocalRandom.current()
+                .nextLong(backoffMillis + 1);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("maxAttempts=")
+                .append(maxAttempts);
+        sb.append(", initialBackoffMillis=")
+                .append(initialBackoffMillis);
+        sb.append(", maxBackoffMillis=")
+                .append(maxBackoffMillis);
+        sb.append(", retryBudgetMaxTokens=")
+                .append(retryBudgetMaxTokens);
+        sb.append(", retryBudgetTokenRatio=")
+                .append(retryBudgetTokenRatio);
+        return sb.toString();
+    }
+
+    public static class Builder {
+
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        private long initialBackoffMillis = DEFAULT_INITIAL_BACKOFF_MILLISECONDS;
+        private long maxBackoffMillis = DEFAULT_MAX_BACKOFF_MILLISECONDS;
+        private int retryBudgetMaxTokens = DEFAULT_RETRY_BUDGET_MAX_TOKENS;
+        private double retryBudgetTokenRatio = DEFAULT_RETRY_BUDGET_TOKEN_RATIO;
+
+        /**
+         * Sets the maximum number of attempts of a request, including the first one, {@value RetryPolicy#DEFAULT_MAX_ATTEMPTS} by default.
+         *
+         * @param maxAttempts the maximum number of attempts, 1 to not retry
+         * @return this object
+         */
+        public Builder setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the backoff before the first retry, doubled before each further retry up to {@code maxBackoff}. The actual backoff is
+         * a random time between 0 and this value. {@value RetryPolicy#DEFAULT_INITIAL_BACKOFF_MILLISECONDS} and
+         * {@value RetryPolicy#DEFAULT_MAX_BACKOFF_MILLISECONDS} milliseconds by default.
+         *
+         * @param initialBackoff the backoff before the first retry
+         * @param maxBackoff     the maximum backoff
+         * @param timeUnit       the {@link TimeUnit} of the {@code initialBackoff} and the {@code maxBackoff}
+         * @return this object
+         */
+        public Builder setBackoff(long initialBackoff, long maxBackoff, TimeUnit timeUnit) {
+            this.initialBackoffMillis = timeUnit.toMillis(initialBackoff);
+            this.maxBackoffMillis = timeUnit.toMillis(maxBackoff);
+            return this;
+        }
+
+        /**
+         * Sets the retry budget of the executor. The budget holds {@code maxTokens} tokens; each failed attempt takes one token and
+         * each successful attempt gives back {@code tokenRatio} tokens. Requests are retried only while more than half of the tokens
+         * are left, so with a ratio of 0.1 the retries stop when more than about one attempt in ten fails.
+         * {@value RetryPolicy#DEFAULT_RETRY_BUDGET_MAX_TOKENS} tokens and a ratio of {@value RetryPolicy#DEFAULT_RETRY_BUDGET_TOKEN_RATIO}
+         * by default.
+         *
+         * @param maxTokens  the maximum number of tokens
+         * @param tokenRatio the tokens given back by a successful attempt
+         * @return this object
+         */
+        public Builder setRetryBudget(int maxTokens, double tokenRatio) {
+            this.retryBudgetMaxTokens = maxTokens;
+            this.retryBudgetTokenRatio = tokenRatio;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("The maximum number of attempts must be positive: " + maxAttempts);
+            }
+            if (initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis) {
+                throw new IllegalArgumentException("Invalid backoff: initial " + initialBackoffMillis + " ms, max " + maxBackoffMillis + " ms");
+            }
+            if (retryBudgetMaxTokens < 1 || retryBudgetTokenRatio < 0) {
+                throw new IllegalArgumentException("Invalid retry budget: max tokens " + retryBudgetMaxTokens + ", token ratio "
+                        + retryBudgetTokenRatio);
+            }
+            return new RetryPolicy(this);
+        }
+    }
+}
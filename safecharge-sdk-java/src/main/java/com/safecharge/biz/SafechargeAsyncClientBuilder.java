@@ -0,0 +1,210 @@
+package com.safecharge.biz;
+
+import javax.net.ssl.SSLContext;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.CookieSpecs;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ssl.DefaultHostnameVerifier;
+import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.NHttpClientConnectionManager;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.ssl.SSLContexts;
+
+import com.safecharge.exception.SafechargeConfigurationException;
+import com.safecharge.model.Proxy;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Builder for a non-blocking {@link CloseableHttpAsyncClient} for communicating with the Safecharge's servers.
+ * The created client multiplexes all of the in-flight requests over a small number of I/O dispatcher threads.
+ *
+ * @see SafechargeClientBuilder
+ * @since 10/17/2026
+ */
+public class SafechargeAsyncClientBuilder {
+
+    private RequestConfig requestConfig = null;
+    private DefaultProxyRoutePlanner routePlanner = null;
+    private NHttpClientConnectionManager connectionManager = null;
+    private IOReactorConfig ioReactorConfig = IOReactorConfig.DEFAULT;
+    private SchemeIOSessionStrategy sslStrategy = null;
+    private int maxTotalConnections = SafechargeClientBuilder.DEFAULT_MAX_TOTAL_CONNECTIONS;
+    private int maxConnectionsPerRoute = SafechargeClientBuilder.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+    /**
+     * Adds proxy to the {@link CloseableHttpAsyncClient} created by this builder
+     *
+     * @param proxy A {@link Proxy} object to get the connection info from
+     * @return this object
+     */
+    public SafechargeAsyncClientBuilder setProxy(Proxy proxy) {
+
+        if (proxy != null) {
+            HttpHost proxyHost = new HttpHost(proxy.getHost(), proxy.getPort(), proxy.getProtocol());
+            this.routePlanner = new DefaultProxyRoutePlanner(proxyHost);
+        }
+
+        return this;
+    }
+
+    /* Custom */
+
+    /**
+     * Sets a {@link RequestConfig} object to set connection properties like timeout, etc.
+     *
+     * @param requestConfig A {@link RequestConfig} object to get the connection properties from
+     * @return this object
+     */
+    public SafechargeAsyncClientBuilder setRequestConfig(RequestConfig requestConfig) {
+        this.requestConfig = requestConfig;
+        return this;
+    }
+
+    /**
+     * Sets a {@link NHttpClientConnectionManager} object. Note that the SSL strategy and the pool sizes
+     * set by this builder are ignored when a custom connection manager is used.
+     *
+     * @param connectionManager A {@link NHttpClientConnectionManager} object to get the connection properties from
+     * @return this object
+     */
+    public SafechargeAsyncClientBuilder setConnectionManager(NHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+        return this;
+    }
+
+    /**
+     * Sets the I/O reactor configuration, such as number of I/O dispatcher threads, socket timeout, etc.
+     *
+     * @param ioReactorConfig An {@link IOReactorConfig} object to get the I/O reactor properties from
+     * @return this object
+     */
+    public SafechargeAsyncClientBuilder setIOReactorConfig(IOReactorConfig ioReactorConfig) {
+        this.ioReactorConfig = ioReactorConfig;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of pooled connections in total and per route.
+     *
+     * @param maxTotalConnections    the maximum number of connections in the pool
+     * @param maxConnectionsPerRoute the maximum number of connections to a single route(host)
+     * @return this object
+     */
+    public SafechargeAsyncClientBuilder setMaxConnections(int maxTotalConnections, int maxConnectionsPerRoute) {
+        this.maxTotalConnections = maxTotalConnections;
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        return this;
+    }
+
+    /**
+     * Sets a {@link SchemeIOSessionStrategy} object to set connection properties,
+     * such as supported SSL Protocols, hostname verifier, etc(needed to create a https connection).
+     *
+     * @param sslStrategy A {@link SchemeIOSessionStrategy} object to get the connection properties from
+     * @return this object
+     */
+    public SafechargeAsyncClientBuilder setSSLStrategy(SchemeIOSessionStrategy sslStrategy) {
+        this.sslStrategy = sslStrategy;
+        return this;
+    }
+
+    /**/
+
+    /* Default methods */
+
+    /**
+     * Sets a Safecharge's default {@link RequestConfig} object to set connection properties like timeout, etc.
+     *
+     * @return this object
+     */
+    public SafechargeAsyncClientBuilder setDefaultRequestConfig() {
+        this.requestConfig = createDefaultRequestConfig();
+        return this;
+    }
+
+    static RequestConfig createDefaultRequestConfig() {
+        return RequestConfig.custom()
+                .setSocketTimeout(SafechargeClientBuilder.DEFAULT_TIMEOUT_MILLISECONDS)
+                .setConnectTimeout(SafechargeClientBuilder.DEFAULT_TIMEOUT_MILLISECONDS)
+                .setConnectionRequestTimeout(SafechargeClientBuilder.DEFAULT_TIMEOUT_MILLISECONDS)
+                .setCookieSpec(CookieSpecs.IGNORE_COOKIES)
+                .build();
+    }
+
+    /**
+     * Sets the Safecharge's default pool sizes ({@value SafechargeClientBuilder#DEFAULT_MAX_TOTAL_CONNECTIONS} connections in total and
+     * {@value SafechargeClientBuilder#DEFAULT_MAX_CONNECTIONS_PER_ROUTE} per route).
+     *
+     * @return this object
+     */
+    public SafechargeAsyncClientBuilder setDefaultConnectionManager() {
+        this.connectionManager = null;
+        this.maxTotalConnections = SafechargeClientBuilder.DEFAULT_MAX_TOTAL_CONNECTIONS;
+        this.maxConnectionsPerRoute = SafechargeClientBuilder.DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+        return this;
+    }
+
+    /**
+     * Sets a Safecharge's default {@link SSLIOSessionStrategy} object to set connection properties,
+     * such as supported SSL Protocols, hostname verifier, etc(needed to create a https connection).
+     *
+     * @return this object
+     */
+    public SafechargeAsyncClientBuilder setDefaultSSLStrategy() {
+        SSLContext sslContext = SSLContexts.createDefault();
+        this.sslStrategy = new SSLIOSessionStrategy(sslContext, SafechargeClientBuilder.getServerSupportedProtocols(sslContext), null,
+                new DefaultHostnameVerifier());
+        return this;
+    }
+
+    /**/
+
+    /**
+     * Creates the {@link CloseableHttpAsyncClient} with the properties set by the builder's methods.
+     * The client is not started, {@link SafechargeRequestExecutor} starts it when needed.
+     *
+     * @return new {@link CloseableHttpAsyncClient}
+     * @throws SafechargeConfigurationException if the I/O reactor can not be created
+     */
+    public CloseableHttpAsyncClient build() {
+        NHttpClientConnectionManager connectionManager = this.connectionManager;
+        if (connectionManager == null) {
+            connectionManager = createConnectionManager();
+        }
+
+        return HttpAsyncClients.custom()
+                .setRoutePlanner(routePlanner)
+                .setDefaultRequestConfig(requestConfig)
+                .setConnectionManager(connectionManager)
+                .build();
+    }
+
+    private NHttpClientConnectionManager createConnectionManager() {
+        Registry<SchemeIOSessionStrategy> sessionStrategyRegistry = RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", sslStrategy != null ? sslStrategy : SSLIOSessionStrategy.getDefaultStrategy())
+                .build();
+
+        try {
+            PoolingNHttpClientConnectionManager poolingConnectionManager =
+                    new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig), sessionStrategyRegistry);
+            poolingConnectionManager.setMaxTotal(maxTotalConnections);
+            poolingConnectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+            return poolingConnectionManager;
+        } catch (IOReactorException e) {
+            throw new SafechargeConfigurationException("Unable to create the I/O reactor: " + e.getMessage());
+        }
+    }
+}
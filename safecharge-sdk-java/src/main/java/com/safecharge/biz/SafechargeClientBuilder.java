@@ -11,8 +11,12 @@ import org.apache.http.HttpHost;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
 import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.HttpClients;
@@ -35,8 +39,9 @@ public class SafechargeClientBuilder {
     public static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 100;
     public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
     public static final int CONNECTION_TIME_TO_LIVE_MINUTES = 15;
-    private static final int DEFAULT_TIMEOUT_SECONDS = 30;
-    private static final int DEFAULT_TIMEOUT_MILLISECONDS = DEFAULT_TIMEOUT_SECONDS * 1000;
+    static final int DEFAULT_TIMEOUT_SECONDS = 30;
+    static final int DEFAULT_TIMEOUT_MILLISECONDS = DEFAULT_TIMEOUT_SECONDS * 1000;
+    public static final int DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLISECONDS = 2000;
     private static final String[] SERVER_SUPPORTED_SSL_PROTOCOLS = new String[]{"TLSv1.1", "TLSv1.2"};
 
     private int timeToLive;
@@ -44,6 +49,7 @@ public class SafechargeClientBuilder {
     private RequestConfig requestConfig = null;
     private DefaultProxyRoutePlanner routePlanner = null;
     private HttpClientConnectionManager connectionManager = null;
+    private boolean defaultConnectionManager = false;
     private LayeredConnectionSocketFactory sslSocketFactory = null;
 
     /**
@@ -84,6 +90,7 @@ public class SafechargeClientBuilder {
      */
     public SafechargeClientBuilder setConnectionManager(HttpClientConnectionManager connectionManager) {
         this.connectionManager = connectionManager;
+        this.defaultConnectionManager = false;
         return this;
     }
 
@@ -135,13 +142,15 @@ public class SafechargeClientBuilder {
     /**
      * Sets a Safecharge's default {@link HttpClientConnectionManager} object to set connection properties like
      * number of the connections, max number of connections, number of connections per route, etc.
+     * The connection manager is created by {@link #build()}, so that it uses the {@link LayeredConnectionSocketFactory} of this builder.
+     * A connection inactive for more than {@value DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLISECONDS} milliseconds is checked before it is
+     * leased, and {@link SafechargeRequestExecutor} evicts the unusable connections of the pool in the background.
      *
      * @return this object
      */
     public SafechargeClientBuilder setDefaultConnectionManager() {
-        this.connectionManager = new PoolingHttpClientConnectionManager(CONNECTION_TIME_TO_LIVE_MINUTES, TimeUnit.MINUTES);
-        ((PoolingHttpClientConnectionManager) this.connectionManager).setMaxTotal(DEFAULT_MAX_TOTAL_CONNECTIONS);
-        ((PoolingHttpClientConnectionManager) this.connectionManager).setDefaultMaxPerRoute(DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
+        this.connectionManager = null;
+        this.defaultConnectionManager = true;
         return this;
     }
 
@@ -159,11 +168,25 @@ public class SafechargeClientBuilder {
     /**
      * Sets a Safecharge's default  {@link LayeredConnectionSocketFactory} object to set connection properties,
      * such as supported SSL Protocols, hostname verifier, etc(needed to create a https connection).
+     * Its {@link SSLContext} caches the TLS sessions with the JDK's default cache size and timeout, so that reconnecting to the server
+     * resumes the session instead of a full handshake.
      *
      * @return this object
      */
     public SafechargeClientBuilder setDefaultSSLSocketFactory() {
         SSLContext sslContext = SSLContexts.createDefault();
+        sslSocketFactory = new SSLConnectionSocketFactory(sslContext, getServerSupportedProtocols(sslContext), null, new DefaultHostnameVerifier());
+        return this;
+    }
+
+    /**
+     * Intersects the SSL protocols supported by the Safecharge's servers with the ones supported by the {@code sslContext}.
+     *
+     * @param sslContext the {@link SSLContext} to check the supported protocols of
+     * @return the protocols supported by both sides
+     * @throws UnsupportedOperationException if there is no protocol supported by both sides
+     */
+    static String[] getServerSupportedProtocols(SSLContext sslContext) {
         String[] javaSupportedProtocols = sslContext.getSupportedSSLParameters()
                 .getProtocols();
 
@@ -176,14 +199,11 @@ public class SafechargeClientBuilder {
             }
         }
 
-        if (!supportedProtocols.isEmpty()) {
-            sslSocketFactory =
-                    new SSLConnectionSocketFactory(sslContext, supportedProtocols.toArray(new String[]{}), null, new DefaultHostnameVerifier());
-        } else {
+        if (supportedProtocols.isEmpty()) {
             throw new UnsupportedOperationException("Your Java version doesn't support any of the server supported SSL protocols: " + Arrays.toString(
                     SERVER_SUPPORTED_SSL_PROTOCOLS));
         }
-        return this;
+        return supportedProtocols.toArray(new String[]{});
     }
 
     /**/
@@ -194,13 +214,39 @@ public class SafechargeClientBuilder {
      * @return new {@link HttpClient}
      */
     public HttpClient build() {
+        if (defaultConnectionManager) {
+            connectionManager = createDefaultConnectionManager();
+        }
+
         return HttpClients.custom()
                 .setRoutePlanner(routePlanner)
                 .setDefaultRequestConfig(requestConfig)
                 .setConnectionManager(connectionManager)
                 .setConnectionTimeToLive(timeToLive, timeToLiveTimeUnit)
                 .setSSLSocketFactory(sslSocketFactory)
+                .disableContentCompression() // SafechargeRequestExecutor negotiates and decompresses the responses itself
                 .build();
     }
 
+    /**
+     * @return the {@link HttpClientConnectionManager} of the last {@link HttpClient} built by this builder, null if it is created by
+     * the {@link HttpClient} itself
+     */
+    HttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    private HttpClientConnectionManager createDefaultConnectionManager() {
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslSocketFactory != null ? sslSocketFactory : SSLConnectionSocketFactory.getSocketFactory())
+                .build();
+
+        PoolingHttpClientConnectionManager poolingConnectionManager = new EvictingConnectionManager(socketFactoryRegistry,
+                CONNECTION_TIME_TO_LIVE_MINUTES, TimeUnit.MINUTES);
+        poolingConnectionManager.setMaxTotal(DEFAULT_MAX_TOTAL_CONNECTIONS);
+        poolingConnectionManager.setDefaultMaxPerRoute(DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
+        poolingConnectionManager.setValidateAfterInactivity(DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLISECONDS);
+        return poolingConnectionManager;
+    }
 }
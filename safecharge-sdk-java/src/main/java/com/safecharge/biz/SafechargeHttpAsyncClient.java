@@ -0,0 +1,52 @@
+package com.safecharge.biz;
+
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+
+import com.safecharge.model.Proxy;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Wrapper class for {@link CloseableHttpAsyncClient} with specific Safecharge's properties
+ *
+ * @see SafechargeHttpClient
+ * @since 10/17/2026
+ */
+public class SafechargeHttpAsyncClient {
+
+    /**
+     * Creates a pre-configured {@link CloseableHttpAsyncClient} instance.
+     *
+     * @return {@link CloseableHttpAsyncClient} with specific Safecharge's default properties
+     */
+    public static CloseableHttpAsyncClient createDefault() {
+        return new SafechargeAsyncClientBuilder().setDefaultConnectionManager()
+                .setDefaultRequestConfig()
+                .setDefaultSSLStrategy()
+                .build();
+    }
+
+    /**
+     * Creates a pre-configured {@link CloseableHttpAsyncClient} instance which connects to SafeCharge's API via {@link Proxy}.
+     *
+     * @param proxy A {@link Proxy} object to get the connection info from
+     * @return {@link CloseableHttpAsyncClient} with specific Safecharge's default properties and the proxy properties defined by the {@code proxy}
+     */
+    public static CloseableHttpAsyncClient createDefault(Proxy proxy) {
+        return new SafechargeAsyncClientBuilder().setProxy(proxy)
+                .setDefaultConnectionManager()
+                .setDefaultRequestConfig()
+                .setDefaultSSLStrategy()
+                .build();
+    }
+
+    /**
+     * Provides custom {@link CloseableHttpAsyncClient} configuration.
+     *
+     * @return {@link SafechargeAsyncClientBuilder} instance
+     */
+    public static SafechargeAsyncClientBuilder custom() {
+        return new SafechargeAsyncClientBuilder();
+    }
+
+}
@@ -20,11 +20,7 @@ public class SafechargeHttpClient {
      * @return @link HttpClient} with specific Safecharge's default properties
      */
     public static HttpClient createDefault() {
-        return new SafechargeClientBuilder().setDefaultConnectionManager()
-                .setDefaultConnectionTTL()
-                .setDefaultRequestConfig()
-                .setDefaultSSLSocketFactory()
-                .build();
+        return createDefaultBuilder().build();
     }
 
     /**
@@ -42,6 +38,16 @@ public class SafechargeHttpClient {
                 .build();
     }
 
+    /**
+     * @return {@link SafechargeClientBuilder} with specific Safecharge's default properties
+     */
+    static SafechargeClientBuilder createDefaultBuilder() {
+        return new SafechargeClientBuilder().setDefaultConnectionManager()
+                .setDefaultConnectionTTL()
+                .setDefaultRequestConfig()
+                .setDefaultSSLSocketFactory();
+    }
+
     /**
      * Provides custom {@link HttpClient} configuration.
      *
@@ -0,0 +1,2093 @@
+package com.safecharge.biz;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+import com.safecharge.request.*;
+import com.safecharge.response.*;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.ConnectionClosedException;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.concurrent.BasicFuture;
+import org.apache.http.concurrent.Cancellable;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.util.EntityUtils;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.safecharge.biz.codec.GsonJsonCodec;
+import com.safecharge.biz.codec.JsonCodec;
+import com.safecharge.exception.SafechargeConfigurationException;
+import com.safecharge.exception.SafechargeDeadlineExceededException;
+import com.safecharge.exception.SafechargeRequestRejectedException;
+import com.safecharge.util.APIConstants;
+import com.safecharge.util.Constants;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * This class provides functionality to execute {@link SafechargeRequest}s directly to the SafeCharge's REST API
+ *
+ * @author <a mailto:nikolad@safecharge.com>Nikola Dichev</a>
+ * @since 2/16/2017
+ */
+public class SafechargeRequestExecutor implements Closeable {
+
+    private static final Log logger = LogFactory.getLog(SafechargeRequestExecutor.class);
+    private static final Map<Class<? extends SafechargeBaseRequest>, Class<? extends SafechargeResponse>> RESPONSE_TYPE_BY_REQUEST_TYPE =
+            new HashMap<Class<? extends SafechargeBaseRequest>, Class<? extends SafechargeResponse>>() {
+                private static final long serialVersionUID = -5429154998138428048L;
+
+                {
+                    put(GetSessionTokenRequest.class, GetSessionTokenResponse.class);
+                    put(OpenOrderRequest.class, OpenOrderResponse.class);
+                    put(UpdateOrderRequest.class, UpdateOrderResponse.class);
+                    put(GetOrderDetailsRequest.class, GetOrderDetailsResponse.class);
+                    put(PaymentCCRequest.class, PaymentCCResponse.class);
+                    put(PaymentAPMRequest.class, PaymentAPMResponse.class);
+                    put(Authorization3DRequest.class, Authorization3DResponse.class);
+                    put(Dynamic3DRequest.class, Dynamic3DResponse.class);
+                    put(CardTokenizationRequest.class, CardTokenizationResponse.class);
+                    put(Payment3DRequest.class, Payment3DResponse.class);
+                    put(AddUPOCreditCardByTempTokenRequest.class, AddUPOCreditCardByTempTokenResponse.class);
+                    put(SettleTransactionRequest.class, SettleTransactionResponse.class);
+                    put(VoidTransactionRequest.class, VoidTransactionResponse.class);
+                    put(RefundTransactionRequest.class, RefundTransactionResponse.class);
+                    put(AddUPOCreditCardRequest.class, AddUPOCreditCardResponse.class);
+                    put(AddUPOAPMRequest.class, AddUPOAPMResponse.class);
+                    put(GetMerchantPaymentMethodsRequest.class, GetMerchantPaymentMethodsResponse.class);
+                    put(CancelSubscriptionRequest.class, CancelSubscriptionResponse.class);
+                    put(CreateSubscriptionRequest.class, CreateSubscriptionResponse.class);
+                    put(GetSubscriptionsListRequest.class, GetSubscriptionsListResponse.class);
+                    put(GetSubscriptionPlansRequest.class, GetSubscriptionPlansResponse.class);
+                    put(PayoutRequest.class, PayoutResponse.class);
+                    put(CreateUserRequest.class, UserResponse.class);
+                    put(UpdateUserRequest.class, UserResponse.class);
+                    put(GetUserDetailsRequest.class, GetUserDetailsResponse.class);
+                    put(AddUPOCreditCardByTokenRequest.class, AddUPOCreditCardByTokenResponse.class);
+                    put(GetUserUPOsRequest.class, GetUserUPOsResponse.class);
+                    put(EditUPOCreditCardRequest.class, EditUPOCreditCardResponse.class);
+                    put(EditUPOAPMRequest.class, EditUPOAPMResponse.class);
+                    put(EnableUPORequest.class, EnableUPOResponse.class);
+                    put(DeleteUPORequest.class, DeleteUPOResponse.class);
+                    put(SuspendUPORequest.class, SuspendUPOResponse.class);
+                    put(GetPaymentPageRequest.class, GetPaymentPageResponse.class);
+                }
+            };
+    private static final Map<Class<? extends SafechargeBaseRequest>, String> REQUEST_URL_BY_REQUEST_TYPE =
+            new HashMap<Class<? extends SafechargeBaseRequest>, String>() {
+                private static final long serialVersionUID = -6533247180543051173L;
+
+                {
+                    put(GetSessionTokenRequest.class, APIConstants.GET_SESSION_TOKEN_URL);
+                    put(OpenOrderRequest.class, APIConstants.OPEN_ORDER_URL);
+                    put(UpdateOrderRequest.class, APIConstants.UPDATE_ORDER_URL);
+                    put(GetOrderDetailsRequest.class, APIConstants.GET_ORDER_DETAILS_URL);
+                    put(PaymentCCRequest.class, APIConstants.PAYMENT_CC_URL);
+                    put(PaymentAPMRequest.class, APIConstants.PAYMENT_APM_URL);
+                    put(Authorization3DRequest.class, APIConstants.AUTHORIZATION_3D_URL);
+                    put(Dynamic3DRequest.class, APIConstants.DYNAMIC_3D_URL);
+                    put(CardTokenizationRequest.class, APIConstants.CARD_TOKENIZATION_URL);
+                    put(Payment3DRequest.class, APIConstants.PAYMENT_3D_URL);
+                    put(AddUPOCreditCardByTempTokenRequest.class, APIConstants.ADD_UPO_CREDIT_CARD_BY_TEMP_TOKEN_URL);
+                    put(SettleTransactionRequest.class, APIConstants.SETTLE_TRANSACTION_URL);
+                    put(VoidTransactionRequest.class, APIConstants.VOID_TRANSACTION_URL);
+                    put(RefundTransactionRequest.class, APIConstants.REFUND_TRANSACTION_URL);
+                    put(AddUPOCreditCardRequest.class, APIConstants.ADD_UPO_CREDIT_CARD_URL);
+                    put(AddUPOAPMRequest.class, APIConstants.ADD_UPO_APM_URL);
+                    put(GetMerchantPaymentMethodsRequest.class, APIConstants.GET_MERCHANT_PAYMENT_METHODS_REQUEST_URL);
+                    put(CancelSubscriptionRequest.class, APIConstants.CANCEL_SUBSCRIPTION_REQUEST_URL);
+                    put(CreateSubscriptionRequest.class, APIConstants.CREATE_SUBSCRIPTION_REQUEST_URL);
+                    put(GetSubscriptionsListRequest.class, APIConstants.GET_SUBSCRIPTION_LIST_REQUEST_URL);
+                    put(GetSubscriptionPlansRequest.class, APIConstants.GET_SUBSCRIPTION_PLANS_REQUEST_URL);
+                    put(PayoutRequest.class, APIConstants.PAYOUT_URL);
+                    put(CreateUserRequest.class, APIConstants.CREATE_USER_URL);
+                    put(UpdateUserRequest.class, APIConstants.UPDATE_USER_URL);
+                    put(GetUserDetailsRequest.class, APIConstants.GET_USER_DETAILS_URL);
+                    put(AddUPOCreditCardByTokenRequest.class, APIConstants.ADD_UPO_CREDIT_CARD_BY_TOKEN_URL);
+                    put(GetUserUPOsRequest.class, APIConstants.GET_USER_UPOS_REQUEST);
+                    put(EditUPOCreditCardRequest.class, APIConstants.EDIT_UPO_CREDIT_CARD_URL);
+                    put(EditUPOAPMRequest.class, APIConstants.EDIT_UPO_APM_URL);
+                    put(EnableUPORequest.class, APIConstants.ENABLE_UPO_URL);
+                    put(DeleteUPORequest.class, APIConstants.DELETE_UPO_APM_URL);
+                    put(SuspendUPORequest.class, APIConstants.SUSPEND_UPO_APM_URL);
+                    put(GetPaymentPageRequest.class, APIConstants.GET_PAYMENT_PAGE_URL);
+                }
+            };
+    private static final Map<Class<? extends SafechargeBaseRequest>, EndpointGroup> ENDPOINT_GROUP_BY_REQUEST_TYPE =
+            new HashMap<Class<? extends SafechargeBaseRequest>, EndpointGroup>() {
+                private static final long serialVersionUID = 2926451384317702208L;
+
+                {
+                    put(GetSessionTokenRequest.class, EndpointGroup.PAYMENTS);
+                    put(OpenOrderRequest.class, EndpointGroup.PAYMENTS);
+                    put(UpdateOrderRequest.class, EndpointGroup.PAYMENTS);
+                    put(PaymentCCRequest.class, EndpointGroup.PAYMENTS);
+                    put(PaymentAPMRequest.class, EndpointGroup.PAYMENTS);
+                    put(CardTokenizationRequest.class, EndpointGroup.PAYMENTS);
+                    put(SettleTransactionRequest.class, EndpointGroup.PAYMENTS);
+                    put(VoidTransactionRequest.class, EndpointGroup.PAYMENTS);
+                    put(RefundTransactionRequest.class, EndpointGroup.PAYMENTS);
+                    put(GetMerchantPaymentMethodsRequest.class, EndpointGroup.PAYMENTS);
+                    put(PayoutRequest.class, EndpointGroup.PAYMENTS);
+                    put(GetPaymentPageRequest.class, EndpointGroup.PAYMENTS);
+                    put(Authorization3DRequest.class, EndpointGroup.THREE_D_SECURE);
+                    put(Dynamic3DRequest.class, EndpointGroup.THREE_D_SECURE);
+                    put(Payment3DRequest.class, EndpointGroup.THREE_D_SECURE);
+                    put(AddUPOCreditCardByTempTokenRequest.class, EndpointGroup.UPO_MANAGEMENT);
+                    put(AddUPOCreditCardRequest.class, EndpointGroup.UPO_MANAGEMENT);
+                    put(AddUPOAPMRequest.class, EndpointGroup.UPO_MANAGEMENT);
+                    put(AddUPOCreditCardByTokenRequest.class, EndpointGroup.UPO_MANAGEMENT);
+                    put(EditUPOCreditCardRequest.class, EndpointGroup.UPO_MANAGEMENT);
+                    put(EditUPOAPMRequest.class, EndpointGroup.UPO_MANAGEMENT);
+                    put(EnableUPORequest.class, EndpointGroup.UPO_MANAGEMENT);
+                    put(DeleteUPORequest.class, EndpointGroup.UPO_MANAGEMENT);
+                    put(SuspendUPORequest.class, EndpointGroup.UPO_MANAGEMENT);
+                    put(CreateUserRequest.class, EndpointGroup.USER_MANAGEMENT);
+                    put(UpdateUserRequest.class, EndpointGroup.USER_MANAGEMENT);
+                    put(CreateSubscriptionRequest.class, EndpointGroup.SUBSCRIPTIONS);
+                    put(CancelSubscriptionRequest.class, EndpointGroup.SUBSCRIPTIONS);
+                    put(GetOrderDetailsRequest.class, EndpointGroup.REPORTING);
+                    put(GetUserDetailsRequest.class, EndpointGroup.REPORTING);
+                    put(GetUserUPOsRequest.class, EndpointGroup.REPORTING);
+                    put(GetSubscriptionsListRequest.class, EndpointGroup.REPORTING);
+                    put(GetSubscriptionPlansRequest.class, EndpointGroup.REPORTING);
+                }
+            };
+
+    /**
+     * The read only requests, which are safe to retry.
+     */
+    private static final Set<Class<? extends SafechargeBaseRequest>> RETRYABLE_REQUEST_TYPES = new HashSet<Class<? extends SafechargeBaseRequest>>() {
+        private static final long serialVersionUID = -3871552961374928313L;
+
+        {
+            add(GetSessionTokenRequest.class);
+            add(GetMerchantPaymentMethodsRequest.class);
+            add(GetOrderDetailsRequest.class);
+            add(GetUserDetailsRequest.class);
+            add(GetUserUPOsRequest.class);
+            add(GetSubscriptionsListRequest.class);
+            add(GetSubscriptionPlansRequest.class);
+        }
+    };
+
+    /**
+     * The read only requests which identical requests can share the response of. A session token is tied to the order it is created
+     * for, so the session token requests are never coalesced.
+     */
+    private static final Set<Class<? extends SafechargeBaseRequest>> COALESCABLE_REQUEST_TYPES = new HashSet<Class<? extends SafechargeBaseRequest>>() {
+        private static final long serialVersionUID = 6029317419517290385L;
+
+        {
+            add(GetMerchantPaymentMethodsRequest.class);
+            add(GetOrderDetailsRequest.class);
+            add(GetUserDetailsRequest.class);
+            add(GetUserUPOsRequest.class);
+            add(GetSubscriptionsListRequest.class);
+            add(GetSubscriptionPlansRequest.class);
+        }
+    };
+
+    public static final int DEFAULT_KEEP_ALIVE_INTERVAL_SECONDS = 30;
+    public static final int DEFAULT_IDLE_CONNECTION_TIMEOUT_SECONDS = 60;
+    public static final int DEFAULT_CONNECTION_EVICTION_INTERVAL_SECONDS = 5;
+    public static final long DEFAULT_BUFFER_POOL_BYTES = 4 * 1024 * 1024;
+
+    private static final Charset UTF8_CHARSET = Charset.forName("UTF-8");
+
+    private static final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+    private static final String GZIP_ENCODING = "gzip";
+
+    /**
+     * The default codec, with its type adapters already built, is shared by all executors which don't set their own.
+     */
+    private static final JsonCodec DEFAULT_JSON_CODEC = createDefaultJsonCodec();
+
+    private final JsonCodec jsonCodec;
+    private volatile HttpClient httpClient;
+    private volatile CloseableHttpAsyncClient httpAsyncClient;
+    private volatile RequestConfig asyncRequestConfig;
+    private volatile ConnectionMaintenance connectionMaintenance;
+    private final ReentrantLock initLock = new ReentrantLock();
+    private ExecutorService virtualThreadExecutor;
+    private Map<Class<?>, EndpointAdmission> admissionByRequestType = Collections.emptyMap();
+    private EndpointAdmission defaultAdmission;
+    private Map<EndpointGroup, BulkheadMetrics> bulkheadMetrics = Collections.emptyMap();
+    private ConcurrencyLimiterMetrics concurrencyLimiterMetrics;
+    private Map<EndpointGroup, ConcurrencyLimiterMetrics> endpointGroupConcurrencyLimiterMetrics = Collections.emptyMap();
+    private RetryBudget retryBudget;
+    private RequestHedging hedging;
+    private CircuitBreakerConfig circuitBreakerConfig;
+    private CircuitBreakerListener circuitBreakerListener;
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private RequestCoalescer requestCoalescer;
+    private boolean responseCompression = true;
+    private int requestCompressionThreshold = -1;
+    private boolean chunkedRequests;
+    private final ConcurrentMap<String, CompressionMetrics> compressionMetrics = new ConcurrentHashMap<>();
+    private BufferPool bufferPool = new BufferPool(DEFAULT_BUFFER_POOL_BYTES);
+    private Set<Class<? extends SafechargeBaseRequest>> retryableRequestTypes = RETRYABLE_REQUEST_TYPES;
+
+    private SafechargeRequestExecutor(JsonCodec jsonCodec) {
+        this.jsonCodec = jsonCodec;
+    }
+
+    private static JsonCodec createDefaultJsonCodec() {
+        JsonCodec jsonCodec = new GsonJsonCodec();
+        prepare(jsonCodec);
+        return jsonCodec;
+    }
+
+    /**
+     * Prepares {@code jsonCodec} for all of the supported request and response types upfront, so that nothing has to be built on
+     * the request path.
+     */
+    private static void prepare(JsonCodec jsonCodec) {
+        List<Class<?>> types = new ArrayList<>();
+        for (Map.Entry<Class<? extends SafechargeBaseRequest>, Class<? extends SafechargeResponse>> requestType : RESPONSE_TYPE_BY_REQUEST_TYPE.entrySet()) {
+            types.add(requestType.getKey());
+            types.add(requestType.getValue());
+        }
+        jsonCodec.prepare(types);
+    }
+
+    /**
+     * Obtains the shared default instance of {@link SafechargeRequestExecutor}. Use {@link #builder()} to create
+     * separate executors with their own HTTP clients and configuration.
+     *
+     * @return the shared default instance of {@link SafechargeRequestExecutor}
+     */
+    public static SafechargeRequestExecutor getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a builder for a new {@link SafechargeRequestExecutor} instance, independent of the one returned by {@link #getInstance()}.
+     *
+     * @return new {@link Builder} instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * This method initiates the {@link SafechargeRequestExecutor} with a default Safecharge's {@link HttpClient} and server information.
+     * The expired, idle and stale connections of its pool are evicted in the background.
+     */
+    public void init() {
+        SafechargeClientBuilder clientBuilder = SafechargeHttpClient.createDefaultBuilder();
+        HttpClient httpClient = clientBuilder.build();
+        if (initHttpClient(httpClient)) {
+            startConnectionMaintenance(clientBuilder.getConnectionManager(), DEFAULT_IDLE_CONNECTION_TIMEOUT_SECONDS,
+                    DEFAULT_CONNECTION_EVICTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        } else {
+            closeQuietly(httpClient);
+        }
+    }
+
+    /**
+     * This method initiates the {@link SafechargeRequestExecutor} with a configured {@link HttpClient} and server information.
+     *
+     * @param httpClient to get the client's properties from
+     */
+    public void init(HttpClient httpClient) {
+        initHttpClient(httpClient);
+    }
+
+    private boolean initHttpClient(HttpClient httpClient) {
+        initLock.lock();
+        try {
+            if (this.httpClient != null) {
+                // already initialized
+                if (logger.isDebugEnabled()) {
+                    logger.debug(SafechargeRequestExecutor.class.getSimpleName() + " is already initialized!");
+                }
+                return false;
+            }
+
+            this.httpClient = httpClient;
+            return true;
+        } finally {
+            initLock.unlock();
+        }
+    }
+
+    private ConnectionMaintenance startConnectionMaintenance(HttpClientConnectionManager connectionManager, long idleTime,
+                                                             long evictionInterval, TimeUnit timeUnit) {
+        initLock.lock();
+        try {
+            if (connectionMaintenance == null) {
+                connectionMaintenance = new ConnectionMaintenance(connectionManager);
+                if (evictionInterval > 0) {
+                    connectionMaintenance.startEviction(idleTime, evictionInterval, timeUnit);
+                }
+            }
+            return connectionMaintenance;
+        } finally {
+            initLock.unlock();
+        }
+    }
+
+    private static void closeQuietly(HttpClient httpClient) {
+        if (httpClient instanceof Closeable) {
+            try {
+                ((Closeable) httpClient).close();
+            } catch (IOException e) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug(e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the counters of the connections evicted from the pool of the blocking {@link HttpClient}, null if the connection
+     * manager of the {@link HttpClient} is not known
+     */
+    public ConnectionMaintenanceMetrics getConnectionMaintenanceMetrics() {
+        ConnectionMaintenance connectionMaintenance = this.connectionMaintenance;
+        return connectionMaintenance != null ? connectionMaintenance.getMetrics() : null;
+    }
+
+    /**
+     * This method initiates the non-blocking part of the {@link SafechargeRequestExecutor} with a default Safecharge's
+     * {@link CloseableHttpAsyncClient}.
+     */
+    public void initAsync() {
+        initAsync(SafechargeHttpAsyncClient.createDefault());
+    }
+
+    /**
+     * This method initiates the non-blocking part of the {@link SafechargeRequestExecutor} with a configured {@link CloseableHttpAsyncClient}.
+     * The client is started if it is not already running. The client is assumed to have the default {@link RequestConfig} of
+     * {@link SafechargeHttpAsyncClient#createDefault()}, which the requests with a bounded {@link RequestDeadline} start from.
+     *
+     * @param httpAsyncClient to get the client's properties from
+     */
+    public void initAsync(CloseableHttpAsyncClient httpAsyncClient) {
+        initAsync(httpAsyncClient, SafechargeAsyncClientBuilder.createDefaultRequestConfig());
+    }
+
+    /**
+     * @param requestConfig the default {@link RequestConfig} of the {@code httpAsyncClient}
+     */
+    private void initAsync(CloseableHttpAsyncClient httpAsyncClient, RequestConfig requestConfig) {
+        initLock.lock();
+        try {
+            if (this.httpAsyncClient != null) {
+                // already initialized
+                if (logger.isDebugEnabled()) {
+                    logger.debug(SafechargeRequestExecutor.class.getSimpleName() + " async client is already initialized!");
+                }
+                return;
+            }
+
+            if (!httpAsyncClient.isRunning()) {
+                httpAsyncClient.start();
+            }
+            this.asyncRequestConfig = requestConfig;
+            this.httpAsyncClient = httpAsyncClient;
+        } finally {
+            initLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the HTTP clients owned by this executor and stops its connection maintenance and its virtual threads. Don't close the shared instance returned by
+     * {@link #getInstance()} unless the whole application is shutting down.
+     *
+     * @throws IOException if any of the clients fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        HttpClient httpClient = this.httpClient;
+        CloseableHttpAsyncClient httpAsyncClient = this.httpAsyncClient;
+        ConnectionMaintenance connectionMaintenance = this.connectionMaintenance;
+        if (connectionMaintenance != null) {
+            connectionMaintenance.close();
+        }
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+        try {
+            if (httpClient instanceof Closeable) {
+                ((Closeable) httpClient).close();
+            }
+        } finally {
+            if (httpAsyncClient != null) {
+                httpAsyncClient.close();
+            }
+        }
+    }
+
+    /**
+     * Sends a {@link SafechargeRequest} to SafeCharge's API via HTTP POST method. Requests which are safe to retry are retried according
+     * to the {@link RetryPolicy} of the executor, if it has one, and share the response of an identical request in flight if the
+     * executor coalesces requests.
+     *
+     * @param request {@link SafechargeRequest} API request object
+     * @return {@link SafechargeResponse} API response object or null if the response can't be parsed
+     */
+    public SafechargeResponse executeRequest(SafechargeBaseRequest request) {
+        return executeRequest(request, null);
+    }
+
+    /**
+     * Sends a {@link SafechargeRequest} like {@link #executeRequest(SafechargeBaseRequest)} within the remaining time of the
+     * {@code deadline}: every attempt gets only the remaining time as its timeouts, and {@link RequestDeadline#cancel()} aborts the
+     * request in flight. Requests with a deadline are not coalesced, as the exchange of one caller can't be aborted for another.
+     *
+     * @param request  {@link SafechargeRequest} API request object
+     * @param deadline the {@link RequestDeadline} of the request, or null
+     * @return {@link SafechargeResponse} API response object or null if the response can't be parsed, or if the deadline has passed
+     * or was cancelled
+     */
+    public SafechargeResponse executeRequest(SafechargeBaseRequest request, RequestDeadline deadline) {
+
+        try {
+            return executeBlocking(request, deadline);
+        } catch (IOException e) {
+
+            if (logger.isDebugEnabled()) {
+                logger.debug(e.getMessage());
+            }
+        }
+
+        return null;
+    }
+
+    private SafechargeResponse executeBlocking(final SafechargeBaseRequest request, RequestDeadline deadline) throws IOException {
+        final Class requestClass = request.getClass();
+        final String serviceUrl = request.getServerHost() + REQUEST_URL_BY_REQUEST_TYPE.get(requestClass);
+        request.setServerHost(null); // remove API url from request
+
+        RequestCoalescer requestCoalescer = COALESCABLE_REQUEST_TYPES.contains(requestClass) ? this.requestCoalescer : null;
+        if (requestCoalescer == null || deadline != null) {
+            return send(request, requestClass, serviceUrl, deadline);
+        }
+        return requestCoalescer.execute(createCoalescingKey(request, serviceUrl), new RequestCoalescer.Call() {
+            @Override
+            public SafechargeResponse call() throws IOException {
+                return send(request, requestClass, serviceUrl, null);
+            }
+
+            @Override
+            public SafechargeResponse copy(SafechargeResponse response) throws IOException {
+                return response != null ? jsonCodec.decode(jsonCodec.encode(response), response.getClass()) : null;
+            }
+        });
+    }
+
+    private static final String[] COALESCING_KEY_EXCLUDED_FIELDS = {"internalRequestId", "clientRequestId", "timeStamp", "checksum"};
+
+    private SafechargeResponse send(SafechargeBaseRequest request, Class requestClass, String serviceUrl, RequestDeadline deadline)
+            throws IOException {
+        if (deadline != null) {
+            deadline.check();
+        }
+        HttpPost httpPost = createHttpPost(request, serviceUrl);
+        try {
+            Cancellable exchange = deadline != null ? deadline.attach(httpPost) : null;
+            try {
+                return send(request, requestClass, serviceUrl, httpPost, deadline);
+            } finally {
+                if (exchange != null) {
+                    deadline.detach(exchange);
+                }
+            }
+        } finally {
+            // the attempts are over, including the hedged ones in flight, which hold their own reference
+            PooledRequestEntity.release(httpPost.getEntity());
+        }
+    }
+
+    private SafechargeResponse send(SafechargeBaseRequest request, Class requestClass, String serviceUrl, HttpPost httpPost,
+            RequestDeadline deadline) throws IOException {
+        CircuitBreaker circuitBreaker = getCircuitBreaker(requestClass, serviceUrl);
+        if (circuitBreaker == null) {
+            return execute(httpPost, requestClass, deadline);
+        }
+        // the attempts are admitted one by one by execute
+        Admission admission = admit(circuitBreaker, null, true);
+        if (admission == null) {
+            return createCircuitBreakerOpenResponse(requestClass, request, circuitBreaker);
+        }
+
+        SafechargeResponse response;
+        try {
+            response = execute(httpPost, requestClass, deadline);
+        } catch (IOException | RuntimeException e) {
+            admission.onFailure(e);
+            throw e;
+        }
+        admission.onResponse(response);
+        return response;
+    }
+
+    /**
+     * @return the {@code serviceUrl} followed by the JSON of the {@code request} without the fields which differ between identical
+     * requests: the internal and client request ids, the time stamp and the checksum
+     */
+    private String createCoalescingKey(SafechargeBaseRequest request, String serviceUrl) throws IOException {
+        JsonObject json;
+        try {
+            json = new JsonParser().parse(jsonCodec.encode(request))
+                    .getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IOException("Unable to create the coalescing key of the request: " + e.getMessage(), e);
+        }
+        for (String field : COALESCING_KEY_EXCLUDED_FIELDS) {
+            json.remove(field);
+        }
+        return serviceUrl + ' ' + json;
+    }
+
+    /**
+     * Sends the request, with the retries and hedging which apply to the {@code requestClass}.
+     */
+    private SafechargeResponse execute(HttpPost httpPost, Class requestClass, RequestDeadline deadline) throws IOException {
+        RetryBudget retryBudget = null;
+        RequestHedging hedging = null;
+        if (retryableRequestTypes.contains(requestClass)) {
+            retryBudget = this.retryBudget;
+            hedging = this.hedging;
+        }
+        if (retryBudget == null) {
+            return execute(httpPost, requestClass, hedging, deadline);
+        }
+        return executeWithRetries(httpPost, requestClass, retryBudget, hedging, deadline);
+    }
+
+    private SafechargeResponse execute(HttpPost httpPost, Class requestClass, RequestHedging hedging, RequestDeadline deadline)
+            throws IOException {
+        Admission admission = admit(null, requestClass, true);
+        SafechargeResponse safechargeResponse;
+        try {
+            if (hedging != null) {
+                if (deadline != null) {
+                    configure(httpPost, deadline, asyncRequestConfig);
+                }
+                safechargeResponse = executeHedged(httpPost, requestClass, hedging, deadline);
+            } else {
+                HttpClient httpClient = getHttpClient();
+                if (deadline != null) {
+                    configure(httpPost, deadline, getRequestConfig(httpClient));
+                }
+                HttpResponse response = httpClient.execute(httpPost);
+
+                safechargeResponse = decodeResponse(response, requestClass);
+            }
+        } catch (IOException | RuntimeException e) {
+            admission.onFailure(e);
+            throw e;
+        }
+        admission.onResponse(safechargeResponse);
+        return safechargeResponse;
+    }
+
+    /**
+     * Sends the request through the non-blocking client and, if no successful response has arrived after the hedge delay, sends a
+     * duplicate on another pooled connection. Returns the first successful response and cancels the other request.
+     */
+    private SafechargeResponse executeHedged(HttpPost httpPost, Class requestClass, RequestHedging hedging, RequestDeadline deadline)
+            throws IOException {
+        CloseableHttpAsyncClient httpAsyncClient = getHttpAsyncClient();
+        BlockingQueue<HedgedAttempt> completedAttempts = new LinkedBlockingQueue<>();
+        long startNanos = System.nanoTime();
+        long hedgeDelayNanos = hedging.onRequest(requestClass);
+
+        HedgedAttempt primary = new HedgedAttempt(requestClass, completedAttempts);
+        primary.send(httpAsyncClient, httpPost);
+        Cancellable primaryExchange = deadline != null ? deadline.attach(primary.exchange) : null;
+        Cancellable hedgeExchange = null;
+        HedgedAttempt hedge = null;
+        int pendingAttempts = 1;
+        HedgedAttempt completed = null;
+        try {
+            if (hedgeDelayNanos >= 0) {
+                completed = completedAttempts.poll(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+                if (completed == null && hedging.tryHedge()) {
+                    HedgedAttempt attempt = new HedgedAttempt(requestClass, completedAttempts);
+                    attempt.send(httpAsyncClient, copy(httpPost));
+                    hedge = attempt;
+                    hedgeExchange = deadline != null ? deadline.attach(hedge.exchange) : null;
+                    pendingAttempts++;
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Hedging " + requestClass.getSimpleName() + " after " + TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos) + " ms");
+                    }
+                }
+            }
+            while (true) {
+                if (completed == null) {
+                    completed = deadline != null ? completedAttempts.poll(deadline.getRemaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+                            : completedAttempts.take();
+                    if (completed == null) {
+                        throw new SafechargeDeadlineExceededException("The deadline of the request has passed");
+                    }
+                }
+                pendingAttempts--;
+                if (completed.isSuccessful() || pendingAttempts == 0) {
+                    break;
+                }
+                completed = null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the response");
+        } finally {
+            primary.exchange.cancel(true);
+            if (hedge != null) {
+                hedge.exchange.cancel(true);
+            }
+            if (primaryExchange != null) {
+                deadline.detach(primaryExchange);
+            }
+            if (hedgeExchange != null) {
+                deadline.detach(hedgeExchange);
+            }
+        }
+
+        if (completed.failure != null) {
+            throw completed.failure;
+        }
+        hedging.recordLatency(requestClass, System.nanoTime() - startNanos);
+        if (completed == hedge) {
+            hedging.onHedgeWin();
+        }
+        return completed.response;
+    }
+
+    private static HttpPost copy(HttpPost httpPost) {
+        HttpPost copy = new HttpPost(httpPost.getURI());
+        copy.setHeaders(httpPost.getAllHeaders());
+        copy.setEntity(httpPost.getEntity());
+        copy.setConfig(httpPost.getConfig());
+        return copy;
+    }
+
+    private SafechargeResponse executeWithRetries(HttpPost httpPost, Class requestClass, RetryBudget retryBudget, RequestHedging hedging,
+            RequestDeadline deadline) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            long backoffMillis = retryBudget.getRetryPolicy()
+                    .getBackoffMillis(attempt);
+            try {
+                SafechargeResponse response = execute(httpPost, requestClass, hedging, deadline);
+                if (!isCommunicationError(response)) {
+                    retryBudget.onSuccess();
+                    return response;
+                }
+                if (!canRetry(retryBudget, attempt, backoffMillis, deadline)) {
+                    return response;
+                }
+            } catch (IOException e) {
+                if (!isRemoteFailure(e) || !canRetry(retryBudget, attempt, backoffMillis, deadline)) {
+                    throw e;
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Retrying " + requestClass.getSimpleName() + " after " + e);
+                }
+            }
+            backoff(backoffMillis);
+        }
+    }
+
+    /**
+     * @return false if the retry budget is exhausted or if the deadline passes before the end of the backoff
+     */
+    private static boolean canRetry(RetryBudget retryBudget, int attempt, long backoffMillis, RequestDeadline deadline) {
+        if (deadline != null && deadline.getRemaining(TimeUnit.MILLISECONDS) <= backoffMillis) {
+            return false;
+        }
+        return retryBudget.onFailure(attempt);
+    }
+
+    private static boolean isCommunicationError(SafechargeResponse response) {
+        return response != null && (response.getErrorType() == Constants.ErrorType.COMMUNICATION_ERROR
+                || response.getErrCode() == Constants.ERR_CODE_COMMUNICATION_ERROR);
+    }
+
+    /**
+     * @return true for the transport failures, which may not happen again when retrying: the connect and read timeouts, the failures
+     * to resolve the server, to connect to it or to read its response, including the timeouts of the connection pool. The rejections
+     * by the executor itself, the interruptions, the aborts and the failures to encode or decode the JSON are terminal.
+     */
+    private static boolean isRemoteFailure(IOException e) {
+        return e instanceof SocketTimeoutException || e instanceof ConnectTimeoutException || e instanceof SocketException
+                || e instanceof UnknownHostException || e instanceof NoHttpResponseException || e instanceof ConnectionClosedException;
+    }
+
+    private static void backoff(long backoffMillis) throws InterruptedIOException {
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+
+    /**
+     * Sends a POST request to the service at {@code serviceUrl} with a payload of {@code requestJSON}.
+     *
+     * @param requestJSON A {@link String} representation of a JSON object
+     * @param serviceUrl  The service URL to sent the request to
+     * @return {@link String} response from the service (representing JSON object)
+     * @throws IOException if the connection is interrupted or the response is unparsable
+     */
+    public String executeJsonRequest(String requestJSON, String serviceUrl, Class requestClass) throws IOException {
+        return executeRequest(requestJSON, serviceUrl, APIConstants.REQUEST_HEADERS, requestClass);
+    }
+
+    /**
+     * Sends a POST request to the service at {@code serviceUrl} with a payload of {@code request}.
+     * The request type is determined by the {@code headers} param.
+     *
+     * @param request    A {@link String} representation of a request object. Can be JSON object, form data, etc...
+     * @param serviceUrl The service URL to sent the request to
+     * @param headers    An array of {@link Header} objects, used to determine the request type
+     * @param requestClass  The Type Of request Used
+     * @return {@link String} response from the service (representing JSON object)
+     * @throws IOException if the connection is interrupted or the response is unparsable
+     */
+    public String executeRequest(String request, String serviceUrl, Header[] headers, Class requestClass) throws IOException {
+        BufferPool bufferPool = this.bufferPool;
+        PooledOutputStream requestBody = bufferPool != null ? new PooledOutputStream(bufferPool, bufferPool.getRequestSizeHint(
+                REQUEST_URL_BY_REQUEST_TYPE.get(requestClass))) : null;
+        try {
+            return executeRequest(createHttpPost(request, serviceUrl, headers, requestClass, requestBody), serviceUrl, requestClass);
+        } finally {
+            if (requestBody != null) {
+                requestBody.release();
+            }
+        }
+    }
+
+    private String executeRequest(HttpPost httpPost, String serviceUrl, Class requestClass) throws IOException {
+        CircuitBreaker circuitBreaker = getCircuitBreaker(requestClass, serviceUrl);
+        Admission admission = admit(circuitBreaker, requestClass, true);
+        if (admission == null) {
+            return jsonCodec.encode(createCircuitBreakerOpenResponse(requestClass, null, circuitBreaker));
+        }
+        String responseJSON;
+        try {
+            HttpResponse response = getHttpClient().execute(httpPost);
+
+            responseJSON = readResponse(response, requestClass);
+        } catch (IOException | RuntimeException e) {
+            admission.onFailure(e);
+            throw e;
+        }
+        admission.onResponse(null);
+        return responseJSON;
+    }
+
+    /**
+     * Sends a {@link SafechargeRequest} to SafeCharge's API via HTTP POST method without blocking the calling thread.
+     *
+     * @param request {@link SafechargeRequest} API request object
+     * @return {@link Future} which is completed with the {@link SafechargeResponse} API response object
+     * @see #executeRequestAsync(SafechargeBaseRequest, FutureCallback)
+     */
+    public Future<SafechargeResponse> executeRequestAsync(SafechargeBaseRequest request) {
+        return executeRequestAsync(request, null);
+    }
+
+    /**
+     * Sends a {@link SafechargeRequest} to SafeCharge's API via HTTP POST method without blocking the calling thread.
+     * <p>
+     * The request is executed by the non-blocking {@link CloseableHttpAsyncClient}, so a few I/O dispatcher threads can
+     * carry any number of in-flight requests. The {@code callback} is invoked on an I/O dispatcher thread and must not block.
+     * Cancelling the returned {@link Future} aborts the HTTP exchange.
+     * <p>
+     * An executor running on virtual threads, see {@link Builder#setVirtualThreads(boolean)}, sends the request like
+     * {@link #executeRequest(SafechargeBaseRequest)} on a new virtual thread instead, so that it is retried, hedged and coalesced the
+     * same way, and invokes the {@code callback} on that virtual thread, where it may block.
+     *
+     * @param request  {@link SafechargeRequest} API request object
+     * @param callback optional {@link FutureCallback} to be notified when the response is received or the request fails
+     * @return {@link Future} which is completed with the {@link SafechargeResponse} API response object
+     */
+    public Future<SafechargeResponse> executeRequestAsync(SafechargeBaseRequest request, FutureCallback<SafechargeResponse> callback) {
+        if (virtualThreadExecutor != null) {
+            return executeOnVirtualThread(request, callback);
+        }
+
+        final Class requestClass = request.getClass();
+        final ResponseFuture responseFuture = new ResponseFuture(callback);
+
+        String serviceUrl = request.getServerHost() + REQUEST_URL_BY_REQUEST_TYPE.get(requestClass);
+        request.setServerHost(null); // remove API url from request
+
+        final HttpPost httpPost = createHttpPost(request, serviceUrl);
+
+        CircuitBreaker circuitBreaker = getCircuitBreaker(requestClass, serviceUrl);
+        final Admission admission;
+        try {
+            admission = admit(circuitBreaker, requestClass, false);
+        } catch (IOException e) {
+            PooledRequestEntity.release(httpPost.getEntity());
+            responseFuture.failed(e);
+            return responseFuture;
+        }
+        if (admission == null) {
+            PooledRequestEntity.release(httpPost.getEntity());
+            responseFuture.completed(createCircuitBreakerOpenResponse(requestClass, request, circuitBreaker));
+            return responseFuture;
+        }
+
+        Future<HttpResponse> exchange;
+        try {
+            exchange = getHttpAsyncClient().execute(httpPost, new FutureCallback<HttpResponse>() {
+
+                @Override
+                public void completed(HttpResponse response) {
+                    PooledRequestEntity.release(httpPost.getEntity());
+                    SafechargeResponse safechargeResponse;
+                    try {
+                        safechargeResponse = decodeResponse(response, requestClass);
+                    } catch (IOException | RuntimeException e) {
+                        admission.onFailure(e);
+                        responseFuture.failed(e);
+                        return;
+                    }
+                    admission.onResponse(safechargeResponse);
+                    responseFuture.completed(safechargeResponse);
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    PooledRequestEntity.release(httpPost.getEntity());
+                    admission.onFailure(e);
+
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(e.getMessage());
+                    }
+                    responseFuture.failed(e);
+                }
+
+                @Override
+                public void cancelled() {
+                    PooledRequestEntity.release(httpPost.getEntity());
+                    admission.onCancel();
+                    responseFuture.cancel(true);
+                }
+            });
+        } catch (RuntimeException e) {
+            // e.g. the client was closed, the callback is never invoked
+            PooledRequestEntity.release(httpPost.getEntity());
+            admission.onFailure(e);
+            responseFuture.failed(e);
+            return responseFuture;
+        }
+        responseFuture.setExchange(exchange);
+
+        return responseFuture;
+    }
+
+    private Future<SafechargeResponse> executeOnVirtualThread(final SafechargeBaseRequest request, FutureCallback<SafechargeResponse> callback) {
+        final ResponseFuture responseFuture = new ResponseFuture(callback);
+        responseFuture.setExchange(virtualThreadExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    responseFuture.completed(executeBlocking(request, null));
+                } catch (IOException | RuntimeException e) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(e.getMessage());
+                    }
+                    responseFuture.failed(e);
+                }
+            }
+        }));
+        return responseFuture;
+    }
+
+    /**
+     * Runs a blocking {@code task}, e.g. a multi-step payment flow of {@link com.safecharge.biz.simple.payment.SimpleCreditCardPayment},
+     * on a new virtual thread of this executor. Cancelling the returned {@link Future} interrupts the virtual thread, which aborts the
+     * HTTP exchange it is blocked in.
+     *
+     * @param task the task to run
+     * @param <T>  the type of the result of the {@code task}
+     * @return {@link Future} which is completed with the result of the {@code task}
+     * @throws SafechargeConfigurationException if the executor doesn't run on virtual threads, see {@link Builder#setVirtualThreads(boolean)}
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        if (virtualThreadExecutor == null) {
+            throw new SafechargeConfigurationException("The executor doesn't run on virtual threads");
+        }
+        return virtualThreadExecutor.submit(task);
+    }
+
+    /**
+     * @return true if the executor runs the non-blocking requests and the submitted tasks on virtual threads
+     * @see Builder#setVirtualThreads(boolean)
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreadExecutor != null;
+    }
+
+    /**
+     * @return true if the Java runtime supports virtual threads, i.e. runs on Java 21 or later
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * @return the circuit breaker of the endpoint of the {@code requestClass} at the {@code serviceUrl}, or null if the executor has none
+     */
+    private CircuitBreaker getCircuitBreaker(Class requestClass, String serviceUrl) {
+        CircuitBreakerConfig circuitBreakerConfig = this.circuitBreakerConfig;
+        if (circuitBreakerConfig == null) {
+            return null;
+        }
+        String path = REQUEST_URL_BY_REQUEST_TYPE.get(requestClass);
+        String name = circuitBreakerConfig.isPerServerHost() || path == null ? serviceUrl : path;
+        CircuitBreaker circuitBreaker = circuitBreakers.get(name);
+        if (circuitBreaker == null) {
+            circuitBreaker = new CircuitBreaker(name, circuitBreakerConfig, circuitBreakerListener);
+            CircuitBreaker existing = circuitBreakers.putIfAbsent(name, circuitBreaker);
+            if (existing != null) {
+                circuitBreaker = existing;
+            }
+        }
+        return circuitBreaker;
+    }
+
+    /**
+     * Creates the response of a request failed right away by an open circuit breaker: a response of the type of the {@code requestClass}
+     * with the {@link Constants.APIResponseStatus#ERROR} status, the {@link Constants.ErrorType#COMMUNICATION_ERROR} error type and the
+     * {@link Constants#ERR_CODE_COMMUNICATION_ERROR} error code.
+     *
+     * @param request the request, to copy its identifiers into the response, or null
+     */
+    private static SafechargeResponse createCircuitBreakerOpenResponse(Class requestClass, SafechargeBaseRequest request,
+                                                                       CircuitBreaker circuitBreaker) {
+        SafechargeResponse response;
+        try {
+            Class<? extends SafechargeResponse> responseClass = RESPONSE_TYPE_BY_REQUEST_TYPE.get(requestClass);
+            response = responseClass != null ? responseClass.getDeclaredConstructor()
+                    .newInstance() : new CircuitBreakerOpenResponse();
+        } catch (ReflectiveOperationException e) {
+            response = new CircuitBreakerOpenResponse();
+        }
+        response.setStatus(Constants.APIResponseStatus.ERROR);
+        response.setErrorType(Constants.ErrorType.COMMUNICATION_ERROR);
+        response.setErrCode(Constants.ERR_CODE_COMMUNICATION_ERROR);
+        response.setReason("The circuit breaker of " + circuitBreaker.getName() + " is open");
+        if (request != null) {
+            response.setClientRequestId(request.getClientRequestId());
+            response.setSessionToken(request.getSessionToken());
+            if (request instanceof SafechargeRequest) {
+                response.setMerchantId(((SafechargeRequest) request).getMerchantId());
+                response.setMerchantSiteId(((SafechargeRequest) request).getMerchantSiteId());
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Admits a request of the {@code requestClass} through the bulkhead and the concurrency limiters which apply to it, if any.
+     *
+     * @param wait false to reject the request without waiting when the group or the executor is saturated
+     * @return the {@link EndpointAdmission.Permit} of the request, to be released with {@link #release(EndpointAdmission.Permit, boolean)},
+     * or null
+     */
+    private EndpointAdmission.Permit admit(Class requestClass, boolean wait) throws IOException {
+        EndpointAdmission admission = admissionByRequestType.get(requestClass);
+        if (admission == null) {
+            admission = defaultAdmission;
+        }
+        return admission != null ? admission.acquire(wait) : null;
+    }
+
+    /**
+     * Acquires the permission of the {@code circuitBreaker}, if any, then admits the request through the bulkhead and the concurrency
+     * limiter of the {@code requestClass}.
+     *
+     * @param requestClass the type of the request to admit, or null to only acquire the permission of the {@code circuitBreaker}
+     * @param wait         true to wait for the bulkhead or concurrency limiter when they are full, if their overflow policy allows it
+     * @return the {@link Admission} to release once the request completes, or null if the circuit breaker is open
+     * @throws IOException if the request is rejected by the bulkhead or the concurrency limiter
+     */
+    private Admission admit(CircuitBreaker circuitBreaker, Class requestClass, boolean wait) throws IOException {
+        if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+            return null;
+        }
+        try {
+            return new Admission(circuitBreaker, requestClass != null ? admit(requestClass, wait) : null);
+        } catch (IOException | RuntimeException e) {
+            if (circuitBreaker != null) {
+                circuitBreaker.releasePermission();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the saturation metrics of the bulkheads of the endpoint groups, see {@link Builder#setBulkhead(EndpointGroup, int, long, TimeUnit)}
+     */
+    public Map<EndpointGroup, BulkheadMetrics> getBulkheadMetrics() {
+        return bulkheadMetrics;
+    }
+
+    /**
+     * @return the metrics of the concurrency limiter of all the requests of the executor, see
+     * {@link Builder#setConcurrencyLimit(ConcurrencyLimit, OverflowPolicy, long, TimeUnit)}, or null if there is none
+     */
+    public ConcurrencyLimiterMetrics getConcurrencyLimiterMetrics() {
+        return concurrencyLimiterMetrics;
+    }
+
+    /**
+     * @return the metrics of the concurrency limiters of the endpoint groups, see
+     * {@link Builder#setConcurrencyLimit(EndpointGroup, ConcurrencyLimit, OverflowPolicy, long, TimeUnit)}
+     */
+    public Map<EndpointGroup, ConcurrencyLimiterMetrics> getEndpointGroupConcurrencyLimiterMetrics() {
+        return endpointGroupConcurrencyLimiterMetrics;
+    }
+
+    /**
+     * @return the number of requests which shared the response of an identical request in flight, see
+     * {@link Builder#setRequestCoalescing(boolean)}
+     */
+    public long getCoalescedRequests() {
+        return requestCoalescer != null ? requestCoalescer.getCoalescedRequests() : 0;
+    }
+
+    /**
+     * @return the state and metrics of the circuit breakers of the endpoints which were called, by name, see
+     * {@link Builder#setCircuitBreaker(CircuitBreakerConfig)}
+     */
+    public Map<String, CircuitBreakerMetrics> getCircuitBreakerMetrics() {
+        Map<String, CircuitBreakerMetrics> circuitBreakerMetrics = new HashMap<>();
+        for (CircuitBreaker circuitBreaker : circuitBreakers.values()) {
+            circuitBreakerMetrics.put(circuitBreaker.getName(), circuitBreaker.getMetrics());
+        }
+        return circuitBreakerMetrics;
+    }
+
+    /**
+     * @return the metrics of the pool of the request and response body buffers, see {@link Builder#setBufferPool(long)}, or null if the
+     * buffers are not pooled
+     */
+    public BufferPoolMetrics getBufferPoolMetrics() {
+        return bufferPool != null ? bufferPool.getMetrics() : null;
+    }
+
+    /**
+     * @return the compressed and uncompressed byte counts of the endpoints which were called, by endpoint path, see
+     * {@link Builder#setResponseCompression(boolean)} and {@link Builder#setRequestCompression(int)}
+     */
+    public Map<String, CompressionMetrics> getCompressionMetrics() {
+        return new HashMap<>(compressionMetrics);
+    }
+
+    /**
+     * @return the metrics of the hedged requests of the executor, see {@link Builder#setHedgePolicy(HedgePolicy)}, or null if it has
+     * no {@link HedgePolicy}
+     */
+    public HedgeMetrics getHedgeMetrics() {
+        return hedging != null ? hedging.getMetrics() : null;
+    }
+
+    /**
+     * @return the metrics of the retries of the executor, see {@link Builder#setRetryPolicy(RetryPolicy)}, or null if it has no
+     * {@link RetryPolicy}
+     */
+    public RetryMetrics getRetryMetrics() {
+        return retryBudget != null ? retryBudget.getMetrics() : null;
+    }
+
+    /**
+     * @param requestClass the type of the request
+     * @return true if the requests of the {@code requestClass} are read only, and so retried by default
+     */
+    public static boolean isRetryable(Class<? extends SafechargeBaseRequest> requestClass) {
+        return RETRYABLE_REQUEST_TYPES.contains(requestClass);
+    }
+
+    /**
+     * @param requestClass the type of the request
+     * @return true if the identical requests of the {@code requestClass} can share a single request, see
+     * {@link Builder#setRequestCoalescing(boolean)}: the read only requests, apart from the session token requests
+     */
+    public static boolean isCoalescable(Class<? extends SafechargeBaseRequest> requestClass) {
+        return COALESCABLE_REQUEST_TYPES.contains(requestClass);
+    }
+
+    /**
+     * @param requestClass the type of the request
+     * @return the {@link EndpointGroup} the requests of the {@code requestClass} belong to by default
+     */
+    public static EndpointGroup getEndpointGroup(Class<? extends SafechargeBaseRequest> requestClass) {
+        return ENDPOINT_GROUP_BY_REQUEST_TYPE.get(requestClass);
+    }
+
+    /**
+     * Limits the timeouts of the {@code httpPost} to the remaining time of the {@code deadline}, if it is bounded.
+     *
+     * @param clientConfig the default {@link RequestConfig} of the client, which the limited configuration starts from
+     */
+    private static void configure(HttpPost httpPost, RequestDeadline deadline, RequestConfig clientConfig) throws IOException {
+        RequestConfig config = deadline.configure(clientConfig);
+        if (config != null) {
+            httpPost.setConfig(config);
+        }
+    }
+
+    /**
+     * @return the default {@link RequestConfig} of the {@code client}, or null if it doesn't expose it
+     */
+    private static RequestConfig getRequestConfig(Object client) {
+        return client instanceof Configurable ? ((Configurable) client).getConfig() : null;
+    }
+
+    private HttpClient getHttpClient() {
+        HttpClient httpClient = this.httpClient;
+        if (httpClient == null) {
+            init();
+            httpClient = this.httpClient;
+        }
+        return httpClient;
+    }
+
+    private CloseableHttpAsyncClient getHttpAsyncClient() {
+        CloseableHttpAsyncClient httpAsyncClient = this.httpAsyncClient;
+        if (httpAsyncClient == null) {
+            initAsync();
+            httpAsyncClient = this.httpAsyncClient;
+        }
+        return httpAsyncClient;
+    }
+
+    /**
+     * @param requestBody the pooled buffer to encode the {@code request} into, released by the caller once the request is sent, or null
+     */
+    private HttpPost createHttpPost(String request, String serviceUrl, Header[] headers, Class requestClass, PooledOutputStream requestBody) {
+        HttpPost httpPost = new HttpPost(serviceUrl);
+        httpPost.setHeaders(headers);
+        ContentType contentType = ContentType.create(ContentType.TEXT_PLAIN.getMimeType(), UTF8_CHARSET);
+        if (requestBody != null) {
+            requestBody.writeUtf8(request);
+            if (requestCompressionThreshold >= 0) {
+                httpPost.setEntity(createRequestEntity(requestBody.getBuffer(), requestBody.size(), null, contentType, requestClass));
+            } else {
+                httpPost.setEntity(requestBody.toEntity(contentType));
+            }
+        } else if (requestCompressionThreshold >= 0) {
+            byte[] content = request.getBytes(UTF8_CHARSET);
+            httpPost.setEntity(createRequestEntity(content, content.length, null, contentType, requestClass));
+        } else {
+            httpPost.setEntity(new StringEntity(request, UTF8_CHARSET));
+        }
+        if (responseCompression && !httpPost.containsHeader(ACCEPT_ENCODING_HEADER)) {
+            httpPost.addHeader(ACCEPT_ENCODING_HEADER, GZIP_ENCODING);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug(requestClass.getSimpleName() + " Sent " + request);
+        }
+        return httpPost;
+    }
+
+    /**
+     * The entity of the returned request may hold a pooled buffer, see {@link PooledRequestEntity}, which the caller releases once the
+     * last attempt of the request has completed.
+     */
+    private HttpPost createHttpPost(SafechargeBaseRequest request, String serviceUrl) {
+        HttpPost httpPost = new HttpPost(serviceUrl);
+        httpPost.setHeaders(APIConstants.REQUEST_HEADERS);
+        BufferPool bufferPool = this.bufferPool;
+        BufferPool.SizeHint sizeHint = bufferPool != null ? bufferPool.getRequestSizeHint(REQUEST_URL_BY_REQUEST_TYPE.get(request.getClass())) : null;
+        if (chunkedRequests && requestCompressionThreshold < 0) {
+            httpPost.setEntity(new JsonRequestEntity(request, jsonCodec, bufferPool, sizeHint));
+        } else if (bufferPool != null) {
+            PooledOutputStream json = new PooledOutputStream(bufferPool, sizeHint);
+            try {
+                jsonCodec.encode(request, json);
+            } catch (IOException e) {
+                json.release();
+                throw new IllegalArgumentException(e.getMessage(), e); // not thrown by an in-memory stream
+            } catch (RuntimeException e) {
+                json.release();
+                throw e;
+            }
+            httpPost.setEntity(createRequestEntity(json.getBuffer(), json.size(), json, ContentType.APPLICATION_JSON, request.getClass()));
+        } else {
+            ByteArrayOutputStream json = new ByteArrayOutputStream();
+            try {
+                jsonCodec.encode(request, json);
+            } catch (IOException e) {
+                throw new IllegalArgumentException(e.getMessage(), e); // not thrown by a ByteArrayOutputStream
+            }
+            byte[] content = json.toByteArray();
+            httpPost.setEntity(createRequestEntity(content, content.length, null, ContentType.APPLICATION_JSON, request.getClass()));
+        }
+        if (responseCompression) {
+            httpPost.addHeader(ACCEPT_ENCODING_HEADER, GZIP_ENCODING);
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug(request.getClass()
+                    .getSimpleName() + " Sent " + jsonCodec.encode(request));
+        }
+        return httpPost;
+    }
+
+    /**
+     * Creates the entity of a request body with its content length, gzipped when the requests are compressed, it is at least
+     * {@link #requestCompressionThreshold} bytes long and the compression makes it shorter.
+     *
+     * @param body the pooled body the {@code content} is the buffer of, which the entity takes over, or null
+     */
+    private HttpEntity createRequestEntity(byte[] content, int length, PooledOutputStream body, ContentType contentType,
+            Class requestClass) {
+        ByteArrayEntity entity = null;
+        if (requestCompressionThreshold >= 0 && length >= requestCompressionThreshold) {
+            ByteArrayOutputStream compressedContent = new ByteArrayOutputStream(length / 4 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressedContent)) {
+                gzip.write(content, 0, length);
+            } catch (IOException e) {
+                throw new IllegalArgumentException(e.getMessage(), e); // not thrown by a ByteArrayOutputStream
+            }
+            if (compressedContent.size() < length) {
+                entity = new ByteArrayEntity(compressedContent.toByteArray(), contentType);
+                entity.setContentEncoding(GZIP_ENCODING);
+            }
+        }
+
+        boolean compressed = entity != null;
+        if (!compressed) {
+            entity = body != null ? new PooledRequestEntity(body, contentType) : new ByteArrayEntity(content, 0, length, contentType);
+        } else if (body != null) {
+            body.release(); // the compressed content is a copy
+        }
+        CompressionMetrics compressionMetrics = requestCompressionThreshold >= 0 ? getCompressionMetrics(requestClass) : null;
+        if (compressionMetrics != null) {
+            compressionMetrics.onRequest(length, entity.getContentLength(), compressed);
+        }
+        return entity;
+    }
+
+    /**
+     * @return the compression metrics of the endpoint of the {@code requestClass}, or null if the endpoint is not known
+     */
+    private CompressionMetrics getCompressionMetrics(Class requestClass) {
+        String endpoint = REQUEST_URL_BY_REQUEST_TYPE.get(requestClass);
+        if (endpoint == null) {
+            return null;
+        }
+        CompressionMetrics metrics = compressionMetrics.get(endpoint);
+        if (metrics == null) {
+            metrics = new CompressionMetrics(endpoint);
+            CompressionMetrics existing = compressionMetrics.putIfAbsent(endpoint, metrics);
+            if (existing != null) {
+                metrics = existing;
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Decodes the response straight from the entity's content stream into the response type of the {@code requestClass}.
+     * The response is read into a {@link String} first only when debug logging is enabled, so that it can be logged.
+     * A gzipped response is decompressed while it is decoded.
+     */
+    private SafechargeResponse decodeResponse(HttpResponse response, Class requestClass) throws IOException {
+        Class responseClass = RESPONSE_TYPE_BY_REQUEST_TYPE.get(requestClass);
+
+        if (logger.isDebugEnabled()) {
+            return (SafechargeResponse) jsonCodec.decode(readResponse(response, requestClass), responseClass);
+        }
+
+        HttpEntity entity = response.getEntity();
+        if (entity == null) {
+            return null;
+        }
+
+        Charset charset = getCharset(entity);
+        InputStream content = ResponseContent.open(entity, getCompressionMetrics(requestClass));
+        try {
+            return (SafechargeResponse) jsonCodec.decode(content, charset, responseClass);
+        } finally {
+            content.close(); // releases the connection
+        }
+    }
+
+    private String readResponse(HttpResponse response, Class requestClass) throws IOException {
+        HttpEntity entity = response.getEntity();
+        BufferPool bufferPool = this.bufferPool;
+        String responseJSON;
+        if (entity != null && bufferPool != null) {
+            Charset charset = getCharset(entity);
+            PooledOutputStream responseBody = new PooledOutputStream(bufferPool, bufferPool.getResponseSizeHint(
+                    REQUEST_URL_BY_REQUEST_TYPE.get(requestClass)));
+            try {
+                responseBody.readFrom(ResponseContent.open(entity, getCompressionMetrics(requestClass)));
+                responseJSON = responseBody.toString(charset);
+            } finally {
+                responseBody.release();
+            }
+        } else {
+            if (entity != null) {
+                entity = new InputStreamEntity(ResponseContent.open(entity, getCompressionMetrics(requestClass)), ContentType.get(entity));
+            }
+            responseJSON = EntityUtils.toString(entity, UTF8_CHARSET);
+        }
+        if (logger.isDebugEnabled()) {
+            Class responseClass = RESPONSE_TYPE_BY_REQUEST_TYPE.get(requestClass);
+            logger.debug(responseClass.getSimpleName() + " Received " + responseJSON);
+        }
+        return responseJSON;
+    }
+
+    private static Charset getCharset(HttpEntity entity) {
+        ContentType contentType = ContentType.get(entity);
+        return contentType != null && contentType.getCharset() != null ? contentType.getCharset() : UTF8_CHARSET;
+    }
+
+    /**
+     * Lazy holder of the shared default instance, see {@link #getInstance()}.
+     */
+    private static class InstanceHolder {
+
+        private static final SafechargeRequestExecutor INSTANCE = new SafechargeRequestExecutor(DEFAULT_JSON_CODEC);
+    }
+
+    /**
+     * Builder for {@link SafechargeRequestExecutor} instances. Each built executor owns its HTTP clients and JSON codec,
+     * so differently tuned executors(e.g. one for payments and one for back-office requests) can be used side by side.
+     */
+    public static class Builder {
+
+        private HttpClient httpClient;
+        private HttpClientConnectionManager connectionManager;
+        private CloseableHttpAsyncClient httpAsyncClient;
+        private RequestConfig httpAsyncRequestConfig;
+        private JsonCodec jsonCodec;
+        private String prewarmServerHost;
+        private int prewarmConnections;
+        private long keepAliveInterval = DEFAULT_KEEP_ALIVE_INTERVAL_SECONDS;
+        private TimeUnit keepAliveIntervalTimeUnit = TimeUnit.SECONDS;
+        private long idleConnectionTimeout = DEFAULT_IDLE_CONNECTION_TIMEOUT_SECONDS;
+        private long connectionEvictionInterval = DEFAULT_CONNECTION_EVICTION_INTERVAL_SECONDS;
+        private TimeUnit connectionEvictionTimeUnit = TimeUnit.SECONDS;
+        private final Map<EndpointGroup, Bulkhead> bulkheads = new EnumMap<>(EndpointGroup.class);
+        private ConcurrencyLimiter concurrencyLimiter;
+        private final Map<EndpointGroup, ConcurrencyLimiter> concurrencyLimiters = new EnumMap<>(EndpointGroup.class);
+        private final Map<Class<? extends SafechargeBaseRequest>, EndpointGroup> endpointGroupByRequestType = new HashMap<>(
+                ENDPOINT_GROUP_BY_REQUEST_TYPE);
+        private RetryPolicy retryPolicy;
+        private HedgePolicy hedgePolicy;
+        private CircuitBreakerConfig circuitBreakerConfig;
+        private CircuitBreakerListener circuitBreakerListener;
+        private boolean requestCoalescing;
+        private boolean responseCompression = true;
+        private int requestCompressionThreshold = -1;
+        private boolean chunkedRequests;
+        private long bufferPoolBytes = DEFAULT_BUFFER_POOL_BYTES;
+        private boolean virtualThreads;
+        private final Set<Class<? extends SafechargeBaseRequest>> retryableRequestTypes = new HashSet<>(RETRYABLE_REQUEST_TYPES);
+
+        /**
+         * Sets the {@link HttpClient} used for the blocking requests. If not set, a default Safecharge's {@link HttpClient} is created.
+         *
+         * @param httpClient the {@link HttpClient} to use
+         * @return this object
+         * @see SafechargeHttpClient
+         */
+        public Builder setHttpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * Sets the {@link HttpClientConnectionManager} of the {@link HttpClient} set by {@link #setHttpClient(HttpClient)}, needed
+         * to pre-warm its connections and to evict its expired and idle connections. Not needed with the default Safecharge's
+         * {@link HttpClient}.
+         *
+         * @param connectionManager the {@link HttpClientConnectionManager} of the {@link HttpClient}
+         * @return this object
+         */
+        public Builder setConnectionManager(HttpClientConnectionManager connectionManager) {
+            this.connectionManager = connectionManager;
+            return this;
+        }
+
+        /**
+         * Opens and TLS handshakes {@code connections} pooled connections to the {@code serverHost} when the executor is built, and
+         * reopens them when the pool runs short of idle connections, so that the first requests don't pay for connecting. Later reconnects to the server
+         * resume the cached TLS session of the default {@link HttpClient}. Not supported through a proxy.
+         *
+         * @param serverHost  the server host, as set in the {@link com.safecharge.model.MerchantInfo}
+         * @param connections the number of connections to open, at most
+         *                    {@value SafechargeClientBuilder#DEFAULT_MAX_CONNECTIONS_PER_ROUTE} with the default {@link HttpClient}
+         * @return this object
+         * @see #setKeepAliveInterval(long, TimeUnit)
+         */
+        public Builder setPrewarmedConnections(String serverHost, int connections) {
+            this.prewarmServerHost = serverHost;
+            this.prewarmConnections = connections;
+            return this;
+        }
+
+        /**
+         * Sets the interval of the checks of the pre-warmed connections, {@value SafechargeRequestExecutor#DEFAULT_KEEP_ALIVE_INTERVAL_SECONDS}
+         * seconds by default. A check does nothing while the pool holds enough idle connections to the server, otherwise it sends keep
+         * alive requests on the idle connections and opens the missing ones in the free slots of the pool.
+         *
+         * @param keepAliveInterval the interval of the keep alive requests, 0 to not send any
+         * @param timeUnit          the {@link TimeUnit} of the {@code keepAliveInterval}
+         * @return this object
+         */
+        public Builder setKeepAliveInterval(long keepAliveInterval, TimeUnit timeUnit) {
+            this.keepAliveInterval = keepAliveInterval;
+            this.keepAliveIntervalTimeUnit = timeUnit;
+            return this;
+        }
+
+        /**
+         * Sets how the expired, idle and stale pooled connections are evicted in the background. By default the eviction runs every
+         * {@value SafechargeRequestExecutor#DEFAULT_CONNECTION_EVICTION_INTERVAL_SECONDS} seconds and closes the connections idle for
+         * more than {@value SafechargeRequestExecutor#DEFAULT_IDLE_CONNECTION_TIMEOUT_SECONDS} seconds.
+         *
+         * @param idleConnectionTimeout      the maximum idle time of a connection, 0 to keep the idle connections
+         * @param connectionEvictionInterval the interval of the eviction runs, 0 to disable the eviction
+         * @param timeUnit                   the {@link TimeUnit} of the {@code idleConnectionTimeout} and the
+         *                                   {@code connectionEvictionInterval}
+         * @return this object
+         */
+        public Builder setConnectionEviction(long idleConnectionTimeout, long connectionEvictionInterval, TimeUnit timeUnit) {
+            this.idleConnectionTimeout = idleConnectionTimeout;
+            this.connectionEvictionInterval = connectionEvictionInterval;
+            this.connectionEvictionTimeUnit = timeUnit;
+            return this;
+        }
+
+        /**
+         * Limits the number of concurrent requests of the {@code endpointGroup}, so that a burst of its requests can't use up the
+         * connections needed by the other groups. Requests over the limit wait for at most {@code maxWaitTime}, then they fail with a
+         * {@link SafechargeRequestRejectedException}, non-blocking requests over the limit fail right away. Groups without a bulkhead
+         * are not limited.
+         * <p>
+         * The groups share the connection pool of the {@link HttpClient}, so the sum of the limits must fit in its connections per route
+         * for a group never to wait for a connection held by another one: the pool of the default {@link HttpClient} is enlarged to the
+         * sum of the limits if needed, and {@link #build()} fails if the sum exceeds the pool of the {@link HttpClientConnectionManager}
+         * set by {@link #setConnectionManager(HttpClientConnectionManager)}.
+         *
+         * @param endpointGroup         the {@link EndpointGroup} to limit
+         * @param maxConcurrentRequests the maximum number of concurrent requests of the group
+         * @param maxWaitTime           the maximum time a request waits for capacity
+         * @param timeUnit              the {@link TimeUnit} of the {@code maxWaitTime}
+         * @return this object
+         */
+        public Builder setBulkhead(EndpointGroup endpointGroup, int maxConcurrentRequests, long maxWaitTime, TimeUnit timeUnit) {
+            bulkheads.put(endpointGroup, new Bulkhead(endpointGroup, maxConcurrentRequests, timeUnit.toMillis(maxWaitTime)));
+            return this;
+        }
+
+        /**
+         * Limits the number of in-flight requests of the executor to a limit adapted to the observed round trip times by the
+         * {@code limit} algorithm, e.g. {@link AimdLimit} or {@link GradientLimit}. With {@link OverflowPolicy#QUEUE}, requests over
+         * the limit wait for at most {@code maxWaitTime}, then they fail with a {@link SafechargeRequestRejectedException}; with
+         * {@link OverflowPolicy#REJECT} and for the non-blocking requests, they fail right away. Keep the connections per route of the
+         * {@link HttpClient} at or above the maximum limit, so that the limiter rather than the connection pool queues the requests.
+         * <p>
+         * The {@code limit} keeps the state of the built executor, so set a new instance before building another executor:
+         * {@link #build()} fails if the {@code limit} is already used by another executor or limiter.
+         *
+         * @param limit          the {@link ConcurrencyLimit} algorithm
+         * @param overflowPolicy what to do with the requests over the limit
+         * @param maxWaitTime    the maximum time a queued request waits
+         * @param timeUnit       the {@link TimeUnit} of the {@code maxWaitTime}
+         * @return this object
+         * @see SafechargeRequestExecutor#getConcurrencyLimiterMetrics()
+         */
+        public Builder setConcurrencyLimit(ConcurrencyLimit limit, OverflowPolicy overflowPolicy, long maxWaitTime, TimeUnit timeUnit) {
+            concurrencyLimiter = new ConcurrencyLimiter(null, limit, overflowPolicy, timeUnit.toMillis(maxWaitTime));
+            return this;
+        }
+
+        /**
+         * Limits the number of in-flight requests of the {@code endpointGroup} like
+         * {@link #setConcurrencyLimit(ConcurrencyLimit, OverflowPolicy, long, TimeUnit)} does for the whole executor, so that a slow
+         * down of the group's endpoints sheds the group's load only. The limit applies after the bulkhead of the group, if any, and
+         * before the limit of the executor.
+         *
+         * @param endpointGroup  the {@link EndpointGroup} to limit
+         * @param limit          the {@link ConcurrencyLimit} algorithm, not shared with any other group or executor, see
+         *                       {@link #setConcurrencyLimit(ConcurrencyLimit, OverflowPolicy, long, TimeUnit)}
+         * @param overflowPolicy what to do with the requests over the limit
+         * @param maxWaitTime    the maximum time a queued request waits
+         * @param timeUnit       the {@link TimeUnit} of the {@code maxWaitTime}
+         * @return this object
+         * @see SafechargeRequestExecutor#getEndpointGroupConcurrencyLimiterMetrics()
+         */
+        public Builder setConcurrencyLimit(EndpointGroup endpointGroup, ConcurrencyLimit limit, OverflowPolicy overflowPolicy, long maxWaitTime,
+                TimeUnit timeUnit) {
+            concurrencyLimiters.put(endpointGroup, new ConcurrencyLimiter(endpointGroup, limit, overflowPolicy, timeUnit.toMillis(maxWaitTime)));
+            return this;
+        }
+
+        /**
+         * Moves the requests of the {@code requestClass} to another {@link EndpointGroup} than the default one, see
+         * {@link SafechargeRequestExecutor#getEndpointGroup(Class)}.
+         *
+         * @param requestClass  the type of the requests to move
+         * @param endpointGroup the {@link EndpointGroup} the requests belong to in the built executor
+         * @return this object
+         */
+        public Builder setEndpointGroup(Class<? extends SafechargeBaseRequest> requestClass, EndpointGroup endpointGroup) {
+            endpointGroupByRequestType.put(requestClass, endpointGroup);
+            return this;
+        }
+
+        /**
+         * Retries the failed requests which are safe to retry, see {@link SafechargeRequestExecutor#isRetryable(Class)}, according to
+         * the {@code retryPolicy}. Only the blocking {@link SafechargeRequestExecutor#executeRequest(SafechargeBaseRequest)} retries.
+         * The requests are not retried by default.
+         *
+         * @param retryPolicy the {@link RetryPolicy} to apply
+         * @return this object
+         * @see SafechargeRequestExecutor#getRetryMetrics()
+         */
+        public Builder setRetryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Hedges the read only requests, see {@link SafechargeRequestExecutor#isRetryable(Class)}, according to the {@code hedgePolicy}.
+         * Hedged requests are sent through the non-blocking {@link CloseableHttpAsyncClient}, so that the duplicate request can race
+         * the first one, instead of the blocking {@link HttpClient}: it must be set with {@link #setHttpAsyncClient(CloseableHttpAsyncClient)},
+         * configured like the blocking one (proxy, SSL, timeouts), otherwise {@link #build()} fails. Only the blocking
+         * {@link SafechargeRequestExecutor#executeRequest(SafechargeBaseRequest)} hedges. The requests are not hedged by default.
+         *
+         * @param hedgePolicy the {@link HedgePolicy} to apply
+         * @return this object
+         * @see SafechargeRequestExecutor#getHedgeMetrics()
+         */
+        public Builder setHedgePolicy(HedgePolicy hedgePolicy) {
+            this.hedgePolicy = hedgePolicy;
+            return this;
+        }
+
+        /**
+         * Gives each endpoint, and optionally each server host, a circuit breaker configured by the {@code circuitBreakerConfig}. While
+         * the circuit breaker of an endpoint is open, its requests return right away a response with the
+         * {@link Constants.APIResponseStatus#ERROR} status and the {@link Constants.ErrorType#COMMUNICATION_ERROR} error type, instead
+         * of waiting for the timeouts of a degraded gateway. There are no circuit breakers by default.
+         *
+         * @param circuitBreakerConfig the {@link CircuitBreakerConfig} of the circuit breakers
+         * @return this object
+         * @see SafechargeRequestExecutor#getCircuitBreakerMetrics()
+         */
+        public Builder setCircuitBreaker(CircuitBreakerConfig circuitBreakerConfig) {
+            this.circuitBreakerConfig = circuitBreakerConfig;
+            return this;
+        }
+
+        /**
+         * Sets the listener of the state transitions of the circuit breakers, see {@link #setCircuitBreaker(CircuitBreakerConfig)}.
+         *
+         * @param circuitBreakerListener the {@link CircuitBreakerListener} to notify
+         * @return this object
+         */
+        public Builder setCircuitBreakerListener(CircuitBreakerListener circuitBreakerListener) {
+            this.circuitBreakerListener = circuitBreakerListener;
+            return this;
+        }
+
+        /**
+         * Sets whether identical read only requests, see {@link SafechargeRequestExecutor#isCoalescable(Class)}, share a single request
+         * while one of them is in flight. Requests are identical when they go to the same endpoint with the same fields, apart from the
+         * internal and client request ids, the time stamp and the checksum. Each caller gets its own copy of the {@link SafechargeResponse}.
+         * Only the blocking {@link SafechargeRequestExecutor#executeRequest(SafechargeBaseRequest)} coalesces requests. False by default.
+         *
+         * @param requestCoalescing true to coalesce the identical requests
+         * @return this object
+         * @see SafechargeRequestExecutor#getCoalescedRequests()
+         */
+        public Builder setRequestCoalescing(boolean requestCoalescing) {
+            this.requestCoalescing = requestCoalescing;
+            return this;
+        }
+
+        /**
+         * Sets whether the requests advertise {@code Accept-Encoding: gzip}, so that the server may compress the responses. The
+         * compressed responses are decompressed while they are decoded, without reading them in memory first. True by default.
+         * An {@link HttpClient} set by {@link #setHttpClient(HttpClient)} should have its own content compression disabled, otherwise
+         * it decompresses the responses itself and the {@link CompressionMetrics} don't see the compressed sizes.
+         *
+         * @param responseCompression true to accept compressed responses
+         * @return this object
+         * @see SafechargeRequestExecutor#getCompressionMetrics()
+         */
+        public Builder setResponseCompression(boolean responseCompression) {
+            this.responseCompression = responseCompression;
+            return this;
+        }
+
+        /**
+         * Gzips the request bodies of at least {@code thresholdBytes} bytes, when that makes them shorter. The request bodies are then
+         * encoded into a byte array instead of being streamed to the connection. Disabled by default, as the server must accept
+         * {@code Content-Encoding: gzip} requests.
+         *
+         * @param thresholdBytes the minimum size of the compressed request bodies, -1 to not compress them
+         * @return this object
+         * @see SafechargeRequestExecutor#getCompressionMetrics()
+         */
+        public Builder setRequestCompression(int thresholdBytes) {
+            this.requestCompressionThreshold = thresholdBytes;
+            return this;
+        }
+
+        /**
+         * Sets whether the {@link SafechargeBaseRequest} requests are encoded straight into the connection and sent with chunked
+         * transfer encoding, without a {@code Content-Length} header. False by default: the requests are encoded into a buffer first
+         * and sent with their {@code Content-Length}, as some gateways and proxies reject chunked requests. Compressed requests, see
+         * {@link #setRequestCompression(int)}, are never chunked.
+         *
+         * @param chunkedRequests true to stream the requests chunked
+         * @return this object
+         */
+        public Builder setChunkedRequests(boolean chunkedRequests) {
+            this.chunkedRequests = chunkedRequests;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of the pool of buffers the request and response bodies are encoded into and read into in memory,
+         * {@value SafechargeRequestExecutor#DEFAULT_BUFFER_POOL_BYTES} bytes by default. Pooled buffers hold the bodies of the
+         * {@link String} requests and responses, see
+         * {@link SafechargeRequestExecutor#executeRequest(String, String, Header[], Class)}, the responses logged in debug, the
+         * non-blocking requests and the requests encoded to be compressed. The first buffer of a body is sized after the recent bodies
+         * of the same endpoint, as are the {@link SafechargeBaseRequest} requests unless they are sent chunked, see
+         * {@link #setChunkedRequests(boolean)}. A {@link SafechargeBaseRequest} is sent from its pooled buffer, which returns to the pool
+         * once the last attempt of the request, retries and hedges included, has completed. The {@link SafechargeBaseRequest} responses
+         * are decoded as they are streamed and need no buffer.
+         *
+         * @param maxPooledBytes the maximum number of bytes of the pooled buffers, 0 to not pool the buffers
+         * @return this object
+         * @see SafechargeRequestExecutor#getBufferPoolMetrics()
+         */
+        public Builder setBufferPool(long maxPooledBytes) {
+            this.bufferPoolBytes = maxPooledBytes;
+            return this;
+        }
+
+        /**
+         * Sets whether the executor runs on virtual threads, false by default. Requires Java 21 or later, see
+         * {@link SafechargeRequestExecutor#isVirtualThreadsSupported()}. The non-blocking requests are then sent through the blocking
+         * {@link HttpClient}, each on its own virtual thread, instead of the {@link CloseableHttpAsyncClient}, and
+         * {@link SafechargeRequestExecutor#submit(Callable)} runs multi-step flows on virtual threads. The executor doesn't hold any
+         * monitor while it blocks, so a virtual thread waiting for a response, a connection or a permit unmounts from its carrier
+         * thread. Size the connection pool and the concurrency limits for the number of concurrent requests rather than threads.
+         *
+         * @param virtualThreads true to run on virtual threads
+         * @return this object
+         */
+        public Builder setVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Overrides whether the requests of the {@code requestClass} are safe to retry, hedge and coalesce. Only mark requests as retryable when
+         * sending them twice has the same effect as sending them once.
+         *
+         * @param requestClass the type of the requests
+         * @param retryable    true to retry the requests
+         * @return this object
+         */
+        public Builder setRetryable(Class<? extends SafechargeBaseRequest> requestClass, boolean retryable) {
+            if (retryable) {
+                retryableRequestTypes.add(requestClass);
+            } else {
+                retryableRequestTypes.remove(requestClass);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the {@link CloseableHttpAsyncClient} used for the non-blocking requests. If not set, a default Safecharge's
+         * {@link CloseableHttpAsyncClient} is created on the first non-blocking request. The client is assumed to have the default
+         * {@link RequestConfig} of {@link SafechargeHttpAsyncClient#createDefault()}, see
+         * {@link #setHttpAsyncClient(CloseableHttpAsyncClient, RequestConfig)} otherwise.
+         *
+         * @param httpAsyncClient the {@link CloseableHttpAsyncClient} to use
+         * @return this object
+         * @see SafechargeHttpAsyncClient
+         */
+        public Builder setHttpAsyncClient(CloseableHttpAsyncClient httpAsyncClient) {
+            return setHttpAsyncClient(httpAsyncClient, SafechargeAsyncClientBuilder.createDefaultRequestConfig());
+        }
+
+        /**
+         * Sets the {@link CloseableHttpAsyncClient} used for the non-blocking requests, and the default {@link RequestConfig} it was
+         * built with. The hedged requests with a bounded {@link RequestDeadline} keep this configuration, with the timeouts limited to
+         * the remaining time.
+         *
+         * @param httpAsyncClient the {@link CloseableHttpAsyncClient} to use
+         * @param requestConfig   the default {@link RequestConfig} of the {@code httpAsyncClient}
+         * @return this object
+         * @see SafechargeAsyncClientBuilder#setRequestConfig(RequestConfig)
+         */
+        public Builder setHttpAsyncClient(CloseableHttpAsyncClient httpAsyncClient, RequestConfig requestConfig) {
+            this.httpAsyncClient = httpAsyncClient;
+            this.httpAsyncRequestConfig = requestConfig;
+            return this;
+        }
+
+        /**
+         * Sets the {@link JsonCodec} used to encode the requests and decode the responses. If not set, the shared default
+         * {@link GsonJsonCodec} is used.
+         *
+         * @param jsonCodec the {@link JsonCodec} to use
+         * @return this object
+         */
+        public Builder setJsonCodec(JsonCodec jsonCodec) {
+            this.jsonCodec = jsonCodec;
+            return this;
+        }
+
+        /**
+         * Builds the executor. Blocks until the pre-warmed connections, if any, are open.
+         *
+         * @return new {@link SafechargeRequestExecutor} instance
+         * @throws SafechargeConfigurationException if the connections should be pre-warmed, but the connection manager of the
+         *                                          {@link HttpClient} is not known, or if the executor should run on virtual threads,
+         *                                          but the Java runtime doesn't support them, or if a {@link ConcurrencyLimit} is
+         *                                          shared with another limiter
+         */
+        public SafechargeRequestExecutor build() {
+            if (prewarmConnections > 0 && httpClient != null && connectionManager == null) {
+                throw new SafechargeConfigurationException("Pre-warming the connections requires the connection manager of the HTTP client");
+            }
+            if (hedgePolicy != null && httpAsyncClient == null) {
+                throw new SafechargeConfigurationException("Hedging the requests requires a non-blocking HTTP client, see setHttpAsyncClient");
+            }
+            int bulkheadConnections = getBulkheadConnections();
+            ConnPoolControl<HttpRoute> pool = getPoolControl(connectionManager);
+            if (httpClient != null && pool != null && bulkheadConnections > Math.min(pool.getDefaultMaxPerRoute(), pool.getMaxTotal())) {
+                throw new SafechargeConfigurationException("The bulkheads allow " + bulkheadConnections + " concurrent requests, more than the "
+                        + Math.min(pool.getDefaultMaxPerRoute(), pool.getMaxTotal()) + " connections per route of the connection manager");
+            }
+            reserveConcurrencyLimits();
+            ExecutorService virtualThreadExecutor = virtualThreads ? VirtualThreads.newVirtualThreadPerTaskExecutor() : null;
+            SafechargeRequestExecutor requestExecutor;
+            if (jsonCodec != null) {
+                prepare(jsonCodec);
+                requestExecutor = new SafechargeRequestExecutor(jsonCodec);
+            } else {
+                requestExecutor = new SafechargeRequestExecutor(DEFAULT_JSON_CODEC);
+            }
+            initAdmission(requestExecutor);
+            if (retryPolicy != null) {
+                requestExecutor.retryBudget = new RetryBudget(retryPolicy);
+            }
+            if (hedgePolicy != null) {
+                requestExecutor.hedging = new RequestHedging(hedgePolicy);
+            }
+            requestExecutor.retryableRequestTypes = new HashSet<>(retryableRequestTypes);
+            requestExecutor.circuitBreakerConfig = circuitBreakerConfig;
+            requestExecutor.circuitBreakerListener = circuitBreakerListener;
+            if (requestCoalescing) {
+                requestExecutor.requestCoalescer = new RequestCoalescer();
+            }
+            requestExecutor.responseCompression = responseCompression;
+            requestExecutor.requestCompressionThreshold = requestCompressionThreshold;
+            requestExecutor.chunkedRequests = chunkedRequests;
+            requestExecutor.bufferPool = bufferPoolBytes > 0 ? new BufferPool(bufferPoolBytes) : null;
+            requestExecutor.virtualThreadExecutor = virtualThreadExecutor;
+
+            HttpClient httpClient = this.httpClient;
+            HttpClientConnectionManager connectionManager = this.connectionManager;
+            if (httpClient == null) {
+                SafechargeClientBuilder clientBuilder = SafechargeHttpClient.createDefaultBuilder();
+                httpClient = clientBuilder.build();
+                connectionManager = clientBuilder.getConnectionManager();
+                pool = getPoolControl(connectionManager);
+                if (pool != null && bulkheadConnections > pool.getDefaultMaxPerRoute()) {
+                    pool.setDefaultMaxPerRoute(bulkheadConnections);
+                    pool.setMaxTotal(Math.max(pool.getMaxTotal(), bulkheadConnections));
+                }
+            }
+            requestExecutor.init(httpClient);
+
+            if (connectionManager != null) {
+                ConnectionMaintenance connectionMaintenance = requestExecutor.startConnectionMaintenance(connectionManager, idleConnectionTimeout,
+                        connectionEvictionInterval, connectionEvictionTimeUnit);
+                if (prewarmConnections > 0) {
+                    connectionMaintenance.prewarm(prewarmServerHost, prewarmConnections, keepAliveInterval, keepAliveIntervalTimeUnit);
+                }
+            }
+            if (httpAsyncClient != null) {
+                requestExecutor.initAsync(httpAsyncClient, httpAsyncRequestConfig);
+            }
+            return requestExecutor;
+        }
+
+        /**
+         * Gives the {@code requestExecutor} its own copies of the bulkheads and concurrency limiters.
+         */
+        /**
+         * @return the sum of the limits of the bulkheads
+         */
+        private int getBulkheadConnections() {
+            int connections = 0;
+            for (Bulkhead bulkhead : bulkheads.values()) {
+                connections += bulkhead.getMaxConcurrentRequests();
+            }
+            return connections;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static ConnPoolControl<HttpRoute> getPoolControl(HttpClientConnectionManager connectionManager) {
+            return connectionManager instanceof ConnPoolControl ? (ConnPoolControl<HttpRoute>) connectionManager : null;
+        }
+
+        private void reserveConcurrencyLimits() {
+            List<ConcurrencyLimiter> limiters = new ArrayList<ConcurrencyLimiter>(concurrencyLimiters.values());
+            if (concurrencyLimiter != null) {
+                limiters.add(concurrencyLimiter);
+            }
+            ConcurrencyLimiter.reserveLimits(limiters);
+        }
+
+        private void initAdmission(SafechargeRequestExecutor requestExecutor) {
+            ConcurrencyLimiter executorLimiter = concurrencyLimiter != null ? concurrencyLimiter.copy() : null;
+            if (bulkheads.isEmpty() && concurrencyLimiters.isEmpty() && executorLimiter == null) {
+                return;
+            }
+
+            Map<EndpointGroup, EndpointAdmission> admissions = new EnumMap<>(EndpointGroup.class);
+            Map<EndpointGroup, BulkheadMetrics> bulkheadMetrics = new EnumMap<>(EndpointGroup.class);
+            Map<EndpointGroup, ConcurrencyLimiterMetrics> concurrencyLimiterMetrics = new EnumMap<>(EndpointGroup.class);
+            for (EndpointGroup endpointGroup : EndpointGroup.values()) {
+                Bulkhead bulkhead = bulkheads.get(endpointGroup);
+                if (bulkhead != null) {
+                    bulkhead = bulkhead.copy();
+                    bulkheadMetrics.put(endpointGroup, bulkhead.getMetrics());
+                }
+                ConcurrencyLimiter groupLimiter = concurrencyLimiters.get(endpointGroup);
+                if (groupLimiter != null) {
+                    groupLimiter = groupLimiter.copy();
+                    concurrencyLimiterMetrics.put(endpointGroup, groupLimiter.getMetrics());
+                }
+                if (bulkhead != null || groupLimiter != null || executorLimiter != null) {
+                    admissions.put(endpointGroup, new EndpointAdmission(bulkhead, groupLimiter, executorLimiter));
+                }
+            }
+            Map<Class<?>, EndpointAdmission> admissionByRequestType = new HashMap<>();
+            for (Map.Entry<Class<? extends SafechargeBaseRequest>, EndpointGroup> endpointGroup : endpointGroupByRequestType.entrySet()) {
+                EndpointAdmission admission = admissions.get(endpointGroup.getValue());
+                if (admission != null) {
+                    admissionByRequestType.put(endpointGroup.getKey(), admission);
+                }
+            }
+            requestExecutor.admissionByRequestType = admissionByRequestType;
+            requestExecutor.bulkheadMetrics = Collections.unmodifiableMap(bulkheadMetrics);
+            requestExecutor.endpointGroupConcurrencyLimiterMetrics = Collections.unmodifiableMap(concurrencyLimiterMetrics);
+            if (executorLimiter != null) {
+                requestExecutor.defaultAdmission = new EndpointAdmission(null, null, executorLimiter);
+                requestExecutor.concurrencyLimiterMetrics = executorLimiter.getMetrics();
+            }
+        }
+    }
+
+    /**
+     * The circuit breaker permission and the bulkhead and concurrency limiter permit of a request, released with its outcome. Only
+     * the transport failures, see {@link #isRemoteFailure(IOException)}, count as failures of the circuit breaker and as drops of the
+     * concurrency limiter; the other failures just release them.
+     */
+    private static class Admission {
+
+        private final CircuitBreaker circuitBreaker;
+        private final EndpointAdmission.Permit permit;
+        private final long startNanos = System.nanoTime();
+
+        Admission(CircuitBreaker circuitBreaker, EndpointAdmission.Permit permit) {
+            this.circuitBreaker = circuitBreaker;
+            this.permit = permit;
+        }
+
+        /**
+         * @param response the response, or null if it isn't decoded
+         */
+        void onResponse(SafechargeResponse response) {
+            if (permit != null) {
+                permit.release(false);
+            }
+            if (circuitBreaker != null) {
+                circuitBreaker.onResult(System.nanoTime() - startNanos, isCommunicationError(response));
+            }
+        }
+
+        void onFailure(Exception e) {
+            boolean remoteFailure = e instanceof IOException && isRemoteFailure((IOException) e);
+            if (permit != null) {
+                permit.release(remoteFailure);
+            }
+            if (circuitBreaker != null) {
+                if (remoteFailure) {
+                    circuitBreaker.onResult(System.nanoTime() - startNanos, true);
+                } else {
+                    circuitBreaker.releasePermission();
+                }
+            }
+        }
+
+        void onCancel() {
+            if (permit != null) {
+                permit.cancel();
+            }
+            if (circuitBreaker != null) {
+                circuitBreaker.releasePermission();
+            }
+        }
+    }
+
+    /**
+     * Response of the open circuit breaker of an endpoint without a known response type.
+     */
+    private static class CircuitBreakerOpenResponse extends SafechargeResponse {
+    }
+
+    /**
+     * One of the requests sent by {@link #executeHedged(HttpPost, Class, RequestHedging, RequestDeadline)}, which queues itself once completed.
+     */
+    private class HedgedAttempt implements FutureCallback<HttpResponse> {
+
+        private final Class requestClass;
+        private final BlockingQueue<HedgedAttempt> completedAttempts;
+        private HttpEntity entity;
+        private Future<HttpResponse> exchange;
+        private SafechargeResponse response;
+        private IOException failure;
+
+        HedgedAttempt(Class requestClass, BlockingQueue<HedgedAttempt> completedAttempts) {
+            this.requestClass = requestClass;
+            this.completedAttempts = completedAttempts;
+        }
+
+        boolean isSuccessful() {
+            return failure == null && !isCommunicationError(response);
+        }
+
+        /**
+         * Sends the {@code httpPost}, holding a reference to its pooled body until the attempt completes.
+         */
+        void send(CloseableHttpAsyncClient httpAsyncClient, HttpPost httpPost) {
+            entity = httpPost.getEntity();
+            PooledRequestEntity.retain(entity);
+            try {
+                exchange = httpAsyncClient.execute(httpPost, this);
+            } catch (RuntimeException e) {
+                PooledRequestEntity.release(entity);
+                throw e;
+            }
+        }
+
+        @Override
+        public void completed(HttpResponse httpResponse) {
+            PooledRequestEntity.release(entity);
+            try {
+                response = decodeResponse(httpResponse, requestClass);
+            } catch (IOException e) {
+                failure = e;
+            }
+            completedAttempts.add(this);
+        }
+
+        @Override
+        public void failed(Exception e) {
+            PooledRequestEntity.release(entity);
+            failure = e instanceof IOException ? (IOException) e : new IOException(e.getMessage(), e);
+            completedAttempts.add(this);
+        }
+
+        @Override
+        public void cancelled() {
+            PooledRequestEntity.release(entity);
+            failure = new InterruptedIOException("The request was cancelled");
+            completedAttempts.add(this);
+        }
+    }
+
+    /**
+     * {@link BasicFuture} which aborts the underlying HTTP exchange when cancelled.
+     */
+    private static class ResponseFuture extends BasicFuture<SafechargeResponse> {
+
+        private volatile Future<?> exchange;
+
+        ResponseFuture(FutureCallback<SafechargeResponse> callback) {
+            super(callback);
+        }
+
+        void setExchange(Future<?> exchange) {
+            this.exchange = exchange;
+            if (isCancelled()) {
+                exchange.cancel(true);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            Future<?> exchange = this.exchange;
+            if (cancelled && exchange != null) {
+                exchange.cancel(true);
+            }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.safecharge.biz;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Token bucket of the retry and hedge budgets, see {@link RetryBudget} and {@link RequestHedging}: the successful or new requests give
+ * a fraction of a token, up to a maximum, and the retries or hedges take whole tokens. The tokens are kept in thousandths so that they
+ * can be updated atomically.
+ *
+ * @since 10/17/2026
+ */
+class TokenBucket {
+
+    private static final int TOKEN = 1000;
+
+    private final int maxTokens;
+    private final int tokenRatio;
+    private final AtomicInteger tokens;
+
+    /**
+     * @param maxTokens  the maximum number of tokens
+     * @param tokenRatio the tokens given by each {@link #deposit()}
+     * @param full       true to start with the maximum number of tokens, false to start empty
+     */
+    TokenBucket(int maxTokens, double tokenRatio, boolean full) {
+        this.maxTokens = maxTokens * TOKEN;
+        this.tokenRatio = (int) (tokenRatio * TOKEN);
+        this.tokens = new AtomicInteger(full ? this.maxTokens : 0);
+    }
+
+    /**
+     * Gives the bucket the token ratio, up to the maximum number of tokens.
+     */
+    void deposit() {
+        int current;
+        do {
+            current = tokens.get();
+            if (current >= maxTokens) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(maxTokens, current + tokenRatio)));
+    }
+
+    /**
+     * Takes a token, or what is left of one.
+     *
+     * @return the tokens left in the bucket
+     */
+    double take() {
+        int current;
+        int updated;
+        do {
+            current = tokens.get();
+            updated = Math.max(0, current - TOKEN);
+        } while (!tokens.compareAndSet(current, updated));
+        return (double) updated / TOKEN;
+    }
+
+    /**
+     * Takes a token if the bucket holds a whole one.
+     *
+     * @return true if a token was taken
+     */
+    boolean tryTake() {
+        int current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    double getAvailableTokens() {
+        return (double) tokens.get() / TOKEN;
+    }
+
+    double getMaxTokens() {
+        return (double) maxTokens / TOKEN;
+    }
+}
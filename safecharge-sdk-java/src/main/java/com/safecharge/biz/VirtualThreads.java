@@ -0,0 +1,54 @@
+package com.safecharge.biz;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.safecharge.exception.SafechargeConfigurationException;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Access to the virtual threads of Java 21 and later through reflection, so that the SDK keeps running on Java 7.
+ *
+ * @since 10/17/2026
+ */
+final class VirtualThreads {
+
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findNewVirtualThreadPerTaskExecutor();
+
+    private VirtualThreads() {
+    }
+
+    private static Method findNewVirtualThreadPerTaskExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the Java runtime supports virtual threads
+     */
+    static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * @return an {@link ExecutorService} starting a new virtual thread for each task
+     * @throws SafechargeConfigurationException if the Java runtime doesn't support virtual threads
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isSupported()) {
+            throw new SafechargeConfigurationException("Virtual threads require Java 21 or later, running on Java " + System.getProperty(
+                    "java.specification.version"));
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new SafechargeConfigurationException("Virtual threads are not available: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.safecharge.biz.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Collection;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapterFactory;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Default {@link JsonCodec}, backed by {@link Gson}. The type adapters generated at build time by the
+ * {@code safecharge-sdk-java-codegen} annotation processor are used when they are present on the classpath, otherwise Gson falls
+ * back to its reflective adapters. Both produce the same JSON.
+ *
+ * @since 10/17/2026
+ */
+public class GsonJsonCodec implements JsonCodec {
+
+    private static final Log logger = LogFactory.getLog(GsonJsonCodec.class);
+
+    private static final Charset UTF8_CHARSET = Charset.forName("UTF-8");
+
+    /**
+     * Type adapter factory generated at compile time by the {@code safecharge-sdk-java-codegen} annotation processor.
+     */
+    private static final String GENERATED_TYPE_ADAPTER_FACTORY = "com.safecharge.biz.codec.SafechargeTypeAdapterFactory";
+
+    private final Gson gson;
+
+    /**
+     * Creates a codec with the generated type adapters, if available.
+     */
+    public GsonJsonCodec() {
+        this(createGson());
+    }
+
+    /**
+     * Creates a codec with a custom configured {@link Gson}.
+     *
+     * @param gson the {@link Gson} to encode and decode with
+     */
+    public GsonJsonCodec(Gson gson) {
+        this.gson = gson;
+    }
+
+    private static Gson createGson() {
+        GsonBuilder gsonBuilder = new GsonBuilder();
+        TypeAdapterFactory generatedTypeAdapterFactory = createGeneratedTypeAdapterFactory();
+        if (generatedTypeAdapterFactory != null) {
+            gsonBuilder.registerTypeAdapterFactory(generatedTypeAdapterFactory);
+        }
+        return gsonBuilder.create();
+    }
+
+    private static TypeAdapterFactory createGeneratedTypeAdapterFactory() {
+        try {
+            return (TypeAdapterFactory) Class.forName(GENERATED_TYPE_ADAPTER_FACTORY)
+                    .newInstance();
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Generated type adapters are not available, falling back to reflection: " + e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Builds the type adapters of {@code types}. Gson creates the adapters of the nested model types (e.g. {@code Item},
+     * {@code Addendums}, {@code UserPaymentOption}) together with the adapter of the enclosing type.
+     */
+    @Override
+    public void prepare(Collection<? extends Class<?>> types) {
+        for (Class<?> type : types) {
+            gson.getAdapter(type);
+        }
+    }
+
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, UTF8_CHARSET);
+        try {
+            gson.toJson(value, value.getClass(), writer);
+        } catch (JsonParseException e) {
+            throw toIOException(e);
+        }
+        writer.flush();
+    }
+
+    @Override
+    public String encode(Object value) {
+        return gson.toJson(value);
+    }
+
+    @Override
+    public <T> T decode(InputStream in, Charset charset, Class<T> type) throws IOException {
+        try {
+            return gson.fromJson(new InputStreamReader(in, charset), type);
+        } catch (JsonParseException e) {
+            throw toIOException(e);
+        }
+    }
+
+    @Override
+    public <T> T decode(String json, Class<T> type) throws IOException {
+        try {
+            return gson.fromJson(json, type);
+        } catch (JsonParseException e) {
+            throw toIOException(e);
+        }
+    }
+
+    /**
+     * @return the {@link Gson} used by this codec
+     */
+    public Gson getGson() {
+        return gson;
+    }
+
+    private static IOException toIOException(JsonParseException e) {
+        return e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getMessage(), e);
+    }
+}
@@ -0,0 +1,70 @@
+package com.safecharge.biz.codec;
+
+import java.io.IOException;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Helper methods used by the type adapters generated at compile time by the {@code safecharge-sdk-java-codegen} annotation
+ * processor. They replicate the behaviour of Gson's reflective adapter for the parts which can't be decided at compile time.
+ *
+ * @since 10/17/2026
+ */
+final class JsonAdapterSupport {
+
+    private JsonAdapterSupport() {
+    }
+
+    /**
+     * Reads a {@link String} value the same way Gson's built-in String adapter does.
+     *
+     * @param in the reader positioned on the value
+     * @return the value, null for a JSON null
+     * @throws IOException if the value can't be read
+     */
+    static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    /**
+     * Writes a field value with the adapter of its runtime type if it is more specific than the declared one, following the rules of
+     * Gson's {@code TypeAdapterRuntimeTypeWrapper}: the adapter of the runtime type wins unless it is a reflective one and the
+     * adapter of the declared type is not. The adapter of a runtime type is known not to be reflective when the generated
+     * {@code factory} creates it; the adapters of the other sub classes are taken to be reflective, as Gson has no public API to
+     * tell, so a custom adapter registered for such a sub class is not used.
+     *
+     * @param gson            the {@link Gson} instance which created the adapters
+     * @param factory         the generated factory which created the calling adapter
+     * @param declaredAdapter the adapter of the declared type of the field
+     * @param out             the writer
+     * @param value           the value to write
+     * @param declaredType    the declared type of the field
+     * @param <T>             the declared type of the field
+     * @throws IOException if the value can't be written
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void write(Gson gson, TypeAdapterFactory factory, TypeAdapter<T> declaredAdapter, JsonWriter out, T value, Class<?> declaredType)
+            throws IOException {
+        TypeAdapter<T> adapter = declaredAdapter;
+        if (value != null && value.getClass() != declaredType && factory.create(gson, TypeToken.get(value.getClass())) != null) {
+            adapter = (TypeAdapter<T>) gson.getAdapter(value.getClass());
+        }
+        adapter.write(out, value);
+    }
+}
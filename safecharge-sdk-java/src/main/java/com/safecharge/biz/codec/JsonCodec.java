@@ -0,0 +1,71 @@
+package com.safecharge.biz.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Collection;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Encodes the requests sent to SafeCharge's API as JSON and decodes the received JSON into response objects.
+ * <p>
+ * Implementations must be thread-safe, a single instance is shared by all of the requests of a
+ * {@link com.safecharge.biz.SafechargeRequestExecutor}. They must produce the same JSON as {@link GsonJsonCodec}: the fields of a class
+ * before the fields of its super class, each in declaration order, null values omitted and the characters {@code < > & = '}
+ * escaped.
+ *
+ * @see GsonJsonCodec
+ * @since 10/17/2026
+ */
+public interface JsonCodec {
+
+    /**
+     * Prepares the codec for the given types upfront(e.g. builds their serializers), so that nothing has to be built on the
+     * request path.
+     *
+     * @param types the types which will be encoded or decoded
+     */
+    void prepare(Collection<? extends Class<?>> types);
+
+    /**
+     * Writes {@code value} as UTF-8 encoded JSON to {@code out}. The stream is flushed but not closed.
+     *
+     * @param value the object to encode
+     * @param out   the stream to write to
+     * @throws IOException if writing to the stream fails
+     */
+    void encode(Object value, OutputStream out) throws IOException;
+
+    /**
+     * Encodes {@code value} as JSON.
+     *
+     * @param value the object to encode
+     * @return the JSON representation of {@code value}
+     */
+    String encode(Object value);
+
+    /**
+     * Reads an object of type {@code type} from the JSON content of {@code in}. The stream is not closed.
+     *
+     * @param in      the stream to read from
+     * @param charset the charset of the content
+     * @param type    the type of the object to read
+     * @param <T>     the type of the object to read
+     * @return the decoded object or null if the content is empty
+     * @throws IOException if reading the stream fails or its content is not valid JSON for {@code type}
+     */
+    <T> T decode(InputStream in, Charset charset, Class<T> type) throws IOException;
+
+    /**
+     * Reads an object of type {@code type} from {@code json}.
+     *
+     * @param json the JSON to decode
+     * @param type the type of the object to read
+     * @param <T>  the type of the object to read
+     * @return the decoded object or null if {@code json} is empty
+     * @throws IOException if {@code json} is not valid JSON for {@code type}
+     */
+    <T> T decode(String json, Class<T> type) throws IOException;
+}
@@ -1,7 +1,10 @@
 package com.safecharge.biz.simple.payment;
 
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
+import com.safecharge.biz.RequestDeadline;
 import com.safecharge.biz.SafechargeRequestExecutor;
 import com.safecharge.model.MerchantInfo;
 import com.safecharge.request.GetSessionTokenRequest;
@@ -24,7 +27,7 @@ public class SimpleAPMPayment {
 
     private MerchantInfo merchantInfo;
 
-    private SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.getInstance();
+    private SafechargeRequestExecutor requestExecutor;
 
     /**
      * Even if this constructor allows the {@code merchantInfo} to be null, the payment request will fail due to missing parameters
@@ -32,7 +35,18 @@ public class SimpleAPMPayment {
      * @param merchantInfo (required) A {@link MerchantInfo} object containing info needed to create a request to Safecharge
      */
     public SimpleAPMPayment(MerchantInfo merchantInfo) {
+        this(merchantInfo, SafechargeRequestExecutor.getInstance());
+    }
+
+    /**
+     * Even if this constructor allows the {@code merchantInfo} to be null, the payment request will fail due to missing parameters
+     *
+     * @param merchantInfo    (required) A {@link MerchantInfo} object containing info needed to create a request to Safecharge
+     * @param requestExecutor (required) The {@link SafechargeRequestExecutor} to send the requests with
+     */
+    public SimpleAPMPayment(MerchantInfo merchantInfo, SafechargeRequestExecutor requestExecutor) {
         this.merchantInfo = merchantInfo;
+        this.requestExecutor = requestExecutor;
     }
 
     /**
@@ -47,9 +61,23 @@ public class SimpleAPMPayment {
      * @return PaymentsResponse object(containing the transaction result) or null if the obtaining of a session is unsuccessful
      */
     public PaymentsResponse executePayment(String paymentMethod, Map<String, String> userAccountDetails, String amount, String currency, String countryCode) {
+        return executePayment(paymentMethod, userAccountDetails, amount, currency, countryCode, null);
+    }
+
+    /**
+     * Executes an APM payment within the remaining time of the {@code deadline}, see
+     * {@link SafechargeRequestExecutor#executeRequest(SafechargeBaseRequest, RequestDeadline)}.
+     *
+     * @param deadline The {@link RequestDeadline} shared by the session token and payment requests, or null
+     * @return PaymentsResponse object(containing the transaction result) or null if the obtaining of a session is unsuccessful, or if
+     * the deadline passes or is cancelled
+     * @see #executePayment(String, Map, String, String, String)
+     */
+    public PaymentsResponse executePayment(String paymentMethod, Map<String, String> userAccountDetails, String amount, String currency, String countryCode,
+                                           RequestDeadline deadline) {
         SafechargeResponse getSessionTokenResponse = requestExecutor.executeRequest(GetSessionTokenRequest.builder()
                 .addMerchantInfo(merchantInfo)
-                .build());
+                .build(), deadline);
 
         if (getSessionTokenResponse != null && Constants.APIResponseStatus.SUCCESS.equals(getSessionTokenResponse.getStatus())) {
             SafechargeBaseRequest paymentAPMRequest = PaymentAPMRequest.builder()
@@ -61,9 +89,26 @@ public class SimpleAPMPayment {
                     .addUserAccountDetails(userAccountDetails)
                     .addItem("fast-payment-apm", amount, "1")
                     .build();
-            return (PaymentsResponse) requestExecutor.executeRequest(paymentAPMRequest);
+            return (PaymentsResponse) requestExecutor.executeRequest(paymentAPMRequest, deadline);
         } else {
             return null;
         }
     }
+
+    /**
+     * Executes {@link #executePayment(String, Map, String, String, String)} on a virtual thread of the {@link SafechargeRequestExecutor}.
+     *
+     * @return {@link Future} which is completed with the result of the payment
+     * @throws com.safecharge.exception.SafechargeConfigurationException if the executor doesn't run on virtual threads, see
+     *                                                                    {@link SafechargeRequestExecutor.Builder#setVirtualThreads(boolean)}
+     */
+    public Future<PaymentsResponse> executePaymentAsync(final String paymentMethod, final Map<String, String> userAccountDetails,
+                                                        final String amount, final String currency, final String countryCode) {
+        return requestExecutor.submit(new Callable<PaymentsResponse>() {
+            @Override
+            public PaymentsResponse call() {
+                return executePayment(paymentMethod, userAccountDetails, amount, currency, countryCode);
+            }
+        });
+    }
 }
@@ -0,0 +1,167 @@
+package com.safecharge.biz.simple.payment;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import com.safecharge.biz.RequestDeadline;
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.model.CardData;
+import com.safecharge.model.ExternalMpi;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.PaymentCCRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.PaymentsResponse;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.Constants;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * An example class demonstrating the use of the Safecharge's API to process a payment using credit card.
+ *
+ * @author <a mailto:nikolad@safecharge.com>Nikola Dichev</a>
+ * @since 3/27/2017
+ */
+public class SimpleCreditCardPayment {
+
+    private MerchantInfo merchantInfo;
+
+    private SafechargeRequestExecutor requestExecutor;
+
+    /**
+     * Even if this constructor allows the {@code merchantInfo} to be null, the payment request will fail due to missing parameters
+     *
+     * @param merchantInfo (required) A {@link MerchantInfo} object containing info needed to create a request to Safecharge
+     */
+    public SimpleCreditCardPayment(MerchantInfo merchantInfo) {
+        this(merchantInfo, SafechargeRequestExecutor.getInstance());
+    }
+
+    /**
+     * Even if this constructor allows the {@code merchantInfo} to be null, the payment request will fail due to missing parameters
+     *
+     * @param merchantInfo    (required) A {@link MerchantInfo} object containing info needed to create a request to Safecharge
+     * @param requestExecutor (required) The {@link SafechargeRequestExecutor} to send the requests with
+     */
+    public SimpleCreditCardPayment(MerchantInfo merchantInfo, SafechargeRequestExecutor requestExecutor) {
+        this.merchantInfo = merchantInfo;
+        this.requestExecutor = requestExecutor;
+    }
+
+    /**
+     * Executes Auth transaction to check the availability of a required amount of funds.
+     * No funds are collected during an authorization. For more info check the
+     * <a href="https://www.safecharge.com/docs/api/#Glossary">Safecharge API glossary.</a>
+     *
+     * @param cardData An object representing credit card
+     * @param amount   The amount which availability should be checked
+     * @param currency The three character ISO currency code
+     * @return PaymentsResponse object(containing the transaction result) or null if the obtaining of a session is unsuccessful
+     */
+    public PaymentsResponse executeAuthPayment(CardData cardData, String amount, String currency, String isPartialApproval, ExternalMpi externalMpi) {
+        return executePayment(cardData, amount, currency, Constants.TransactionType.Auth, isPartialApproval, externalMpi, null);
+    }
+
+    /**
+     * Executes Auth transaction within the remaining time of the {@code deadline}, see
+     * {@link SafechargeRequestExecutor#executeRequest(SafechargeBaseRequest, RequestDeadline)}.
+     *
+     * @param deadline The {@link RequestDeadline} shared by the session token and payment requests, or null
+     * @return PaymentsResponse object(containing the transaction result) or null if the obtaining of a session is unsuccessful, or if
+     * the deadline passes or is cancelled
+     * @see #executeAuthPayment(CardData, String, String, String, ExternalMpi)
+     */
+    public PaymentsResponse executeAuthPayment(CardData cardData, String amount, String currency, String isPartialApproval, ExternalMpi externalMpi,
+                                               RequestDeadline deadline) {
+        return executePayment(cardData, amount, currency, Constants.TransactionType.Auth, isPartialApproval, externalMpi, deadline);
+    }
+
+    /**
+     * Executes both Auth and Sale transaction to check the availability of a required amount of funds and settle the transaction.
+     * For more info check the
+     * <a href="https://www.safecharge.com/docs/api/#Glossary">Safecharge API glossary.</a>
+     *
+     * @param cardData An object representing credit card
+     * @param amount   The amount which availability should be checked
+     * @param currency The three character ISO currency code
+     * @return PaymentsResponse object(containing the transaction result) or null if the obtaining of a session is unsuccessful
+     */
+    public PaymentsResponse executeSalePayment(CardData cardData, String amount, String currency, String isPartialApproval, ExternalMpi externalMpi) {
+        return executePayment(cardData, amount, currency, Constants.TransactionType.Sale, isPartialApproval, externalMpi, null);
+    }
+
+    /**
+     * Executes Sale transaction within the remaining time of the {@code deadline}, see
+     * {@link SafechargeRequestExecutor#executeRequest(SafechargeBaseRequest, RequestDeadline)}.
+     *
+     * @param deadline The {@link RequestDeadline} shared by the session token and payment requests, or null
+     * @return PaymentsResponse object(containing the transaction result) or null if the obtaining of a session is unsuccessful, or if
+     * the deadline passes or is cancelled
+     * @see #executeSalePayment(CardData, String, String, String, ExternalMpi)
+     */
+    public PaymentsResponse executeSalePayment(CardData cardData, String amount, String currency, String isPartialApproval, ExternalMpi externalMpi,
+                                               RequestDeadline deadline) {
+        return executePayment(cardData, amount, currency, Constants.TransactionType.Sale, isPartialApproval, externalMpi, deadline);
+    }
+
+    /**
+     * Executes {@link #executeAuthPayment(CardData, String, String, String, ExternalMpi)} on a virtual thread of the
+     * {@link SafechargeRequestExecutor}.
+     *
+     * @return {@link Future} which is completed with the result of the payment
+     * @throws com.safecharge.exception.SafechargeConfigurationException if the executor doesn't run on virtual threads, see
+     *                                                                    {@link SafechargeRequestExecutor.Builder#setVirtualThreads(boolean)}
+     */
+    public Future<PaymentsResponse> executeAuthPaymentAsync(CardData cardData, String amount, String currency, String isPartialApproval,
+                                                            ExternalMpi externalMpi) {
+        return executePaymentAsync(cardData, amount, currency, Constants.TransactionType.Auth, isPartialApproval, externalMpi);
+    }
+
+    /**
+     * Executes {@link #executeSalePayment(CardData, String, String, String, ExternalMpi)} on a virtual thread of the
+     * {@link SafechargeRequestExecutor}.
+     *
+     * @return {@link Future} which is completed with the result of the payment
+     * @throws com.safecharge.exception.SafechargeConfigurationException if the executor doesn't run on virtual threads, see
+     *                                                                    {@link SafechargeRequestExecutor.Builder#setVirtualThreads(boolean)}
+     */
+    public Future<PaymentsResponse> executeSalePaymentAsync(CardData cardData, String amount, String currency, String isPartialApproval,
+                                                            ExternalMpi externalMpi) {
+        return executePaymentAsync(cardData, amount, currency, Constants.TransactionType.Sale, isPartialApproval, externalMpi);
+    }
+
+    private Future<PaymentsResponse> executePaymentAsync(final CardData cardData, final String amount, final String currency,
+            final Constants.TransactionType transactionType, final String isPartialApproval, final ExternalMpi externalMpi) {
+        return requestExecutor.submit(new Callable<PaymentsResponse>() {
+            @Override
+            public PaymentsResponse call() {
+                return executePayment(cardData, amount, currency, transactionType, isPartialApproval, externalMpi, null);
+            }
+        });
+    }
+
+    private PaymentsResponse executePayment(CardData cardData, String amount, String currency,
+            Constants.TransactionType transactionType, String isPartialApproval, ExternalMpi externalMpi, RequestDeadline deadline) {
+        SafechargeResponse getSessionTokenResponse = requestExecutor
+                .executeRequest(GetSessionTokenRequest.builder().addMerchantInfo(merchantInfo).build(), deadline);
+
+        if (getSessionTokenResponse != null
+                && Constants.APIResponseStatus.SUCCESS.equals(getSessionTokenResponse.getStatus())) {
+            SafechargeBaseRequest paymentCCRequest = PaymentCCRequest.builder()
+                    .addSessionToken(getSessionTokenResponse.getSessionToken())
+                    .addMerchantInfo(merchantInfo)
+                    .addCurrency(currency)
+                    .addAmount(amount)
+                    .addCardData(cardData)
+                    .addTransactionType(transactionType)
+                    .addItem("fast-payment-cc", amount, "1")
+                    .addIsPartialApproval(isPartialApproval)
+                    .addExternalMpi(externalMpi)
+                    .build();
+            return (PaymentsResponse) requestExecutor.executeRequest(paymentCCRequest, deadline);
+        } else {
+            return null;
+        }
+    }
+}
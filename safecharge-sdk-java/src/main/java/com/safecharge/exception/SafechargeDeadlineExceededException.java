@@ -0,0 +1,21 @@
+package com.safecharge.exception;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Thrown when the {@link com.safecharge.biz.RequestDeadline} of a request has passed before its response arrived. Unlike a socket
+ * timeout, the request is not retried.
+ *
+ * @since 10/17/2026
+ */
+public class SafechargeDeadlineExceededException extends InterruptedIOException {
+
+    private static final long serialVersionUID = -2470931557250781962L;
+
+    public SafechargeDeadlineExceededException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.safecharge.exception;
+
+import java.io.IOException;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Thrown when a request is rejected by the executor without being sent, e.g. because its endpoint group has no capacity left.
+ *
+ * @since 10/17/2026
+ */
+public class SafechargeRequestRejectedException extends IOException {
+
+    private static final long serialVersionUID = 3105867519047210434L;
+
+    public SafechargeRequestRejectedException(String message) {
+        super(message);
+    }
+
+}
@@ -221,7 +221,7 @@ public class AddUPOAPMRequest extends SafechargeRequest {
             addUPOAPM.setApmData(apmData);
             addUPOAPM.setBillingAddress(billingAddress);
 
-            return ValidationUtils.validate(super.build(addUPOAPM));
+            return ValidationUtils.validate(super.build(addUPOAPM), getValidationMode());
         }
     }
 }
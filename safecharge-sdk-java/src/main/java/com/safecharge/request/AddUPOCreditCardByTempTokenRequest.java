@@ -172,7 +172,7 @@ public class AddUPOCreditCardByTempTokenRequest
             addUPOCreditCardByTempTokenRequest.setUserTokenId(userTokenId);
             addUPOCreditCardByTempTokenRequest.setCcTempToken(ccTempToken);
             addUPOCreditCardByTempTokenRequest.setBillingAddress(billingAddress);
-            return ValidationUtils.validate(super.build(addUPOCreditCardByTempTokenRequest));
+            return ValidationUtils.validate(super.build(addUPOCreditCardByTempTokenRequest), getValidationMode());
         }
     }
 }
\ No newline at end of file
@@ -459,7 +459,7 @@ public class AddUPOCreditCardByTokenRequest extends SafechargeRequest {
             addUPOCreditCard.setCcNameOnCard(ccNameOnCard);
             addUPOCreditCard.setUserTokenId(userTokenId);
             addUPOCreditCard.setBillingAddress(billingAddress);
-            return ValidationUtils.validate(super.build(addUPOCreditCard));
+            return ValidationUtils.validate(super.build(addUPOCreditCard), getValidationMode());
         }
     }
 }
@@ -282,7 +282,7 @@ public class AddUPOCreditCardRequest extends SafechargeRequest {
             addUPOCreditCard.setUserTokenId(userTokenId);
             addUPOCreditCard.setBillingAddress(billingAddress);
             addUPOCreditCard.setExternalTokenProvider(externalTokenProvider);
-            return ValidationUtils.validate(super.build(addUPOCreditCard));
+            return ValidationUtils.validate(super.build(addUPOCreditCard), getValidationMode());
         }
     }
 }
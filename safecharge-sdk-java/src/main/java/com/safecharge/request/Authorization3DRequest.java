@@ -92,7 +92,7 @@ public class Authorization3DRequest
             Authorization3DRequest request = new Authorization3DRequest();
             request.setIsDynamic3D(isDynamic3D);
             request.setDynamic3DMode(dynamic3DMode);
-            return ValidationUtils.validate(super.build(request));
+            return ValidationUtils.validate(super.build(request), getValidationMode());
         }
     }
 }
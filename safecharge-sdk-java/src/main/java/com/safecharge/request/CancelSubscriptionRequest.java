@@ -109,7 +109,7 @@ public class CancelSubscriptionRequest
             CancelSubscriptionRequest cancelSubscriptionRequest = new CancelSubscriptionRequest();
             cancelSubscriptionRequest.setSubscriptionId(subscriptionId);
             cancelSubscriptionRequest.setUserTokenId(userTokenId);
-            return ValidationUtils.validate(super.build(cancelSubscriptionRequest));
+            return ValidationUtils.validate(super.build(cancelSubscriptionRequest), getValidationMode());
         }
     }
 }
@@ -246,7 +246,7 @@ public class CardTokenizationRequest extends SafechargeBaseRequest {
             cardTokenizationRequest.setCardData(cardData);
             cardTokenizationRequest.setBillingAddress(billingAddress);
             cardTokenizationRequest.setIsVerified(isVerified);
-            return ValidationUtils.validate(super.build(cardTokenizationRequest));
+            return ValidationUtils.validate(super.build(cardTokenizationRequest), getValidationMode());
 
         }
     }
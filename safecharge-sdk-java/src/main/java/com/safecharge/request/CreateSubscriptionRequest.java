@@ -515,7 +515,7 @@ public class CreateSubscriptionRequest
             createSubscriptionRequest.setCardData(cardData);
             createSubscriptionRequest.setUserPaymentOption(userPaymentOption);
             createSubscriptionRequest.setBillingAddress(billingAddress);
-            return ValidationUtils.validate(super.build(createSubscriptionRequest));
+            return ValidationUtils.validate(super.build(createSubscriptionRequest), getValidationMode());
         }
     }
 }
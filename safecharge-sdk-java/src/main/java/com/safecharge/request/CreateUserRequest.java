@@ -17,7 +17,7 @@ public class CreateUserRequest extends CashierUserRequest {
 
         public CreateUserRequest build() {
             CreateUserRequest request = new CreateUserRequest();
-            return (CreateUserRequest) ValidationUtils.validate(super.build(request));
+            return (CreateUserRequest) ValidationUtils.validate(super.build(request), getValidationMode());
         }
     }
 }
\ No newline at end of file
@@ -19,7 +19,7 @@ public class DeleteUPORequest extends EditUPOBasicRequest {
         @Override
         public SafechargeBaseRequest build() throws ConstraintViolationException {
             DeleteUPORequest deleteUPORequest = new DeleteUPORequest();
-            return ValidationUtils.validate(super.build(deleteUPORequest));
+            return ValidationUtils.validate(super.build(deleteUPORequest), getValidationMode());
         }
     }
 }
@@ -158,7 +158,7 @@ public class EditUPOAPMRequest extends EditUPOBasicRequest {
             editUPOAPMRequest.setApmData(apmData);
             editUPOAPMRequest.setBillingAddress(billingAddress);
 
-            return ValidationUtils.validate(super.build(editUPOAPMRequest));
+            return ValidationUtils.validate(super.build(editUPOAPMRequest), getValidationMode());
         }
     }
 }
@@ -202,7 +202,7 @@ public class EditUPOCreditCardRequest extends EditUPOBasicRequest {
             editUPOCreditCard.setCcExpYear(ccExpYear);
             editUPOCreditCard.setCcNameOnCard(ccNameOnCard);
             editUPOCreditCard.setBillingAddress(billingAddress);
-            return ValidationUtils.validate(super.build(editUPOCreditCard));
+            return ValidationUtils.validate(super.build(editUPOCreditCard), getValidationMode());
         }
     }
 }
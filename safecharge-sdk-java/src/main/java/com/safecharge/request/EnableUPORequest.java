@@ -19,7 +19,7 @@ public class EnableUPORequest extends EditUPOBasicRequest {
         @Override
         public SafechargeBaseRequest build() throws ConstraintViolationException {
             EnableUPORequest enableUPORequest = new EnableUPORequest();
-            return ValidationUtils.validate(super.build(enableUPORequest));
+            return ValidationUtils.validate(super.build(enableUPORequest), getValidationMode());
         }
     }
 }
@@ -139,7 +139,7 @@ public class GetMerchantPaymentMethodsRequest
             getMerchantPaymentMethodsRequest.setCountryCode(countryCode);
             getMerchantPaymentMethodsRequest.setCurrencyCode(currencyCode);
             getMerchantPaymentMethodsRequest.setLanguageCode(languageCode);
-            return ValidationUtils.validate(getMerchantPaymentMethodsRequest);
+            return ValidationUtils.validate(getMerchantPaymentMethodsRequest, getValidationMode());
         }
     }
 
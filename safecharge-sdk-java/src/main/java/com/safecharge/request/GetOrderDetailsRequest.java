@@ -85,7 +85,7 @@ public class GetOrderDetailsRequest extends SafechargeRequest implements Safecha
         public SafechargeBaseRequest build() {
             GetOrderDetailsRequest request = new GetOrderDetailsRequest();
             request.setOrderId(orderId);
-            return ValidationUtils.validate(super.build(request));
+            return ValidationUtils.validate(super.build(request), getValidationMode());
         }
     }
 }
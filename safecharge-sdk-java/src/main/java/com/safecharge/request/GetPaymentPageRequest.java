@@ -205,7 +205,7 @@ public class GetPaymentPageRequest extends SafechargeRequest {
         @Override
         public SafechargeBaseRequest build() {
             GetPaymentPageRequest getPaymentPageRequest = new GetPaymentPageRequest();
-            return ValidationUtils.validate(super.build(getPaymentPageRequest));
+            return ValidationUtils.validate(super.build(getPaymentPageRequest), getValidationMode());
         }
     }
 }
@@ -44,7 +44,7 @@ public class GetSessionTokenRequest extends SafechargeRequest {
          */
         @Override
         public SafechargeBaseRequest build() {
-            return ValidationUtils.validate(super.build(new GetSessionTokenRequest()));
+            return ValidationUtils.validate(super.build(new GetSessionTokenRequest()), getValidationMode());
         }
     }
 }
@@ -44,7 +44,7 @@ public class GetSubscriptionPlansRequest
          */
         @Override
         public SafechargeBaseRequest build() {
-            return ValidationUtils.validate(super.build(new GetSubscriptionPlansRequest()));
+            return ValidationUtils.validate(super.build(new GetSubscriptionPlansRequest()), getValidationMode());
         }
     }
 
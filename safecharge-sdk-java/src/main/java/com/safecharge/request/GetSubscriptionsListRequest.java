@@ -169,7 +169,7 @@ public class GetSubscriptionsListRequest
             getSubscriptionListRequest.setMaxResults(maxResults);
             getSubscriptionListRequest.setSubscriptionStatus(subscriptionStatus);
             getSubscriptionListRequest.setUserTokenId(userTokenId);
-            return ValidationUtils.validate(super.build(getSubscriptionListRequest));
+            return ValidationUtils.validate(super.build(getSubscriptionListRequest), getValidationMode());
         }
     }
 }
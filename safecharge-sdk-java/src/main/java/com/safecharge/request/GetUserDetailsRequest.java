@@ -39,7 +39,7 @@ public class GetUserDetailsRequest extends SafechargeRequest {
         public GetUserDetailsRequest build() {
             GetUserDetailsRequest request = new GetUserDetailsRequest();
             request.setUserTokenId(userTokenId);
-            return ValidationUtils.validate(super.build(request));
+            return ValidationUtils.validate(super.build(request), getValidationMode());
         }
     }
 }
@@ -50,7 +50,7 @@ public class GetUserUPOsRequest extends SafechargeRequest {
         public GetUserUPOsRequest build() {
             GetUserUPOsRequest request = new GetUserUPOsRequest();
             request.setUserTokenId(userTokenId);
-            return ValidationUtils.validate(super.build(request));
+            return ValidationUtils.validate(super.build(request), getValidationMode());
         }
     }
 }
@@ -43,7 +43,7 @@ public class OpenOrderRequest extends SafechargeOrderDetailsRequest {
         @Override
         public SafechargeBaseRequest build() {
             SafechargeOrderDetailsRequest openOrderRequest = new OpenOrderRequest();
-            return ValidationUtils.validate(super.build(openOrderRequest));
+            return ValidationUtils.validate(super.build(openOrderRequest), getValidationMode());
         }
     }
 }
@@ -79,7 +79,7 @@ public class Payment3DRequest
         public SafechargeBaseRequest build() {
             Payment3DRequest request = new Payment3DRequest();
             request.setPaResponse(paResponse);
-            return ValidationUtils.validate(super.build(request));
+            return ValidationUtils.validate(super.build(request), getValidationMode());
         }
 
     }
@@ -234,7 +234,7 @@ public class PaymentAPMRequest
             paymentAPMRequest.setUserPaymentOption(userPaymentOption);
             paymentAPMRequest.setSubMethodDetails(subMethodDetails);
             paymentAPMRequest.setCustomData(customData);
-            return ValidationUtils.validate(super.build(paymentAPMRequest));
+            return ValidationUtils.validate(super.build(paymentAPMRequest), getValidationMode());
         }
     }
 }
@@ -48,7 +48,7 @@ public class PaymentCCRequest
         @Override
         public SafechargeBaseRequest build() {
             PaymentCCRequest request = new PaymentCCRequest();
-            return ValidationUtils.validate(super.build(request));
+            return ValidationUtils.validate(super.build(request), getValidationMode());
         }
     }
 }
@@ -286,7 +286,7 @@ public class PayoutRequest extends SafechargeRequest {
             request.setMerchantDetails(merchantDetails);
             request.setUrlDetails(urlDetails);
             request.setSubMethodDetails(subMethodDetails);
-            return ValidationUtils.validate(super.build(request));
+            return ValidationUtils.validate(super.build(request), getValidationMode());
         }
     }
 }
@@ -48,7 +48,7 @@ public class RefundTransactionRequest
         @Override
         public SafechargeBaseRequest build() throws ConstraintViolationException {
             RefundTransactionRequest voidTransactionRequest = new RefundTransactionRequest();
-            return ValidationUtils.validate(super.build(voidTransactionRequest));
+            return ValidationUtils.validate(super.build(voidTransactionRequest), getValidationMode());
         }
     }
 
@@ -96,6 +96,10 @@ public abstract class SafechargeBaseRequest {
         this.serverHost = serverHost;
     }
 
+    public String getWebMasterId() {
+        return webMasterId;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
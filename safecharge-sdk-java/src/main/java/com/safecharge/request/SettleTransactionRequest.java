@@ -141,7 +141,7 @@ public class SettleTransactionRequest
             settleTransactionRequest.setDescriptorMerchantName(descriptorMerchantName);
             settleTransactionRequest.setDescriptorMerchantPhone(descriptorMerchantPhone);
             settleTransactionRequest.setAddendums(addendums);
-            return ValidationUtils.validate(super.build(settleTransactionRequest));
+            return ValidationUtils.validate(super.build(settleTransactionRequest), getValidationMode());
         }
     }
 }
@@ -19,7 +19,7 @@ public class SuspendUPORequest extends EditUPOBasicRequest {
         @Override
         public SafechargeBaseRequest build() throws ConstraintViolationException {
             SuspendUPORequest suspendUPORequest = new SuspendUPORequest();
-            return ValidationUtils.validate(super.build(suspendUPORequest));
+            return ValidationUtils.validate(super.build(suspendUPORequest), getValidationMode());
         }
     }
 }
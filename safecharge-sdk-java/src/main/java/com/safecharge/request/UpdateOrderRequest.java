@@ -64,7 +64,7 @@ public class UpdateOrderRequest extends SafechargeOrderDetailsRequest implements
         public SafechargeBaseRequest build() {
             UpdateOrderRequest updateOrderRequest = new UpdateOrderRequest();
             updateOrderRequest.setOrderId(orderId);
-            return ValidationUtils.validate(super.build(updateOrderRequest));
+            return ValidationUtils.validate(super.build(updateOrderRequest), getValidationMode());
         }
     }
 }
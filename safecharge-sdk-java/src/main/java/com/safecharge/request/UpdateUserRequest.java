@@ -17,7 +17,7 @@ public class UpdateUserRequest extends CashierUserRequest {
 
         public UpdateUserRequest build() {
             UpdateUserRequest request = new UpdateUserRequest();
-            return (UpdateUserRequest) ValidationUtils.validate(super.build(request));
+            return (UpdateUserRequest) ValidationUtils.validate(super.build(request), getValidationMode());
         }
     }
 }
\ No newline at end of file
@@ -47,7 +47,7 @@ public class VoidTransactionRequest
         @Override
         public SafechargeBaseRequest build() throws ConstraintViolationException {
             VoidTransactionRequest voidTransactionRequest = new VoidTransactionRequest();
-            return ValidationUtils.validate(super.build(voidTransactionRequest));
+            return ValidationUtils.validate(super.build(voidTransactionRequest), getValidationMode());
         }
     }
 }
@@ -123,7 +123,7 @@ public class EditUPOBasicRequest extends SafechargeRequest {
         protected EditUPOBasicRequest build(EditUPOBasicRequest editUPOBasicRequest) throws ConstraintViolationException {
             editUPOBasicRequest.setUserTokenId(userTokenId);
             editUPOBasicRequest.setUserPaymentOptionId(userPaymentOptionId);
-            return ValidationUtils.validate(super.build(editUPOBasicRequest));
+            return ValidationUtils.validate(super.build(editUPOBasicRequest), getValidationMode());
         }
 
         @Override
@@ -131,7 +131,7 @@ public class EditUPOBasicRequest extends SafechargeRequest {
             EditUPOBasicRequest editUPOBasicRequest = new EditUPOBasicRequest();
             editUPOBasicRequest.setUserTokenId(userTokenId);
             editUPOBasicRequest.setUserPaymentOptionId(userPaymentOptionId);
-            return ValidationUtils.validate(super.build(editUPOBasicRequest));
+            return ValidationUtils.validate(super.build(editUPOBasicRequest), getValidationMode());
         }
     }
 }
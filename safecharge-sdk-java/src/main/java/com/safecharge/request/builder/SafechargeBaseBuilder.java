@@ -2,13 +2,16 @@ package com.safecharge.request.builder;
 
 import javax.validation.ConstraintViolationException;
 
+import com.safecharge.exception.SafechargeConfigurationException;
 import com.safecharge.model.MerchantBaseInfo;
 import com.safecharge.model.MerchantInfo;
 import com.safecharge.request.SafechargeBaseRequest;
 import com.safecharge.request.SafechargeRequest;
 import com.safecharge.util.ChecksumUtils;
 import com.safecharge.util.Constants;
+import com.safecharge.util.RequestClock;
 import com.safecharge.util.RequestUtils;
+import com.safecharge.util.ValidationMode;
 
 /**
  * Copyright (C) 2007-2017 SafeCharge International Group Limited.
@@ -23,8 +26,10 @@ public abstract class SafechargeBaseBuilder<T extends SafechargeBaseBuilder<T>>
 
     protected MerchantBaseInfo merchantInfo;
     private String clientRequestId;
+    private boolean uniqueClientRequestId;
     private String internalRequestId;
     private String sessionToken;
+    private ValidationMode validationMode = ValidationMode.ALL;
 
     /**
      * Adds previously obtained {@code sessionToken} to the request. All requests(except the one to obtain session token)
@@ -40,12 +45,27 @@ public abstract class SafechargeBaseBuilder<T extends SafechargeBaseBuilder<T>>
 
     /**
      * Adds a client request id to the request. It is used to track the different client requests.
+     * {@link #addUniqueClientRequestId()} generates ids unique to each request instead.
      *
      * @param clientRequestId id used to track the request
      * @return this object
      */
     public T addClientRequestId(String clientRequestId) {
         this.clientRequestId = clientRequestId;
+        this.uniqueClientRequestId = false;
+        return (T) this;
+    }
+
+    /**
+     * Adds a client request id generated by {@link RequestClock#nextUniqueId()} to the request, a new one for each request built,
+     * instead of the one of {@link #addClientRequestId(String)}.
+     *
+     * @return this object
+     * @throws SafechargeConfigurationException when the request is built, if the node id of {@link RequestClock} is not set
+     */
+    public T addUniqueClientRequestId() {
+        this.clientRequestId = null;
+        this.uniqueClientRequestId = true;
         return (T) this;
     }
 
@@ -60,6 +80,18 @@ public abstract class SafechargeBaseBuilder<T extends SafechargeBaseBuilder<T>>
         return (T) this;
     }
 
+    /**
+     * Sets which constraints are checked when the request is built, and whether the validation stops at the first violation.
+     * {@link ValidationMode#ALL} by default.
+     *
+     * @param validationMode the mode to validate the request in
+     * @return this object
+     */
+    public T addValidationMode(ValidationMode validationMode) {
+        this.validationMode = validationMode;
+        return (T) this;
+    }
+
     /**
      * Adds required merchant info to the request.
      *
@@ -101,7 +133,7 @@ public abstract class SafechargeBaseBuilder<T extends SafechargeBaseBuilder<T>>
         safechargeBaseRequest.setServerHost(merchantInfo != null ? merchantInfo.getServerHost() : null);
         safechargeBaseRequest.setSessionToken(sessionToken);
         safechargeBaseRequest.setTimeStamp(timestamp);
-        safechargeBaseRequest.setClientRequestId(clientRequestId);
+        safechargeBaseRequest.setClientRequestId(uniqueClientRequestId ? RequestClock.nextUniqueId() : clientRequestId);
         safechargeBaseRequest.setInternalRequestId(internalRequestId);
         safechargeBaseRequest.setChecksum(
                 ChecksumUtils.calculateChecksum(safechargeBaseRequest, merchantInfo != null ? merchantInfo.getMerchantKey() : "", Constants.CHARSET_UTF8,
@@ -117,4 +149,11 @@ public abstract class SafechargeBaseBuilder<T extends SafechargeBaseBuilder<T>>
      * @throws ConstraintViolationException if any part of the request is invalid
      */
     public abstract SafechargeBaseRequest build() throws ConstraintViolationException;
-}
\ No newline at end of file
+
+    /**
+     * @return the mode to validate the request in, see {@link #addValidationMode(ValidationMode)}
+     */
+    protected ValidationMode getValidationMode() {
+        return validationMode;
+    }
+}
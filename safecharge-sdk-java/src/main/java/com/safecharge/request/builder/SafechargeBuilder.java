@@ -2,12 +2,15 @@ package com.safecharge.request.builder;
 
 import javax.validation.ConstraintViolationException;
 
+import com.safecharge.exception.SafechargeConfigurationException;
 import com.safecharge.model.MerchantInfo;
 import com.safecharge.request.SafechargeBaseRequest;
 import com.safecharge.request.SafechargeRequest;
 import com.safecharge.util.ChecksumUtils;
 import com.safecharge.util.Constants;
+import com.safecharge.util.RequestClock;
 import com.safecharge.util.RequestUtils;
+import com.safecharge.util.ValidationMode;
 
 /**
  * Copyright (C) 2007-2017 SafeCharge International Group Limited.
@@ -24,8 +27,10 @@ public abstract class SafechargeBuilder<T extends SafechargeBuilder<T>> {
 
     protected MerchantInfo merchantInfo;
     private String clientRequestId;
+    private boolean uniqueClientRequestId;
     private String internalRequestId;
     private String sessionToken;
+    private ValidationMode validationMode = ValidationMode.ALL;
 
     /**
      * Adds previously obtained {@code sessionToken} to the request. All requests(except the one to obtain session token)
@@ -47,6 +52,20 @@ public abstract class SafechargeBuilder<T extends SafechargeBuilder<T>> {
      */
     public T addClientRequestId(String clientRequestId) {
         this.clientRequestId = clientRequestId;
+        this.uniqueClientRequestId = false;
+        return (T) this;
+    }
+
+    /**
+     * Adds a client request id generated by {@link RequestClock#nextUniqueId()} to the request, a new one for each request built,
+     * instead of the one of {@link #addClientRequestId(String)}.
+     *
+     * @return this object
+     * @throws SafechargeConfigurationException when the request is built, if the node id of {@link RequestClock} is not set
+     */
+    public T addUniqueClientRequestId() {
+        this.clientRequestId = null;
+        this.uniqueClientRequestId = true;
         return (T) this;
     }
 
@@ -61,6 +80,18 @@ public abstract class SafechargeBuilder<T extends SafechargeBuilder<T>> {
         return (T) this;
     }
 
+    /**
+     * Sets which constraints are checked when the request is built, and whether the validation stops at the first violation.
+     * {@link ValidationMode#ALL} by default.
+     *
+     * @param validationMode the mode to validate the request in
+     * @return this object
+     */
+    public T addValidationMode(ValidationMode validationMode) {
+        this.validationMode = validationMode;
+        return (T) this;
+    }
+
     /**
      * Adds required merchant info to the request.
      *
@@ -106,7 +137,7 @@ public abstract class SafechargeBuilder<T extends SafechargeBuilder<T>> {
         safechargeRequest.setServerHost(merchantInfo != null ? merchantInfo.getServerHost() : null);
         safechargeRequest.setSessionToken(sessionToken);
         safechargeRequest.setTimeStamp(timestamp);
-        safechargeRequest.setClientRequestId(clientRequestId);
+        safechargeRequest.setClientRequestId(uniqueClientRequestId ? RequestClock.nextUniqueId() : clientRequestId);
         safechargeRequest.setInternalRequestId(internalRequestId);
         safechargeRequest.setChecksum(
                 ChecksumUtils.calculateChecksum(safechargeRequest, merchantInfo != null ? merchantInfo.getMerchantKey() : "", Constants.CHARSET_UTF8,
@@ -122,4 +153,11 @@ public abstract class SafechargeBuilder<T extends SafechargeBuilder<T>> {
      * @throws ConstraintViolationException if any part of the request is invalid
      */
     public abstract SafechargeBaseRequest build() throws ConstraintViolationException;
+
+    /**
+     * @return the mode to validate the request in, see {@link #addValidationMode(ValidationMode)}
+     */
+    protected ValidationMode getValidationMode() {
+        return validationMode;
+    }
 }
@@ -0,0 +1,247 @@
+package com.safecharge.util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.MalformedInputException;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Per thread engine of {@link ChecksumUtils}: hashes the checksum values as they are appended, without building the concatenated
+ * text. UTF-8 is encoded straight into a reusable buffer fed to a reusable {@link MessageDigest}, and the hash is written in hexadecimal
+ * into a preallocated buffer, so that the checksum string is the only object allocated for string values. The encoded merchant id and
+ * site id prefix and merchant key are kept, as the same merchant usually sends the next request too. Like the {@code CharsetEncoder}
+ * it replaces, it fails on unpaired surrogates. Other charsets go through a {@code CharsetEncoder}.
+ *
+ * @since 10/17/2026
+ */
+final class ChecksumDigest {
+
+    private static final Charset UTF8_CHARSET = Charset.forName(Constants.CHARSET_UTF8);
+
+    private static final ThreadLocal<ChecksumDigest> digests = new ThreadLocal<ChecksumDigest>() {
+        @Override
+        protected ChecksumDigest initialValue() {
+            return new ChecksumDigest();
+        }
+    };
+
+    private final MessageDigest[] messageDigests = new MessageDigest[Constants.HashAlgorithm.values().length];
+    private final byte[] buffer = new byte[512];
+    private final byte[] hash = new byte[64];
+    private final char[] hex = new char[2 * hash.length];
+    private boolean inUse;
+
+    private MessageDigest digest;
+    private Charset charset;
+    private StringBuilder text;
+    private int position;
+    private int flushes;
+    private char highSurrogate;
+    private boolean malformed;
+
+    private String merchantId;
+    private String merchantSiteId;
+    private byte[] merchantPrefix = new byte[64];
+    private int merchantPrefixLength = -1;
+    private String key;
+    private byte[] keyBytes = new byte[64];
+    private int keyLength = -1;
+
+    private ChecksumDigest() {
+    }
+
+    /**
+     * @return the engine of the current thread, reset for a new checksum
+     * @throws NoSuchAlgorithmException if the {@code hashAlgorithm} is not available
+     */
+    static ChecksumDigest start(Constants.HashAlgorithm hashAlgorithm, Charset charset) throws NoSuchAlgorithmException {
+        ChecksumDigest checksumDigest = digests.get();
+        if (checksumDigest.inUse) {
+            checksumDigest = new ChecksumDigest(); // a value's toString() calculates a checksum too
+        }
+        checksumDigest.reset(hashAlgorithm, charset);
+        return checksumDigest;
+    }
+
+    private void reset(Constants.HashAlgorithm hashAlgorithm, Charset charset) throws NoSuchAlgorithmException {
+        MessageDigest digest = messageDigests[hashAlgorithm.ordinal()];
+        if (digest == null) {
+            digest = MessageDigest.getInstance(hashAlgorithm.getAlgorithm());
+            messageDigests[hashAlgorithm.ordinal()] = digest;
+        } else {
+            digest.reset();
+        }
+        this.digest = digest;
+        this.charset = charset;
+        if (UTF8_CHARSET.equals(charset)) {
+            text = null;
+        } else if (text == null) {
+            text = new StringBuilder();
+        } else {
+            text.setLength(0);
+        }
+        position = 0;
+        flushes = 0;
+        highSurrogate = 0;
+        malformed = false;
+        inUse = true;
+    }
+
+    /**
+     * Appends the value like {@link StringBuilder#append(Object)}.
+     */
+    void append(Object value) {
+        append(String.valueOf(value));
+    }
+
+    /**
+     * Appends the value like {@link StringBuilder#append(String)}, "null" for null.
+     */
+    void append(String value) {
+        if (value == null) {
+            value = "null";
+        }
+        if (text != null) {
+            text.append(value);
+            return;
+        }
+        byte[] buffer = this.buffer;
+        int position = this.position;
+        for (int i = 0; i < value.length() && !malformed; i++) {
+            if (position > buffer.length - 4) {
+                this.position = position;
+                flush();
+                position = 0;
+            }
+            char c = value.charAt(i);
+            if (highSurrogate != 0) {
+                if (!Character.isLowSurrogate(c)) {
+                    malformed = true;
+                    break;
+                }
+                int codePoint = Character.toCodePoint(highSurrogate, c);
+                highSurrogate = 0;
+                buffer[position++] = (byte) (0xf0 | codePoint >> 18);
+                buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                buffer[position++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xc0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c)) {
+                highSurrogate = c;
+            } else if (Character.isLowSurrogate(c)) {
+                malformed = true;
+            } else {
+                buffer[position++] = (byte) (0xe0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3f);
+                buffer[position++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        this.position = position;
+    }
+
+    /**
+     * Appends the merchant id and site id which start the checksum, reusing their encoding from the previous checksum of the thread.
+     */
+    void appendMerchantPrefix(String merchantId, String merchantSiteId) {
+        if (text != null || position != 0) {
+            append(merchantId);
+            append(merchantSiteId);
+        } else if (merchantPrefixLength >= 0 && merchantId.equals(this.merchantId) && merchantSiteId.equals(this.merchantSiteId)) {
+            digest.update(merchantPrefix, 0, merchantPrefixLength);
+        } else {
+            int flushes = this.flushes;
+            append(merchantId);
+            append(merchantSiteId);
+            if (flushes == this.flushes && highSurrogate == 0 && !malformed) {
+                merchantPrefix = copy(merchantPrefix, position);
+                merchantPrefixLength = position;
+                this.merchantId = merchantId;
+                this.merchantSiteId = merchantSiteId;
+            }
+        }
+    }
+
+    /**
+     * Appends the merchant key which ends the checksum, reusing its encoding from the previous checksum of the thread.
+     */
+    void appendKey(String key) {
+        if (key == null || text != null || highSurrogate != 0) {
+            append(key);
+            return;
+        }
+        flush();
+        if (keyLength >= 0 && key.equals(this.key)) {
+            digest.update(keyBytes, 0, keyLength);
+        } else {
+            int flushes = this.flushes;
+            append(key);
+            if (flushes == this.flushes && highSurrogate == 0 && !malformed) {
+                keyBytes = copy(keyBytes, position);
+                keyLength = position;
+                this.key = key;
+            }
+        }
+    }
+
+    private byte[] copy(byte[] target, int length) {
+        if (target.length < length) {
+            target = new byte[length];
+        }
+        System.arraycopy(buffer, 0, target, 0, length);
+        return target;
+    }
+
+    private void flush() {
+        if (position > 0) {
+            digest.update(buffer, 0, position);
+            position = 0;
+            flushes++;
+        }
+    }
+
+    /**
+     * Completes the checksum. The engine is released by {@link #release()}.
+     *
+     * @return the hash of the appended values in lower case hexadecimal
+     * @throws CharacterCodingException if the values can't be encoded with the charset
+     */
+    String finish() throws CharacterCodingException {
+        if (text != null) {
+            ByteBuffer encoded = charset.newEncoder()
+                    .encode(CharBuffer.wrap(text));
+            digest.update(encoded);
+        } else {
+            if (malformed || highSurrogate != 0) {
+                throw new MalformedInputException(1);
+            }
+            flush();
+        }
+
+        int length = digest.getDigestLength();
+        try {
+            digest.digest(hash, 0, length);
+        } catch (DigestException e) {
+            throw new IllegalStateException(e); // the buffer fits the supported algorithms
+        }
+        char[] hex = this.hex;
+        for (int i = 0; i < length; i++) {
+            hex[2 * i] = Constants.HEXADECIMAL[(hash[i] & 0xf0) >> 4];
+            hex[2 * i + 1] = Constants.HEXADECIMAL[hash[i] & 0x0f];
+        }
+        return new String(hex, 0, 2 * length);
+    }
+
+    void release() {
+        inUse = false;
+    }
+}
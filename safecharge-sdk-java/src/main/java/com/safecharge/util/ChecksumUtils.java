@@ -1,13 +1,10 @@
 package com.safecharge.util;
 
 import java.lang.reflect.Field;
-import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetEncoder;
-import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +26,12 @@ public class ChecksumUtils {
 
     private static final Log logger = LogFactory.getLog(RequestUtils.class);
     private static final Map<String, List<String>> requestChecksumOrder = new HashMap<String, List<String>>();
+    private static final ClassValue<ChecksumPlan> checksumPlans = new ClassValue<ChecksumPlan>() {
+        @Override
+        protected ChecksumPlan computeValue(Class<?> type) {
+            return ChecksumPlan.create(type);
+        }
+    };
 
     private ChecksumUtils() {
     }
@@ -119,166 +122,168 @@ public class ChecksumUtils {
      */
     public static String calculateChecksum(Object apiRequest, String key, String encoding, Constants.HashAlgorithm hashAlgorithm) {
 
-        ValidChecksum annotation = apiRequest.getClass()
-                .getAnnotation(ValidChecksum.class);
-        if (annotation == null) {
+        ChecksumPlan plan = checksumPlans.get(apiRequest.getClass());
+        if (plan.fields == null) {
             return null;
         }
 
-        Constants.ChecksumOrderMapping mappingName = annotation.orderMappingName();
-        List<String> paramsOrder = requestChecksumOrder.get(mappingName.name());
+        ChecksumDigest checksum;
+        try {
+            checksum = ChecksumDigest.start(hashAlgorithm, Charset.forName(encoding));
+        } catch (NoSuchAlgorithmException nsae) {
+            logger.error("Implementation of " + hashAlgorithm + " not found. " + nsae);
+            return null;
+        }
 
-        StringBuilder sb = new StringBuilder();
+        try {
+            int i = 0;
+            if (plan.merchantPrefix) {
+                Object merchantId = getObject(apiRequest, plan.fields[0]);
+                Object merchantSiteId = getObject(apiRequest, plan.fields[1]);
+                if (merchantId instanceof String && merchantSiteId instanceof String) {
+                    checksum.appendMerchantPrefix((String) merchantId, (String) merchantSiteId);
+                    i = 2;
+                }
+            }
 
-        for (String parameterName : paramsOrder) {
-            Object fieldValue = getObject(apiRequest, parameterName);
-            if (fieldValue != null) {
-                ValidChecksum innerObjectAnnotation = fieldValue.getClass()
-                        .getAnnotation(ValidChecksum.class);
+            for (; i < plan.fields.length; i++) {
+                Object fieldValue = getObject(apiRequest, plan.fields[i]);
+                if (fieldValue != null) {
+                    ChecksumPlan innerObjectPlan = checksumPlans.get(fieldValue.getClass());
 
-                if (innerObjectAnnotation != null) {
-                    sb.append(appendInnerObjectParams(fieldValue, innerObjectAnnotation));
+                    if (innerObjectPlan.fields != null) {
+                        appendInnerObjectParams(checksum, fieldValue, innerObjectPlan);
 
-                } else if (fieldValue instanceof List) {
-                    sb.append(appendInnerObjectListValues(((List) fieldValue)));
+                    } else if (fieldValue instanceof List) {
+                        appendInnerObjectListValues(checksum, (List) fieldValue);
 
-                } else if (fieldValue instanceof Map) {
-                    sb.append(appendInnerObjectListValues(((Map<Object, Object>) fieldValue)));
+                    } else if (fieldValue instanceof Map) {
+                        appendInnerObjectListValues(checksum, (Map<Object, Object>) fieldValue);
 
-                } else {
-                    sb.append(fieldValue);
+                    } else {
+                        checksum.append(fieldValue);
+                    }
                 }
             }
-        }
 
-        sb.append(key);
-        return getHash(sb.toString(), encoding, hashAlgorithm);
+            checksum.appendKey(key);
+            return checksum.finish();
+        } catch (CharacterCodingException e) {
+            logger.error("Cannot encode text into bytes using charset " + encoding + ": " + e.getMessage());
+            return null;
+        } finally {
+            checksum.release();
+        }
     }
 
-    private static String appendInnerObjectListValues(List fieldValues) {
-
-        StringBuilder sb = new StringBuilder();
+    private static void appendInnerObjectListValues(ChecksumDigest checksum, List fieldValues) {
 
         for (Object object : fieldValues) {
-            List<String> paramsOrder = null;
-
-            ValidChecksum annotation = object.getClass()
-                    .getAnnotation(ValidChecksum.class);
-            if (annotation != null) {
-                paramsOrder = requestChecksumOrder.get(annotation.orderMappingName()
-                        .name());
-            }
+            ChecksumPlan plan = checksumPlans.get(object.getClass());
 
-            if (paramsOrder != null && !paramsOrder.isEmpty()) {
+            if (plan.fields != null) {
 
-                for (String parameterName : paramsOrder) {
-                    Object value = getObject(object, parameterName);
+                for (Field field : plan.fields) {
+                    Object value = getObject(object, field);
 
                     if (value instanceof Map) {
-                        sb.append(appendInnerObjectListValues((Map<Object, Object>) value));
+                        appendInnerObjectListValues(checksum, (Map<Object, Object>) value);
 
                     } else if (value != null) {
-                        sb.append(value);
+                        checksum.append(value);
                     }
                 }
 
             } else {
-                sb.append(object.toString());
+                checksum.append(object.toString());
             }
         }
-        return sb.toString();
     }
 
-    private static String appendInnerObjectListValues(Map<Object, Object> data) {
+    private static void appendInnerObjectListValues(ChecksumDigest checksum, Map<Object, Object> data) {
 
-        StringBuilder str = new StringBuilder();
-
-        for (Object key : data.keySet()) {
-            Object value = data.get(key);
+        for (Map.Entry<Object, Object> entry : data.entrySet()) {
+            Object value = entry.getValue();
 
             if (value instanceof List) {
-                str.append(appendInnerObjectListValues(((List) value)));
+                appendInnerObjectListValues(checksum, (List) value);
 
             } else if (value instanceof Map) {
-                str.append(appendInnerObjectListValues((Map) value));
+                appendInnerObjectListValues(checksum, (Map) value);
 
             } else if (value != null) {
-                str.append(value);
+                checksum.append(value);
             }
         }
-        return str.toString();
     }
 
-    private static String appendInnerObjectParams(Object fieldValue, ValidChecksum innerObjectAnnotation) {
-
-        Constants.ChecksumOrderMapping innerMappingName = innerObjectAnnotation.orderMappingName();
-        List<String> innerObjectParamsOrder = requestChecksumOrder.get(innerMappingName.name());
+    private static void appendInnerObjectParams(ChecksumDigest checksum, Object fieldValue, ChecksumPlan innerObjectPlan) {
 
-        StringBuilder sb = new StringBuilder();
-        for (String parameterName : innerObjectParamsOrder) {
-            Object innerFieldValue = getObject(fieldValue, parameterName);
+        for (Field field : innerObjectPlan.fields) {
+            Object innerFieldValue = getObject(fieldValue, field);
             if (innerFieldValue != null) {
-                sb.append(innerFieldValue);
+                checksum.append(innerFieldValue);
             }
         }
-
-        return sb.toString();
     }
 
-    private static Object getObject(Object object, String fieldName) {
-        Class<?> clazz = object.getClass();
-        while (clazz != null) {
-            try {
-                Field field = clazz.getDeclaredField(fieldName);
-                field.setAccessible(true);
-                return field.get(object);
-            } catch (NoSuchFieldException e) {
-                clazz = clazz.getSuperclass();
-            } catch (Exception e) {
-                throw new IllegalStateException(e);
-            }
+    private static Object getObject(Object object, Field field) {
+        try {
+            return field.get(object);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
         }
-        return null;
     }
 
-    private static String getHash(String text, String charset, Constants.HashAlgorithm algorithm) {
-        MessageDigest md;
-        try {
-            md = MessageDigest.getInstance(algorithm.getAlgorithm());
-
-        } catch (NoSuchAlgorithmException nsae) {
-            logger.error("Implementation of " + algorithm + " not found. " + nsae);
-            return null;
+    /**
+     * The fields of a class which enter the checksum, in the order of its {@link ValidChecksum} mapping, resolved once per class.
+     */
+    private static class ChecksumPlan {
+
+        /**
+         * The accessible fields, the nearest in the class hierarchy for each name of the mapping and without the names the class has
+         * no field for, or null if the class isn't annotated with {@link ValidChecksum}
+         */
+        private final Field[] fields;
+        /**
+         * true if the checksum starts with the merchant id and site id
+         */
+        private final boolean merchantPrefix;
+
+        private ChecksumPlan(Field[] fields) {
+            this.fields = fields;
+            this.merchantPrefix = fields != null && fields.length >= 2 && "merchantId".equals(fields[0].getName()) && "merchantSiteId".equals(
+                    fields[1].getName());
         }
 
-        CharsetEncoder encoder = Charset.forName(charset)
-                .newEncoder();
+        static ChecksumPlan create(Class<?> type) {
+            ValidChecksum annotation = type.getAnnotation(ValidChecksum.class);
+            if (annotation == null) {
+                return new ChecksumPlan(null);
+            }
 
-        ByteBuffer encoded;
-        try {
-            encoded = encoder.encode(CharBuffer.wrap(text));
-        } catch (CharacterCodingException e) {
-            logger.error("Cannot encode text into bytes using charset " + charset + ": " + e.getMessage());
-            return null;
+            List<Field> fields = new ArrayList<>();
+            for (String parameterName : requestChecksumOrder.get(annotation.orderMappingName()
+                    .name())) {
+                Field field = findField(type, parameterName);
+                if (field != null) {
+                    fields.add(field);
+                }
+            }
+            return new ChecksumPlan(fields.toArray(new Field[fields.size()]));
         }
 
-        byte[] inbytes;
-
-        inbytes = new byte[encoded.remaining()];
-
-        encoded.get(inbytes, 0, inbytes.length);
-
-        byte[] bytes = md.digest(inbytes);
-
-        // Output the bytes of the hash as a String (text/plain)
-        StringBuilder sb = new StringBuilder(2 * bytes.length);
-        for (int i = 0; i < bytes.length; i++) {
-            int low = bytes[i] & 0x0f;
-            int high = (bytes[i] & 0xf0) >> 4;
-            sb.append(Constants.HEXADECIMAL[high]);
-            sb.append(Constants.HEXADECIMAL[low]);
+        private static Field findField(Class<?> type, String fieldName) {
+            for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+                try {
+                    Field field = clazz.getDeclaredField(fieldName);
+                    field.setAccessible(true);
+                    return field;
+                } catch (NoSuchFieldException e) {
+                    // look in the super class
+                }
+            }
+            return null;
         }
-
-        return sb.toString();
     }
 }
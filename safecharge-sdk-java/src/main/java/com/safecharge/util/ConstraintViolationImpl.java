@@ -0,0 +1,265 @@
+package com.safecharge.util;
+
+import java.lang.annotation.ElementType;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ElementKind;
+import javax.validation.Path;
+import javax.validation.ValidationException;
+import javax.validation.metadata.ConstraintDescriptor;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * {@link ConstraintViolation} of a property reported by {@link ValidationEngine}. Equal to another violation of the same constraint,
+ * property and bean with the same message, like the violations of the Bean Validation provider, so that a constraint inherited through
+ * overridden getters is reported once.
+ *
+ * @since 10/17/2026
+ */
+class ConstraintViolationImpl<T> implements ConstraintViolation<T> {
+
+    private final String message;
+    private final String messageTemplate;
+    private final T rootBean;
+    private final Object leafBean;
+    private final Object invalidValue;
+    private final PropertyPath propertyPath;
+    private final ConstraintDescriptor<?> constraintDescriptor;
+    private final ElementType elementType;
+
+    ConstraintViolationImpl(String message, String messageTemplate, T rootBean, Object leafBean, Object invalidValue, PropertyPath propertyPath,
+                            ConstraintDescriptor<?> constraintDescriptor, ElementType elementType) {
+        this.message = message;
+        this.messageTemplate = messageTemplate;
+        this.rootBean = rootBean;
+        this.leafBean = leafBean;
+        this.invalidValue = invalidValue;
+        this.propertyPath = propertyPath;
+        this.constraintDescriptor = constraintDescriptor;
+        this.elementType = elementType;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+
+    @Override
+    public T getRootBean() {
+        return rootBean;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<T> getRootBeanClass() {
+        return (Class<T>) rootBean.getClass();
+    }
+
+    @Override
+    public Object getLeafBean() {
+        return leafBean;
+    }
+
+    @Override
+    public Object[] getExecutableParameters() {
+        return null;
+    }
+
+    @Override
+    public Object getExecutableReturnValue() {
+        return null;
+    }
+
+    @Override
+    public Path getPropertyPath() {
+        return propertyPath;
+    }
+
+    @Override
+    public Object getInvalidValue() {
+        return invalidValue;
+    }
+
+    @Override
+    public ConstraintDescriptor<?> getConstraintDescriptor() {
+        return constraintDescriptor;
+    }
+
+    @Override
+    public <U> U unwrap(Class<U> type) {
+        if (type.isInstance(this)) {
+            return type.cast(this);
+        }
+        throw new ValidationException("Type " + type + " not supported");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConstraintViolationImpl<?> that = (ConstraintViolationImpl<?>) o;
+        return constraintDescriptor.equals(that.constraintDescriptor) && elementType == that.elementType && leafBean.equals(that.leafBean)
+                && message.equals(that.message) && messageTemplate.equals(that.messageTemplate) && propertyPath.equals(that.propertyPath)
+                && rootBean.equals(that.rootBean);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = constraintDescriptor.hashCode();
+        result = 31 * result + elementType.hashCode();
+        result = 31 * result + leafBean.hashCode();
+        result = 31 * result + message.hashCode();
+        result = 31 * result + messageTemplate.hashCode();
+        result = 31 * result + propertyPath.hashCode();
+        result = 31 * result + rootBean.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ConstraintViolationImpl{");
+        sb.append("propertyPath=")
+                .append(propertyPath);
+        sb.append(", message='")
+                .append(message)
+                .append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Path of the property of a violation from the root bean, e.g. {@code items[0].name}.
+     */
+    static class PropertyPath implements Path {
+
+        private final PropertyPathNode[] nodes;
+
+        PropertyPath(PropertyPathNode[] nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public Iterator<Node> iterator() {
+            return Arrays.<Node>asList(nodes)
+                    .iterator();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || o instanceof PropertyPath && Arrays.equals(nodes, ((PropertyPath) o).nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(nodes);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < nodes.length; i++) {
+                PropertyPathNode node = nodes[i];
+                if (node.inIterable) {
+                    sb.append('[')
+                            .append(node.index != null ? node.index : node.key != null ? node.key : "")
+                            .append(']');
+                }
+                if (i > 0) {
+                    sb.append('.');
+                }
+                sb.append(node.name);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * A property of a {@link PropertyPath}, in an iterable, array or map when it is a property of one of their elements.
+     */
+    static class PropertyPathNode implements Path.PropertyNode {
+
+        private final String name;
+        private final boolean inIterable;
+        private final Integer index;
+        private final Object key;
+
+        PropertyPathNode(String name, boolean inIterable, Integer index, Object key) {
+            this.name = name;
+            this.inIterable = inIterable;
+            this.index = index;
+            this.key = key;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isInIterable() {
+            return inIterable;
+        }
+
+        @Override
+        public Integer getIndex() {
+            return index;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public ElementKind getKind() {
+            return ElementKind.PROPERTY;
+        }
+
+        @Override
+        public <N extends Path.Node> N as(Class<N> nodeType) {
+            if (nodeType.isInstance(this)) {
+                return nodeType.cast(this);
+            }
+            throw new ClassCastException("Type " + nodeType + " not supported");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PropertyPathNode)) {
+                return false;
+            }
+            PropertyPathNode that = (PropertyPathNode) o;
+            return inIterable == that.inIterable && name.equals(that.name) && (index != null ? index.equals(that.index) : that.index == null)
+                    && (key != null ? key.equals(that.key) : that.key == null);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = name.hashCode();
+            result = 31 * result + (inIterable ? 1 : 0);
+            result = 31 * result + (index != null ? index.hashCode() : 0);
+            result = 31 * result + (key != null ? key.hashCode() : 0);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
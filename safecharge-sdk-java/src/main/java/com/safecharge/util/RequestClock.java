@@ -0,0 +1,154 @@
+package com.safecharge.util;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.safecharge.exception.SafechargeConfigurationException;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Clock of the request builders. The "yyyyMMddHHmmss" timestamp of the requests is formatted once per second and shared by all the
+ * threads, and {@link #nextUniqueId()} generates clientRequestId and clientUniqueId values without locking.
+ * <p>
+ * The generated ids are the decimal value of a 63 bit number made of the milliseconds since 2017-01-01 UTC (41 bits, until 2086), the
+ * node id (10 bits) and a sequence number (12 bits), so 4096 ids are available per millisecond and node. When they are exhausted the
+ * ids are taken from the next millisecond, and the clock never goes back, so the ids of a node keep increasing and never repeat.
+ * <p>
+ * The node id has no default: it is read from the {@code safecharge.nodeId} system property or set with {@link #setNodeId(int)}, and
+ * {@link #nextUniqueId()} fails until it is configured. A node id derived from the host would be only 10 bits long and likely to
+ * collide across a fleet, so give each node generating ids for the same merchant its own id, e.g. from its deployment ordinal.
+ *
+ * @since 10/17/2026
+ */
+public final class RequestClock {
+
+    /**
+     * The system property with the node id of the generated ids.
+     */
+    public static final String NODE_ID_PROPERTY = "safecharge.nodeId";
+
+    /**
+     * The maximum node id, inclusive.
+     */
+    public static final int MAX_NODE_ID = 1023;
+
+    /**
+     * The node id of a node without a configured node id.
+     */
+    public static final int UNSET_NODE_ID = -1;
+
+    private static final long EPOCH = 1483228800000L; // 2017-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final AtomicReference<CachedTimestamp> timestamp = new AtomicReference<>(new CachedTimestamp(Long.MIN_VALUE, null));
+
+    /**
+     * Milliseconds since {@link #EPOCH} and sequence number of the last generated id.
+     */
+    private static final AtomicLong lastId = new AtomicLong();
+
+    private static volatile int nodeId = readNodeIdProperty();
+
+    private RequestClock() {
+    }
+
+    /**
+     * @return the current time in the default time zone, in "yyyyMMddHHmmss" format
+     */
+    public static String getTimestamp() {
+        long second = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        CachedTimestamp cached = timestamp.get();
+        if (cached.second == second) {
+            return cached.value;
+        }
+
+        // a few threads may format the same second, the last one wins
+        String value = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date(TimeUnit.SECONDS.toMillis(second)));
+        CachedTimestamp current = new CachedTimestamp(second, value);
+        if (current.second > cached.second) {
+            timestamp.compareAndSet(cached, current);
+        }
+        return current.value;
+    }
+
+    /**
+     * Generates an id for the clientRequestId or clientUniqueId of a request, unique among the ids of this node.
+     *
+     * @return the generated id
+     * @throws SafechargeConfigurationException if the node id is not set with the {@code safecharge.nodeId} system property or
+     *                                          {@link #setNodeId(int)}
+     */
+    public static String nextUniqueId() {
+        int nodeId = RequestClock.nodeId;
+        if (nodeId == UNSET_NODE_ID) {
+            throw new SafechargeConfigurationException("Set the node id of the generated ids with the " + NODE_ID_PROPERTY
+                    + " system property or RequestClock.setNodeId, unique for each node generating ids for the same merchant");
+        }
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long last;
+        long next;
+        do {
+            last = lastId.get();
+            // the next sequence number of the last millisecond, overflowing into the next one, unless the clock moved on
+            next = Math.max(now, last + 1);
+        } while (!lastId.compareAndSet(last, next));
+
+        long time = next >>> SEQUENCE_BITS;
+        return String.valueOf(time << (NODE_BITS + SEQUENCE_BITS) | (long) nodeId << SEQUENCE_BITS | next & SEQUENCE_MASK);
+    }
+
+    /**
+     * @return the node id of the generated ids, or {@link #UNSET_NODE_ID} if it is not configured
+     */
+    public static int getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Sets the node id of the generated ids, unique for each node generating ids for the same merchant.
+     *
+     * @param nodeId the node id, from 0 to {@link #MAX_NODE_ID}, or {@link #UNSET_NODE_ID} to clear it
+     * @throws SafechargeConfigurationException if the node id is out of range
+     */
+    public static void setNodeId(int nodeId) {
+        if (nodeId < UNSET_NODE_ID || nodeId > MAX_NODE_ID) {
+            throw new SafechargeConfigurationException("The node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        RequestClock.nodeId = nodeId;
+    }
+
+    private static int readNodeIdProperty() {
+        String property = System.getProperty(NODE_ID_PROPERTY);
+        if (property != null) {
+            int id;
+            try {
+                id = Integer.parseInt(property.trim());
+            } catch (NumberFormatException e) {
+                throw new SafechargeConfigurationException("Invalid " + NODE_ID_PROPERTY + " system property: " + property);
+            }
+            if (id < 0 || id > MAX_NODE_ID) {
+                throw new SafechargeConfigurationException("The " + NODE_ID_PROPERTY + " system property must be between 0 and " + MAX_NODE_ID
+                        + ": " + property);
+            }
+            return id;
+        }
+        return UNSET_NODE_ID;
+    }
+
+    private static class CachedTimestamp {
+
+        private final long second;
+        private final String value;
+
+        CachedTimestamp(long second, String value) {
+            this.second = second;
+            this.value = value;
+        }
+    }
+}
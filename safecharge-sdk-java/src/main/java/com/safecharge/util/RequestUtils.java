@@ -1,9 +1,8 @@
 package com.safecharge.util;
 
+import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.GregorianCalendar;
 
 /**
  * Copyright (C) 2007-2017 SafeCharge International Group Limited.
@@ -16,7 +15,12 @@ import java.util.GregorianCalendar;
 
 public class RequestUtils {
 
-    private static final SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMddHHmmss");
+    private static final ThreadLocal<DateFormat> sdf = new ThreadLocal<DateFormat>() {
+        @Override
+        protected DateFormat initialValue() {
+            return new SimpleDateFormat("yyyyMMddHHmmss");
+        }
+    };
 
     private RequestUtils() {
     }
@@ -27,22 +31,25 @@ public class RequestUtils {
      * The format of the returned String is "yyyyMMddHHmmss".
      *
      * @return the current time as a String
+     * @see RequestClock#getTimestamp()
      */
     public static String calculateTimestamp() {
-        Calendar cal = new GregorianCalendar();
-        sdf.setTimeZone(cal.getTimeZone());
-        return sdf.format(cal.getTime());
+        return RequestClock.getTimestamp();
     }
 
     /**
      * This method is used to calculate the clientRequestId parameter of a request.
+     * <p>
+     * The ids have a second resolution, so the requests sent in the same second get the same id. Use
+     * {@link RequestClock#nextUniqueId()} for ids unique to each request.
      *
      * @param timestamp the timestamp to generate clientRequestId from. It should be in "yyyyMMddHHmmss" format
      * @return the clientRequestId or -1 if it can't be calculated
      */
     public static String calculateClientRequestId(String timestamp) {
         try {
-            return String.valueOf(sdf.parse(timestamp)
+            return String.valueOf(sdf.get()
+                    .parse(timestamp)
                     .getTime());
         } catch (ParseException e) {
             return "-1";
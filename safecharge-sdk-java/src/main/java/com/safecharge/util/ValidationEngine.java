@@ -0,0 +1,554 @@
+package com.safecharge.util;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.MessageInterpolator;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Validates the request graphs with the constraints the Bean Validation provider reports for their classes, compiled once per class
+ * into a flat list of checks: precompiled patterns, accessible fields and getters read once per property, and the cascaded properties.
+ * The messages are interpolated by the provider's {@link MessageInterpolator}, so the violations are the same as the provider's.
+ * A class with constraints other than {@link NotNull}, {@link Size}, {@link Pattern}, {@link Min} and {@link Max} of the default
+ * group on its fields and getters is not compiled, and the graphs containing it are left to the provider.
+ *
+ * @since 10/17/2026
+ */
+class ValidationEngine {
+
+    private static final BeanPlan UNSUPPORTED = new BeanPlan(null, null, null);
+
+    private final Validator validator;
+    private final MessageInterpolator messageInterpolator;
+    private final ClassValue<BeanPlan> beanPlans = new ClassValue<BeanPlan>() {
+        @Override
+        protected BeanPlan computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
+    ValidationEngine(Validator validator, MessageInterpolator messageInterpolator) {
+        this.validator = validator;
+        this.messageInterpolator = messageInterpolator;
+    }
+
+    /**
+     * @return the violations of the constraints of the {@code root} graph, or null if it contains a bean whose constraints are not
+     * compiled
+     */
+    <T> Set<ConstraintViolation<T>> validate(T root, ValidationMode mode) {
+        ValidationContext<T> context = new ValidationContext<>(root, mode);
+        if (!validateBean(context, root)) {
+            return null;
+        }
+        return context.violations != null ? context.violations : Collections.<ConstraintViolation<T>>emptySet();
+    }
+
+    private <T> boolean validateBean(ValidationContext<T> context, Object bean) {
+        BeanPlan plan = beanPlans.get(bean.getClass());
+        if (plan == UNSUPPORTED) {
+            return false;
+        }
+
+        for (PropertyCheck check : context.mode == ValidationMode.MANDATORY_ONLY ? plan.mandatoryChecks : plan.checks) {
+            Object value = check.accessor.get(bean);
+            for (Constraint constraint : check.constraints) {
+                if (!constraint.isValid(value)) {
+                    context.addViolation(bean, check, constraint, value, messageInterpolator);
+                    if (context.mode == ValidationMode.FAIL_FAST) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        for (PropertyAccessor cascade : plan.cascades) {
+            Object value = cascade.get(bean);
+            if (value != null && !cascade(context, cascade.name, value)) {
+                return false;
+            }
+            if (context.isStopped()) {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    private <T> boolean cascade(ValidationContext<T> context, String name, Object value) {
+        context.enter(name);
+        try {
+            if (value instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    if (!validateElement(context, entry.getValue(), null, entry.getKey())) {
+                        return false;
+                    }
+                }
+            } else if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                for (int i = 0; i < list.size(); i++) {
+                    if (!validateElement(context, list.get(i), i, null)) {
+                        return false;
+                    }
+                }
+            } else if (value instanceof Iterable) {
+                for (Object element : (Iterable<?>) value) {
+                    if (!validateElement(context, element, null, null)) {
+                        return false;
+                    }
+                }
+            } else if (value instanceof Object[]) {
+                Object[] array = (Object[]) value;
+                for (int i = 0; i < array.length; i++) {
+                    if (!validateElement(context, array[i], i, null)) {
+                        return false;
+                    }
+                }
+            } else if (!value.getClass()
+                    .isArray() && !context.isAncestor(value)) {
+                context.ancestors.add(value);
+                try {
+                    return validateBean(context, value);
+                } finally {
+                    context.ancestors.remove(context.ancestors.size() - 1);
+                }
+            }
+            return true;
+        } finally {
+            context.exit();
+        }
+    }
+
+    private <T> boolean validateElement(ValidationContext<T> context, Object element, Integer index, Object key) {
+        if (element == null || context.isStopped() || context.isAncestor(element)) {
+            return true;
+        }
+        context.setElement(index, key);
+        context.ancestors.add(element);
+        try {
+            return validateBean(context, element);
+        } finally {
+            context.ancestors.remove(context.ancestors.size() - 1);
+        }
+    }
+
+    private BeanPlan compile(Class<?> type) {
+        BeanDescriptor beanDescriptor = validator.getConstraintsForClass(type);
+        if (!beanDescriptor.getConstraintDescriptors()
+                .isEmpty()) {
+            return UNSUPPORTED;
+        }
+
+        List<PropertyCheck> checks = new ArrayList<>();
+        List<PropertyCheck> mandatoryChecks = new ArrayList<>();
+        List<PropertyAccessor> cascades = new ArrayList<>();
+        for (PropertyDescriptor propertyDescriptor : beanDescriptor.getConstrainedProperties()) {
+            String name = propertyDescriptor.getPropertyName();
+            for (ElementType elementType : new ElementType[]{ElementType.FIELD, ElementType.METHOD}) {
+                Set<ConstraintDescriptor<?>> constraintDescriptors = propertyDescriptor.findConstraints()
+                        .declaredOn(elementType)
+                        .getConstraintDescriptors();
+                if (constraintDescriptors.isEmpty()) {
+                    continue;
+                }
+                PropertyAccessor accessor = elementType == ElementType.FIELD ? findField(type, name) : findGetter(type, name);
+                if (accessor == null) {
+                    return UNSUPPORTED;
+                }
+
+                List<Constraint> constraints = new ArrayList<>();
+                List<Constraint> mandatoryConstraints = new ArrayList<>();
+                for (ConstraintDescriptor<?> constraintDescriptor : constraintDescriptors) {
+                    Constraint constraint = compile(constraintDescriptor, accessor.type);
+                    if (constraint == null) {
+                        return UNSUPPORTED;
+                    }
+                    constraints.add(constraint);
+                    if (constraint instanceof NotNullConstraint) {
+                        mandatoryConstraints.add(constraint);
+                    }
+                }
+                checks.add(new PropertyCheck(accessor, elementType, constraints));
+                if (!mandatoryConstraints.isEmpty()) {
+                    mandatoryChecks.add(new PropertyCheck(accessor, elementType, mandatoryConstraints));
+                }
+            }
+
+            if (propertyDescriptor.isCascaded()) {
+                PropertyAccessor accessor = findField(type, name);
+                if (accessor == null) {
+                    accessor = findGetter(type, name);
+                }
+                if (accessor == null) {
+                    return UNSUPPORTED;
+                }
+                cascades.add(accessor);
+            }
+        }
+        return new BeanPlan(checks, mandatoryChecks, cascades);
+    }
+
+    /**
+     * @return the check of the constraint, null if it is not supported
+     */
+    private static Constraint compile(ConstraintDescriptor<?> descriptor, Class<?> valueType) {
+        if (!descriptor.getComposingConstraints()
+                .isEmpty() || !Collections.<Class<?>>singleton(Default.class)
+                .equals(descriptor.getGroups())) {
+            return null;
+        }
+        Annotation annotation = descriptor.getAnnotation();
+        if (annotation instanceof NotNull) {
+            return new NotNullConstraint(descriptor);
+        }
+        if (annotation instanceof Size && (CharSequence.class.isAssignableFrom(valueType) || Collection.class.isAssignableFrom(valueType)
+                || Map.class.isAssignableFrom(valueType) || valueType.isArray())) {
+            return new SizeConstraint(descriptor, ((Size) annotation).min(), ((Size) annotation).max());
+        }
+        if (annotation instanceof Pattern && CharSequence.class.isAssignableFrom(valueType)) {
+            int flags = 0;
+            for (Pattern.Flag flag : ((Pattern) annotation).flags()) {
+                flags |= flag.getValue();
+            }
+            return new PatternConstraint(descriptor, java.util.regex.Pattern.compile(((Pattern) annotation).regexp(), flags));
+        }
+        if (annotation instanceof Min && isNumber(valueType)) {
+            return new RangeConstraint(descriptor, ((Min) annotation).value(), true);
+        }
+        if (annotation instanceof Max && isNumber(valueType)) {
+            return new RangeConstraint(descriptor, ((Max) annotation).value(), false);
+        }
+        return null;
+    }
+
+    private static boolean isNumber(Class<?> type) {
+        return Number.class.isAssignableFrom(type) || type == int.class || type == long.class || type == short.class || type == byte.class
+                || type == double.class || type == float.class;
+    }
+
+    /**
+     * @return the field of the property, null if there is none or if several classes of the hierarchy declare one
+     */
+    private static PropertyAccessor findField(Class<?> type, String name) {
+        Field found = null;
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            try {
+                Field field = clazz.getDeclaredField(name);
+                if (found != null) {
+                    return null;
+                }
+                found = field;
+            } catch (NoSuchFieldException e) {
+                // look in the super class
+            }
+        }
+        return found != null ? new PropertyAccessor(name, found, found.getType()) : null;
+    }
+
+    private static PropertyAccessor findGetter(Class<?> type, String name) {
+        String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+            for (String methodName : new String[]{"get" + suffix, "is" + suffix}) {
+                try {
+                    Method method = clazz.getDeclaredMethod(methodName);
+                    return new PropertyAccessor(name, method, method.getReturnType());
+                } catch (NoSuchMethodException e) {
+                    // look for the other prefix and in the super class
+                }
+            }
+        }
+        return null;
+    }
+
+    private static class BeanPlan {
+
+        private final PropertyCheck[] checks;
+        private final PropertyCheck[] mandatoryChecks;
+        private final PropertyAccessor[] cascades;
+
+        BeanPlan(List<PropertyCheck> checks, List<PropertyCheck> mandatoryChecks, List<PropertyAccessor> cascades) {
+            this.checks = checks != null ? checks.toArray(new PropertyCheck[checks.size()]) : null;
+            this.mandatoryChecks = mandatoryChecks != null ? mandatoryChecks.toArray(new PropertyCheck[mandatoryChecks.size()]) : null;
+            this.cascades = cascades != null ? cascades.toArray(new PropertyAccessor[cascades.size()]) : null;
+        }
+    }
+
+    /**
+     * The constraints of a property declared on its field, or on its getter.
+     */
+    static class PropertyCheck {
+
+        private final PropertyAccessor accessor;
+        private final ElementType elementType;
+        private final Constraint[] constraints;
+
+        PropertyCheck(PropertyAccessor accessor, ElementType elementType, List<Constraint> constraints) {
+            this.accessor = accessor;
+            this.elementType = elementType;
+            this.constraints = constraints.toArray(new Constraint[constraints.size()]);
+        }
+
+        String getName() {
+            return accessor.name;
+        }
+
+        ElementType getElementType() {
+            return elementType;
+        }
+    }
+
+    private static class PropertyAccessor {
+
+        private final String name;
+        private final Field field;
+        private final Method getter;
+        private final Class<?> type;
+
+        PropertyAccessor(String name, AccessibleObject member, Class<?> type) {
+            member.setAccessible(true);
+            this.name = name;
+            this.field = member instanceof Field ? (Field) member : null;
+            this.getter = member instanceof Method ? (Method) member : null;
+            this.type = type;
+        }
+
+        Object get(Object bean) {
+            try {
+                return field != null ? field.get(bean) : getter.invoke(bean);
+            } catch (IllegalAccessException e) {
+                throw new ValidationException(e);
+            } catch (InvocationTargetException e) {
+                throw new ValidationException(e.getCause());
+            }
+        }
+    }
+
+    abstract static class Constraint {
+
+        private final ConstraintDescriptor<?> descriptor;
+
+        Constraint(ConstraintDescriptor<?> descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        ConstraintDescriptor<?> getDescriptor() {
+            return descriptor;
+        }
+
+        abstract boolean isValid(Object value);
+    }
+
+    private static class NotNullConstraint extends Constraint {
+
+        NotNullConstraint(ConstraintDescriptor<?> descriptor) {
+            super(descriptor);
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            return value != null;
+        }
+    }
+
+    private static class SizeConstraint extends Constraint {
+
+        private final int min;
+        private final int max;
+
+        SizeConstraint(ConstraintDescriptor<?> descriptor, int min, int max) {
+            super(descriptor);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            if (value == null) {
+                return true;
+            }
+            int size;
+            if (value instanceof CharSequence) {
+                size = ((CharSequence) value).length();
+            } else if (value instanceof Collection) {
+                size = ((Collection<?>) value).size();
+            } else if (value instanceof Map) {
+                size = ((Map<?, ?>) value).size();
+            } else {
+                size = Array.getLength(value);
+            }
+            return size >= min && size <= max;
+        }
+    }
+
+    private static class PatternConstraint extends Constraint {
+
+        private final java.util.regex.Pattern pattern;
+
+        PatternConstraint(ConstraintDescriptor<?> descriptor, java.util.regex.Pattern pattern) {
+            super(descriptor);
+            this.pattern = pattern;
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            return value == null || pattern.matcher((CharSequence) value)
+                    .matches();
+        }
+    }
+
+    /**
+     * {@link Min} or {@link Max}, comparing the numbers like the provider: exactly for the big numbers, by their long value otherwise.
+     */
+    private static class RangeConstraint extends Constraint {
+
+        private final long bound;
+        private final boolean min;
+
+        RangeConstraint(ConstraintDescriptor<?> descriptor, long bound, boolean min) {
+            super(descriptor);
+            this.bound = bound;
+            this.min = min;
+        }
+
+        @Override
+        boolean isValid(Object value) {
+            if (value == null) {
+                return true;
+            }
+            int comparison;
+            if (value instanceof BigDecimal) {
+                comparison = ((BigDecimal) value).compareTo(BigDecimal.valueOf(bound));
+            } else if (value instanceof BigInteger) {
+                comparison = ((BigInteger) value).compareTo(BigInteger.valueOf(bound));
+            } else {
+                long longValue = ((Number) value).longValue();
+                comparison = longValue < bound ? -1 : longValue == bound ? 0 : 1;
+            }
+            return min ? comparison >= 0 : comparison <= 0;
+        }
+    }
+
+    /**
+     * The state of the validation of a graph: the path to the bean being validated and the violations found.
+     */
+    private static class ValidationContext<T> {
+
+        private final T root;
+        private final ValidationMode mode;
+        private final List<Object> ancestors = new ArrayList<>();
+        private final List<ConstraintViolationImpl.PropertyPathNode> path = new ArrayList<>();
+        private boolean inIterable;
+        private Integer index;
+        private Object key;
+        private Set<ConstraintViolation<T>> violations;
+
+        ValidationContext(T root, ValidationMode mode) {
+            this.root = root;
+            this.mode = mode;
+            ancestors.add(root);
+        }
+
+        boolean isStopped() {
+            return mode == ValidationMode.FAIL_FAST && violations != null;
+        }
+
+        boolean isAncestor(Object bean) {
+            for (Object ancestor : ancestors) {
+                if (ancestor == bean) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Enters the cascaded property {@code name} of the current bean.
+         */
+        void enter(String name) {
+            path.add(node(name));
+            inIterable = false;
+            index = null;
+            key = null;
+        }
+
+        /**
+         * Enters an element of the iterable, array or map of the cascaded property.
+         */
+        void setElement(Integer index, Object key) {
+            this.inIterable = true;
+            this.index = index;
+            this.key = key;
+        }
+
+        /**
+         * Goes back to the bean of the cascaded property.
+         */
+        void exit() {
+            ConstraintViolationImpl.PropertyPathNode node = path.remove(path.size() - 1);
+            inIterable = node.isInIterable();
+            index = node.getIndex();
+            key = node.getKey();
+        }
+
+        private ConstraintViolationImpl.PropertyPathNode node(String name) {
+            return new ConstraintViolationImpl.PropertyPathNode(name, inIterable, index, key);
+        }
+
+        void addViolation(Object bean, PropertyCheck check, Constraint constraint, final Object value,
+                          MessageInterpolator messageInterpolator) {
+            final ConstraintDescriptor<?> descriptor = constraint.getDescriptor();
+            String message = messageInterpolator.interpolate(descriptor.getMessageTemplate(), new MessageInterpolator.Context() {
+                @Override
+                public ConstraintDescriptor<?> getConstraintDescriptor() {
+                    return descriptor;
+                }
+
+                @Override
+                public Object getValidatedValue() {
+                    return value;
+                }
+
+                @Override
+                public <U> U unwrap(Class<U> type) {
+                    throw new ValidationException("Type " + type + " not supported");
+                }
+            });
+
+            List<ConstraintViolationImpl.PropertyPathNode> nodes = new ArrayList<>(path);
+            nodes.add(node(check.getName()));
+            if (violations == null) {
+                violations = new LinkedHashSet<>();
+            }
+            violations.add(new ConstraintViolationImpl<>(message, descriptor.getMessageTemplate(), root, bean, value,
+                    new ConstraintViolationImpl.PropertyPath(nodes.toArray(new ConstraintViolationImpl.PropertyPathNode[nodes.size()])), descriptor,
+                    check.getElementType()));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.safecharge.util;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * How thoroughly {@link ValidationUtils} validates the requests built by the request builders.
+ *
+ * @since 10/17/2026
+ */
+public enum ValidationMode {
+
+    /**
+     * All the constraints are checked and all the violations are reported. The default.
+     */
+    ALL,
+
+    /**
+     * All the constraints are checked until the first violation, which is the only one reported.
+     */
+    FAIL_FAST,
+
+    /**
+     * Only the {@link javax.validation.constraints.NotNull} constraints are checked, for trusted requests whose values are known to
+     * be valid otherwise.
+     */
+    MANDATORY_ONLY
+}
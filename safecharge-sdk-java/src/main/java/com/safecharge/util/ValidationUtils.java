@@ -0,0 +1,117 @@
+package com.safecharge.util;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.NotNull;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.safecharge.request.CardTokenizationRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.request.SafechargeRequest;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Utility class for validating the request to Safecharge
+ *
+ * @author <a mailto:nikolad@safecharge.com>Nikola Dichev</a>
+ * @since 2/24/2017
+ */
+public class ValidationUtils {
+
+    private static final Log logger = LogFactory.getLog(ValidationUtils.class);
+
+    private static final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    private static final Validator validator = validatorFactory.getValidator();
+
+    private static final ValidationEngine validationEngine = new ValidationEngine(validator, validatorFactory.getMessageInterpolator());
+
+    private ValidationUtils() {
+    }
+
+    /**
+     * Validates the {@code request} based on its type and returns it or throws a {@code ValidationException}
+     * if any {@link ConstraintViolation} is found. All the constraints are checked, see {@link ValidationMode#ALL}.
+     *
+     * @param request the request object to validate
+     * @param <T>     request type param
+     * @return The validated request(the same object passed as {@code request})
+     * @throws ValidationException if any {@link ConstraintViolation} is found
+     */
+    public static <T extends SafechargeBaseRequest> T validate(T request) throws ValidationException {
+        return validate(request, ValidationMode.ALL);
+    }
+
+    /**
+     * Validates the {@code request} in the given {@link ValidationMode} and returns it or throws a {@code ValidationException}
+     * if any {@link ConstraintViolation} is found.
+     * <p>
+     * The requests containing constraints the validation engine does not compile are validated by the Bean Validation provider,
+     * which checks all their constraints whatever the {@code mode}; the violations outside of the {@code mode} are dropped then, so
+     * that the same violations are reported, but the provider doesn't save the time of the skipped checks.
+     *
+     * @param request the request object to validate
+     * @param mode    which constraints to check and whether to stop at the first violation
+     * @param <T>     request type param
+     * @return The validated request(the same object passed as {@code request})
+     * @throws ValidationException if any {@link ConstraintViolation} is found
+     */
+    public static <T extends SafechargeBaseRequest> T validate(T request, ValidationMode mode) throws ValidationException {
+
+        Set<ConstraintViolation<T>> constraintViolations = validationEngine.validate(request, mode);
+        if (constraintViolations == null) {
+            // the request contains constraints the engine does not compile
+            constraintViolations = select(validator.validate(request), mode);
+        }
+
+        if (constraintViolations != null && !constraintViolations.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            for (ConstraintViolation<T> constraintViolation : constraintViolations) {
+                sb.append(constraintViolation.getMessage())
+                        .append(" ");
+            }
+
+            String errorMessage = sb.toString();
+
+            if (logger.isDebugEnabled()) {
+                logger.debug(errorMessage);
+            }
+
+            throw new ConstraintViolationException(constraintViolations);
+        }
+
+        return request;
+    }
+
+    /**
+     * @return the {@code violations} the {@code mode} reports
+     */
+    private static <T> Set<ConstraintViolation<T>> select(Set<ConstraintViolation<T>> violations, ValidationMode mode) {
+        if (mode == ValidationMode.ALL || violations.isEmpty()) {
+            return violations;
+        }
+        if (mode == ValidationMode.FAIL_FAST) {
+            return Collections.singleton(violations.iterator()
+                    .next());
+        }
+        Set<ConstraintViolation<T>> mandatoryViolations = new LinkedHashSet<>();
+        for (ConstraintViolation<T> violation : violations) {
+            if (violation.getConstraintDescriptor()
+                    .getAnnotation() instanceof NotNull) {
+                mandatoryViolations.add(violation);
+            }
+        }
+        return mandatoryViolations;
+    }
+}
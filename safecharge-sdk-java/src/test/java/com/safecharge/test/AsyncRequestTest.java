@@ -0,0 +1,186 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.SafechargeHttpAsyncClient;
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.GetSessionTokenResponse;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Sends non-blocking requests through clients created by {@link SafechargeHttpAsyncClient} to a local server.
+ *
+ * @since 10/17/2026
+ */
+public class AsyncRequestTest {
+
+    private final CountDownLatch requestReceived = new CountDownLatch(1);
+    private volatile long delayMillis;
+    private HttpServer server;
+    private MerchantInfo merchantInfo;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                requestReceived.countDown();
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread()
+                            .interrupt();
+                }
+                byte[] response = "{\"status\":\"SUCCESS\",\"sessionToken\":\"token\"}".getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                } catch (IOException e) {
+                    // the client is gone
+                }
+            }
+        });
+        server.start();
+        merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testDefaultClient() throws Exception {
+        CloseableHttpAsyncClient httpAsyncClient = SafechargeHttpAsyncClient.createDefault();
+        assertFalse(httpAsyncClient.isRunning());
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setHttpAsyncClient(httpAsyncClient)
+                .build()) {
+            assertTrue(httpAsyncClient.isRunning());
+
+            final AtomicReference<SafechargeResponse> callbackResponse = new AtomicReference<>();
+            final CountDownLatch callbackInvoked = new CountDownLatch(1);
+            Future<SafechargeResponse> response = requestExecutor.executeRequestAsync(createRequest(), new FutureCallback<SafechargeResponse>() {
+                @Override
+                public void completed(SafechargeResponse result) {
+                    callbackResponse.set(result);
+                    callbackInvoked.countDown();
+                }
+
+                @Override
+                public void failed(Exception ex) {
+                    callbackInvoked.countDown();
+                }
+
+                @Override
+                public void cancelled() {
+                    callbackInvoked.countDown();
+                }
+            });
+
+            SafechargeResponse safechargeResponse = response.get(5, TimeUnit.SECONDS);
+            assertTrue(safechargeResponse instanceof GetSessionTokenResponse);
+            assertEquals(Constants.APIResponseStatus.SUCCESS, safechargeResponse.getStatus());
+            assertEquals("token", safechargeResponse.getSessionToken());
+            assertTrue(callbackInvoked.await(5, TimeUnit.SECONDS));
+            assertTrue(callbackResponse.get() == safechargeResponse);
+        }
+        assertFalse(httpAsyncClient.isRunning());
+    }
+
+    @Test
+    public void testCustomClientTimeout() throws Exception {
+        delayMillis = 2000;
+        CloseableHttpAsyncClient httpAsyncClient = SafechargeHttpAsyncClient.custom()
+                .setDefaultConnectionManager()
+                .setMaxConnections(4, 2)
+                .setRequestConfig(RequestConfig.custom()
+                        .setSocketTimeout(200)
+                        .build())
+                .build();
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setHttpAsyncClient(httpAsyncClient)
+                .build()) {
+            Future<SafechargeResponse> response = requestExecutor.executeRequestAsync(createRequest());
+            try {
+                response.get(5, TimeUnit.SECONDS);
+                fail("ExecutionException expected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+        }
+    }
+
+    @Test
+    public void testCancelAbortsTheExchange() throws Exception {
+        delayMillis = 5000;
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setHttpAsyncClient(SafechargeHttpAsyncClient.createDefault())
+                .build()) {
+            final CountDownLatch cancelled = new CountDownLatch(1);
+            Future<SafechargeResponse> response = requestExecutor.executeRequestAsync(createRequest(), new FutureCallback<SafechargeResponse>() {
+                @Override
+                public void completed(SafechargeResponse result) {
+                }
+
+                @Override
+                public void failed(Exception ex) {
+                }
+
+                @Override
+                public void cancelled() {
+                    cancelled.countDown();
+                }
+            });
+            assertTrue(requestReceived.await(5, TimeUnit.SECONDS));
+
+            assertTrue(response.cancel(true));
+            assertTrue(response.isCancelled());
+            assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+
+            // the executor is still usable
+            delayMillis = 0;
+            assertNotNull(requestExecutor.executeRequestAsync(createRequest())
+                    .get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private SafechargeBaseRequest createRequest() {
+        return GetSessionTokenRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.BufferPoolMetrics;
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.APIConstants;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Sends {@link String} requests through pooled buffers to a local server echoing them back.
+ *
+ * @since 10/17/2026
+ */
+public class BufferPoolTest {
+
+    private static final String ENDPOINT = "api/v1/getSessionToken.do";
+
+    private final AtomicBoolean holdNextRequest = new AtomicBoolean();
+    private final CountDownLatch requestHeld = new CountDownLatch(1);
+    private final CountDownLatch releaseHeldRequest = new CountDownLatch(1);
+    private HttpServer server;
+    private String serviceUrl;
+    private MerchantInfo merchantInfo;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                ByteArrayOutputStream request = new ByteArrayOutputStream();
+                InputStream in = exchange.getRequestBody();
+                byte[] buffer = new byte[1024];
+                int n;
+                while ((n = in.read(buffer)) >= 0) {
+                    request.write(buffer, 0, n);
+                }
+                if (holdNextRequest.compareAndSet(true, false)) {
+                    requestHeld.countDown();
+                    try {
+                        releaseHeldRequest.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread()
+                                .interrupt();
+                    }
+                }
+                exchange.getResponseHeaders()
+                        .set("Content-Type", "application/json; charset=UTF-8");
+                exchange.sendResponseHeaders(200, request.size());
+                try (OutputStream out = exchange.getResponseBody()) {
+                    request.writeTo(out);
+                }
+            }
+        });
+        server.start();
+        serviceUrl = "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/" + ENDPOINT;
+        merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+    }
+
+    @After
+    public void stopServer() {
+        releaseHeldRequest.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testBuffersAreReused() throws IOException {
+        StringBuilder request = new StringBuilder("{\"reason\":\"");
+        for (int i = 0; i < 500; i++) {
+            request.append("é€😀 ");
+        }
+        request.append("\"}");
+
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .build()) {
+            assertEquals("{\"reason\":\"?\"}", requestExecutor.executeRequest("{\"reason\":\"\uD83D\"}", serviceUrl,
+                    APIConstants.REQUEST_HEADERS, GetSessionTokenRequest.class));
+            for (int i = 0; i < 5; i++) {
+                assertEquals(request.toString(), requestExecutor.executeRequest(request.toString(), serviceUrl, APIConstants.REQUEST_HEADERS,
+                        GetSessionTokenRequest.class));
+            }
+
+            BufferPoolMetrics metrics = requestExecutor.getBufferPoolMetrics();
+            int bodySize = request.toString()
+                    .getBytes("UTF-8").length;
+            assertTrue(metrics.getRequestSizeHints()
+                    .get(ENDPOINT) >= bodySize);
+            assertTrue(metrics.getResponseSizeHints()
+                    .get(ENDPOINT) >= bodySize);
+            // the first request and response grow their buffers to the body size, the following ones start with a buffer large enough
+            assertTrue(metrics.toString(), metrics.getHits() >= 10);
+            assertTrue(metrics.getPooledBytes() > 0);
+        }
+    }
+
+    @Test
+    public void testRequestBodyBuffersAreReused() throws Exception {
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .build()) {
+            BufferPoolMetrics metrics = requestExecutor.getBufferPoolMetrics();
+            for (int i = 0; i < 5; i++) {
+                assertNotNull(requestExecutor.executeRequest(createGetSessionTokenRequest()));
+            }
+            assertEquals(1, metrics.getMisses());
+            assertEquals(4, metrics.getHits());
+            long pooledBytes = metrics.getPooledBytes();
+            assertTrue(pooledBytes > 0);
+
+            // the request in flight holds the pooled buffer it is sent from, and returns it once completed
+            holdNextRequest.set(true);
+            Future<SafechargeResponse> response = requestExecutor.executeRequestAsync(createGetSessionTokenRequest());
+            assertTrue(requestHeld.await(5, TimeUnit.SECONDS));
+            assertEquals(0, metrics.getPooledBytes());
+            releaseHeldRequest.countDown();
+            assertNotNull(response.get(5, TimeUnit.SECONDS));
+            assertEquals(pooledBytes, metrics.getPooledBytes());
+            assertEquals(1, metrics.getMisses());
+            assertEquals(5, metrics.getHits());
+        }
+    }
+
+    @Test
+    public void testBufferPoolCanBeDisabled() throws IOException {
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setBufferPool(0)
+                .build()) {
+            assertEquals("{}", requestExecutor.executeRequest("{}", serviceUrl, APIConstants.REQUEST_HEADERS, GetSessionTokenRequest.class));
+            assertNull(requestExecutor.getBufferPoolMetrics());
+        }
+    }
+
+    private SafechargeBaseRequest createGetSessionTokenRequest() {
+        return GetSessionTokenRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .build();
+    }
+}
@@ -0,0 +1,211 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.BulkheadMetrics;
+import com.safecharge.biz.EndpointGroup;
+import com.safecharge.biz.SafechargeClientBuilder;
+import com.safecharge.biz.SafechargeHttpAsyncClient;
+import com.safecharge.biz.SafechargeHttpClient;
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.exception.SafechargeConfigurationException;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetOrderDetailsRequest;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Saturates the bulkhead of the reporting endpoints of an executor against a local server.
+ *
+ * @since 10/17/2026
+ */
+public class BulkheadTest {
+
+    private final CountDownLatch reportingRequestReceived = new CountDownLatch(1);
+    private final CountDownLatch releaseReportingRequest = new CountDownLatch(1);
+    private final AtomicInteger reportingRequests = new AtomicInteger();
+    private HttpServer server;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                if (exchange.getRequestURI()
+                        .getPath()
+                        .endsWith("getOrderDetails.do")) {
+                    reportingRequests.incrementAndGet();
+                    reportingRequestReceived.countDown();
+                    try {
+                        releaseReportingRequest.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread()
+                                .interrupt();
+                    }
+                }
+                byte[] response = "{\"status\":\"SUCCESS\"}".getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        releaseReportingRequest.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testSaturatedGroupDoesNotBlockOtherGroups() throws Exception {
+        final SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setBulkhead(EndpointGroup.REPORTING, 1, 50, TimeUnit.MILLISECONDS)
+                .build();
+        final MerchantInfo merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<SafechargeResponse> slowResponse = callers.submit(new Callable<SafechargeResponse>() {
+                @Override
+                public SafechargeResponse call() {
+                    return requestExecutor.executeRequest(createGetOrderDetailsRequest(merchantInfo));
+                }
+            });
+            assertTrue(reportingRequestReceived.await(5, TimeUnit.SECONDS));
+
+            BulkheadMetrics metrics = requestExecutor.getBulkheadMetrics()
+                    .get(EndpointGroup.REPORTING);
+            assertEquals(1, metrics.getActiveRequests());
+            assertNull(requestExecutor.executeRequest(createGetOrderDetailsRequest(merchantInfo)));
+            assertEquals(1, metrics.getRejectedRequests());
+
+            assertNotNull(requestExecutor.executeRequest(GetSessionTokenRequest.builder()
+                    .addMerchantInfo(merchantInfo)
+                    .build()));
+
+            releaseReportingRequest.countDown();
+            assertNotNull(slowResponse.get(5, TimeUnit.SECONDS));
+            assertEquals(0, metrics.getActiveRequests());
+            assertEquals(0, metrics.getQueuedRequests());
+        } finally {
+            callers.shutdownNow();
+            requestExecutor.close();
+        }
+    }
+
+    @Test
+    public void testRejectedAsyncRequestReleasesThePermit() throws Exception {
+        CloseableHttpAsyncClient httpAsyncClient = SafechargeHttpAsyncClient.createDefault();
+        SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setHttpAsyncClient(httpAsyncClient)
+                .setBulkhead(EndpointGroup.REPORTING, 1, 0, TimeUnit.MILLISECONDS)
+                .build();
+        MerchantInfo merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+        try {
+            httpAsyncClient.close();
+            BulkheadMetrics metrics = requestExecutor.getBulkheadMetrics()
+                    .get(EndpointGroup.REPORTING);
+            for (int i = 0; i < 3; i++) {
+                Future<SafechargeResponse> response = requestExecutor.executeRequestAsync(createGetOrderDetailsRequest(merchantInfo));
+                try {
+                    response.get(5, TimeUnit.SECONDS);
+                    fail("The closed client sent the request");
+                } catch (ExecutionException e) {
+                    assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof IllegalStateException);
+                }
+                assertEquals(0, metrics.getActiveRequests());
+            }
+            assertEquals(0, metrics.getRejectedRequests());
+        } finally {
+            requestExecutor.close();
+        }
+    }
+
+    @Test
+    public void testDefaultConnectionPoolFitsTheBulkheads() throws Exception {
+        int maxConcurrentRequests = SafechargeClientBuilder.DEFAULT_MAX_CONNECTIONS_PER_ROUTE + 2;
+        final SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setBulkhead(EndpointGroup.REPORTING, maxConcurrentRequests, 5, TimeUnit.SECONDS)
+                .build();
+        final MerchantInfo merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+        ExecutorService callers = Executors.newFixedThreadPool(maxConcurrentRequests);
+        try {
+            for (int i = 0; i < maxConcurrentRequests; i++) {
+                callers.submit(new Callable<SafechargeResponse>() {
+                    @Override
+                    public SafechargeResponse call() {
+                        return requestExecutor.executeRequest(createGetOrderDetailsRequest(merchantInfo));
+                    }
+                });
+            }
+            // every request admitted by the bulkhead gets a connection
+            long deadline = System.currentTimeMillis() + 5000;
+            while (reportingRequests.get() < maxConcurrentRequests && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(maxConcurrentRequests, reportingRequests.get());
+        } finally {
+            releaseReportingRequest.countDown();
+            callers.shutdown();
+            callers.awaitTermination(5, TimeUnit.SECONDS);
+            requestExecutor.close();
+        }
+    }
+
+    @Test(expected = SafechargeConfigurationException.class)
+    public void testBulkheadsMustFitTheConnectionPool() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setDefaultMaxPerRoute(4);
+        SafechargeRequestExecutor.builder()
+                .setHttpClient(SafechargeHttpClient.custom()
+                        .setConnectionManager(connectionManager)
+                        .build())
+                .setConnectionManager(connectionManager)
+                .setBulkhead(EndpointGroup.REPORTING, 3, 0, TimeUnit.MILLISECONDS)
+                .setBulkhead(EndpointGroup.PAYMENTS, 2, 0, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static GetOrderDetailsRequest createGetOrderDetailsRequest(MerchantInfo merchantInfo) {
+        return (GetOrderDetailsRequest) GetOrderDetailsRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .addSessionToken("ef8bb6b8-5b70-4b8f-9bfc-8c5b0e1cc5a3")
+                .addOrderId("12345")
+                .build();
+    }
+}
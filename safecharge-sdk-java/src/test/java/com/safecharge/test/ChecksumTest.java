@@ -0,0 +1,238 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.safecharge.biz.codec.GsonJsonCodec;
+import com.safecharge.biz.codec.JsonCodec;
+import com.safecharge.model.UrlDetails;
+import com.safecharge.model.UserDetailsCashier;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.util.ChecksumUtils;
+import com.safecharge.util.Constants;
+import com.safecharge.util.ValidChecksum;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Verifies that {@link ChecksumUtils} calculates the same checksums as a field by field reflective walk of the checksum order mappings
+ * hashing the concatenated text.
+ *
+ * @since 10/17/2026
+ */
+public class ChecksumTest {
+
+    private static final String KEY = "dBR3jVr6bVqAlfMbOpd0jKVMuwUDkcH4u4ATsBNvmJnjexMDD6KKlN7eTqVlthFv";
+    private static final String ENCODING = "UTF-8";
+
+    private final JsonCodec jsonCodec = new GsonJsonCodec();
+
+    @Test
+    public void testRequestChecksums() throws Exception {
+        for (Map.Entry<String, Class<?>> request : JsonFixtures.REQUESTS.entrySet()) {
+            Object value = jsonCodec.decode(JsonFixtures.load(request.getKey()), request.getValue());
+            for (Constants.HashAlgorithm hashAlgorithm : Constants.HashAlgorithm.values()) {
+                String checksum = ChecksumUtils.calculateChecksum(value, KEY, ENCODING, hashAlgorithm);
+                assertNotNull(request.getKey(), checksum);
+                assertEquals(request.getKey(), ReflectiveChecksum.calculate(value, KEY, ENCODING, hashAlgorithm), checksum);
+            }
+        }
+    }
+
+    @Test
+    public void testNestedValues() throws Exception {
+        UrlDetails urlDetails = new UrlDetails();
+        urlDetails.setSuccessUrl("http://success");
+        urlDetails.setNotificationUrl("http://notification");
+        UserDetailsCashier userDetails = new UserDetailsCashier();
+        userDetails.setFirstName("John");
+        userDetails.setCity("Sofia");
+        Map<String, Object> innerMap = new LinkedHashMap<>();
+        innerMap.put("a", Arrays.asList("x", userDetails));
+        innerMap.put("b", null);
+        innerMap.put("c", 42);
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("list", Arrays.asList("1", "2"));
+        map.put("map", innerMap);
+        map.put("value", "v");
+
+        ChecksumRequest request = new ExtendedChecksumRequest();
+        request.merchantId = Arrays.<Object>asList("m", userDetails, 7);
+        request.merchantSiteId = map;
+        request.clientRequestId = urlDetails;
+        request.amount = "10.00";
+
+        assertEquals(ReflectiveChecksum.calculate(request, KEY, ENCODING, Constants.HashAlgorithm.SHA256), ChecksumUtils.calculateChecksum(request,
+                KEY, ENCODING, Constants.HashAlgorithm.SHA256));
+        assertNull(ChecksumUtils.calculateChecksum(urlDetails.getSuccessUrl(), KEY, ENCODING, Constants.HashAlgorithm.SHA256));
+    }
+
+    @Test
+    public void testEncoding() throws Exception {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            longValue.append("a\u00e9\u20ac\ud83d\ude00");
+        }
+        GetSessionTokenRequest request = new GetSessionTokenRequest();
+        request.setMerchantId("123");
+        request.setMerchantSiteId("456");
+        request.setClientRequestId(longValue.toString());
+        request.setTimeStamp("20261017120000");
+        for (Constants.HashAlgorithm hashAlgorithm : Constants.HashAlgorithm.values()) {
+            for (int i = 0; i < 2; i++) {
+                assertChecksum(request, KEY, ENCODING, hashAlgorithm);
+                assertChecksum(request, "k\u00e9y", ENCODING, hashAlgorithm);
+            }
+        }
+        request.setMerchantSiteId("457");
+        assertChecksum(request, KEY, ENCODING, Constants.HashAlgorithm.SHA256);
+        request.setClientRequestId("caf\u00e9");
+        assertChecksum(request, KEY, "ISO-8859-1", Constants.HashAlgorithm.SHA256);
+
+        // a surrogate pair split between two values
+        request.setClientRequestId("a\ud83d");
+        request.setTimeStamp("\ude00b");
+        assertChecksum(request, KEY, ENCODING, Constants.HashAlgorithm.SHA256);
+
+        request.setTimeStamp("b");
+        assertNull(ChecksumUtils.calculateChecksum(request, KEY, ENCODING, Constants.HashAlgorithm.SHA256));
+        request.setClientRequestId("\ude00");
+        assertNull(ChecksumUtils.calculateChecksum(request, KEY, ENCODING, Constants.HashAlgorithm.SHA256));
+    }
+
+    private void assertChecksum(Object request, String key, String encoding, Constants.HashAlgorithm hashAlgorithm) throws Exception {
+        assertEquals(ReflectiveChecksum.calculate(request, key, encoding, hashAlgorithm), ChecksumUtils.calculateChecksum(request, key,
+                encoding, hashAlgorithm));
+    }
+
+    @ValidChecksum(orderMappingName = Constants.ChecksumOrderMapping.API_GENERIC_CHECKSUM_MAPPING)
+    private static class ChecksumRequest {
+
+        private List<Object> merchantId;
+        private Map<String, Object> merchantSiteId;
+        private Object clientRequestId;
+        private String amount;
+    }
+
+    @ValidChecksum(orderMappingName = Constants.ChecksumOrderMapping.API_GENERIC_CHECKSUM_MAPPING)
+    private static class ExtendedChecksumRequest extends ChecksumRequest {
+
+        private String currency = "EUR";
+    }
+
+    /**
+     * The checksum calculation looking up every field by name in the class hierarchy, as {@link ChecksumUtils} used to.
+     */
+    private static class ReflectiveChecksum {
+
+        static String calculate(Object apiRequest, String key, String encoding, Constants.HashAlgorithm hashAlgorithm) throws Exception {
+            List<String> paramsOrder = getOrder(apiRequest.getClass()
+                    .getAnnotation(ValidChecksum.class));
+            StringBuilder sb = new StringBuilder();
+            for (String parameterName : paramsOrder) {
+                Object fieldValue = getObject(apiRequest, parameterName);
+                if (fieldValue != null) {
+                    ValidChecksum innerObjectAnnotation = fieldValue.getClass()
+                            .getAnnotation(ValidChecksum.class);
+                    if (innerObjectAnnotation != null) {
+                        for (String innerParameterName : getOrder(innerObjectAnnotation)) {
+                            Object innerFieldValue = getObject(fieldValue, innerParameterName);
+                            if (innerFieldValue != null) {
+                                sb.append(innerFieldValue);
+                            }
+                        }
+                    } else if (fieldValue instanceof List) {
+                        sb.append(listValues((List) fieldValue));
+                    } else if (fieldValue instanceof Map) {
+                        sb.append(mapValues((Map<Object, Object>) fieldValue));
+                    } else {
+                        sb.append(fieldValue);
+                    }
+                }
+            }
+            sb.append(key);
+            return hash(sb.toString(), encoding, hashAlgorithm);
+        }
+
+        private static String listValues(List fieldValues) throws Exception {
+            StringBuilder sb = new StringBuilder();
+            for (Object object : fieldValues) {
+                ValidChecksum annotation = object.getClass()
+                        .getAnnotation(ValidChecksum.class);
+                if (annotation != null) {
+                    for (String parameterName : getOrder(annotation)) {
+                        Object value = getObject(object, parameterName);
+                        if (value instanceof Map) {
+                            sb.append(mapValues((Map<Object, Object>) value));
+                        } else if (value != null) {
+                            sb.append(value);
+                        }
+                    }
+                } else {
+                    sb.append(object.toString());
+                }
+            }
+            return sb.toString();
+        }
+
+        private static String mapValues(Map<Object, Object> data) throws Exception {
+            StringBuilder sb = new StringBuilder();
+            for (Object key : data.keySet()) {
+                Object value = data.get(key);
+                if (value instanceof List) {
+                    sb.append(listValues((List) value));
+                } else if (value instanceof Map) {
+                    sb.append(mapValues((Map) value));
+                } else if (value != null) {
+                    sb.append(value);
+                }
+            }
+            return sb.toString();
+        }
+
+        private static Object getObject(Object object, String fieldName) throws IllegalAccessException {
+            for (Class<?> clazz = object.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+                try {
+                    Field field = clazz.getDeclaredField(fieldName);
+                    field.setAccessible(true);
+                    return field.get(object);
+                } catch (NoSuchFieldException e) {
+                    // look in the super class
+                }
+            }
+            return null;
+        }
+
+        private static List<String> getOrder(ValidChecksum annotation) throws Exception {
+            Field requestChecksumOrder = ChecksumUtils.class.getDeclaredField("requestChecksumOrder");
+            requestChecksumOrder.setAccessible(true);
+            return ((Map<String, List<String>>) requestChecksumOrder.get(null)).get(annotation.orderMappingName()
+                    .name());
+        }
+
+        private static String hash(String text, String encoding, Constants.HashAlgorithm hashAlgorithm) throws NoSuchAlgorithmException,
+                IOException {
+            byte[] bytes = MessageDigest.getInstance(hashAlgorithm.getAlgorithm())
+                    .digest(text.getBytes(Charset.forName(encoding)));
+            StringBuilder sb = new StringBuilder(2 * bytes.length);
+            for (byte b : bytes) {
+                sb.append(Constants.HEXADECIMAL[(b & 0xf0) >> 4]);
+                sb.append(Constants.HEXADECIMAL[b & 0x0f]);
+            }
+            return sb.toString();
+        }
+    }
+}
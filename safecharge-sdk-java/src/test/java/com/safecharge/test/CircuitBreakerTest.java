@@ -0,0 +1,157 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.CircuitBreakerConfig;
+import com.safecharge.biz.CircuitBreakerListener;
+import com.safecharge.biz.CircuitBreakerMetrics;
+import com.safecharge.biz.CircuitBreakerState;
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.GetSessionTokenResponse;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Opens, half opens and closes the circuit breaker of an endpoint against a local server.
+ *
+ * @since 10/17/2026
+ */
+public class CircuitBreakerTest {
+
+    private final AtomicBoolean failing = new AtomicBoolean(true);
+    private final AtomicBoolean malformed = new AtomicBoolean();
+    private final AtomicInteger receivedRequests = new AtomicInteger();
+    private HttpServer server;
+    private MerchantInfo merchantInfo;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                receivedRequests.incrementAndGet();
+                String json = failing.get() ? "{\"status\":\"ERROR\",\"errCode\":1038,\"errorType\":\"COMMUNICATION_ERROR\"}"
+                        : "{\"status\":\"SUCCESS\"}";
+                byte[] response = (malformed.get() ? "{\"status\":[" : json).getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+        merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testCircuitBreakerLifecycle() throws Exception {
+        final List<String> transitions = Collections.synchronizedList(new ArrayList<String>());
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setCircuitBreaker(CircuitBreakerConfig.builder()
+                        .setFailureRateThreshold(50)
+                        .setSlidingWindow(4, 4)
+                        .setHalfOpen(100, TimeUnit.MILLISECONDS, 1)
+                        .build())
+                .setCircuitBreakerListener(new CircuitBreakerListener() {
+                    @Override
+                    public void onStateTransition(CircuitBreakerMetrics metrics, CircuitBreakerState fromState, CircuitBreakerState toState) {
+                        transitions.add(fromState + "->" + toState);
+                    }
+                })
+                .build()) {
+            for (int i = 0; i < 4; i++) {
+                requestExecutor.executeRequest(createGetSessionTokenRequest());
+            }
+            CircuitBreakerMetrics metrics = requestExecutor.getCircuitBreakerMetrics()
+                    .get("api/v1/getSessionToken.do");
+            assertEquals(CircuitBreakerState.OPEN, metrics.getState());
+
+            SafechargeResponse response = requestExecutor.executeRequest(createGetSessionTokenRequest());
+            assertTrue(response instanceof GetSessionTokenResponse);
+            assertEquals(Constants.APIResponseStatus.ERROR, response.getStatus());
+            assertEquals(Constants.ErrorType.COMMUNICATION_ERROR, response.getErrorType());
+            assertEquals(Constants.ERR_CODE_COMMUNICATION_ERROR, response.getErrCode());
+            assertEquals(Constants.ErrorType.COMMUNICATION_ERROR, requestExecutor.executeRequestAsync(createGetSessionTokenRequest())
+                    .get(5, TimeUnit.SECONDS)
+                    .getErrorType());
+            assertEquals(4, receivedRequests.get());
+            assertEquals(2, metrics.getNotPermittedCalls());
+
+            failing.set(false);
+            Thread.sleep(150);
+            assertEquals(Constants.APIResponseStatus.SUCCESS, requestExecutor.executeRequest(createGetSessionTokenRequest())
+                    .getStatus());
+            assertEquals(CircuitBreakerState.CLOSED, metrics.getState());
+            assertEquals(Arrays.asList("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+        }
+    }
+
+    @Test
+    public void testMalformedResponsesAreNotFailures() throws Exception {
+        malformed.set(true);
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setCircuitBreaker(CircuitBreakerConfig.builder()
+                        .setFailureRateThreshold(50)
+                        .setSlidingWindow(4, 4)
+                        .build())
+                .build()) {
+            for (int i = 0; i < 4; i++) {
+                assertNull(requestExecutor.executeRequest(createGetSessionTokenRequest()));
+                try {
+                    requestExecutor.executeRequestAsync(createGetSessionTokenRequest())
+                            .get(5, TimeUnit.SECONDS);
+                    fail("The malformed response should fail the request");
+                } catch (ExecutionException e) {
+                    // expected
+                }
+            }
+            CircuitBreakerMetrics metrics = requestExecutor.getCircuitBreakerMetrics()
+                    .get("api/v1/getSessionToken.do");
+            assertEquals(CircuitBreakerState.CLOSED, metrics.getState());
+            assertEquals(0, metrics.getBufferedCalls());
+            assertEquals(8, receivedRequests.get());
+        }
+    }
+
+    private SafechargeBaseRequest createGetSessionTokenRequest() {
+        return GetSessionTokenRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.CompressionMetrics;
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.APIConstants;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Exchanges gzipped requests and responses with a local server, and checks how the request bodies are framed.
+ *
+ * @since 10/17/2026
+ */
+public class CompressionTest {
+
+    private static final String ENDPOINT = "api/v1/getSessionToken.do";
+
+    private HttpServer server;
+    private MerchantInfo merchantInfo;
+    private volatile String acceptEncoding;
+    private volatile String contentEncoding;
+    private volatile String contentLength;
+    private volatile String transferEncoding;
+    private volatile String requestBody;
+    private String responseBody;
+
+    @Before
+    public void startServer() throws IOException {
+        StringBuilder reason = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            reason.append("compressible ");
+        }
+        responseBody = "{\"sessionToken\":\"ef8bb6b8-5b70-4b8f-9bfc-8c5b0e1cc5a3\",\"status\":\"SUCCESS\",\"reason\":\"" + reason + "\"}";
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                acceptEncoding = exchange.getRequestHeaders()
+                        .getFirst("Accept-Encoding");
+                contentEncoding = exchange.getRequestHeaders()
+                        .getFirst("Content-Encoding");
+                contentLength = exchange.getRequestHeaders()
+                        .getFirst("Content-Length");
+                transferEncoding = exchange.getRequestHeaders()
+                        .getFirst("Transfer-Encoding");
+                InputStream in = exchange.getRequestBody();
+                requestBody = new String(readFully("gzip".equals(contentEncoding) ? new GZIPInputStream(in) : in), "UTF-8");
+
+                byte[] response = responseBody.getBytes("UTF-8");
+                if ("gzip".equals(acceptEncoding)) {
+                    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                    try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                        gzip.write(response);
+                    }
+                    response = compressed.toByteArray();
+                    exchange.getResponseHeaders()
+                            .set("Content-Encoding", "gzip");
+                }
+                exchange.getResponseHeaders()
+                        .set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+        merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testGzippedResponsesAreDecompressed() throws IOException {
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .build()) {
+            SafechargeResponse response = requestExecutor.executeRequest(createGetSessionTokenRequest());
+            assertEquals("gzip", acceptEncoding);
+            assertNull(contentEncoding);
+            assertEquals(Constants.APIResponseStatus.SUCCESS, response.getStatus());
+            assertEquals("ef8bb6b8-5b70-4b8f-9bfc-8c5b0e1cc5a3", response.getSessionToken());
+
+            String responseJSON = requestExecutor.executeRequest("{}", merchantInfo.getServerHost() + ENDPOINT,
+                    APIConstants.REQUEST_HEADERS, GetSessionTokenRequest.class);
+            assertEquals(responseBody, responseJSON);
+
+            CompressionMetrics metrics = requestExecutor.getCompressionMetrics()
+                    .get(ENDPOINT);
+            assertEquals(2, metrics.getCompressedResponses());
+            assertEquals(2 * responseBody.length(), metrics.getResponseBytes());
+            assertTrue(metrics.getCompressedResponseBytes() < metrics.getResponseBytes() / 4);
+            assertEquals(0, metrics.getRequestBytes());
+        }
+    }
+
+    @Test
+    public void testRequestsHaveContentLength() throws IOException {
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .build()) {
+            assertNotNull(requestExecutor.executeRequest(createGetSessionTokenRequest()));
+            assertNull(transferEncoding);
+            assertEquals(String.valueOf(requestBody.getBytes("UTF-8").length), contentLength);
+        }
+
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setChunkedRequests(true)
+                .build()) {
+            assertNotNull(requestExecutor.executeRequest(createGetSessionTokenRequest()));
+            assertEquals("chunked", transferEncoding);
+            assertNull(contentLength);
+            assertTrue(requestBody.startsWith("{"));
+        }
+    }
+
+    @Test
+    public void testLargeRequestsAreGzipped() throws IOException {
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setResponseCompression(false)
+                .setRequestCompression(100)
+                .build()) {
+            SafechargeResponse response = requestExecutor.executeRequest(createGetSessionTokenRequest());
+            assertNull(acceptEncoding);
+            assertEquals("gzip", contentEncoding);
+            assertTrue(requestBody.contains("\"merchantSiteId\":\"456\""));
+            assertEquals(Constants.APIResponseStatus.SUCCESS, response.getStatus());
+
+            CompressionMetrics metrics = requestExecutor.getCompressionMetrics()
+                    .get(ENDPOINT);
+            assertEquals(1, metrics.getCompressedRequests());
+            assertEquals(requestBody.length(), metrics.getRequestBytes());
+            assertTrue(metrics.getCompressedRequestBytes() < metrics.getRequestBytes());
+            assertEquals(0, metrics.getCompressedResponses());
+            assertEquals(metrics.getResponseBytes(), metrics.getCompressedResponseBytes());
+
+            requestExecutor.executeRequest("{}", merchantInfo.getServerHost() + ENDPOINT, APIConstants.REQUEST_HEADERS,
+                    GetSessionTokenRequest.class);
+            assertNull(contentEncoding);
+            assertEquals("{}", requestBody);
+            assertEquals(1, metrics.getCompressedRequests());
+        }
+    }
+
+    private SafechargeBaseRequest createGetSessionTokenRequest() {
+        return GetSessionTokenRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .build();
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
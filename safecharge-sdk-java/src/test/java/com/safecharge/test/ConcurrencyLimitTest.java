@@ -0,0 +1,189 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.AimdLimit;
+import com.safecharge.biz.ConcurrencyLimit;
+import com.safecharge.biz.ConcurrencyLimiterMetrics;
+import com.safecharge.biz.EndpointGroup;
+import com.safecharge.biz.GradientLimit;
+import com.safecharge.biz.OverflowPolicy;
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.exception.SafechargeConfigurationException;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Checks how the concurrency limit algorithms adapt to the round trip times, and the limiter of an executor against a local server.
+ *
+ * @since 10/17/2026
+ */
+public class ConcurrencyLimitTest {
+
+    private static final long FAST_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW_RTT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final CountDownLatch requestReceived = new CountDownLatch(1);
+    private final CountDownLatch releaseRequest = new CountDownLatch(1);
+    private HttpServer server;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                requestReceived.countDown();
+                try {
+                    releaseRequest.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread()
+                            .interrupt();
+                }
+                byte[] response = "{\"status\":\"SUCCESS\"}".getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        releaseRequest.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testAimdLimit() {
+        ConcurrencyLimit limit = new AimdLimit(10, 1, 20, 0.5, 1, TimeUnit.SECONDS);
+        limit.onSample(FAST_RTT, 2, false);
+        assertEquals("not enough load to grow", 10, limit.getLimit());
+        limit.onSample(FAST_RTT, 5, false);
+        assertEquals(11, limit.getLimit());
+        limit.onSample(FAST_RTT, 5, true);
+        assertEquals(5, limit.getLimit());
+        limit.onSample(TimeUnit.SECONDS.toNanos(2), 5, false);
+        assertEquals(2, limit.getLimit());
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST_RTT, 20, false);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    public void testGradientLimit() {
+        ConcurrencyLimit limit = new GradientLimit(10, 1, 50, 1.5, 0.2, 100);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(FAST_RTT, limit.getLimit(), false);
+        }
+        int grownLimit = limit.getLimit();
+        assertTrue("grows while the latency is steady: " + grownLimit, grownLimit > 10);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(SLOW_RTT, limit.getLimit(), false);
+        }
+        assertTrue("shrinks when the latency rises: " + limit.getLimit(), limit.getLimit() < grownLimit);
+    }
+
+    @Test
+    public void testRequestsOverTheLimitAreRejected() throws Exception {
+        final SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setConcurrencyLimit(new AimdLimit(1, 1, 1, 0.9, 5, TimeUnit.SECONDS), OverflowPolicy.REJECT, 0, TimeUnit.MILLISECONDS)
+                .setConcurrencyLimit(EndpointGroup.PAYMENTS, new GradientLimit(), OverflowPolicy.QUEUE, 1, TimeUnit.SECONDS)
+                .build();
+        final MerchantInfo merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<SafechargeResponse> slowResponse = callers.submit(new Callable<SafechargeResponse>() {
+                @Override
+                public SafechargeResponse call() {
+                    return requestExecutor.executeRequest(createGetSessionTokenRequest(merchantInfo));
+                }
+            });
+            assertTrue(requestReceived.await(5, TimeUnit.SECONDS));
+
+            ConcurrencyLimiterMetrics metrics = requestExecutor.getConcurrencyLimiterMetrics();
+            ConcurrencyLimiterMetrics paymentsMetrics = requestExecutor.getEndpointGroupConcurrencyLimiterMetrics()
+                    .get(EndpointGroup.PAYMENTS);
+            assertEquals(1, metrics.getLimit());
+            assertEquals(1, metrics.getInFlightRequests());
+            assertEquals(1, paymentsMetrics.getInFlightRequests());
+            assertNull(requestExecutor.executeRequest(createGetSessionTokenRequest(merchantInfo)));
+            assertEquals(1, metrics.getRejectedRequests());
+            assertEquals(0, paymentsMetrics.getRejectedRequests());
+
+            releaseRequest.countDown();
+            assertNotNull(slowResponse.get(5, TimeUnit.SECONDS));
+            assertEquals(0, metrics.getInFlightRequests());
+            assertEquals(0, paymentsMetrics.getInFlightRequests());
+            assertEquals(0, paymentsMetrics.getQueuedRequests());
+            assertNotNull(requestExecutor.executeRequest(createGetSessionTokenRequest(merchantInfo)));
+        } finally {
+            callers.shutdownNow();
+            requestExecutor.close();
+        }
+    }
+
+    @Test
+    public void testLimitCannotBeSharedBetweenExecutors() throws IOException {
+        SafechargeRequestExecutor.Builder builder = SafechargeRequestExecutor.builder()
+                .setConcurrencyLimit(new AimdLimit(), OverflowPolicy.REJECT, 0, TimeUnit.MILLISECONDS);
+        SafechargeRequestExecutor requestExecutor = builder.build();
+        try {
+            builder.build();
+            fail("SafechargeConfigurationException expected");
+        } catch (SafechargeConfigurationException e) {
+            // the limit holds the state of the first executor
+        } finally {
+            requestExecutor.close();
+        }
+        builder.setConcurrencyLimit(new AimdLimit(), OverflowPolicy.REJECT, 0, TimeUnit.MILLISECONDS)
+                .build()
+                .close();
+    }
+
+    @Test(expected = SafechargeConfigurationException.class)
+    public void testLimitCannotBeSharedBetweenEndpointGroups() {
+        GradientLimit limit = new GradientLimit();
+        SafechargeRequestExecutor.builder()
+                .setConcurrencyLimit(EndpointGroup.PAYMENTS, limit, OverflowPolicy.QUEUE, 1, TimeUnit.SECONDS)
+                .setConcurrencyLimit(EndpointGroup.REPORTING, limit, OverflowPolicy.QUEUE, 1, TimeUnit.SECONDS)
+                .build();
+    }
+
+    private static SafechargeBaseRequest createGetSessionTokenRequest(MerchantInfo merchantInfo) {
+        return GetSessionTokenRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.ConnectionMaintenanceMetrics;
+import com.safecharge.biz.SafechargeHttpClient;
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.exception.SafechargeConfigurationException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Pre-warms and evicts the pooled connections of an executor against a local server.
+ *
+ * @since 10/17/2026
+ */
+public class ConnectionMaintenanceTest {
+
+    private final CountDownLatch keepAliveRequests = new CountDownLatch(4);
+    private HttpServer server;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                if ("HEAD".equals(exchange.getRequestMethod())) {
+                    keepAliveRequests.countDown();
+                }
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testConnectionsArePrewarmedAndKeptAlive() throws Exception {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setHttpClient(SafechargeHttpClient.custom()
+                        .setConnectionManager(connectionManager)
+                        .build())
+                .setConnectionManager(connectionManager)
+                .setPrewarmedConnections(getServerHost(), 2)
+                .setKeepAliveInterval(50, TimeUnit.MILLISECONDS)
+                .build();
+        try {
+            assertEquals(2, connectionManager.getTotalStats()
+                    .getAvailable());
+
+            // the pool holds enough idle connections, so they are left alone
+            Thread.sleep(250);
+            assertEquals(2, keepAliveRequests.getCount());
+
+            connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+            assertTrue(keepAliveRequests.await(5, TimeUnit.SECONDS));
+            assertEquals(2, connectionManager.getTotalStats()
+                    .getAvailable() + connectionManager.getTotalStats()
+                    .getLeased());
+        } finally {
+            requestExecutor.close();
+        }
+    }
+
+    @Test
+    public void testIdleConnectionsAreEvicted() throws Exception {
+        SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setPrewarmedConnections(getServerHost(), 2)
+                .setKeepAliveInterval(0, TimeUnit.MILLISECONDS)
+                .setConnectionEviction(100, 20, TimeUnit.MILLISECONDS)
+                .build();
+        try {
+            ConnectionMaintenanceMetrics metrics = requestExecutor.getConnectionMaintenanceMetrics();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (metrics.getEvictedConnections() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+
+            assertEquals(2, metrics.getEvictedIdleConnections());
+            assertEquals(0, metrics.getEvictedExpiredConnections());
+            assertEquals(0, metrics.getEvictedStaleConnections());
+        } finally {
+            requestExecutor.close();
+        }
+    }
+
+    @Test(expected = SafechargeConfigurationException.class)
+    public void testPrewarmRequiresConnectionManager() {
+        SafechargeRequestExecutor.builder()
+                .setHttpClient(SafechargeHttpClient.createDefault())
+                .setPrewarmedConnections(getServerHost(), 2)
+                .build();
+    }
+
+    private String getServerHost() {
+        return "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/";
+    }
+}
@@ -0,0 +1,84 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.safecharge.biz.codec.SafechargeTypeAdapterFactory;
+import com.safecharge.model.UserAddress;
+import com.safecharge.request.*;
+import com.safecharge.response.*;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Verifies that the type adapters generated at build time produce the same JSON as Gson's reflective adapters for all of the
+ * mock requests and responses.
+ *
+ * @since 10/17/2026
+ */
+public class GeneratedTypeAdaptersTest {
+
+    private final Gson reflectiveGson = new GsonBuilder().create();
+    private final Gson generatedGson = new GsonBuilder().registerTypeAdapterFactory(new SafechargeTypeAdapterFactory())
+            .create();
+
+    @Test
+    public void testRequestsMatchReflectiveOutput() {
+        for (Map.Entry<String, Class<?>> request : JsonFixtures.REQUESTS.entrySet()) {
+            assertSameJson(request.getKey(), request.getValue());
+        }
+    }
+
+    @Test
+    public void testResponsesMatchReflectiveOutput() {
+        for (Map.Entry<String, Class<?>> response : JsonFixtures.RESPONSES.entrySet()) {
+            assertEquals(response.getValue()
+                    .getSimpleName(), SafechargeTypeAdapterFactory.class.getPackage(), generatedGson.getAdapter(response.getValue())
+                    .getClass()
+                    .getPackage());
+            assertSameJson(response.getKey(), response.getValue());
+        }
+    }
+
+    @Test
+    public void testEmptyObjectsMatchReflectiveOutput() {
+        assertEquals(reflectiveGson.toJson(new GetSessionTokenResponse()), generatedGson.toJson(new GetSessionTokenResponse()));
+        assertEquals(reflectiveGson.toJson(new GetSessionTokenRequest()), generatedGson.toJson(new GetSessionTokenRequest()));
+    }
+
+    @Test
+    public void testUnknownSubClassIsWrittenAsDeclaredType() {
+        TaggedAddress address = new TaggedAddress();
+        address.setFirstName("John");
+        PaymentCCRequest request = new PaymentCCRequest();
+        request.setBillingAddress(address);
+
+        // like Gson, the generated adapter of the declared type wins over the reflective adapter of the sub class
+        String json = generatedGson.toJson(request);
+        assertTrue(json, json.contains("\"billingAddress\":{\"firstName\":\"John\"}"));
+        assertFalse(json, json.contains("tag"));
+    }
+
+    private void assertSameJson(String path, Class<?> type) {
+        String json = JsonFixtures.load(path);
+        Object reflectiveValue = reflectiveGson.fromJson(json, type);
+        Object generatedValue = generatedGson.fromJson(json, type);
+
+        String expected = reflectiveGson.toJson(reflectiveValue);
+        assertEquals(path, expected, generatedGson.toJson(reflectiveValue));
+        assertEquals(path, expected, reflectiveGson.toJson(generatedValue));
+    }
+
+    private static class TaggedAddress extends UserAddress {
+
+        @SuppressWarnings("unused")
+        private String tag = "tag";
+    }
+}
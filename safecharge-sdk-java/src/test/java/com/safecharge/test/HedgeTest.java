@@ -0,0 +1,126 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.HedgeMetrics;
+import com.safecharge.biz.HedgePolicy;
+import com.safecharge.biz.SafechargeHttpAsyncClient;
+import com.safecharge.biz.SafechargeHttpClient;
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.exception.SafechargeConfigurationException;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Hedges a read only request which a local server holds back.
+ *
+ * @since 10/17/2026
+ */
+public class HedgeTest {
+
+    private final AtomicBoolean holdNextRequest = new AtomicBoolean();
+    private final CountDownLatch releaseHeldRequest = new CountDownLatch(1);
+    private HttpServer server;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                if (holdNextRequest.compareAndSet(true, false)) {
+                    try {
+                        releaseHeldRequest.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread()
+                                .interrupt();
+                    }
+                }
+                byte[] response = "{\"status\":\"SUCCESS\"}".getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        releaseHeldRequest.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testSlowRequestIsHedged() throws IOException {
+        MerchantInfo merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setHedgePolicy(createHedgePolicy())
+                .setHttpAsyncClient(SafechargeHttpAsyncClient.createDefault())
+                .build()) {
+            for (int i = 0; i < 10; i++) {
+                assertNotNull(requestExecutor.executeRequest(createGetSessionTokenRequest(merchantInfo)));
+            }
+            HedgeMetrics metrics = requestExecutor.getHedgeMetrics();
+            assertEquals(0, metrics.getHedgedRequests());
+            assertTrue(metrics.getHedgeDelays()
+                    .get(GetSessionTokenRequest.class) >= 250);
+
+            holdNextRequest.set(true);
+            long start = System.nanoTime();
+            SafechargeResponse response = requestExecutor.executeRequest(createGetSessionTokenRequest(merchantInfo));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+            assertEquals(Constants.APIResponseStatus.SUCCESS, response.getStatus());
+            assertEquals(1, metrics.getHedgedRequests());
+            assertEquals(1, metrics.getHedgeWins());
+        }
+    }
+
+    @Test(expected = SafechargeConfigurationException.class)
+    public void testHedgingRequiresHttpAsyncClient() {
+        SafechargeRequestExecutor.builder()
+                .setHttpClient(SafechargeHttpClient.createDefault())
+                .setHedgePolicy(createHedgePolicy())
+                .build();
+    }
+
+    private static HedgePolicy createHedgePolicy() {
+        return HedgePolicy.builder()
+                .setDelayPercentile(90)
+                .setMinDelay(250, TimeUnit.MILLISECONDS)
+                .setLatencyWindow(10)
+                .setHedgeBudget(10, 1)
+                .build();
+    }
+
+    private static SafechargeBaseRequest createGetSessionTokenRequest(MerchantInfo merchantInfo) {
+        return GetSessionTokenRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.safecharge.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.safecharge.request.*;
+import com.safecharge.response.*;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * The mock request and response JSON fixtures under {@code src/test/resources/mock}, mapped to the types they represent. Shared with
+ * the tests of the optional codec modules through the test jar.
+ *
+ * @since 10/17/2026
+ */
+public final class JsonFixtures {
+
+    public static final Map<String, Class<?>> REQUESTS;
+    public static final Map<String, Class<?>> RESPONSES;
+
+    static {
+        Map<String, Class<?>> requests = new LinkedHashMap<>();
+        requests.put("mock/request/addUPOAPM.json", AddUPOAPMRequest.class);
+        requests.put("mock/request/addUPOCreditCard.json", AddUPOCreditCardRequest.class);
+        requests.put("mock/request/addUPOCreditCardByTempToken.json", AddUPOCreditCardByTempTokenRequest.class);
+        requests.put("mock/request/addUPOCreditCardByToken.json", AddUPOCreditCardByTokenRequest.class);
+        requests.put("mock/request/authorization3D.json", Authorization3DRequest.class);
+        requests.put("mock/request/basicEditUPO.json", EnableUPORequest.class);
+        requests.put("mock/request/cardTokenization.json", CardTokenizationRequest.class);
+        requests.put("mock/request/createUser.json", CreateUserRequest.class);
+        requests.put("mock/request/editUPOAPM.json", EditUPOAPMRequest.class);
+        requests.put("mock/request/editUPOCreditCard.json", EditUPOCreditCardRequest.class);
+        requests.put("mock/request/getMerchantPaymentMethods.json", GetMerchantPaymentMethodsRequest.class);
+        requests.put("mock/request/getOrderDetails.json", GetOrderDetailsRequest.class);
+        requests.put("mock/request/getSessionToken.json", GetSessionTokenRequest.class);
+        requests.put("mock/request/getUserDetails.json", GetUserDetailsRequest.class);
+        requests.put("mock/request/getUserUPOs.json", GetUserUPOsRequest.class);
+        requests.put("mock/request/openOrder.json", OpenOrderRequest.class);
+        requests.put("mock/request/payment3D.json", Payment3DRequest.class);
+        requests.put("mock/request/paymentAPM.json", PaymentAPMRequest.class);
+        requests.put("mock/request/paymentCC.json", PaymentCCRequest.class);
+        requests.put("mock/request/payout.json", PayoutRequest.class);
+        requests.put("mock/request/refundTransaction.json", RefundTransactionRequest.class);
+        requests.put("mock/request/settleTransaction.json", SettleTransactionRequest.class);
+        requests.put("mock/request/updateOrder.json", UpdateOrderRequest.class);
+        requests.put("mock/request/updateUser.json", UpdateUserRequest.class);
+        requests.put("mock/request/voidTransaction.json", VoidTransactionRequest.class);
+        REQUESTS = Collections.unmodifiableMap(requests);
+
+        Map<String, Class<?>> responses = new LinkedHashMap<>();
+        responses.put("mock/response/addUPOAPM.json", AddUPOAPMResponse.class);
+        responses.put("mock/response/addUPOCreditCard.json", AddUPOCreditCardResponse.class);
+        responses.put("mock/response/addUPOCreditCardByTempToken.json", AddUPOCreditCardByTempTokenResponse.class);
+        responses.put("mock/response/addUPOCreditCardByToken.json", AddUPOCreditCardByTokenResponse.class);
+        responses.put("mock/response/authorization3D.json", Authorization3DResponse.class);
+        responses.put("mock/response/basicEditUPO.json", EnableUPOResponse.class);
+        responses.put("mock/response/cardTokenization.json", CardTokenizationResponse.class);
+        responses.put("mock/response/editUPOAPM.json", EditUPOAPMResponse.class);
+        responses.put("mock/response/editUPOCreditCard.json", EditUPOCreditCardResponse.class);
+        responses.put("mock/response/getMerchantPaymentMethods.json", GetMerchantPaymentMethodsResponse.class);
+        responses.put("mock/response/getOrderDetails.json", GetOrderDetailsResponse.class);
+        responses.put("mock/response/getSessionToken.json", GetSessionTokenResponse.class);
+        responses.put("mock/response/getUserDetails.json", GetUserDetailsResponse.class);
+        responses.put("mock/response/getUserUPOs.json", GetUserUPOsResponse.class);
+        responses.put("mock/response/openOrder.json", OpenOrderResponse.class);
+        responses.put("mock/response/payment3D.json", Payment3DResponse.class);
+        responses.put("mock/response/paymentAPM.json", PaymentAPMResponse.class);
+        responses.put("mock/response/paymentCC.json", PaymentCCResponse.class);
+        responses.put("mock/response/payout.json", PayoutResponse.class);
+        responses.put("mock/response/refundTransaction.json", RefundTransactionResponse.class);
+        responses.put("mock/response/settleTransaction.json", SettleTransactionResponse.class);
+        responses.put("mock/response/updateOrder.json", UpdateOrderResponse.class);
+        responses.put("mock/response/userActionResponse.json", UserResponse.class);
+        responses.put("mock/response/voidTransaction.json", VoidTransactionResponse.class);
+        RESPONSES = Collections.unmodifiableMap(responses);
+    }
+
+    private JsonFixtures() {
+    }
+
+    /**
+     * Loads a fixture from the classpath.
+     *
+     * @param path the path of the fixture, e.g. {@code mock/request/paymentCC.json}
+     * @return the content of the fixture
+     */
+    public static String load(String path) {
+        try (InputStream in = JsonFixtures.class.getClassLoader()
+                .getResourceAsStream(path); ByteArrayOutputStream out = new ByteArrayOutputStream(1024)) {
+            byte[] buf = new byte[1024];
+            for (int i = in.read(buf); i > 0; i = in.read(buf)) {
+                out.write(buf, 0, i);
+            }
+            return out.toString("UTF-8");
+        } catch (IOException e) {
+            throw new IllegalStateException(path, e);
+        }
+    }
+}
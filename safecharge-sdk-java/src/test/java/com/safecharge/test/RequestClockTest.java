@@ -0,0 +1,154 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.safecharge.exception.SafechargeConfigurationException;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.util.Constants;
+import com.safecharge.util.RequestClock;
+import com.safecharge.util.RequestUtils;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Checks the timestamps of {@link RequestClock} and the uniqueness of its ids generated by concurrent threads.
+ *
+ * @since 10/17/2026
+ */
+public class RequestClockTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 50000;
+    private static final int REQUESTS_PER_THREAD = 2000;
+
+    @Test
+    public void testTimestamp() throws Exception {
+        SimpleDateFormat format = new SimpleDateFormat("yyyyMMddHHmmss");
+        long before = format.parse(format.format(new Date()))
+                .getTime();
+        String timestamp = RequestClock.getTimestamp();
+        long after = System.currentTimeMillis();
+
+        assertEquals(14, timestamp.length());
+        long time = format.parse(timestamp)
+                .getTime();
+        assertTrue(time >= before && time <= after);
+        assertEquals(RequestUtils.calculateClientRequestId(timestamp), String.valueOf(time));
+    }
+
+    @Test(expected = SafechargeConfigurationException.class)
+    public void testNodeIdIsRequired() {
+        int nodeId = RequestClock.getNodeId();
+        try {
+            RequestClock.setNodeId(RequestClock.UNSET_NODE_ID);
+            RequestClock.nextUniqueId();
+        } finally {
+            RequestClock.setNodeId(nodeId);
+        }
+    }
+
+    @Test
+    public void testUniqueIds() throws Exception {
+        int nodeId = RequestClock.getNodeId();
+        RequestClock.setNodeId(42);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(new Callable<List<String>>() {
+                    @Override
+                    public List<String> call() {
+                        List<String> ids = new ArrayList<>(IDS_PER_THREAD);
+                        for (int j = 0; j < IDS_PER_THREAD; j++) {
+                            ids.add(RequestClock.nextUniqueId());
+                        }
+                        return ids;
+                    }
+                }));
+            }
+
+            Set<String> ids = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                long previous = -1;
+                for (String id : future.get()) {
+                    long value = Long.parseLong(id);
+                    assertTrue(value > previous);
+                    assertEquals(42, value >>> 12 & RequestClock.MAX_NODE_ID);
+                    previous = value;
+                    ids.add(id);
+                }
+            }
+            assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+        } finally {
+            executor.shutdownNow();
+            RequestClock.setNodeId(nodeId);
+        }
+    }
+
+    @Test
+    public void testBuilderUniqueClientRequestIds() throws Exception {
+        int nodeId = RequestClock.getNodeId();
+        RequestClock.setNodeId(7);
+        final MerchantInfo merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost/ppp/", Constants.HashAlgorithm.SHA256);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(new Callable<List<String>>() {
+                    @Override
+                    public List<String> call() {
+                        // a builder generates a new id for each request it builds
+                        GetSessionTokenRequest.Builder builder = GetSessionTokenRequest.builder()
+                                .addMerchantInfo(merchantInfo)
+                                .addUniqueClientRequestId();
+                        List<String> ids = new ArrayList<>(REQUESTS_PER_THREAD);
+                        for (int j = 0; j < REQUESTS_PER_THREAD; j++) {
+                            ids.add(builder.build()
+                                    .getClientRequestId());
+                        }
+                        return ids;
+                    }
+                }));
+            }
+
+            Set<String> ids = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                for (String id : future.get()) {
+                    assertEquals(7, Long.parseLong(id) >>> 12 & RequestClock.MAX_NODE_ID);
+                    ids.add(id);
+                }
+            }
+            assertEquals(THREADS * REQUESTS_PER_THREAD, ids.size());
+
+            assertEquals("id", GetSessionTokenRequest.builder()
+                    .addMerchantInfo(merchantInfo)
+                    .addUniqueClientRequestId()
+                    .addClientRequestId("id")
+                    .build()
+                    .getClientRequestId());
+            assertNull(GetSessionTokenRequest.builder()
+                    .addMerchantInfo(merchantInfo)
+                    .build()
+                    .getClientRequestId());
+        } finally {
+            executor.shutdownNow();
+            RequestClock.setNodeId(nodeId);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetMerchantPaymentMethodsRequest;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Coalesces identical payment methods requests while a local server holds the first one back.
+ *
+ * @since 10/17/2026
+ */
+public class RequestCoalescingTest {
+
+    private static final int CALLERS = 5;
+
+    private final AtomicInteger receivedRequests = new AtomicInteger();
+    private final CountDownLatch releaseRequests = new CountDownLatch(1);
+    private HttpServer server;
+    private MerchantInfo merchantInfo;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                receivedRequests.incrementAndGet();
+                try {
+                    releaseRequests.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread()
+                            .interrupt();
+                }
+                byte[] response = "{\"status\":\"SUCCESS\"}".getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+        merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+    }
+
+    @After
+    public void stopServer() {
+        releaseRequests.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testIdenticalRequestsShareOneCall() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try (final SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setRequestCoalescing(true)
+                .build()) {
+            List<Future<SafechargeResponse>> responses = new ArrayList<>();
+            final List<SafechargeBaseRequest> requests = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                final SafechargeBaseRequest request = createGetMerchantPaymentMethodsRequest(String.valueOf(i), "EUR");
+                requests.add(request);
+                responses.add(callers.submit(new Callable<SafechargeResponse>() {
+                    @Override
+                    public SafechargeResponse call() {
+                        return requestExecutor.executeRequest(request);
+                    }
+                }));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (requestExecutor.getCoalescedRequests() < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(CALLERS - 1, requestExecutor.getCoalescedRequests());
+
+            Future<SafechargeResponse> otherCurrency = callers.submit(new Callable<SafechargeResponse>() {
+                @Override
+                public SafechargeResponse call() {
+                    return requestExecutor.executeRequest(createGetMerchantPaymentMethodsRequest("other", "USD"));
+                }
+            });
+            releaseRequests.countDown();
+
+            SafechargeResponse response = responses.get(0)
+                    .get(5, TimeUnit.SECONDS);
+            assertNotNull(response);
+            for (int i = 1; i < CALLERS; i++) {
+                SafechargeResponse coalescedResponse = responses.get(i)
+                        .get(5, TimeUnit.SECONDS);
+                assertNotSame(response, coalescedResponse);
+                assertEquals(Constants.APIResponseStatus.SUCCESS, coalescedResponse.getStatus());
+            }
+            for (int i = 0; i < CALLERS; i++) {
+                assertEquals(String.valueOf(i), requests.get(i)
+                        .getClientRequestId());
+                assertNotNull(requests.get(i)
+                        .getChecksum());
+            }
+            assertTrue(otherCurrency.get(5, TimeUnit.SECONDS) != response);
+            assertEquals(2, receivedRequests.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSessionTokenRequestsAreNotCoalesced() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try (final SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setRequestCoalescing(true)
+                .build()) {
+            List<Future<SafechargeResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                responses.add(callers.submit(new Callable<SafechargeResponse>() {
+                    @Override
+                    public SafechargeResponse call() {
+                        return requestExecutor.executeRequest(GetSessionTokenRequest.builder()
+                                .addMerchantInfo(merchantInfo)
+                                .build());
+                    }
+                }));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (receivedRequests.get() < CALLERS && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            releaseRequests.countDown();
+            for (Future<SafechargeResponse> response : responses) {
+                assertNotNull(response.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(CALLERS, receivedRequests.get());
+            assertEquals(0, requestExecutor.getCoalescedRequests());
+            assertFalse(SafechargeRequestExecutor.isCoalescable(GetSessionTokenRequest.class));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private SafechargeBaseRequest createGetMerchantPaymentMethodsRequest(String clientRequestId, String currencyCode) {
+        return GetMerchantPaymentMethodsRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .addSessionToken("ef8bb6b8-5b70-4b8f-9bfc-8c5b0e1cc5a3")
+                .addClientRequestId(clientRequestId)
+                .addCountryCode("DE")
+                .addLanguageCode("de")
+                .addCurrencyCode(currencyCode)
+                .build();
+    }
+}
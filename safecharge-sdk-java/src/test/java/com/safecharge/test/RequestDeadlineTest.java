@@ -0,0 +1,163 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.client.config.RequestConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.HedgePolicy;
+import com.safecharge.biz.RequestDeadline;
+import com.safecharge.biz.SafechargeHttpAsyncClient;
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Sends requests with a {@link RequestDeadline} to a local server which answers after a delay.
+ *
+ * @since 10/17/2026
+ */
+public class RequestDeadlineTest {
+
+    private final AtomicInteger receivedRequests = new AtomicInteger();
+    private final CountDownLatch requestReceived = new CountDownLatch(1);
+    private volatile long delayMillis;
+    private HttpServer server;
+    private MerchantInfo merchantInfo;
+    private SafechargeRequestExecutor requestExecutor;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                receivedRequests.incrementAndGet();
+                requestReceived.countDown();
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread()
+                            .interrupt();
+                }
+                byte[] response = "{\"status\":\"SUCCESS\"}".getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                } catch (IOException e) {
+                    // the client is gone
+                }
+            }
+        });
+        server.start();
+        merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+        requestExecutor = SafechargeRequestExecutor.builder()
+                .build();
+    }
+
+    @After
+    public void stopServer() throws IOException {
+        requestExecutor.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testRequestsShareTheBudget() {
+        delayMillis = 300;
+        RequestDeadline deadline = RequestDeadline.after(500, TimeUnit.MILLISECONDS);
+        long startNanos = System.nanoTime();
+
+        SafechargeResponse first = requestExecutor.executeRequest(createRequest(), deadline);
+        assertNotNull(first);
+        assertEquals(Constants.APIResponseStatus.SUCCESS, first.getStatus());
+
+        // the second request only gets the remaining 200 ms
+        assertNull(requestExecutor.executeRequest(createRequest(), deadline));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) < 1000);
+        assertTrue(deadline.isExpired());
+
+        // no request is sent after the deadline
+        assertNull(requestExecutor.executeRequest(createRequest(), deadline));
+        assertEquals(2, receivedRequests.get());
+    }
+
+    @Test
+    public void testCancelAbortsTheRequest() throws Exception {
+        delayMillis = 5000;
+        final RequestDeadline deadline = RequestDeadline.unbounded();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<SafechargeResponse> response = executor.submit(new Callable<SafechargeResponse>() {
+                @Override
+                public SafechargeResponse call() {
+                    return requestExecutor.executeRequest(createRequest(), deadline);
+                }
+            });
+            assertTrue(requestReceived.await(5, TimeUnit.SECONDS));
+            long startNanos = System.nanoTime();
+            deadline.cancel();
+
+            assertNull(response.get(1, TimeUnit.SECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) < 1000);
+            assertTrue(deadline.isCancelled());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        delayMillis = 0;
+        assertNotNull(requestExecutor.executeRequest(createRequest()));
+    }
+
+    @Test
+    public void testUnboundedDeadlineKeepsTheClientTimeouts() throws IOException {
+        delayMillis = 2000;
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setSocketTimeout(200)
+                .build();
+        try (SafechargeRequestExecutor hedgingRequestExecutor = SafechargeRequestExecutor.builder()
+                .setHedgePolicy(HedgePolicy.builder()
+                        .setMinDelay(5, TimeUnit.SECONDS)
+                        .build())
+                .setHttpAsyncClient(SafechargeHttpAsyncClient.custom()
+                        .setDefaultConnectionManager()
+                        .setRequestConfig(requestConfig)
+                        .build(), requestConfig)
+                .build()) {
+            long startNanos = System.nanoTime();
+            assertNull(hedgingRequestExecutor.executeRequest(createRequest(), RequestDeadline.unbounded()));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) < 1500);
+        }
+    }
+
+    private SafechargeBaseRequest createRequest() {
+        return GetSessionTokenRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .build();
+    }
+}
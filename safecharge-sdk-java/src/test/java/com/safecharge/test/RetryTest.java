@@ -0,0 +1,170 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.RetryMetrics;
+import com.safecharge.biz.RetryPolicy;
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.request.PaymentCCRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.request.SettleTransactionRequest;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Retries requests against a local server which fails the first attempts with communication errors.
+ *
+ * @since 10/17/2026
+ */
+public class RetryTest {
+
+    private static final String COMMUNICATION_ERROR = "{\"status\":\"ERROR\",\"errCode\":1038,\"errorType\":\"COMMUNICATION_ERROR\"}";
+
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicBoolean malformedResponses = new AtomicBoolean();
+    private final AtomicInteger receivedRequests = new AtomicInteger();
+    private HttpServer server;
+    private MerchantInfo merchantInfo;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                receivedRequests.incrementAndGet();
+                String json = failures.getAndDecrement() > 0 ? COMMUNICATION_ERROR : "{\"status\":\"SUCCESS\"}";
+                byte[] response = (malformedResponses.get() ? "{\"status\":[" : json).getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+        merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testReadRequestIsRetried() throws IOException {
+        try (SafechargeRequestExecutor requestExecutor = createRequestExecutor(10)) {
+            failures.set(2);
+            SafechargeResponse response = requestExecutor.executeRequest(GetSessionTokenRequest.builder()
+                    .addMerchantInfo(merchantInfo)
+                    .build());
+            assertNotNull(response);
+            assertEquals(Constants.APIResponseStatus.SUCCESS, response.getStatus());
+            assertEquals(3, receivedRequests.get());
+            assertEquals(2, requestExecutor.getRetryMetrics()
+                    .getRetries());
+        }
+    }
+
+    @Test
+    public void testPaymentIsNotRetried() throws IOException {
+        try (SafechargeRequestExecutor requestExecutor = createRequestExecutor(10)) {
+            failures.set(1);
+            SafechargeResponse response = requestExecutor.executeRequest(createSettleTransactionRequest());
+            assertNotNull(response);
+            assertEquals(Constants.ErrorType.COMMUNICATION_ERROR, response.getErrorType());
+            assertEquals(1, receivedRequests.get());
+            assertEquals(0, requestExecutor.getRetryMetrics()
+                    .getRetries());
+            assertTrue(SafechargeRequestExecutor.isRetryable(GetSessionTokenRequest.class));
+            assertTrue(!SafechargeRequestExecutor.isRetryable(PaymentCCRequest.class));
+        }
+    }
+
+    @Test
+    public void testRetryBudget() throws IOException {
+        try (SafechargeRequestExecutor requestExecutor = createRequestExecutor(4)) {
+            failures.set(Integer.MAX_VALUE);
+            SafechargeResponse response = requestExecutor.executeRequest(GetSessionTokenRequest.builder()
+                    .addMerchantInfo(merchantInfo)
+                    .build());
+            assertEquals(Constants.ErrorType.COMMUNICATION_ERROR, response.getErrorType());
+
+            // 4 tokens: the first failure leaves 3, above half of the budget, the second one leaves 2
+            RetryMetrics metrics = requestExecutor.getRetryMetrics();
+            assertEquals(2, receivedRequests.get());
+            assertEquals(1, metrics.getRetries());
+            assertEquals(1, metrics.getDeniedRetries());
+            assertEquals(2, metrics.getAvailableTokens(), 0);
+        }
+    }
+
+    @Test
+    public void testConnectionFailureIsRetried() throws IOException {
+        server.stop(0);
+        try (SafechargeRequestExecutor requestExecutor = createRequestExecutor(10)) {
+            assertNull(requestExecutor.executeRequest(GetSessionTokenRequest.builder()
+                    .addMerchantInfo(merchantInfo)
+                    .build()));
+            assertEquals(2, requestExecutor.getRetryMetrics()
+                    .getRetries());
+        }
+    }
+
+    @Test
+    public void testMalformedResponseIsNotRetried() throws IOException {
+        malformedResponses.set(true);
+        try (SafechargeRequestExecutor requestExecutor = createRequestExecutor(10)) {
+            assertNull(requestExecutor.executeRequest(GetSessionTokenRequest.builder()
+                    .addMerchantInfo(merchantInfo)
+                    .build()));
+            assertEquals(1, receivedRequests.get());
+            assertEquals(0, requestExecutor.getRetryMetrics()
+                    .getRetries());
+        }
+    }
+
+    private SafechargeRequestExecutor createRequestExecutor(int retryBudgetMaxTokens) {
+        return SafechargeRequestExecutor.builder()
+                .setRetryPolicy(RetryPolicy.builder()
+                        .setMaxAttempts(3)
+                        .setBackoff(1, 5, TimeUnit.MILLISECONDS)
+                        .setRetryBudget(retryBudgetMaxTokens, 0.1)
+                        .build())
+                .build();
+    }
+
+    private SafechargeBaseRequest createSettleTransactionRequest() {
+        return SettleTransactionRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .addSessionToken("ef8bb6b8-5b70-4b8f-9bfc-8c5b0e1cc5a3")
+                .addAmount("10")
+                .addCurrency("EUR")
+                .addRelatedTransactionId("1110000000004146935")
+                .addAuthCode("8378749")
+                .build();
+    }
+}
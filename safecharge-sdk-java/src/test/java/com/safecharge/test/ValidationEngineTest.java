@@ -0,0 +1,218 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotNull;
+
+import org.junit.Test;
+
+import com.safecharge.biz.codec.GsonJsonCodec;
+import com.safecharge.biz.codec.JsonCodec;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.model.Item;
+import com.safecharge.request.PaymentCCRequest;
+import com.safecharge.request.SafechargeBaseRequest;
+import com.safecharge.util.Constants;
+import com.safecharge.util.ValidationMode;
+import com.safecharge.util.ValidationUtils;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Verifies that {@link ValidationUtils} reports the same violations as the Bean Validation provider for the mock requests, valid and
+ * empty, and checks its fail fast and mandatory only modes.
+ *
+ * @since 10/17/2026
+ */
+public class ValidationEngineTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory()
+            .getValidator();
+    private final JsonCodec codec = new GsonJsonCodec();
+
+    @Test
+    public void testViolationsMatchProvider() throws Exception {
+        for (Map.Entry<String, Class<?>> request : JsonFixtures.REQUESTS.entrySet()) {
+            Object fixture = codec.decode(JsonFixtures.load(request.getKey()), request.getValue());
+            assertSameViolations(request.getKey(), (SafechargeBaseRequest) fixture);
+            assertSameViolations(request.getValue()
+                    .getName(), (SafechargeBaseRequest) request.getValue()
+                    .newInstance());
+        }
+        assertSameViolations("invalid items", createInvalidRequest());
+    }
+
+    @Test
+    public void testFailFast() {
+        try {
+            ValidationUtils.validate(createInvalidRequest(), ValidationMode.FAIL_FAST);
+            fail("ConstraintViolationException expected");
+        } catch (ConstraintViolationException e) {
+            assertEquals(1, e.getConstraintViolations()
+                    .size());
+        }
+    }
+
+    @Test
+    public void testMandatoryOnly() {
+        PaymentCCRequest request = createInvalidRequest();
+        Set<ConstraintViolation<PaymentCCRequest>> expected = validator.validate(request);
+        int mandatory = 0;
+        for (ConstraintViolation<PaymentCCRequest> violation : expected) {
+            if (violation.getConstraintDescriptor()
+                    .getAnnotation() instanceof NotNull) {
+                mandatory++;
+            }
+        }
+        assertTrue(mandatory > 0 && mandatory < expected.size());
+
+        try {
+            ValidationUtils.validate(request, ValidationMode.MANDATORY_ONLY);
+            fail("ConstraintViolationException expected");
+        } catch (ConstraintViolationException e) {
+            assertEquals(mandatory, e.getConstraintViolations()
+                    .size());
+            for (ConstraintViolation<?> violation : e.getConstraintViolations()) {
+                assertTrue(violation.getConstraintDescriptor()
+                        .getAnnotation() instanceof NotNull);
+            }
+        }
+    }
+
+    @Test
+    public void testModesOfProviderValidation() throws Exception {
+        UnsupportedConstraintRequest request = new UnsupportedConstraintRequest();
+        assertNull(validateWithEngine(request));
+        Set<ConstraintViolation<UnsupportedConstraintRequest>> expected = validator.validate(request);
+        assertTrue(expected.size() > 2);
+
+        try {
+            ValidationUtils.validate(request, ValidationMode.FAIL_FAST);
+            fail("ConstraintViolationException expected");
+        } catch (ConstraintViolationException e) {
+            assertEquals(1, e.getConstraintViolations()
+                    .size());
+        }
+
+        try {
+            ValidationUtils.validate(request, ValidationMode.MANDATORY_ONLY);
+            fail("ConstraintViolationException expected");
+        } catch (ConstraintViolationException e) {
+            assertEquals(expected.size() - 1, e.getConstraintViolations()
+                    .size());
+            for (ConstraintViolation<?> violation : e.getConstraintViolations()) {
+                assertTrue(violation.getConstraintDescriptor()
+                        .getAnnotation() instanceof NotNull);
+            }
+        }
+    }
+
+    @Test
+    public void testBuilderValidationMode() {
+        MerchantInfo merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost/ppp/", Constants.HashAlgorithm.SHA256);
+        int violations = 0;
+        try {
+            PaymentCCRequest.builder()
+                    .addMerchantInfo(merchantInfo)
+                    .build();
+            fail("ConstraintViolationException expected");
+        } catch (ConstraintViolationException e) {
+            violations = e.getConstraintViolations()
+                    .size();
+        }
+        assertTrue(violations > 1);
+
+        try {
+            PaymentCCRequest.builder()
+                    .addMerchantInfo(merchantInfo)
+                    .addValidationMode(ValidationMode.FAIL_FAST)
+                    .build();
+            fail("ConstraintViolationException expected");
+        } catch (ConstraintViolationException e) {
+            assertEquals(1, e.getConstraintViolations()
+                    .size());
+        }
+    }
+
+    private PaymentCCRequest createInvalidRequest() {
+        PaymentCCRequest request;
+        try {
+            request = codec.decode(JsonFixtures.load("mock/request/paymentCC.json"), PaymentCCRequest.class);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        Item item = new Item();
+        item.setName("");
+        item.setPrice("12345678901");
+        request.addItem(item);
+        request.setMerchantId(null);
+        return request;
+    }
+
+    private <T extends SafechargeBaseRequest> void assertSameViolations(String name, T request) throws Exception {
+        assertNotNull(name + " is left to the provider", validateWithEngine(request));
+        List<String> expected = describe(validator.validate(request));
+        List<String> actual;
+        try {
+            ValidationUtils.validate(request);
+            actual = Collections.emptyList();
+        } catch (ConstraintViolationException e) {
+            actual = describe(e.getConstraintViolations());
+            assertFalse(name, actual.isEmpty());
+        }
+        assertEquals(name, expected, actual);
+    }
+
+    /**
+     * @return the violations found by the validation engine of {@link ValidationUtils}, or null if it does not compile the request
+     */
+    private static Set<?> validateWithEngine(SafechargeBaseRequest request) throws Exception {
+        Field engineField = ValidationUtils.class.getDeclaredField("validationEngine");
+        engineField.setAccessible(true);
+        Object engine = engineField.get(null);
+        Method validate = engine.getClass()
+                .getDeclaredMethod("validate", Object.class, ValidationMode.class);
+        validate.setAccessible(true);
+        return (Set<?>) validate.invoke(engine, request, ValidationMode.ALL);
+    }
+
+    private List<String> describe(Set<? extends ConstraintViolation<?>> violations) {
+        List<String> descriptions = new ArrayList<>();
+        for (ConstraintViolation<?> violation : violations) {
+            descriptions.add(violation.getPropertyPath() + ": " + violation.getMessage() + " (" + violation.getInvalidValue() + ")");
+        }
+        Collections.sort(descriptions);
+        return descriptions;
+    }
+
+    /**
+     * A request with a constraint the validation engine does not compile, validated by the provider.
+     */
+    public static class UnsupportedConstraintRequest extends SafechargeBaseRequest {
+
+        @NotNull
+        private String mandatory;
+
+        @AssertTrue
+        private boolean accepted;
+    }
+}
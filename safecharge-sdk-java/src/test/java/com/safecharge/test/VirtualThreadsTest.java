@@ -0,0 +1,115 @@
+package com.safecharge.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.safecharge.biz.SafechargeRequestExecutor;
+import com.safecharge.exception.SafechargeConfigurationException;
+import com.safecharge.model.MerchantInfo;
+import com.safecharge.request.GetSessionTokenRequest;
+import com.safecharge.response.SafechargeResponse;
+import com.safecharge.util.Constants;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Copyright (C) 2007-2017 SafeCharge International Group Limited.
+ * <p>
+ * Runs requests on the virtual threads of an executor, on Java 21 and later.
+ *
+ * @since 10/17/2026
+ */
+public class VirtualThreadsTest {
+
+    private HttpServer server;
+    private MerchantInfo merchantInfo;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                byte[] response = "{\"sessionToken\":\"ef8bb6b8-5b70-4b8f-9bfc-8c5b0e1cc5a3\",\"status\":\"SUCCESS\"}".getBytes("UTF-8");
+                exchange.sendResponseHeaders(200, response.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(response);
+                }
+            }
+        });
+        server.start();
+        merchantInfo = new MerchantInfo("key", "123", "456", "http://localhost:" + server.getAddress()
+                .getPort() + "/ppp/", Constants.HashAlgorithm.SHA256);
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testRequestsRunOnVirtualThreads() throws Exception {
+        assumeTrue(SafechargeRequestExecutor.isVirtualThreadsSupported());
+        try (final SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .setVirtualThreads(true)
+                .build()) {
+            assertTrue(requestExecutor.isVirtualThreads());
+            SafechargeResponse response = requestExecutor.executeRequestAsync(createGetSessionTokenRequest())
+                    .get(5, TimeUnit.SECONDS);
+            assertEquals(Constants.APIResponseStatus.SUCCESS, response.getStatus());
+
+            Future<Boolean> virtual = requestExecutor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    requestExecutor.executeRequest(createGetSessionTokenRequest());
+                    return (Boolean) Thread.class.getMethod("isVirtual")
+                            .invoke(Thread.currentThread());
+                }
+            });
+            assertTrue(virtual.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test(expected = SafechargeConfigurationException.class)
+    public void testVirtualThreadsRequireJava21() {
+        assumeFalse(SafechargeRequestExecutor.isVirtualThreadsSupported());
+        SafechargeRequestExecutor.builder()
+                .setVirtualThreads(true)
+                .build();
+    }
+
+    @Test(expected = SafechargeConfigurationException.class)
+    public void testSubmitRequiresVirtualThreads() throws IOException {
+        try (SafechargeRequestExecutor requestExecutor = SafechargeRequestExecutor.builder()
+                .build()) {
+            requestExecutor.submit(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return null;
+                }
+            });
+        }
+    }
+
+    private GetSessionTokenRequest createGetSessionTokenRequest() {
+        return (GetSessionTokenRequest) GetSessionTokenRequest.builder()
+                .addMerchantInfo(merchantInfo)
+                .build();
+    }
+}